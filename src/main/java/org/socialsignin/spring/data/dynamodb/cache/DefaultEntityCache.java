@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.cache;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * An in-memory, least recently used {@link EntityCache}. Entries are evicted
+ * once the cache exceeds its maximum size or weight, and are dropped when read
+ * after they expired.
+ */
+public class DefaultEntityCache implements EntityCache {
+
+	public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	/**
+	 * Weighs an item by the approximate number of bytes DynamoDB bills for it
+	 */
+	public static final ToLongFunction<Map<String, AttributeValue>> ITEM_SIZE = DefaultEntityCache::sizeOf;
+
+	private final LongSupplier nanoClock;
+	private final LinkedHashMap<EntityCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+	private long maximumWeight = Long.MAX_VALUE;
+	private ToLongFunction<Map<String, AttributeValue>> weigher = item -> 1;
+	private long expireAfterWriteNanos = 0;
+	private long totalWeight;
+
+	public DefaultEntityCache() {
+		this(System::nanoTime);
+	}
+
+	DefaultEntityCache(LongSupplier nanoClock) {
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * @param maximumSize
+	 *            The maximum number of cached items -
+	 *            {@value #DEFAULT_MAXIMUM_SIZE} by default
+	 * @return this
+	 */
+	public synchronized DefaultEntityCache withMaximumSize(long maximumSize) {
+		Assert.isTrue(maximumSize >= 0, "maximumSize must not be negative!");
+		this.maximumSize = maximumSize;
+		evictExcess();
+		return this;
+	}
+
+	/**
+	 * @param maximumWeight
+	 *            The maximum total weight of the cached items
+	 * @param weigher
+	 *            Weighs a single item, e.g. {@link #ITEM_SIZE}
+	 * @return this
+	 */
+	public synchronized DefaultEntityCache withMaximumWeight(long maximumWeight,
+			ToLongFunction<Map<String, AttributeValue>> weigher) {
+		Assert.isTrue(maximumWeight >= 0, "maximumWeight must not be negative!");
+		Assert.notNull(weigher, "weigher must not be null!");
+		Assert.isTrue(entries.isEmpty(), "The weigher must be set before items are cached!");
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		return this;
+	}
+
+	/**
+	 * @param expireAfterWrite
+	 *            How long an item is served from the cache - it never expires
+	 *            by default
+	 * @return this
+	 */
+	public synchronized DefaultEntityCache withExpireAfterWrite(Duration expireAfterWrite) {
+		Assert.isTrue(!expireAfterWrite.isNegative() && !expireAfterWrite.isZero(),
+				"expireAfterWrite must be positive!");
+		this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+		return this;
+	}
+
+	@Override
+	@Nullable
+	public synchronized Map<String, AttributeValue> get(EntityCacheKey key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(nanoClock.getAsLong())) {
+			remove(key);
+			return null;
+		}
+		return entry.item;
+	}
+
+	@Override
+	public synchronized void put(EntityCacheKey key, Map<String, AttributeValue> item) {
+		long weight = weigher.applyAsLong(item);
+		if (weight > maximumWeight) {
+			remove(key);
+			return;
+		}
+
+		long expiresAt = expireAfterWriteNanos == 0 ? 0 : nanoClock.getAsLong() + expireAfterWriteNanos;
+		Entry previous = entries.put(key, new Entry(item, weight, expiresAt));
+		totalWeight += weight - (previous == null ? 0 : previous.weight);
+		evictExcess();
+	}
+
+	@Override
+	public synchronized void evict(EntityCacheKey key) {
+		remove(key);
+	}
+
+	@Override
+	public synchronized void clear() {
+		entries.clear();
+		totalWeight = 0;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private void remove(EntityCacheKey key) {
+		Entry removed = entries.remove(key);
+		if (removed != null) {
+			totalWeight -= removed.weight;
+		}
+	}
+
+	private void evictExcess() {
+		Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+		while ((entries.size() > maximumSize || totalWeight > maximumWeight) && leastRecentlyUsed.hasNext()) {
+			totalWeight -= leastRecentlyUsed.next().weight;
+			leastRecentlyUsed.remove();
+		}
+	}
+
+	private static long sizeOf(Map<String, AttributeValue> item) {
+		long size = 0;
+		for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+			size += attribute.getKey().length() + sizeOf(attribute.getValue());
+		}
+		return size;
+	}
+
+	private static long sizeOf(AttributeValue value) {
+		if (value.getS() != null) {
+			return value.getS().length();
+		} else if (value.getN() != null) {
+			return value.getN().length();
+		} else if (value.getB() != null) {
+			return value.getB().remaining();
+		} else if (value.getSS() != null) {
+			return value.getSS().stream().mapToLong(String::length).sum();
+		} else if (value.getNS() != null) {
+			return value.getNS().stream().mapToLong(String::length).sum();
+		} else if (value.getBS() != null) {
+			return value.getBS().stream().mapToLong(ByteBuffer::remaining).sum();
+		} else if (value.getM() != null) {
+			return 3 + sizeOf(value.getM());
+		} else if (value.getL() != null) {
+			List<AttributeValue> list = value.getL();
+			long size = 3;
+			for (AttributeValue element : list) {
+				size += 1 + sizeOf(element);
+			}
+			return size;
+		}
+		// NULL and BOOL
+		return 1;
+	}
+
+	private static final class Entry {
+		private final Map<String, AttributeValue> item;
+		private final long weight;
+		private final long expiresAt;
+
+		private Entry(Map<String, AttributeValue> item, long weight, long expiresAt) {
+			this.item = item;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(long now) {
+			return expiresAt != 0 && now - expiresAt >= 0;
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.cache;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Second-level cache of the items of {@link CachedEntity} types. The items are
+ * cached in their attribute form, so every hit is unmarshalled into a new
+ * entity instance that callers may modify.
+ *
+ * Implementations must be thread-safe. {@link DefaultEntityCache} evicts by
+ * size, weight and age; other caches can be plugged in by implementing this
+ * interface.
+ */
+public interface EntityCache {
+
+	/**
+	 * Caches nothing - the default of the templates.
+	 */
+	EntityCache NONE = new EntityCache() {
+		@Override
+		@Nullable
+		public Map<String, AttributeValue> get(EntityCacheKey key) {
+			return null;
+		}
+
+		@Override
+		public void put(EntityCacheKey key, Map<String, AttributeValue> item) {
+		}
+
+		@Override
+		public void evict(EntityCacheKey key) {
+		}
+
+		@Override
+		public void clear() {
+		}
+	};
+
+	/**
+	 * @return The cached item - or {@code null} if it is not cached
+	 */
+	@Nullable
+	Map<String, AttributeValue> get(EntityCacheKey key);
+
+	void put(EntityCacheKey key, Map<String, AttributeValue> item);
+
+	void evict(EntityCacheKey key);
+
+	void clear();
+
+}
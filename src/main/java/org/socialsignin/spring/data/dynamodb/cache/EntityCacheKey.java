@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.cache;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+
+/**
+ * The table and primary key of a cached item.
+ */
+public final class EntityCacheKey {
+
+	private final String tableName;
+	private final Map<String, AttributeValue> key;
+	private final int hashCode;
+
+	public EntityCacheKey(String tableName, Map<String, AttributeValue> key) {
+		Assert.notNull(tableName, "tableName must not be null!");
+		Assert.notEmpty(key, "key must not be empty!");
+		this.tableName = tableName;
+		this.key = key;
+		this.hashCode = 31 * tableName.hashCode() + key.hashCode();
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public Map<String, AttributeValue> getKey() {
+		return key;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		EntityCacheKey that = (EntityCacheKey) o;
+		return hashCode == that.hashCode && tableName.equals(that.tableName) && key.equals(that.key);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return tableName + key;
+	}
+
+}
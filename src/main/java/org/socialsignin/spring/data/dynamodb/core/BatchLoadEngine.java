@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import org.socialsignin.spring.data.dynamodb.exception.BatchLoadException;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics.Sample;
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Loads entities in {@value #MAX_BATCH_GET_SIZE} key {@code BatchGetItem} calls
+ * of which up to {@code concurrency} are in flight at the same time.
+ * Unprocessed keys are retried after a jittered exponential backoff.
+ * The calls are paced by the {@link ThroughputGovernor} if one is set.
+ *
+ * The events of the entities are published on the calling thread.
+ */
+public class BatchLoadEngine {
+
+	static final int MAX_BATCH_GET_SIZE = 100;
+
+	public static final int DEFAULT_CONCURRENCY = 4;
+	public static final int DEFAULT_MAX_RETRIES = 10;
+
+	private final AmazonDynamoDB amazonDynamoDB;
+	private final DynamoDBMapper dynamoDBMapper;
+	private final DynamoDBMapperConfig dynamoDBMapperConfig;
+	private final int maxRetries;
+	private final ThreadPoolExecutor executor;
+	private volatile DynamoDBMetrics metrics = DynamoDBMetrics.NOOP;
+	private volatile ThroughputGovernor throughputGovernor = ThroughputGovernor.UNLIMITED;
+
+	public BatchLoadEngine(AmazonDynamoDB amazonDynamoDB, DynamoDBMapper dynamoDBMapper,
+			DynamoDBMapperConfig dynamoDBMapperConfig) {
+		this(amazonDynamoDB, dynamoDBMapper, dynamoDBMapperConfig, DEFAULT_CONCURRENCY, DEFAULT_MAX_RETRIES);
+	}
+
+	public BatchLoadEngine(AmazonDynamoDB amazonDynamoDB, DynamoDBMapper dynamoDBMapper,
+			DynamoDBMapperConfig dynamoDBMapperConfig, int concurrency, int maxRetries) {
+		Assert.notNull(amazonDynamoDB, "amazonDynamoDB must not be null!");
+		Assert.notNull(dynamoDBMapper, "dynamoDBMapper must not be null!");
+		Assert.notNull(dynamoDBMapperConfig, "dynamoDBMapperConfig must not be null!");
+		Assert.isTrue(concurrency > 0, "concurrency must be positive!");
+		Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative!");
+
+		this.amazonDynamoDB = amazonDynamoDB;
+		this.dynamoDBMapper = dynamoDBMapper;
+		this.dynamoDBMapperConfig = dynamoDBMapperConfig;
+		this.maxRetries = maxRetries;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dynamodb-batch-load-");
+		threadFactory.setDaemon(true);
+		// Idle threads time out, so there is nothing to shut down
+		this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	public void setMetrics(DynamoDBMetrics metrics) {
+		Assert.notNull(metrics, "metrics must not be null!");
+		this.metrics = metrics;
+	}
+
+	public void setThroughputGovernor(ThroughputGovernor throughputGovernor) {
+		Assert.notNull(throughputGovernor, "throughputGovernor must not be null!");
+		this.throughputGovernor = throughputGovernor;
+	}
+
+	public <T> List<T> batchLoad(Class<T> domainClass, List<KeyPair> keyPairs, BatchLoadOptions options,
+			Consumer<T> afterLoad) {
+		Assert.notNull(domainClass, "domainClass must not be null!");
+		Assert.notNull(keyPairs, "keyPairs must not be null!");
+		Assert.notNull(options, "options must not be null!");
+
+		DynamoDBMapperTableModel<T> tableModel = dynamoDBMapper.getTableModel(domainClass, dynamoDBMapperConfig);
+		String tableName = getTableName(domainClass);
+
+		// BatchGetItem rejects duplicate keys
+		Set<Map<String, AttributeValue>> keys = new LinkedHashSet<>();
+		for (KeyPair keyPair : keyPairs) {
+			keys.add(tableModel.convertKey(keyPair.getHashKey(), keyPair.getRangeKey()));
+		}
+
+		List<Future<Map<Map<String, AttributeValue>, T>>> futures = new ArrayList<>();
+		List<Map<String, AttributeValue>> chunk = new ArrayList<>(MAX_BATCH_GET_SIZE);
+		for (Map<String, AttributeValue> key : keys) {
+			chunk.add(key);
+			if (chunk.size() == MAX_BATCH_GET_SIZE) {
+				futures.add(submit(tableModel, tableName, chunk, options));
+				chunk = new ArrayList<>(MAX_BATCH_GET_SIZE);
+			}
+		}
+		if (!chunk.isEmpty()) {
+			futures.add(submit(tableModel, tableName, chunk, options));
+		}
+
+		Map<Map<String, AttributeValue>, T> loaded = new LinkedHashMap<>();
+		for (Future<Map<Map<String, AttributeValue>, T>> future : futures) {
+			loaded.putAll(get(future));
+		}
+
+		List<T> entities = new ArrayList<>(loaded.size());
+		if (options.isPreserveOrder()) {
+			for (Map<String, AttributeValue> key : keys) {
+				T entity = loaded.get(key);
+				if (entity != null) {
+					entities.add(entity);
+				}
+			}
+		} else {
+			entities.addAll(loaded.values());
+		}
+
+		entities.forEach(afterLoad);
+		return entities;
+	}
+
+	private <T> Future<Map<Map<String, AttributeValue>, T>> submit(DynamoDBMapperTableModel<T> tableModel,
+			String tableName, List<Map<String, AttributeValue>> keys, BatchLoadOptions options) {
+		KeysAndAttributes keysAndAttributes = createKeysAndAttributes(tableModel, keys, options);
+
+		return executor.submit(RepositoryInvocation.propagate(() -> {
+			Map<String, KeysAndAttributes> requestItems = Collections.singletonMap(tableName, keysAndAttributes);
+			Map<Map<String, AttributeValue>, T> loaded = new HashMap<>();
+
+			for (int retries = 0;; retries++) {
+				BatchGetItemResult result = batchGetItem(tableName, requestItems);
+
+				List<Map<String, AttributeValue>> items = result.getResponses() == null
+						? null
+						: result.getResponses().get(tableName);
+				if (items != null) {
+					for (Map<String, AttributeValue> item : items) {
+						loaded.put(keyOf(tableModel, item), tableModel.unconvert(item));
+					}
+				}
+
+				Map<String, KeysAndAttributes> unprocessedKeys = result.getUnprocessedKeys();
+				if (unprocessedKeys == null || unprocessedKeys.isEmpty()) {
+					return loaded;
+				}
+				if (retries >= maxRetries) {
+					throw new BatchLoadException(
+							"Keys still unprocessed after " + retries + " retries: " + unprocessedKeys, null);
+				}
+
+				KeysAndAttributes unprocessed = unprocessedKeys.get(tableName);
+				metrics.unprocessedRetry(DynamoDBMetrics.OPERATION_BATCH_GET, tableName,
+						unprocessed == null ? 0 : unprocessed.getKeys().size());
+				Thread.sleep(JitteredBackoff.delayMillis(retries));
+				requestItems = unprocessedKeys;
+			}
+		}));
+	}
+
+	private BatchGetItemResult batchGetItem(String tableName, Map<String, KeysAndAttributes> requestItems) {
+		throughputGovernor.acquireRead(tableName, null);
+		Sample sample = metrics.startOperation(DynamoDBMetrics.OPERATION_BATCH_GET, tableName, null);
+		try {
+			BatchGetItemResult result = amazonDynamoDB.batchGetItem(new BatchGetItemRequest(requestItems));
+			sample.stop(null);
+			return result;
+		} catch (RuntimeException e) {
+			sample.stop(e);
+			throw e;
+		}
+	}
+
+	private <T> KeysAndAttributes createKeysAndAttributes(DynamoDBMapperTableModel<T> tableModel,
+			List<Map<String, AttributeValue>> keys, BatchLoadOptions options) {
+		Boolean consistentReads = options.getConsistentReads();
+		if (consistentReads == null) {
+			consistentReads = dynamoDBMapperConfig.getConsistentReads() == DynamoDBMapperConfig.ConsistentReads.CONSISTENT;
+		}
+		KeysAndAttributes keysAndAttributes = new KeysAndAttributes().withKeys(keys)
+				.withConsistentRead(consistentReads);
+
+		if (!options.getProjection().isEmpty()) {
+			Set<String> attributeNames = new LinkedHashSet<>();
+			attributeNames.add(tableModel.hashKey().name());
+			if (tableModel.rangeKeyIfExists() != null) {
+				attributeNames.add(tableModel.rangeKey().name());
+			}
+			attributeNames.addAll(options.getProjection());
+
+			// Use placeholders as attribute names might be reserved words
+			Map<String, String> expressionAttributeNames = new HashMap<>();
+			StringJoiner projectionExpression = new StringJoiner(",");
+			for (String attributeName : attributeNames) {
+				String placeholder = "#p" + expressionAttributeNames.size();
+				expressionAttributeNames.put(placeholder, attributeName);
+				projectionExpression.add(placeholder);
+			}
+			keysAndAttributes.withProjectionExpression(projectionExpression.toString())
+					.withExpressionAttributeNames(expressionAttributeNames);
+		}
+		return keysAndAttributes;
+	}
+
+	private static <T> Map<String, AttributeValue> keyOf(DynamoDBMapperTableModel<T> tableModel,
+			Map<String, AttributeValue> item) {
+		Map<String, AttributeValue> key = new LinkedHashMap<>(4);
+		String hashKeyName = tableModel.hashKey().name();
+		key.put(hashKeyName, item.get(hashKeyName));
+
+		DynamoDBMapperFieldModel<T, Object> rangeKey = tableModel.rangeKeyIfExists();
+		if (rangeKey != null) {
+			key.put(rangeKey.name(), item.get(rangeKey.name()));
+		}
+		return key;
+	}
+
+	private <T> Map<Map<String, AttributeValue>, T> get(Future<Map<Map<String, AttributeValue>, T>> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BatchLoadException("Interrupted while waiting for batch loads", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DataAccessException) {
+				throw (DataAccessException) e.getCause();
+			}
+			throw new BatchLoadException("Batch load failed", e.getCause());
+		}
+	}
+
+	private <T> String getTableName(Class<T> domainClass) {
+		return DynamoDBTemplate.getTableName(domainClass, dynamoDBMapperConfig);
+	}
+}
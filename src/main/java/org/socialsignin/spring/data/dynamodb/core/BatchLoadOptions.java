@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options for a batch load executed by the {@link BatchLoadEngine}.
+ */
+public class BatchLoadOptions {
+
+	private Boolean consistentReads;
+	private List<String> projection = Collections.emptyList();
+	private boolean preserveOrder = false;
+
+	public static BatchLoadOptions defaults() {
+		return new BatchLoadOptions();
+	}
+
+	/**
+	 * @param consistentReads
+	 *            Whether strongly consistent reads are used - {@code null} to use
+	 *            the setting of the
+	 *            {@link com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig}
+	 * @return this
+	 */
+	public BatchLoadOptions withConsistentReads(@Nullable Boolean consistentReads) {
+		this.consistentReads = consistentReads;
+		return this;
+	}
+
+	/**
+	 * @param attributeNames
+	 *            The DynamoDB attribute names to load. The key attributes are
+	 *            always loaded. No attribute names load the whole item.
+	 * @return this
+	 */
+	public BatchLoadOptions withProjection(String... attributeNames) {
+		this.projection = Arrays.asList(attributeNames);
+		return this;
+	}
+
+	/**
+	 * @param preserveOrder
+	 *            Whether the loaded entities are returned in the order of the
+	 *            requested keys
+	 * @return this
+	 */
+	public BatchLoadOptions withPreserveOrder(boolean preserveOrder) {
+		this.preserveOrder = preserveOrder;
+		return this;
+	}
+
+	@Nullable
+	public Boolean getConsistentReads() {
+		return consistentReads;
+	}
+
+	public List<String> getProjection() {
+		return projection;
+	}
+
+	public boolean isPreserveOrder() {
+		return preserveOrder;
+	}
+}
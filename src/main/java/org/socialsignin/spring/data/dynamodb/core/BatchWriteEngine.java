@@ -0,0 +1,351 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics.Sample;
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes entities in {@value #MAX_BATCH_WRITE_SIZE} item {@code BatchWriteItem}
+ * calls of which up to {@code concurrency} are in flight at the same time.
+ * Entities with the same key inside a batch are reduced to the last one.
+ * Unprocessed items are retried by the {@link DynamoDBMapper} with a jittered
+ * exponential backoff.
+ * The calls are paced by the {@link ThroughputGovernor} if one is set.
+ *
+ * The events of the entities are published on the calling thread.
+ */
+public class BatchWriteEngine {
+
+	static final int MAX_BATCH_WRITE_SIZE = 25;
+
+	public static final int DEFAULT_CONCURRENCY = 4;
+	public static final int DEFAULT_MAX_RETRIES = 10;
+
+	private final DynamoDBMapper dynamoDBMapper;
+	private final DynamoDBMapperConfig dynamoDBMapperConfig;
+	private final DynamoDBMapperConfig writeConfig;
+	private final int concurrency;
+	private final ThreadPoolExecutor executor;
+	private volatile DynamoDBMetrics metrics = DynamoDBMetrics.NOOP;
+	private volatile ThroughputGovernor throughputGovernor = ThroughputGovernor.UNLIMITED;
+
+	public BatchWriteEngine(DynamoDBMapper dynamoDBMapper, DynamoDBMapperConfig dynamoDBMapperConfig) {
+		this(dynamoDBMapper, dynamoDBMapperConfig, DEFAULT_CONCURRENCY, DEFAULT_MAX_RETRIES);
+	}
+
+	public BatchWriteEngine(DynamoDBMapper dynamoDBMapper, DynamoDBMapperConfig dynamoDBMapperConfig,
+			int concurrency, int maxRetries) {
+		Assert.notNull(dynamoDBMapper, "dynamoDBMapper must not be null!");
+		Assert.notNull(dynamoDBMapperConfig, "dynamoDBMapperConfig must not be null!");
+		Assert.isTrue(concurrency > 0, "concurrency must be positive!");
+		Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative!");
+
+		this.dynamoDBMapper = dynamoDBMapper;
+		this.dynamoDBMapperConfig = dynamoDBMapperConfig;
+		this.writeConfig = dynamoDBMapperConfig.merge(DynamoDBMapperConfig.builder()
+				.withBatchWriteRetryStrategy(new JitteredBatchWriteRetryStrategy(maxRetries, this::recordRetry)).build());
+		this.concurrency = concurrency;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dynamodb-batch-write-");
+		threadFactory.setDaemon(true);
+		// Idle threads time out, so there is nothing to shut down
+		this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	public void setMetrics(DynamoDBMetrics metrics) {
+		Assert.notNull(metrics, "metrics must not be null!");
+		this.metrics = metrics;
+	}
+
+	public void setThroughputGovernor(ThroughputGovernor throughputGovernor) {
+		Assert.notNull(throughputGovernor, "throughputGovernor must not be null!");
+		this.throughputGovernor = throughputGovernor;
+	}
+
+	public BatchWriteOutcome batchSave(Iterable<?> entities, Consumer<Object> beforeSave,
+			Consumer<Object> afterSave) {
+		return write(entities, false, beforeSave, afterSave);
+	}
+
+	public BatchWriteOutcome batchDelete(Iterable<?> entities, Consumer<Object> beforeDelete,
+			Consumer<Object> afterDelete) {
+		return write(entities, true, beforeDelete, afterDelete);
+	}
+
+	private BatchWriteOutcome write(Iterable<?> entities, boolean delete, Consumer<Object> beforeWrite,
+			Consumer<Object> afterWrite) {
+		Assert.notNull(entities, "entities must not be null!");
+
+		BatchWriteOutcome outcome = new BatchWriteOutcome();
+		CompletionService<ChunkResult> completionService = new ExecutorCompletionService<>(executor);
+		int inFlight = 0;
+
+		Map<Object, Object> chunk = new LinkedHashMap<>();
+		for (Object entity : entities) {
+			beforeWrite.accept(entity);
+
+			Object duplicate = chunk.put(keyOf(entity), entity);
+			if (duplicate != null) {
+				outcome.addDuplicate(duplicate);
+			}
+
+			if (chunk.size() == MAX_BATCH_WRITE_SIZE) {
+				if (inFlight == concurrency) {
+					collect(completionService, outcome, afterWrite);
+					inFlight--;
+				}
+				submit(completionService, chunk.values(), delete);
+				inFlight++;
+				chunk = new LinkedHashMap<>();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			submit(completionService, chunk.values(), delete);
+			inFlight++;
+		}
+
+		for (; inFlight > 0; inFlight--) {
+			collect(completionService, outcome, afterWrite);
+		}
+		return outcome;
+	}
+
+	private void submit(CompletionService<ChunkResult> completionService, Collection<Object> chunk,
+			boolean delete) {
+		List<Object> items = new ArrayList<>(chunk);
+		acquireWrite(items);
+		completionService.submit(RepositoryInvocation.propagate(() -> {
+			Sample sample = metrics.startOperation(DynamoDBMetrics.OPERATION_BATCH_WRITE, getTableNames(items), null);
+			try {
+				List<FailedBatch> failedBatches = delete
+						? dynamoDBMapper.batchWrite(Collections.emptyList(), items, writeConfig)
+						: dynamoDBMapper.batchWrite(items, Collections.emptyList(), writeConfig);
+				sample.stop(failedBatches == null || failedBatches.isEmpty()
+						? null
+						: failedBatches.get(0).getException());
+				return new ChunkResult(items, failedBatches);
+			} catch (RuntimeException e) {
+				sample.stop(e);
+				FailedBatch failedBatch = new FailedBatch();
+				failedBatch.setException(e);
+				return new ChunkResult(items, Collections.singletonList(failedBatch));
+			}
+		}));
+	}
+
+	private void collect(CompletionService<ChunkResult> completionService, BatchWriteOutcome outcome,
+			Consumer<Object> afterWrite) {
+		ChunkResult result;
+		try {
+			result = completionService.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BatchWriteException("Interrupted while waiting for batch writes", e);
+		} catch (ExecutionException e) {
+			// The tasks handle their exceptions themselves
+			throw new BatchWriteException("Batch write failed", e.getCause());
+		}
+
+		if (result.failedBatches == null || result.failedBatches.isEmpty()) {
+			result.items.forEach(entity -> {
+				outcome.addWritten();
+				afterWrite.accept(entity);
+			});
+			return;
+		}
+
+		result.failedBatches.forEach(outcome::addFailedBatch);
+		for (Object entity : result.items) {
+			FailedBatch failedBatch = findFailedBatch(entity, result.failedBatches);
+			if (failedBatch == null) {
+				outcome.addWritten();
+				afterWrite.accept(entity);
+			} else {
+				outcome.addFailedItem(entity, failedBatch.getException());
+			}
+		}
+	}
+
+	private void recordRetry(Map<Class<?>, List<Object>> unprocessedItems) {
+		DynamoDBMetrics metrics = this.metrics;
+		if (metrics == DynamoDBMetrics.NOOP) {
+			return;
+		}
+		unprocessedItems.forEach((domainClass, items) -> metrics.unprocessedRetry(
+				DynamoDBMetrics.OPERATION_BATCH_WRITE, DynamoDBTemplate.getTableName(domainClass, dynamoDBMapperConfig),
+				items.size()));
+	}
+
+	/**
+	 * Waits on the calling thread, so no more chunks get queued than the tables
+	 * can take
+	 */
+	private void acquireWrite(List<Object> items) {
+		ThroughputGovernor throughputGovernor = this.throughputGovernor;
+		if (throughputGovernor == ThroughputGovernor.UNLIMITED) {
+			return;
+		}
+		Set<String> tableNames = new TreeSet<>();
+		for (Object item : items) {
+			tableNames.add(DynamoDBTemplate.getTableName(item.getClass(), dynamoDBMapperConfig));
+		}
+		tableNames.forEach(throughputGovernor::acquireWrite);
+	}
+
+	/**
+	 * @return The tables the chunk is written to - comma separated if there are
+	 *         several
+	 */
+	private String getTableNames(List<Object> items) {
+		if (metrics == DynamoDBMetrics.NOOP) {
+			return "";
+		}
+		Set<String> tableNames = new TreeSet<>();
+		for (Object item : items) {
+			tableNames.add(DynamoDBTemplate.getTableName(item.getClass(), dynamoDBMapperConfig));
+		}
+		return String.join(",", tableNames);
+	}
+
+	private FailedBatch findFailedBatch(Object entity, List<FailedBatch> failedBatches) {
+		Map<String, AttributeValue> key;
+		try {
+			key = getTableModel(entity).convertKey(entity);
+		} catch (RuntimeException e) {
+			// Without a key the entity can not be matched - treat it as failed
+			return failedBatches.get(0);
+		}
+
+		for (FailedBatch failedBatch : failedBatches) {
+			Map<String, List<WriteRequest>> unprocessedItems = failedBatch.getUnprocessedItems();
+			if (unprocessedItems == null || unprocessedItems.isEmpty()) {
+				// Nothing more specific known: the whole batch failed
+				return failedBatch;
+			}
+			for (List<WriteRequest> writeRequests : unprocessedItems.values()) {
+				for (WriteRequest writeRequest : writeRequests) {
+					if (matches(writeRequest, key)) {
+						return failedBatch;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean matches(WriteRequest writeRequest, Map<String, AttributeValue> key) {
+		if (writeRequest.getPutRequest() != null) {
+			return writeRequest.getPutRequest().getItem().entrySet().containsAll(key.entrySet());
+		} else if (writeRequest.getDeleteRequest() != null) {
+			return key.equals(writeRequest.getDeleteRequest().getKey());
+		}
+		return false;
+	}
+
+	/**
+	 * @return The key of the entity - or a unique object if the key is not (yet)
+	 *         known, e.g. because it is generated by the mapper
+	 */
+	private Object keyOf(Object entity) {
+		DynamoDBMapperTableModel<Object> tableModel = getTableModel(entity);
+
+		Object hashKey = tableModel.hashKey().get(entity);
+		DynamoDBMapperFieldModel<Object, Object> rangeKeyField = tableModel.rangeKeyIfExists();
+		Object rangeKey = rangeKeyField == null ? null : rangeKeyField.get(entity);
+
+		if (hashKey == null || (rangeKeyField != null && rangeKey == null)) {
+			return new Object();
+		}
+		return Arrays.asList(entity.getClass(), hashKey, rangeKey);
+	}
+
+	@SuppressWarnings("unchecked")
+	private DynamoDBMapperTableModel<Object> getTableModel(Object entity) {
+		return dynamoDBMapper.getTableModel((Class<Object>) entity.getClass(), dynamoDBMapperConfig);
+	}
+
+	private static class ChunkResult {
+		private final List<Object> items;
+		private final List<FailedBatch> failedBatches;
+
+		ChunkResult(List<Object> items, List<FailedBatch> failedBatches) {
+			this.items = items;
+			this.failedBatches = failedBatches;
+		}
+	}
+
+	/**
+	 * Retries unprocessed items after a {@link JitteredBackoff}.
+	 */
+	static class JitteredBatchWriteRetryStrategy implements DynamoDBMapperConfig.BatchWriteRetryStrategy {
+
+		private final int maxRetries;
+		private final Consumer<Map<Class<?>, List<Object>>> retryListener;
+
+		JitteredBatchWriteRetryStrategy(int maxRetries) {
+			this(maxRetries, unprocessedItems -> {
+			});
+		}
+
+		JitteredBatchWriteRetryStrategy(int maxRetries, Consumer<Map<Class<?>, List<Object>>> retryListener) {
+			this.maxRetries = maxRetries;
+			this.retryListener = retryListener;
+		}
+
+		@Override
+		public int getMaxRetryOnUnprocessedItems(Map<Class<?>, List<Object>> batchWriteAttempt) {
+			return maxRetries;
+		}
+
+		@Override
+		public long getDelayBeforeRetryUnprocessedItems(Map<Class<?>, List<Object>> unprocessedItems,
+				int retriesAttempted) {
+			retryListener.accept(unprocessedItems);
+			return JitteredBackoff.delayMillis(retriesAttempted);
+		}
+	}
+}
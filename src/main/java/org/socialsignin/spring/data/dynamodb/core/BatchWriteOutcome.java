@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch write executed by the {@link BatchWriteEngine}.
+ * Every entity handed in is either written, dropped as a duplicate of a later
+ * entity with the same key or failed.
+ */
+public class BatchWriteOutcome {
+
+	private long writtenCount;
+	private final List<Object> duplicates = new ArrayList<>();
+	private final List<FailedItem> failedItems = new ArrayList<>();
+	private final List<FailedBatch> failedBatches = new ArrayList<>();
+
+	/**
+	 * @param entities
+	 *            The entities handed to the batch write
+	 * @param failedBatches
+	 *            The failed batches of the write
+	 * @return The outcome as far as known from the failed batches alone: all
+	 *         entities are written or - if a batch failed - all of them failed
+	 */
+	static BatchWriteOutcome of(Iterable<?> entities, List<FailedBatch> failedBatches) {
+		BatchWriteOutcome outcome = new BatchWriteOutcome();
+		failedBatches.forEach(outcome::addFailedBatch);
+		for (Object entity : entities) {
+			if (failedBatches.isEmpty()) {
+				outcome.addWritten();
+			} else {
+				outcome.addFailedItem(entity, failedBatches.get(0).getException());
+			}
+		}
+		return outcome;
+	}
+
+	void addWritten() {
+		writtenCount++;
+	}
+
+	void addDuplicate(Object entity) {
+		duplicates.add(entity);
+	}
+
+	void addFailedItem(Object entity, @Nullable Exception exception) {
+		failedItems.add(new FailedItem(entity, exception));
+	}
+
+	void addFailedBatch(FailedBatch failedBatch) {
+		failedBatches.add(failedBatch);
+	}
+
+	/**
+	 * @return Number of entities that were written successfully
+	 */
+	public long getWrittenCount() {
+		return writtenCount;
+	}
+
+	/**
+	 * @return Entities that were not written because a later entity of the same
+	 *         batch had the same key
+	 */
+	public List<Object> getDuplicates() {
+		return Collections.unmodifiableList(duplicates);
+	}
+
+	/**
+	 * @return Entities that could not be written, even after retrying
+	 */
+	public List<FailedItem> getFailedItems() {
+		return Collections.unmodifiableList(failedItems);
+	}
+
+	/**
+	 * @return The failed batches as reported by the
+	 *         {@link com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper}
+	 */
+	public List<FailedBatch> getFailedBatches() {
+		return Collections.unmodifiableList(failedBatches);
+	}
+
+	public boolean isSuccessful() {
+		return failedBatches.isEmpty();
+	}
+
+	public static class FailedItem {
+
+		private final Object entity;
+		private final Exception exception;
+
+		FailedItem(Object entity, @Nullable Exception exception) {
+			this.entity = entity;
+			this.exception = exception;
+		}
+
+		public Object getEntity() {
+			return entity;
+		}
+
+		/**
+		 * @return The exception of the failed batch - {@code null} if the item was
+		 *         still unprocessed after all retries
+		 */
+		@Nullable
+		public Exception getException() {
+			return exception;
+		}
+	}
+}
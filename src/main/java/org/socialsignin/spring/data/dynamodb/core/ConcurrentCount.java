@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A total count running on the {@link DynamoDBOperations#getCountExecutor()
+ * count executor} while the caller reads the content of a page. If no executor
+ * is available or it is saturated, the count runs on the calling thread once
+ * it is {@link #get() requested}.
+ */
+public final class ConcurrentCount {
+
+	private final Supplier<Long> count;
+	@Nullable
+	private final FutureTask<Long> task;
+
+	private ConcurrentCount(Supplier<Long> count, @Nullable FutureTask<Long> task) {
+		this.count = count;
+		this.task = task;
+	}
+
+	/**
+	 * @param dynamoDBOperations
+	 *            Provides the executor to count on
+	 * @param count
+	 *            Counts the items, e.g. via
+	 *            {@link DynamoDBOperations#count(Class, com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression)}
+	 * @return The started count
+	 */
+	public static ConcurrentCount start(DynamoDBOperations dynamoDBOperations, Supplier<Long> count) {
+		Executor executor = dynamoDBOperations.getCountExecutor();
+		if (executor == null) {
+			return new ConcurrentCount(count, null);
+		}
+		FutureTask<Long> task = new FutureTask<>(RepositoryInvocation.propagate(count::get));
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			return new ConcurrentCount(count, null);
+		}
+		return new ConcurrentCount(count, task);
+	}
+
+	/**
+	 * @return The number of items, waiting for the count to complete
+	 */
+	public long get() {
+		if (task == null) {
+			return count.get();
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for a count", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DataAccessResourceFailureException("Count failed", e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,805 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGenerateStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.socialsignin.spring.data.dynamodb.exception.BatchLoadException;
+import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterLoadEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.DynamoDBMappingEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.MappingEventListenerRegistry;
+import org.socialsignin.spring.data.dynamodb.metrics.ConsumedCapacityListener;
+import org.socialsignin.spring.data.dynamodb.metrics.ConsumedCapacityRequestHandler;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics.Sample;
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.math.BigInteger;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link DynamoDBAsyncOperations} backed by the AWS SDK v2
+ * {@link DynamoDbAsyncClient}. The {@link DynamoDBMapper} is only used for its
+ * table model, i.e. to convert between entities and attribute values - all
+ * requests are sent through the async client and never block the calling
+ * thread.
+ *
+ * {@link #save(Object)} writes the entity with a {@code PutItem} request. Like
+ * {@link DynamoDBMapper#save(Object)}, it generates auto-generated attributes
+ * and increments the version attribute, conditional on the version read unless
+ * the {@link SaveBehavior} is {@code CLOBBER}. Save behaviors that only update
+ * some attributes cannot be expressed by a {@code PutItem} request and are
+ * rejected. The batch operations ignore versions, like the mapper's. They send
+ * each key once per request and keep at most
+ * {@value #DEFAULT_BATCH_CONCURRENCY} requests in flight by default.
+ */
+public class DynamoDBAsyncTemplate
+		implements
+			DynamoDBAsyncOperations,
+			ApplicationContextAware,
+			ApplicationListener<ContextRefreshedEvent> {
+
+	static final int MAX_BATCH_GET_SIZE = 100;
+	static final int MAX_BATCH_WRITE_SIZE = 25;
+	static final int MAX_UNPROCESSED_RETRIES = 10;
+
+	public static final int DEFAULT_BATCH_CONCURRENCY = 4;
+
+	private final DynamoDbAsyncClient dynamoDbAsyncClient;
+	private final DynamoDBMapper dynamoDBMapper;
+	private final DynamoDBMapperConfig dynamoDBMapperConfig;
+	private ApplicationEventPublisher eventPublisher;
+	private volatile MappingEventListenerRegistry listenerRegistry = MappingEventListenerRegistry.PUBLISH_ALL;
+	private volatile int maxUnprocessedRetries = MAX_UNPROCESSED_RETRIES;
+	private volatile int batchConcurrency = DEFAULT_BATCH_CONCURRENCY;
+	private volatile DynamoDBMetrics metrics = DynamoDBMetrics.NOOP;
+	@Nullable
+	private volatile ConsumedCapacityRequestHandler consumedCapacityHandler;
+
+	/**
+	 * Initializes a new {@code DynamoDBAsyncTemplate}.
+	 *
+	 * @param dynamoDbAsyncClient
+	 *            must not be {@code null}
+	 * @param dynamoDBMapper
+	 *            must not be {@code null} - used to map entities only
+	 * @param dynamoDBMapperConfig
+	 *            must not be {@code null}
+	 */
+	public DynamoDBAsyncTemplate(DynamoDbAsyncClient dynamoDbAsyncClient, DynamoDBMapper dynamoDBMapper,
+			DynamoDBMapperConfig dynamoDBMapperConfig) {
+		Assert.notNull(dynamoDbAsyncClient, "dynamoDbAsyncClient must not be null!");
+		Assert.notNull(dynamoDBMapper, "dynamoDBMapper must not be null!");
+		Assert.notNull(dynamoDBMapperConfig, "dynamoDBMapperConfig must not be null!");
+
+		this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+		this.dynamoDBMapper = dynamoDBMapper;
+		this.dynamoDBMapperConfig = dynamoDBMapperConfig;
+	}
+
+	/**
+	 * @param maxUnprocessedRetries
+	 *            How often the unprocessed keys and items of a batch request are
+	 *            retried, each after a jittered exponential backoff - by default
+	 *            {@value #MAX_UNPROCESSED_RETRIES} times
+	 */
+	public void setMaxUnprocessedRetries(int maxUnprocessedRetries) {
+		Assert.isTrue(maxUnprocessedRetries >= 0, "maxUnprocessedRetries must not be negative!");
+		this.maxUnprocessedRetries = maxUnprocessedRetries;
+	}
+
+	/**
+	 * @param batchConcurrency
+	 *            How many requests of a batch operation are in flight at a time -
+	 *            by default {@value #DEFAULT_BATCH_CONCURRENCY}
+	 */
+	public void setBatchConcurrency(int batchConcurrency) {
+		Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive!");
+		this.batchConcurrency = batchConcurrency;
+	}
+
+	/**
+	 * @param metrics
+	 *            Records the batch requests of this template - e.g.
+	 *            {@link org.socialsignin.spring.data.dynamodb.metrics.MicrometerDynamoDBMetrics}
+	 */
+	public void setMetrics(DynamoDBMetrics metrics) {
+		Assert.notNull(metrics, "metrics must not be null!");
+		this.metrics = metrics;
+	}
+
+	/**
+	 * The async client does not run the {@link ConsumedCapacityRequestHandler}
+	 * of the mapper's client, so the batch requests of this template ask for and
+	 * publish their consumed capacity themselves.
+	 *
+	 * @param listeners
+	 *            Receive the capacity consumed by the batch requests
+	 */
+	public void setConsumedCapacityListeners(ConsumedCapacityListener... listeners) {
+		this.consumedCapacityHandler = new ConsumedCapacityRequestHandler(listeners);
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+		this.eventPublisher = applicationContext;
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == eventPublisher) {
+			this.listenerRegistry = MappingEventListenerRegistry.of(event.getApplicationContext());
+		}
+	}
+
+	@Override
+	public <T> CompletableFuture<Integer> count(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		return countQuery(SdkV2ModelConverter.toV2(createQueryRequest(domainClass, queryExpression)));
+	}
+
+	@Override
+	public <T> CompletableFuture<Integer> count(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		ScanRequest scanRequest = createScanRequest(domainClass, scanExpression).toBuilder().select(Select.COUNT)
+				.projectionExpression(null).build();
+
+		AtomicInteger count = new AtomicInteger();
+		return dynamoDbAsyncClient.scanPaginator(scanRequest).subscribe(page -> count.addAndGet(page.count()))
+				.thenApply(done -> count.get());
+	}
+
+	@Override
+	public <T> CompletableFuture<Integer> count(Class<T> clazz, QueryRequest mutableQueryRequest) {
+		mutableQueryRequest.setSelect(com.amazonaws.services.dynamodbv2.model.Select.COUNT);
+
+		return countQuery(SdkV2ModelConverter.toV2(mutableQueryRequest));
+	}
+
+	private CompletableFuture<Integer> countQuery(
+			software.amazon.awssdk.services.dynamodb.model.QueryRequest queryRequest) {
+		software.amazon.awssdk.services.dynamodb.model.QueryRequest countRequest = queryRequest.toBuilder()
+				.select(Select.COUNT).projectionExpression(null).build();
+
+		// Count queries can also be truncated for large datasets
+		AtomicInteger count = new AtomicInteger();
+		return dynamoDbAsyncClient.queryPaginator(countRequest).subscribe(page -> count.addAndGet(page.count()))
+				.thenApply(done -> count.get());
+	}
+
+	@Override
+	public <T> SdkPublisher<T> query(Class<T> clazz, QueryRequest queryRequest) {
+		SdkPublisher<Map<String, AttributeValue>> items = dynamoDbAsyncClient
+				.queryPaginator(SdkV2ModelConverter.toV2(queryRequest)).items();
+
+		// The limit is the number of matching items to read, as in DynamoDBTemplate:
+		// the paginator requests the next page until that many items were emitted
+		if (queryRequest.getLimit() != null) {
+			items = items.limit(queryRequest.getLimit());
+		}
+
+		return items.map(item -> unconvert(clazz, item));
+	}
+
+	@Override
+	public <T> SdkPublisher<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		software.amazon.awssdk.services.dynamodb.model.QueryRequest queryRequest = SdkV2ModelConverter
+				.toV2(createQueryRequest(domainClass, queryExpression));
+
+		return dynamoDbAsyncClient.queryPaginator(queryRequest).items().map(item -> unconvert(domainClass, item));
+	}
+
+	@Override
+	public <T> SdkPublisher<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		ScanRequest scanRequest = createScanRequest(domainClass, scanExpression);
+
+		return dynamoDbAsyncClient.scanPaginator(scanRequest).items().map(item -> unconvert(domainClass, item));
+	}
+
+	@Override
+	public <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey, Object rangeKey) {
+		DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+		GetItemRequest getItemRequest = GetItemRequest.builder().tableName(getTableName(domainClass))
+				.key(SdkV2ModelConverter.toV2(tableModel.convertKey(hashKey, rangeKey)))
+				.consistentRead(isConsistentReads()).build();
+
+		return dynamoDbAsyncClient.getItem(getItemRequest).thenApply(response -> {
+			if (!response.hasItem()) {
+				return null;
+			}
+			T entity = tableModel.unconvert(SdkV2ModelConverter.toV1(response.item()));
+			maybeEmitEvent(entity, AfterLoadEvent.class, AfterLoadEvent::new);
+
+			return entity;
+		});
+	}
+
+	@Override
+	public <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey) {
+		return load(domainClass, hashKey, null);
+	}
+
+	@Override
+	public <T> CompletableFuture<List<T>> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet) {
+		RepositoryInvocation invocation = RepositoryInvocation.current();
+		Map<String, Class<?>> domainClassesByTableName = new HashMap<>();
+		// BatchGetItem rejects duplicate keys
+		Set<SimpleImmutableEntry<String, Map<String, AttributeValue>>> uniqueKeys = new LinkedHashSet<>();
+		for (Map.Entry<Class<?>, List<KeyPair>> entry : itemsToGet.entrySet()) {
+			String tableName = getTableName(entry.getKey());
+			DynamoDBMapperTableModel<?> tableModel = getTableModel(entry.getKey());
+			domainClassesByTableName.put(tableName, entry.getKey());
+			for (KeyPair keyPair : entry.getValue()) {
+				uniqueKeys.add(new SimpleImmutableEntry<>(tableName, SdkV2ModelConverter
+						.toV2(tableModel.convertKey(keyPair.getHashKey(), keyPair.getRangeKey()))));
+			}
+		}
+
+		List<SimpleImmutableEntry<String, Map<String, AttributeValue>>> keys = new ArrayList<>(uniqueKeys);
+		List<Supplier<CompletableFuture<List<T>>>> chunks = new ArrayList<>();
+		for (int i = 0; i < keys.size(); i += MAX_BATCH_GET_SIZE) {
+			Map<String, List<Map<String, AttributeValue>>> keysByTableName = keys
+					.subList(i, Math.min(i + MAX_BATCH_GET_SIZE, keys.size())).stream()
+					.collect(Collectors.groupingBy(SimpleImmutableEntry::getKey, LinkedHashMap::new,
+							Collectors.mapping(SimpleImmutableEntry::getValue, Collectors.toList())));
+
+			Map<String, KeysAndAttributes> requestItems = new LinkedHashMap<>();
+			keysByTableName.forEach((tableName, tableKeys) -> requestItems.put(tableName,
+					KeysAndAttributes.builder().keys(tableKeys).consistentRead(isConsistentReads()).build()));
+			chunks.add(() -> batchGet(requestItems, domainClassesByTableName, invocation, 0));
+		}
+
+		return new BoundedChunks<>(chunks).send(batchConcurrency)
+				.thenApply(loaded -> loaded.stream().flatMap(List::stream).map(entity -> {
+					maybeEmitEvent(entity, AfterLoadEvent.class, AfterLoadEvent::new);
+					return entity;
+				}).collect(Collectors.toList()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<List<T>> batchGet(Map<String, KeysAndAttributes> requestItems,
+			Map<String, Class<?>> domainClassesByTableName, @Nullable RepositoryInvocation invocation, int retries) {
+		BatchGetItemRequest.Builder batchGetItemRequest = BatchGetItemRequest.builder().requestItems(requestItems);
+		if (consumedCapacityHandler != null) {
+			batchGetItemRequest.returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+		}
+
+		Sample sample = metrics.startOperation(DynamoDBMetrics.OPERATION_BATCH_GET,
+				getTableNames(requestItems.keySet()), null);
+		return dynamoDbAsyncClient.batchGetItem(batchGetItemRequest.build()).whenComplete((response, throwable) -> {
+			sample.stop(unwrap(throwable));
+			if (response != null) {
+				publishConsumedCapacity(response.consumedCapacity(), false, invocation);
+			}
+		}).thenCompose(response -> {
+			List<T> entities = new ArrayList<>();
+			response.responses().forEach((tableName, items) -> {
+				Class<T> domainClass = (Class<T>) domainClassesByTableName.get(tableName);
+				for (Map<String, AttributeValue> item : items) {
+					entities.add(unconvert(domainClass, item));
+				}
+			});
+
+			if (!response.hasUnprocessedKeys() || response.unprocessedKeys().isEmpty()) {
+				return CompletableFuture.completedFuture(entities);
+			}
+			if (retries >= maxUnprocessedRetries) {
+				CompletableFuture<List<T>> failed = new CompletableFuture<>();
+				failed.completeExceptionally(new BatchLoadException("Keys of " + response.unprocessedKeys().keySet()
+						+ " remained unprocessed after " + retries + " retries!", null));
+				return failed;
+			}
+			response.unprocessedKeys().forEach((tableName, unprocessed) -> metrics
+					.unprocessedRetry(DynamoDBMetrics.OPERATION_BATCH_GET, tableName, unprocessed.keys().size()));
+			return afterBackoff(retries, () -> this.<T>batchGet(response.unprocessedKeys(),
+					domainClassesByTableName, invocation, retries + 1))
+					.thenApply(retried -> {
+						entities.addAll(retried);
+						return entities;
+					});
+		});
+	}
+
+	@Override
+	public <T> CompletableFuture<T> save(T entity) {
+		SaveBehavior saveBehavior = dynamoDBMapperConfig.getSaveBehavior();
+		if (saveBehavior == SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES || saveBehavior == SaveBehavior.APPEND_SET) {
+			CompletableFuture<T> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(new InvalidDataAccessApiUsageException(
+					"SaveBehavior " + saveBehavior + " cannot be applied by a PutItem request!"));
+			return rejected;
+		}
+		maybeEmitEvent(entity, BeforeSaveEvent.class, BeforeSaveEvent::new);
+
+		Class<T> domainClass = domainClassOf(entity);
+		DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+		Map<String, com.amazonaws.services.dynamodbv2.model.AttributeValue> item = new LinkedHashMap<>(
+				tableModel.convert(entity));
+
+		// Generated values are set on the entity once it is saved
+		Map<DynamoDBMapperFieldModel<T, Object>, com.amazonaws.services.dynamodbv2.model.AttributeValue> generated =
+				new LinkedHashMap<>();
+		List<String> conditions = new ArrayList<>();
+		Map<String, String> expressionAttributeNames = new HashMap<>();
+		Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+		for (DynamoDBMapperFieldModel<T, Object> field : tableModel.fields()) {
+			com.amazonaws.services.dynamodbv2.model.AttributeValue value;
+			if (field.versioned()) {
+				com.amazonaws.services.dynamodbv2.model.AttributeValue version = field.getAndConvert(entity);
+				if (saveBehavior != SaveBehavior.CLOBBER) {
+					String name = "#version" + expressionAttributeNames.size();
+					expressionAttributeNames.put(name, field.name());
+					if (version == null) {
+						conditions.add("attribute_not_exists(" + name + ")");
+					} else {
+						String placeholder = ":version" + expressionAttributeValues.size();
+						expressionAttributeValues.put(placeholder, SdkV2ModelConverter.toV2(version));
+						conditions.add(name + " = " + placeholder);
+					}
+				}
+				BigInteger next = version == null ? BigInteger.ONE : new BigInteger(version.getN()).add(BigInteger.ONE);
+				value = new com.amazonaws.services.dynamodbv2.model.AttributeValue().withN(next.toString());
+			} else if (field.getGenerateStrategy() == DynamoDBAutoGenerateStrategy.ALWAYS
+					|| (field.getGenerateStrategy() == DynamoDBAutoGenerateStrategy.CREATE
+							&& field.get(entity) == null)) {
+				value = field.convert(field.generate(field.get(entity)));
+			} else {
+				continue;
+			}
+			item.put(field.name(), value);
+			generated.put(field, value);
+		}
+
+		PutItemRequest.Builder putItemRequest = PutItemRequest.builder().tableName(getTableName(domainClass))
+				.item(SdkV2ModelConverter.toV2(item));
+		if (!conditions.isEmpty()) {
+			putItemRequest.conditionExpression(String.join(" AND ", conditions))
+					.expressionAttributeNames(expressionAttributeNames);
+			if (!expressionAttributeValues.isEmpty()) {
+				putItemRequest.expressionAttributeValues(expressionAttributeValues);
+			}
+		}
+
+		return dynamoDbAsyncClient.putItem(putItemRequest.build()).handle((response, throwable) -> {
+			if (throwable != null) {
+				Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+						? throwable.getCause()
+						: throwable;
+				if (cause instanceof ConditionalCheckFailedException) {
+					throw new OptimisticLockingFailureException(
+							"The version of " + entity + " does not match the saved one!", cause);
+				}
+				throw throwable instanceof CompletionException
+						? (CompletionException) throwable
+						: new CompletionException(throwable);
+			}
+			generated.forEach((field, value) -> field.unconvertAndSet(entity, value));
+			maybeEmitEvent(entity, AfterSaveEvent.class, AfterSaveEvent::new);
+			return entity;
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<FailedBatch>> batchSave(Iterable<?> entities) {
+		entities.forEach(it -> maybeEmitEvent(it, BeforeSaveEvent.class, BeforeSaveEvent::new));
+
+		return batchWrite(entities,
+				entity -> WriteRequest.builder()
+						.putRequest(PutRequest.builder()
+								.item(SdkV2ModelConverter.toV2(getTableModel(domainClassOf(entity)).convert(entity)))
+								.build())
+						.build())
+				.thenApply(result -> {
+					entities.forEach(it -> maybeEmitEvent(it, AfterSaveEvent.class, AfterSaveEvent::new));
+					return result;
+				});
+	}
+
+	@Override
+	public <T> CompletableFuture<T> delete(T entity) {
+		maybeEmitEvent(entity, BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+
+		Class<T> domainClass = domainClassOf(entity);
+		DeleteItemRequest deleteItemRequest = DeleteItemRequest.builder().tableName(getTableName(domainClass))
+				.key(SdkV2ModelConverter.toV2(getTableModel(domainClass).convertKey(entity))).build();
+
+		return dynamoDbAsyncClient.deleteItem(deleteItemRequest).thenApply(response -> {
+			maybeEmitEvent(entity, AfterDeleteEvent.class, AfterDeleteEvent::new);
+			return entity;
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<FailedBatch>> batchDelete(Iterable<?> entities) {
+		entities.forEach(it -> maybeEmitEvent(it, BeforeDeleteEvent.class, BeforeDeleteEvent::new));
+
+		return batchWrite(entities,
+				entity -> WriteRequest.builder()
+						.deleteRequest(DeleteRequest.builder()
+								.key(SdkV2ModelConverter
+										.toV2(getTableModel(domainClassOf(entity)).convertKey(entity)))
+								.build())
+						.build())
+				.thenApply(result -> {
+					entities.forEach(it -> maybeEmitEvent(it, AfterDeleteEvent.class, AfterDeleteEvent::new));
+					return result;
+				});
+	}
+
+	private CompletableFuture<List<FailedBatch>> batchWrite(Iterable<?> entities,
+			Function<Object, WriteRequest> writeRequestFactory) {
+		RepositoryInvocation invocation = RepositoryInvocation.current();
+		List<Supplier<CompletableFuture<List<FailedBatch>>>> chunks = new ArrayList<>();
+
+		// BatchWriteItem rejects several requests for the same key - the last entity wins
+		Map<Object, Object> chunk = new LinkedHashMap<>();
+		for (Object entity : entities) {
+			chunk.put(keyOf(entity), entity);
+			if (chunk.size() == MAX_BATCH_WRITE_SIZE) {
+				chunks.add(writeChunk(chunk.values(), writeRequestFactory, invocation));
+				chunk = new LinkedHashMap<>();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			chunks.add(writeChunk(chunk.values(), writeRequestFactory, invocation));
+		}
+
+		return new BoundedChunks<>(chunks).send(batchConcurrency)
+				.thenApply(failed -> failed.stream().flatMap(List::stream).collect(Collectors.toList()));
+	}
+
+	private Supplier<CompletableFuture<List<FailedBatch>>> writeChunk(Collection<Object> entities,
+			Function<Object, WriteRequest> writeRequestFactory, @Nullable RepositoryInvocation invocation) {
+		Map<String, List<WriteRequest>> requestItems = new LinkedHashMap<>();
+		for (Object entity : entities) {
+			requestItems.computeIfAbsent(getTableName(entity.getClass()), tableName -> new ArrayList<>())
+					.add(writeRequestFactory.apply(entity));
+		}
+		return () -> batchWrite(requestItems, invocation, 0);
+	}
+
+	private CompletableFuture<List<FailedBatch>> batchWrite(Map<String, List<WriteRequest>> requestItems,
+			@Nullable RepositoryInvocation invocation, int retries) {
+		BatchWriteItemRequest.Builder batchWriteItemRequest = BatchWriteItemRequest.builder()
+				.requestItems(requestItems);
+		if (consumedCapacityHandler != null) {
+			batchWriteItemRequest.returnConsumedCapacity(ReturnConsumedCapacity.INDEXES);
+		}
+
+		Sample sample = metrics.startOperation(DynamoDBMetrics.OPERATION_BATCH_WRITE,
+				getTableNames(requestItems.keySet()), null);
+		return dynamoDbAsyncClient.batchWriteItem(batchWriteItemRequest.build()).handle((response, throwable) -> {
+			sample.stop(unwrap(throwable));
+			if (throwable != null) {
+				return CompletableFuture.completedFuture(failedBatches(requestItems,
+						throwable instanceof Exception ? (Exception) throwable : new RuntimeException(throwable)));
+			}
+			publishConsumedCapacity(response.consumedCapacity(), true, invocation);
+			if (!response.hasUnprocessedItems() || response.unprocessedItems().isEmpty()) {
+				return CompletableFuture.<List<FailedBatch>>completedFuture(new ArrayList<>());
+			}
+			if (retries >= maxUnprocessedRetries) {
+				return CompletableFuture.completedFuture(failedBatches(response.unprocessedItems(),
+						new BatchWriteException("Items of " + response.unprocessedItems().keySet()
+								+ " remained unprocessed after " + retries + " retries!", null)));
+			}
+			response.unprocessedItems().forEach((tableName, unprocessed) -> metrics
+					.unprocessedRetry(DynamoDBMetrics.OPERATION_BATCH_WRITE, tableName, unprocessed.size()));
+			return afterBackoff(retries, () -> batchWrite(response.unprocessedItems(), invocation, retries + 1));
+		}).thenCompose(Function.identity());
+	}
+
+	/**
+	 * @return The key of the entity - or a unique object if the key is not (yet)
+	 *         known, e.g. because it is generated
+	 */
+	private Object keyOf(Object entity) {
+		DynamoDBMapperTableModel<Object> tableModel = getTableModel(domainClassOf(entity));
+
+		Object hashKey = tableModel.hashKey().get(entity);
+		DynamoDBMapperFieldModel<Object, Object> rangeKeyField = tableModel.rangeKeyIfExists();
+		Object rangeKey = rangeKeyField == null ? null : rangeKeyField.get(entity);
+
+		if (hashKey == null || (rangeKeyField != null && rangeKey == null)) {
+			return new Object();
+		}
+		return Arrays.asList(entity.getClass(), hashKey, rangeKey);
+	}
+
+	/**
+	 * @return The tables of the request - comma separated if there are several
+	 */
+	private String getTableNames(Collection<String> tableNames) {
+		if (metrics == DynamoDBMetrics.NOOP) {
+			return "";
+		}
+		return String.join(",", new TreeSet<>(tableNames));
+	}
+
+	private void publishConsumedCapacity(
+			List<software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity> consumedCapacities, boolean write,
+			@Nullable RepositoryInvocation invocation) {
+		ConsumedCapacityRequestHandler consumedCapacityHandler = this.consumedCapacityHandler;
+		if (consumedCapacityHandler != null) {
+			consumedCapacityHandler.publish(
+					consumedCapacities.stream().map(SdkV2ModelConverter::toV1).collect(Collectors.toList()), write,
+					invocation);
+		}
+	}
+
+	@Nullable
+	private static Throwable unwrap(@Nullable Throwable throwable) {
+		return throwable instanceof CompletionException && throwable.getCause() != null
+				? throwable.getCause()
+				: throwable;
+	}
+
+	/**
+	 * Sends the retry of unprocessed keys or items after a
+	 * {@link JitteredBackoff}, without blocking a thread while waiting.
+	 */
+	private static <R> CompletableFuture<R> afterBackoff(int retriesAttempted,
+			Supplier<CompletableFuture<R>> retry) {
+		Executor delayed = CompletableFuture.delayedExecutor(JitteredBackoff.delayMillis(retriesAttempted),
+				TimeUnit.MILLISECONDS);
+		return CompletableFuture.supplyAsync(retry, delayed).thenCompose(Function.identity());
+	}
+
+	private List<FailedBatch> failedBatches(Map<String, List<WriteRequest>> unprocessedItems, Exception exception) {
+		Map<String, List<com.amazonaws.services.dynamodbv2.model.WriteRequest>> v1UnprocessedItems = new LinkedHashMap<>();
+		unprocessedItems.forEach((tableName, writeRequests) -> v1UnprocessedItems.put(tableName,
+				writeRequests.stream().map(SdkV2ModelConverter::toV1).collect(Collectors.toList())));
+
+		FailedBatch failedBatch = new FailedBatch();
+		failedBatch.setUnprocessedItems(v1UnprocessedItems);
+		failedBatch.setException(exception);
+
+		List<FailedBatch> result = new ArrayList<>();
+		result.add(failedBatch);
+		return result;
+	}
+
+	@Override
+	public <T> String getOverriddenTableName(Class<T> domainClass, String tableName) {
+		return DynamoDBTemplate.getOverriddenTableName(domainClass, tableName, dynamoDBMapperConfig);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T> DynamoDBMapperTableModel<T> getTableModel(Class<T> domainClass) {
+		return dynamoDBMapper.getTableModel(domainClass, dynamoDBMapperConfig);
+	}
+
+	<T> String getTableName(Class<T> domainClass) {
+		DynamoDBTable table = AnnotationUtils.findAnnotation(domainClass, DynamoDBTable.class);
+		Assert.notNull(table, "Domain type must by annotated by DynamoDBTable!");
+
+		return getOverriddenTableName(domainClass, table.tableName());
+	}
+
+	<T> QueryRequest createQueryRequest(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		QueryRequest queryRequest = new QueryRequest(getTableName(domainClass))
+				.withIndexName(queryExpression.getIndexName())
+				.withConsistentRead(queryExpression.isConsistentRead())
+				.withScanIndexForward(queryExpression.isScanIndexForward()).withLimit(queryExpression.getLimit())
+				.withExclusiveStartKey(queryExpression.getExclusiveStartKey())
+				.withQueryFilter(queryExpression.getQueryFilter())
+				.withConditionalOperator(queryExpression.getConditionalOperator())
+				.withKeyConditionExpression(queryExpression.getKeyConditionExpression())
+				.withFilterExpression(queryExpression.getFilterExpression())
+				.withExpressionAttributeNames(queryExpression.getExpressionAttributeNames())
+				.withExpressionAttributeValues(queryExpression.getExpressionAttributeValues())
+				.withProjectionExpression(queryExpression.getProjectionExpression())
+				.withSelect(queryExpression.getSelect())
+				.withReturnConsumedCapacity(queryExpression.getReturnConsumedCapacity());
+
+		if (queryExpression.getKeyConditionExpression() == null) {
+			queryRequest.setKeyConditions(createKeyConditions(domainClass, queryExpression));
+		}
+		return queryRequest;
+	}
+
+	private <T> Map<String, Condition> createKeyConditions(Class<T> domainClass,
+			DynamoDBQueryExpression<T> queryExpression) {
+		Map<String, Condition> keyConditions = new LinkedHashMap<>();
+		T hashKeyValues = queryExpression.getHashKeyValues();
+		if (hashKeyValues != null) {
+			String indexName = queryExpression.getIndexName();
+			Collection<DynamoDBMapperFieldModel<T, Object>> fields = getTableModel(domainClass).fields();
+			// Local secondary indexes share the hash key of the table
+			boolean globalSecondaryIndex = indexName != null && fields.stream()
+					.anyMatch(field -> field.globalSecondaryIndexNames(KeyType.HASH).contains(indexName));
+			for (DynamoDBMapperFieldModel<T, Object> field : fields) {
+				boolean hashKeyOfIndex = globalSecondaryIndex
+						? field.globalSecondaryIndexNames(KeyType.HASH).contains(indexName)
+						: field.keyType() == KeyType.HASH;
+				if (hashKeyOfIndex) {
+					com.amazonaws.services.dynamodbv2.model.AttributeValue value = field.getAndConvert(hashKeyValues);
+					if (value != null) {
+						keyConditions.put(field.name(), new Condition()
+								.withComparisonOperator(ComparisonOperator.EQ).withAttributeValueList(value));
+					}
+				}
+			}
+		}
+		if (queryExpression.getRangeKeyConditions() != null) {
+			keyConditions.putAll(queryExpression.getRangeKeyConditions());
+		}
+		return keyConditions;
+	}
+
+	<T> ScanRequest createScanRequest(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return ScanRequest.builder().tableName(getTableName(domainClass)).indexName(scanExpression.getIndexName())
+				.scanFilter(SdkV2ModelConverter.toV2Conditions(scanExpression.getScanFilter()))
+				.conditionalOperator(scanExpression.getConditionalOperator())
+				.filterExpression(scanExpression.getFilterExpression())
+				.expressionAttributeNames(scanExpression.getExpressionAttributeNames())
+				.expressionAttributeValues(SdkV2ModelConverter.toV2(scanExpression.getExpressionAttributeValues()))
+				.projectionExpression(scanExpression.getProjectionExpression()).select(scanExpression.getSelect())
+				.limit(scanExpression.getLimit())
+				.exclusiveStartKey(SdkV2ModelConverter.toV2(scanExpression.getExclusiveStartKey()))
+				.consistentRead(scanExpression.isConsistentRead()).segment(scanExpression.getSegment())
+				.totalSegments(scanExpression.getTotalSegments()).build();
+	}
+
+	private <T> T unconvert(Class<T> domainClass, Map<String, AttributeValue> item) {
+		return getTableModel(domainClass).unconvert(SdkV2ModelConverter.toV1(item));
+	}
+
+	private boolean isConsistentReads() {
+		return dynamoDBMapperConfig.getConsistentReads() == DynamoDBMapperConfig.ConsistentReads.CONSISTENT;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Class<T> domainClassOf(T entity) {
+		return (Class<T>) entity.getClass();
+	}
+
+	@SuppressWarnings("rawtypes")
+	protected <T> void maybeEmitEvent(@Nullable T source, Class<? extends DynamoDBMappingEvent> eventType,
+			Function<T, DynamoDBMappingEvent<T>> factory) {
+		if (eventPublisher != null && source != null && listenerRegistry.hasListeners(eventType, source.getClass())) {
+			DynamoDBMappingEvent<T> event = factory.apply(source);
+
+			eventPublisher.publishEvent(event);
+		}
+	}
+
+	/**
+	 * Sends the requests of a batch operation with a bounded number of them in
+	 * flight - the next one as soon as one completes - and collects their results
+	 * in order.
+	 */
+	private static final class BoundedChunks<R> {
+
+		private final List<Supplier<CompletableFuture<R>>> chunks;
+		private final AtomicReferenceArray<R> results;
+		private final AtomicInteger next = new AtomicInteger();
+		private final AtomicInteger remaining;
+		private final CompletableFuture<List<R>> all = new CompletableFuture<>();
+
+		BoundedChunks(List<Supplier<CompletableFuture<R>>> chunks) {
+			this.chunks = chunks;
+			this.results = new AtomicReferenceArray<>(chunks.size());
+			this.remaining = new AtomicInteger(chunks.size());
+		}
+
+		CompletableFuture<List<R>> send(int concurrency) {
+			if (chunks.isEmpty()) {
+				all.complete(new ArrayList<>());
+			}
+			for (int i = Math.min(concurrency, chunks.size()); i > 0; i--) {
+				sendNext();
+			}
+			return all;
+		}
+
+		private void sendNext() {
+			int index = next.getAndIncrement();
+			if (index >= chunks.size() || all.isDone()) {
+				return;
+			}
+
+			CompletableFuture<R> chunk;
+			try {
+				chunk = chunks.get(index).get();
+			} catch (RuntimeException e) {
+				all.completeExceptionally(e);
+				return;
+			}
+			chunk.whenComplete((result, throwable) -> {
+				if (throwable != null) {
+					all.completeExceptionally(throwable);
+					return;
+				}
+				results.set(index, result);
+				if (remaining.decrementAndGet() == 0) {
+					List<R> ordered = new ArrayList<>(results.length());
+					for (int i = 0; i < results.length(); i++) {
+						ordered.add(results.get(i));
+					}
+					all.complete(ordered);
+				} else {
+					sendNext();
+				}
+			});
+		}
+	}
+}
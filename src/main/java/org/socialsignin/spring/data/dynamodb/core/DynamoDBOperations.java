@@ -20,12 +20,18 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.springframework.lang.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Interface to DynmaoDB - as seen from the Spring-Data world
@@ -36,19 +42,206 @@ public interface DynamoDBOperations {
 	<T> int count(Class<T> domainClass, DynamoDBScanExpression scanExpression);
 	<T> int count(Class<T> clazz, QueryRequest mutableQueryRequest);
 
-	<T> PaginatedQueryList<T> query(Class<T> clazz, QueryRequest queryRequest);
-	<T> PaginatedQueryList<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression);
-	<T> PaginatedScanList<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression);
+	<T> PaginatedList<T> query(Class<T> clazz, QueryRequest queryRequest);
+	<T> PaginatedList<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression);
+	<T> PaginatedList<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression);
+	/**
+	 * Scans the table in {@code totalSegments} concurrent segments. The default
+	 * scans it sequentially.
+	 */
+	default <T> PaginatedList<T> parallelScan(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+			int totalSegments) {
+		return scan(domainClass, scanExpression);
+	}
+
+	/**
+	 * Like {@link #query(Class, QueryRequest)}, but loads the pages one at a time
+	 * while the stream is consumed and does not keep the pages already consumed.
+	 * Closing the stream stops loading further pages. The default streams the
+	 * list of {@link #query(Class, QueryRequest)}.
+	 *
+	 * @param <T>
+	 *            The domain type
+	 * @param clazz
+	 *            The domain type
+	 * @param queryRequest
+	 *            The query to run
+	 * @return A lazy stream of the matching entities
+	 */
+	default <T> Stream<T> queryStream(Class<T> clazz, QueryRequest queryRequest) {
+		return query(clazz, queryRequest).stream();
+	}
+
+	/**
+	 * Streaming variant of {@link #query(Class, DynamoDBQueryExpression)}, see
+	 * {@link #queryStream(Class, QueryRequest)}.
+	 */
+	default <T> Stream<T> queryStream(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		return query(domainClass, queryExpression).stream();
+	}
+
+	/**
+	 * Streaming variant of {@link #scan(Class, DynamoDBScanExpression)}, see
+	 * {@link #queryStream(Class, QueryRequest)}.
+	 */
+	default <T> Stream<T> scanStream(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return scan(domainClass, scanExpression).stream();
+	}
+
+	/**
+	 * Streaming variant of {@link #parallelScan(Class, DynamoDBScanExpression, int)},
+	 * see {@link #queryStream(Class, QueryRequest)}.
+	 */
+	default <T> Stream<T> parallelScanStream(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+			int totalSegments) {
+		return parallelScan(domainClass, scanExpression, totalSegments).stream();
+	}
+
+	/**
+	 * Reads exactly one page of the query, starting after its exclusive start key
+	 * and limited to its limit. Scrolling, {@code findTop/First N} and
+	 * {@code @Query(limit)} methods as well as range segments read their results
+	 * through this method. A single page cannot be read through
+	 * {@link #query(Class, QueryRequest)}, so the default is not paged and throws
+	 * - implementations have to override it to support these methods.
+	 *
+	 * @param <T>
+	 *            The domain type
+	 * @param clazz
+	 *            The domain type
+	 * @param queryRequest
+	 *            The query to run
+	 * @return The page - its last evaluated key is {@code null} if no further
+	 *         results follow
+	 * @throws UnsupportedOperationException
+	 *             if the implementation does not read single pages
+	 */
+	default <T> QueryResultPage<T> queryPage(Class<T> clazz, QueryRequest queryRequest) {
+		throw new UnsupportedOperationException(getClass().getName() + " does not read single query pages");
+	}
+
+	/**
+	 * Single page variant of {@link #query(Class, DynamoDBQueryExpression)}, see
+	 * {@link #queryPage(Class, QueryRequest)}.
+	 */
+	default <T> QueryResultPage<T> queryPage(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		throw new UnsupportedOperationException(getClass().getName() + " does not read single query pages");
+	}
+
+	/**
+	 * Single page variant of {@link #scan(Class, DynamoDBScanExpression)}, see
+	 * {@link #queryPage(Class, QueryRequest)}.
+	 */
+	default <T> ScanResultPage<T> scanPage(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		throw new UnsupportedOperationException(getClass().getName() + " does not read single scan pages");
+	}
+
+	/**
+	 * Checks whether at least one entity matches the query. Only the key
+	 * attributes are read and no further pages are loaded once an entity is
+	 * found; without a filter a single item is evaluated per request. Requests
+	 * with legacy condition maps never get a projection expression, as DynamoDB
+	 * rejects mixing both styles: a query request gets the key attributes as
+	 * attributes to get, mapper expressions read whole items. The default
+	 * checks whether the list of {@link #query(Class, QueryRequest)} is empty.
+	 *
+	 * @param <T>
+	 *            The domain type
+	 * @param clazz
+	 *            The domain type
+	 * @param queryRequest
+	 *            The query to run - its projection and limit are overwritten
+	 * @return {@code true} if an entity matches
+	 */
+	default <T> boolean exists(Class<T> clazz, QueryRequest queryRequest) {
+		return !query(clazz, queryRequest).isEmpty();
+	}
+
+	/**
+	 * Existence check of {@link #query(Class, DynamoDBQueryExpression)}, see
+	 * {@link #exists(Class, QueryRequest)}.
+	 */
+	default <T> boolean exists(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		return !query(domainClass, queryExpression).isEmpty();
+	}
+
+	/**
+	 * Existence check of {@link #scan(Class, DynamoDBScanExpression)}, see
+	 * {@link #exists(Class, QueryRequest)}.
+	 */
+	default <T> boolean exists(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return !scan(domainClass, scanExpression).isEmpty();
+	}
+
+	/**
+	 * Checks whether the entity exists by reading only its key attributes. The
+	 * default loads the whole entity.
+	 *
+	 * @param <T>
+	 *            The domain type
+	 * @param domainClass
+	 *            The domain type
+	 * @param hashKey
+	 *            The hash key of the entity
+	 * @param rangeKey
+	 *            The range key of the entity - {@code null} if the domain type
+	 *            has no range key
+	 * @return {@code true} if the entity exists
+	 */
+	default <T> boolean exists(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey) {
+		return (rangeKey == null ? load(domainClass, hashKey) : load(domainClass, hashKey, rangeKey)) != null;
+	}
 
 	<T> T load(Class<T> domainClass, Object hashKey, Object rangeKey);
 	<T> T load(Class<T> domainClass, Object hashKey);
 	<T> List<T> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet);
+	/**
+	 * Loads the entities of the given keys in concurrent batches. The default
+	 * delegates to {@link #batchLoad(Map)} and ignores the options.
+	 *
+	 * @param <T>
+	 *            The domain type
+	 * @param domainClass
+	 *            The domain type
+	 * @param keyPairs
+	 *            The keys of the entities to load
+	 * @param options
+	 *            Consistency, projection and ordering of the load
+	 * @return The loaded entities - keys without an entity are skipped
+	 */
+	default <T> List<T> batchLoad(Class<T> domainClass, List<KeyPair> keyPairs, BatchLoadOptions options) {
+		return batchLoad(Collections.singletonMap(domainClass, keyPairs));
+	}
 
 	<T> T save(T entity);
 	List<FailedBatch> batchSave(Iterable<?> entities);
+	/**
+	 * Like {@link #batchSave(Iterable)}, but reports the outcome of every single
+	 * entity. The default cannot tell which entities of a failed batch got
+	 * written and reports all of them as failed then.
+	 *
+	 * @param entities
+	 *            The entities to save
+	 * @return The outcome of the batch write
+	 */
+	default BatchWriteOutcome batchSaveWithOutcome(Iterable<?> entities) {
+		return BatchWriteOutcome.of(entities, batchSave(entities));
+	}
 
 	<T> T delete(T entity);
 	List<FailedBatch> batchDelete(Iterable<?> entities);
+	/**
+	 * Like {@link #batchDelete(Iterable)}, but reports the outcome of every single
+	 * entity. The default cannot tell which entities of a failed batch got
+	 * deleted and reports all of them as failed then.
+	 *
+	 * @param entities
+	 *            The entities to delete
+	 * @return The outcome of the batch write
+	 */
+	default BatchWriteOutcome batchDeleteWithOutcome(Iterable<?> entities) {
+		return BatchWriteOutcome.of(entities, batchDelete(entities));
+	}
 
 	<T> String getOverriddenTableName(Class<T> domainClass, String tableName);
 
@@ -63,4 +256,34 @@ public interface DynamoDBOperations {
 	 * @return Corresponding DynamoDB table model
 	 */
 	<T> DynamoDBMapperTableModel<T> getTableModel(Class<T> domainClass);
+
+	/**
+	 * @return The metrics recorded for the repositories using these operations -
+	 *         {@link DynamoDBMetrics#NOOP} by default
+	 */
+	default DynamoDBMetrics getMetrics() {
+		return DynamoDBMetrics.NOOP;
+	}
+
+	/**
+	 * @return Runs the total counts of page queries while their content is read -
+	 *         {@code null} to count on the calling thread after the content got
+	 *         read
+	 * @see ConcurrentCount
+	 */
+	@Nullable
+	default Executor getCountExecutor() {
+		return null;
+	}
+
+	/**
+	 * @return Runs the queries an {@code IN} or {@code OR} condition on a hash
+	 *         key fans out to concurrently - {@code null} to run them one after
+	 *         the other on the calling thread
+	 * @see org.socialsignin.spring.data.dynamodb.query.MultipleEntityFanOutQuery
+	 */
+	@Nullable
+	default Executor getQueryExecutor() {
+		return null;
+	}
 }
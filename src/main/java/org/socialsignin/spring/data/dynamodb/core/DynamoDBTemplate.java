@@ -19,15 +19,27 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.amazonaws.services.dynamodbv2.model.Select;
+import org.socialsignin.spring.data.dynamodb.cache.CachedEntity;
+import org.socialsignin.spring.data.dynamodb.cache.CoalesceLoads;
+import org.socialsignin.spring.data.dynamodb.cache.EntityCache;
+import org.socialsignin.spring.data.dynamodb.cache.EntityCacheKey;
+import org.socialsignin.spring.data.dynamodb.core.PageLoadingPaginatedList.PageSource;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterLoadEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterQueryEvent;
@@ -36,24 +48,83 @@ import org.socialsignin.spring.data.dynamodb.mapping.event.AfterScanEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeSaveEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.DynamoDBMappingEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.MappingEventListenerRegistry;
+import org.socialsignin.spring.data.dynamodb.mapping.event.MappingEventSuppression;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics.Sample;
+import org.socialsignin.spring.data.dynamodb.metrics.MicrometerDynamoDBMetrics;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class DynamoDBTemplate
+		implements
+			DynamoDBOperations,
+			ApplicationContextAware,
+			ApplicationListener<ContextRefreshedEvent> {
+
+	/**
+	 * Number of parallel scan segments loaded concurrently by default
+	 */
+	public static final int DEFAULT_PARALLEL_SCAN_CONCURRENCY = 32;
+
+	/**
+	 * Number of total counts of page queries running concurrently by default
+	 */
+	public static final int DEFAULT_COUNT_CONCURRENCY = 8;
+
+	/**
+	 * Number of queries of an {@code IN} or {@code OR} fan-out running
+	 * concurrently by default
+	 */
+	public static final int DEFAULT_QUERY_CONCURRENCY = 16;
+
+	// Power of two, see cacheGenerationStripe()
+	private static final int CACHE_GENERATION_STRIPES = 1024;
 
-public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextAware {
 	private final DynamoDBMapper dynamoDBMapper;
 	private final AmazonDynamoDB amazonDynamoDB;
 	private final DynamoDBMapperConfig dynamoDBMapperConfig;
 	private ApplicationEventPublisher eventPublisher;
+	private volatile MappingEventListenerRegistry listenerRegistry = MappingEventListenerRegistry.PUBLISH_ALL;
+	private BatchWriteEngine batchWriteEngine;
+	private BatchLoadEngine batchLoadEngine;
+	private volatile Executor parallelScanExecutor;
+	private volatile Executor countExecutor;
+	private volatile Executor queryExecutor;
+	private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+	private volatile DynamoDBMetrics metrics = DynamoDBMetrics.NOOP;
+	private volatile ThroughputGovernor throughputGovernor = ThroughputGovernor.UNLIMITED;
+	private volatile EntityCache entityCache = EntityCache.NONE;
+	private final Map<Class<?>, Boolean> cachedEntities = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Boolean> coalescedEntities = new ConcurrentHashMap<>();
+	private final SingleFlight<EntityCacheKey, Object> loads = new SingleFlight<>();
+	// Bumped by every eviction of a key of the stripe, so a load does not cache
+	// an item a write replaced while it was read
+	private final AtomicLongArray cacheGenerations = new AtomicLongArray(CACHE_GENERATION_STRIPES);
 
 	/**
 	 * Initializes a new {@code DynamoDBTemplate}. The following combinations are
@@ -79,6 +150,132 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
 		this.amazonDynamoDB = amazonDynamoDB;
 		this.dynamoDBMapper = dynamoDBMapper;
 		this.dynamoDBMapperConfig = dynamoDBMapperConfig;
+		this.batchWriteEngine = new BatchWriteEngine(dynamoDBMapper, dynamoDBMapperConfig);
+		this.batchLoadEngine = new BatchLoadEngine(amazonDynamoDB, dynamoDBMapper, dynamoDBMapperConfig);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dynamodb-parallel-scan-");
+		threadFactory.setDaemon(true);
+		// Bounded - segments beyond it load on the calling thread, see ParallelScanPageSource
+		this.parallelScanExecutor = new ThreadPoolExecutor(0, DEFAULT_PARALLEL_SCAN_CONCURRENCY, 60L,
+				TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+
+		CustomizableThreadFactory countThreadFactory = new CustomizableThreadFactory("dynamodb-count-");
+		countThreadFactory.setDaemon(true);
+		// Bounded - counts beyond it run on the calling thread, see ConcurrentCount
+		this.countExecutor = new ThreadPoolExecutor(0, DEFAULT_COUNT_CONCURRENCY, 60L, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), countThreadFactory);
+
+		CustomizableThreadFactory queryThreadFactory = new CustomizableThreadFactory("dynamodb-query-");
+		queryThreadFactory.setDaemon(true);
+		// Bounded - queries beyond it run on the calling thread, see MultipleEntityFanOutQuery
+		this.queryExecutor = new ThreadPoolExecutor(0, DEFAULT_QUERY_CONCURRENCY, 60L, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), queryThreadFactory);
+	}
+
+	/**
+	 * @param batchLoadEngine
+	 *            The {@link BatchLoadEngine} used for the batch loads, e.g. with
+	 *            a different concurrency
+	 */
+	public void setBatchLoadEngine(BatchLoadEngine batchLoadEngine) {
+		Assert.notNull(batchLoadEngine, "batchLoadEngine must not be null!");
+		this.batchLoadEngine = batchLoadEngine;
+	}
+
+	/**
+	 * @param batchWriteEngine
+	 *            The {@link BatchWriteEngine} used for {@link #batchSave(Iterable)}
+	 *            and {@link #batchDelete(Iterable)}, e.g. with a different
+	 *            concurrency
+	 */
+	public void setBatchWriteEngine(BatchWriteEngine batchWriteEngine) {
+		Assert.notNull(batchWriteEngine, "batchWriteEngine must not be null!");
+		this.batchWriteEngine = batchWriteEngine;
+	}
+
+	/**
+	 * @param metrics
+	 *            Records the requests of this template, its
+	 *            {@link BatchLoadEngine} and {@link BatchWriteEngine} and of the
+	 *            repositories using it - e.g. {@link MicrometerDynamoDBMetrics}
+	 */
+	public void setMetrics(DynamoDBMetrics metrics) {
+		Assert.notNull(metrics, "metrics must not be null!");
+		this.metrics = metrics;
+		this.batchLoadEngine.setMetrics(metrics);
+		this.batchWriteEngine.setMetrics(metrics);
+	}
+
+	@Override
+	public DynamoDBMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param parallelScanExecutor
+	 *            Loads the pages of the segments of parallel scans concurrently -
+	 *            by default up to {@value #DEFAULT_PARALLEL_SCAN_CONCURRENCY}
+	 *            segments load concurrently
+	 */
+	public void setParallelScanExecutor(Executor parallelScanExecutor) {
+		Assert.notNull(parallelScanExecutor, "parallelScanExecutor must not be null!");
+		this.parallelScanExecutor = parallelScanExecutor;
+	}
+
+	/**
+	 * @param countExecutor
+	 *            Runs the total counts of page queries while their content is
+	 *            read - by default up to {@value #DEFAULT_COUNT_CONCURRENCY} counts
+	 *            run concurrently
+	 */
+	public void setCountExecutor(Executor countExecutor) {
+		Assert.notNull(countExecutor, "countExecutor must not be null!");
+		this.countExecutor = countExecutor;
+	}
+
+	@Override
+	public Executor getCountExecutor() {
+		return countExecutor;
+	}
+
+	/**
+	 * @param queryExecutor
+	 *            Runs the queries an {@code IN} or {@code OR} condition on a hash
+	 *            key fans out to - by default up to
+	 *            {@value #DEFAULT_QUERY_CONCURRENCY} queries run concurrently
+	 */
+	public void setQueryExecutor(Executor queryExecutor) {
+		Assert.notNull(queryExecutor, "queryExecutor must not be null!");
+		this.queryExecutor = queryExecutor;
+	}
+
+	@Override
+	public Executor getQueryExecutor() {
+		return queryExecutor;
+	}
+
+	/**
+	 * @param throughputGovernor
+	 *            Paces the scans of this template and the batch operations of its
+	 *            {@link BatchLoadEngine} and {@link BatchWriteEngine}
+	 */
+	@Autowired(required = false)
+	public void setThroughputGovernor(ThroughputGovernor throughputGovernor) {
+		Assert.notNull(throughputGovernor, "throughputGovernor must not be null!");
+		this.throughputGovernor = throughputGovernor;
+		this.batchLoadEngine.setThroughputGovernor(throughputGovernor);
+		this.batchWriteEngine.setThroughputGovernor(throughputGovernor);
+	}
+
+	/**
+	 * @param entityCache
+	 *            Caches the {@link CachedEntity} types loaded by their key, e.g. a
+	 *            {@link org.socialsignin.spring.data.dynamodb.cache.DefaultEntityCache}
+	 */
+	@Autowired(required = false)
+	public void setEntityCache(EntityCache entityCache) {
+		Assert.notNull(entityCache, "entityCache must not be null!");
+		this.entityCache = entityCache;
 	}
 
 	@Override
@@ -86,107 +283,455 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
 		this.eventPublisher = applicationContext;
 	}
 
+	/**
+	 * Determines the mapping events that have listeners once all of them are
+	 * registered. Until then, all events are published.
+	 */
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == eventPublisher) {
+			this.listenerRegistry = MappingEventListenerRegistry.of(event.getApplicationContext());
+		}
+	}
+
 	@Override
 	public <T> int count(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
-		return dynamoDBMapper.count(domainClass, queryExpression);
+		return measure(DynamoDBMetrics.OPERATION_COUNT, domainClass, queryExpression.getIndexName(),
+				() -> dynamoDBMapper.count(domainClass, queryExpression));
+	}
+
+	@Override
+	public <T> PaginatedList<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		return paginate(domainClass, queryPages(domainClass, queryExpression), AfterQueryEvent.class,
+				AfterQueryEvent::new);
+	}
+
+	@Override
+	public <T> Stream<T> queryStream(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		return stream(domainClass, queryPages(domainClass, queryExpression), AfterQueryEvent.class,
+				AfterQueryEvent::new);
+	}
+
+	private <T> PageSource<T> queryPages(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		return new PageSource<T>() {
+			private Map<String, AttributeValue> lastEvaluatedKey = queryExpression.getExclusiveStartKey();
+
+			@Override
+			public List<T> nextPage() {
+				queryExpression.setExclusiveStartKey(lastEvaluatedKey);
+				QueryResultPage<T> page = loadQueryPage(domainClass, queryExpression);
+				lastEvaluatedKey = page.getLastEvaluatedKey();
+				return page.getResults();
+			}
+
+			@Override
+			public boolean hasNextPage() {
+				return lastEvaluatedKey != null;
+			}
+		};
 	}
 
 	@Override
-	public <T> PaginatedQueryList<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
-		PaginatedQueryList<T> results = dynamoDBMapper.query(domainClass, queryExpression);
-		maybeEmitEvent(results, AfterQueryEvent::new);
-		return results;
+	public <T> QueryResultPage<T> queryPage(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		QueryResultPage<T> page = loadQueryPage(domainClass, queryExpression);
+		pageListener(domainClass, AfterQueryEvent.class, AfterQueryEvent::new).accept(page.getResults());
+		return page;
+	}
+
+	private <T> QueryResultPage<T> loadQueryPage(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		QueryResultPage<T> page = measure(DynamoDBMetrics.OPERATION_QUERY, domainClass, queryExpression.getIndexName(),
+				() -> dynamoDBMapper.queryPage(domainClass, queryExpression));
+		recordPage(DynamoDBMetrics.OPERATION_QUERY, domainClass, queryExpression.getIndexName(), page.getCount(),
+				page.getScannedCount());
+		return page;
 	}
 
 	@Override
 	public <T> int count(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
-		return dynamoDBMapper.count(domainClass, scanExpression);
+		Integer totalSegments = scanExpression.getTotalSegments();
+		if (totalSegments == null || scanExpression.getSegment() != null) {
+			return countScan(domainClass, createCountScanRequest(domainClass, scanExpression)
+					.withSegment(scanExpression.getSegment()).withTotalSegments(totalSegments));
+		}
+
+		// Like the mapper, count the items of all segments of a parallel scan
+		int count = 0;
+		for (int segment = 0; segment < totalSegments; segment++) {
+			count += countScan(domainClass, createCountScanRequest(domainClass, scanExpression).withSegment(segment)
+					.withTotalSegments(totalSegments));
+		}
+		return count;
+	}
+
+	/**
+	 * Counts page by page instead of through the mapper, so that the governor
+	 * paces each of the requests.
+	 */
+	private <T> int countScan(Class<T> domainClass, ScanRequest scanRequest) {
+		int count = 0;
+		ScanResult scanResult;
+		do {
+			acquireRead(domainClass, scanRequest.getIndexName());
+			scanResult = measure(DynamoDBMetrics.OPERATION_COUNT, domainClass, scanRequest.getIndexName(),
+					() -> amazonDynamoDB.scan(scanRequest));
+			recordPage(DynamoDBMetrics.OPERATION_SCAN, domainClass, scanRequest.getIndexName(),
+					scanResult.getCount(), scanResult.getScannedCount());
+			count += scanResult.getCount();
+			scanRequest.setExclusiveStartKey(scanResult.getLastEvaluatedKey());
+		} while (scanResult.getLastEvaluatedKey() != null);
+
+		return count;
+	}
+
+	private <T> ScanRequest createCountScanRequest(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return new ScanRequest(getTableName(domainClass)).withIndexName(scanExpression.getIndexName())
+				.withScanFilter(scanExpression.getScanFilter())
+				.withConditionalOperator(scanExpression.getConditionalOperator())
+				.withFilterExpression(scanExpression.getFilterExpression())
+				.withExpressionAttributeNames(scanExpression.getExpressionAttributeNames())
+				.withExpressionAttributeValues(scanExpression.getExpressionAttributeValues())
+				.withExclusiveStartKey(scanExpression.getExclusiveStartKey()).withLimit(scanExpression.getLimit())
+				.withConsistentRead(scanExpression.isConsistentRead())
+				.withReturnConsumedCapacity(scanExpression.getReturnConsumedCapacity()).withSelect(Select.COUNT);
+	}
+
+	@Override
+	public <T> boolean exists(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+		// DynamoDB rejects a projection expression next to condition maps - which the
+		// mapper sends without a key condition expression and can't restrict to
+		// attributes to get, so whole items are read then
+		if (queryExpression.getKeyConditionExpression() != null && isEmpty(queryExpression.getRangeKeyConditions())
+				&& isEmpty(queryExpression.getQueryFilter())) {
+			Map<String, String> expressionAttributeNames = copyOf(queryExpression.getExpressionAttributeNames());
+			queryExpression.setProjectionExpression(projectKeys(domainClass, expressionAttributeNames));
+			queryExpression.setExpressionAttributeNames(expressionAttributeNames);
+			if (queryExpression.getSelect() != null) {
+				queryExpression.setSelect(Select.SPECIFIC_ATTRIBUTES);
+			}
+		}
+		if (queryExpression.getFilterExpression() == null && isEmpty(queryExpression.getQueryFilter())) {
+			queryExpression.setLimit(1);
+		}
+		return exists(queryPages(domainClass, queryExpression));
+	}
+
+	@Override
+	public <T> boolean exists(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		// Scan filters can't be combined with a projection expression, see above
+		if (isEmpty(scanExpression.getScanFilter())) {
+			Map<String, String> expressionAttributeNames = copyOf(scanExpression.getExpressionAttributeNames());
+			scanExpression.setProjectionExpression(projectKeys(domainClass, expressionAttributeNames));
+			scanExpression.setExpressionAttributeNames(expressionAttributeNames);
+			if (scanExpression.getSelect() != null) {
+				scanExpression.setSelect(Select.SPECIFIC_ATTRIBUTES);
+			}
+		}
+		if (scanExpression.getFilterExpression() == null && isEmpty(scanExpression.getScanFilter())) {
+			scanExpression.setLimit(1);
+		}
+		return exists(scanPages(domainClass, scanExpression));
+	}
+
+	@Override
+	public <T> boolean exists(Class<T> clazz, QueryRequest queryRequest) {
+		if (isEmpty(queryRequest.getKeyConditions()) && isEmpty(queryRequest.getQueryFilter())) {
+			Map<String, String> expressionAttributeNames = copyOf(queryRequest.getExpressionAttributeNames());
+			queryRequest.setProjectionExpression(projectKeys(clazz, expressionAttributeNames));
+			queryRequest.setExpressionAttributeNames(expressionAttributeNames);
+			queryRequest.setAttributesToGet(null);
+		} else {
+			// Condition maps can't be combined with a projection expression
+			queryRequest.setProjectionExpression(null);
+			queryRequest.setAttributesToGet(keyAttributeNames(clazz));
+		}
+		queryRequest.setSelect(Select.SPECIFIC_ATTRIBUTES);
+		if (queryRequest.getFilterExpression() == null && isEmpty(queryRequest.getQueryFilter())) {
+			queryRequest.setLimit(1);
+		}
+		DynamoDBMapperTableModel<T> tableModel = getTableModel(clazz);
+		QueryResultPage<T> page = loadQueryPage(clazz, queryRequest, tableModel);
+		while (page.getResults().isEmpty() && page.getLastEvaluatedKey() != null) {
+			queryRequest.setExclusiveStartKey(page.getLastEvaluatedKey());
+			page = loadQueryPage(clazz, queryRequest, tableModel);
+		}
+		return !page.getResults().isEmpty();
+	}
+
+	@Override
+	public <T> boolean exists(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey) {
+		DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+		Map<String, AttributeValue> key = tableModel.convertKey(hashKey, rangeKey);
+		String tableName = getTableName(domainClass);
+
+		EntityCache entityCache = this.entityCache;
+		if (entityCache != EntityCache.NONE && isCachedEntity(domainClass)) {
+			boolean cached = entityCache.get(new EntityCacheKey(tableName, key)) != null;
+			metrics.cacheAccess(tableName, cached);
+			if (cached) {
+				return true;
+			}
+		}
+
+		Map<String, String> expressionAttributeNames = new HashMap<>();
+		GetItemRequest getItemRequest = new GetItemRequest(tableName, key)
+				.withProjectionExpression(projectKeys(domainClass, expressionAttributeNames))
+				.withExpressionAttributeNames(expressionAttributeNames)
+				.withConsistentRead(
+						dynamoDBMapperConfig.getConsistentReads() == DynamoDBMapperConfig.ConsistentReads.CONSISTENT);
+		return measure(DynamoDBMetrics.OPERATION_GET, domainClass, null,
+				() -> amazonDynamoDB.getItem(getItemRequest)).getItem() != null;
+	}
+
+	/**
+	 * Loads pages until one of them is not empty - the pages of a filtered query
+	 * or scan might be empty even though further items follow.
+	 */
+	private static boolean exists(PageSource<?> pageSource) {
+		do {
+			if (!pageSource.nextPage().isEmpty()) {
+				return true;
+			}
+		} while (pageSource.hasNextPage());
+		return false;
+	}
+
+	private List<String> keyAttributeNames(Class<?> domainClass) {
+		List<String> attributeNames = new ArrayList<>();
+		for (DynamoDBMapperFieldModel<?, ?> key : getTableModel(domainClass).keys()) {
+			attributeNames.add(key.name());
+		}
+		return attributeNames;
+	}
+
+	/**
+	 * @return A projection expression of the key attributes of the domain type,
+	 *         their names are added to the given expression attribute names
+	 */
+	private String projectKeys(Class<?> domainClass, Map<String, String> expressionAttributeNames) {
+		DynamoDBMapperTableModel<?> tableModel = getTableModel(domainClass);
+		StringBuilder projection = new StringBuilder();
+		for (DynamoDBMapperFieldModel<?, ?> key : tableModel.keys()) {
+			String placeholder = "#key" + expressionAttributeNames.size();
+			while (expressionAttributeNames.containsKey(placeholder)) {
+				placeholder += "_";
+			}
+			expressionAttributeNames.put(placeholder, key.name());
+			projection.append(projection.length() == 0 ? "" : ", ").append(placeholder);
+		}
+		return projection.toString();
+	}
+
+	private static Map<String, String> copyOf(@Nullable Map<String, String> expressionAttributeNames) {
+		return expressionAttributeNames == null ? new HashMap<>() : new HashMap<>(expressionAttributeNames);
+	}
+
+	private static boolean isEmpty(@Nullable Map<?, ?> conditions) {
+		return conditions == null || conditions.isEmpty();
 	}
 
 	@Override
 	public <T> T load(Class<T> domainClass, Object hashKey, Object rangeKey) {
-		T entity = dynamoDBMapper.load(domainClass, hashKey, rangeKey);
-		maybeEmitEvent(entity, AfterLoadEvent::new);
+		T entity = load(domainClass, hashKey, rangeKey, () -> measure(DynamoDBMetrics.OPERATION_GET,
+				domainClass, null, () -> dynamoDBMapper.load(domainClass, hashKey, rangeKey)));
+		maybeEmitEvent(entity, AfterLoadEvent.class, AfterLoadEvent::new);
 
 		return entity;
 	}
 
 	@Override
 	public <T> T load(Class<T> domainClass, Object hashKey) {
-		T entity = dynamoDBMapper.load(domainClass, hashKey);
-		maybeEmitEvent(entity, AfterLoadEvent::new);
+		T entity = load(domainClass, hashKey, null, () -> measure(DynamoDBMetrics.OPERATION_GET,
+				domainClass, null, () -> dynamoDBMapper.load(domainClass, hashKey)));
+		maybeEmitEvent(entity, AfterLoadEvent.class, AfterLoadEvent::new);
 
 		return entity;
 	}
 
 	@Override
-	public <T> PaginatedScanList<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
-		PaginatedScanList<T> results = dynamoDBMapper.scan(domainClass, scanExpression);
-		maybeEmitEvent(results, AfterScanEvent::new);
-		return results;
+	public <T> PaginatedList<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return paginate(domainClass, scanPages(domainClass, scanExpression), AfterScanEvent.class,
+				AfterScanEvent::new);
+	}
+
+	@Override
+	public <T> Stream<T> scanStream(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return stream(domainClass, scanPages(domainClass, scanExpression), AfterScanEvent.class,
+				AfterScanEvent::new);
+	}
+
+	private <T> PageSource<T> scanPages(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		return new PageSource<T>() {
+			private Map<String, AttributeValue> lastEvaluatedKey = scanExpression.getExclusiveStartKey();
+
+			@Override
+			public List<T> nextPage() {
+				scanExpression.setExclusiveStartKey(lastEvaluatedKey);
+				ScanResultPage<T> page = loadScanPage(domainClass, scanExpression);
+				lastEvaluatedKey = page.getLastEvaluatedKey();
+				return page.getResults();
+			}
+
+			@Override
+			public boolean hasNextPage() {
+				return lastEvaluatedKey != null;
+			}
+		};
+	}
+
+	@Override
+	public <T> PaginatedList<T> parallelScan(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+			int totalSegments) {
+		return paginate(domainClass, parallelScanPages(domainClass, scanExpression, totalSegments),
+				AfterScanEvent.class, AfterScanEvent::new);
+	}
+
+	@Override
+	public <T> Stream<T> parallelScanStream(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+			int totalSegments) {
+		return stream(domainClass, parallelScanPages(domainClass, scanExpression, totalSegments),
+				AfterScanEvent.class, AfterScanEvent::new);
+	}
+
+	private <T> PageSource<T> parallelScanPages(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+			int totalSegments) {
+		Assert.isTrue(totalSegments > 0, "totalSegments must be positive!");
+		return new ParallelScanPageSource<>(segment -> loadScanPage(domainClass, segment), scanExpression, totalSegments,
+				parallelScanExecutor);
+	}
+
+	@Override
+	public <T> ScanResultPage<T> scanPage(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		ScanResultPage<T> page = loadScanPage(domainClass, scanExpression);
+		pageListener(domainClass, AfterScanEvent.class, AfterScanEvent::new).accept(page.getResults());
+		return page;
+	}
+
+	private <T> ScanResultPage<T> loadScanPage(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+		acquireRead(domainClass, scanExpression.getIndexName());
+		ScanResultPage<T> page = measure(DynamoDBMetrics.OPERATION_SCAN, domainClass, scanExpression.getIndexName(),
+				() -> dynamoDBMapper.scanPage(domainClass, scanExpression));
+		recordPage(DynamoDBMetrics.OPERATION_SCAN, domainClass, scanExpression.getIndexName(), page.getCount(),
+				page.getScannedCount());
+		return page;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> List<T> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet) {
-		return dynamoDBMapper.batchLoad(itemsToGet).values().stream().flatMap(v -> v.stream()).map(e -> (T) e)
-				.map(entity -> {
-					maybeEmitEvent(entity, AfterLoadEvent::new);
-					return entity;
-				}).collect(Collectors.toList());
+		List<T> result = new ArrayList<>();
+		for (Map.Entry<Class<?>, List<KeyPair>> entry : itemsToGet.entrySet()) {
+			result.addAll((List<T>) batchLoad(entry.getKey(), entry.getValue(), BatchLoadOptions.defaults()));
+		}
+		return result;
+	}
+
+	@Override
+	public <T> List<T> batchLoad(Class<T> domainClass, List<KeyPair> keyPairs, BatchLoadOptions options) {
+		return batchLoadEngine.batchLoad(domainClass, keyPairs, options,
+				entity -> maybeEmitEvent(entity, AfterLoadEvent.class, AfterLoadEvent::new));
 	}
 
 	@Override
 	public <T> T save(T entity) {
-		maybeEmitEvent(entity, BeforeSaveEvent::new);
-		dynamoDBMapper.save(entity);
-		maybeEmitEvent(entity, AfterSaveEvent::new);
+		maybeEmitEvent(entity, BeforeSaveEvent.class, BeforeSaveEvent::new);
+		measure(DynamoDBMetrics.OPERATION_PUT, entity.getClass(), null, () -> {
+			dynamoDBMapper.save(entity);
+			return entity;
+		});
+		evictFromCache(entity);
+		maybeEmitEvent(entity, AfterSaveEvent.class, AfterSaveEvent::new);
 		return entity;
 
 	}
 
 	@Override
 	public List<FailedBatch> batchSave(Iterable<?> entities) {
-		entities.forEach(it -> maybeEmitEvent(it, BeforeSaveEvent::new));
-
-		List<FailedBatch> result = dynamoDBMapper.batchSave(entities);
+		return batchSaveWithOutcome(entities).getFailedBatches();
+	}
 
-		entities.forEach(it -> maybeEmitEvent(it, AfterSaveEvent::new));
-		return result;
+	@Override
+	public BatchWriteOutcome batchSaveWithOutcome(Iterable<?> entities) {
+		return batchWriteEngine.batchSave(entities,
+				it -> maybeEmitEvent(it, BeforeSaveEvent.class, BeforeSaveEvent::new),
+				it -> {
+					evictFromCache(it);
+					maybeEmitEvent(it, AfterSaveEvent.class, AfterSaveEvent::new);
+				});
 	}
 
 	@Override
 	public <T> T delete(T entity) {
-		maybeEmitEvent(entity, BeforeDeleteEvent::new);
-		dynamoDBMapper.delete(entity);
-		maybeEmitEvent(entity, AfterDeleteEvent::new);
+		maybeEmitEvent(entity, BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+		measure(DynamoDBMetrics.OPERATION_DELETE, entity.getClass(), null, () -> {
+			dynamoDBMapper.delete(entity);
+			return entity;
+		});
+		evictFromCache(entity);
+		maybeEmitEvent(entity, AfterDeleteEvent.class, AfterDeleteEvent::new);
 		return entity;
 	}
 
 	@Override
 	public List<FailedBatch> batchDelete(Iterable<?> entities) {
-		entities.forEach(it -> maybeEmitEvent(it, BeforeDeleteEvent::new));
+		return batchDeleteWithOutcome(entities).getFailedBatches();
+	}
 
-		List<FailedBatch> result = dynamoDBMapper.batchDelete(entities);
+	@Override
+	public BatchWriteOutcome batchDeleteWithOutcome(Iterable<?> entities) {
+		return batchWriteEngine.batchDelete(entities,
+				it -> maybeEmitEvent(it, BeforeDeleteEvent.class, BeforeDeleteEvent::new),
+				it -> {
+					evictFromCache(it);
+					maybeEmitEvent(it, AfterDeleteEvent.class, AfterDeleteEvent::new);
+				});
+	}
 
-		entities.forEach(it -> maybeEmitEvent(it, AfterDeleteEvent::new));
-		return result;
+	@Override
+	public <T> PaginatedList<T> query(Class<T> clazz, QueryRequest queryRequest) {
+		return paginate(clazz, queryRequestPages(clazz, queryRequest), AfterQueryEvent.class, AfterQueryEvent::new);
 	}
 
 	@Override
-	public <T> PaginatedQueryList<T> query(Class<T> clazz, QueryRequest queryRequest) {
-		QueryResult queryResult = amazonDynamoDB.query(queryRequest);
+	public <T> Stream<T> queryStream(Class<T> clazz, QueryRequest queryRequest) {
+		return stream(clazz, queryRequestPages(clazz, queryRequest), AfterQueryEvent.class, AfterQueryEvent::new);
+	}
 
-		// If a limit is set, deactivate lazy loading of (matching) items after the
-		// limit
-		// via
-		// com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList.atEndOfResults()
-		if (queryRequest.getLimit() != null) {
-			queryResult.setLastEvaluatedKey(null);
-		}
+	@Override
+	public <T> QueryResultPage<T> queryPage(Class<T> clazz, QueryRequest queryRequest) {
+		QueryResultPage<T> page = loadQueryPage(clazz, queryRequest, getTableModel(clazz));
+		pageListener(clazz, AfterQueryEvent.class, AfterQueryEvent::new).accept(page.getResults());
+		return page;
+	}
 
-		return new PaginatedQueryList<T>(dynamoDBMapper, clazz, amazonDynamoDB, queryRequest, queryResult,
-				dynamoDBMapperConfig.getPaginationLoadingStrategy(), dynamoDBMapperConfig);
+	private <T> PageSource<T> queryRequestPages(Class<T> clazz, QueryRequest queryRequest) {
+		DynamoDBMapperTableModel<T> tableModel = getTableModel(clazz);
+		return new PageSource<T>() {
+			private boolean lastPage = false;
+			// The limit is the number of matching items to read - the pages are read
+			// until it is reached, sized by PageLimits like the limited repository queries
+			private int missing = queryRequest.getLimit() == null ? Integer.MAX_VALUE : queryRequest.getLimit();
+
+			@Override
+			public List<T> nextPage() {
+				QueryResultPage<T> page = loadQueryPage(clazz, queryRequest, tableModel);
+				List<T> results = page.getResults();
+				if (results.size() > missing) {
+					results = results.subList(0, missing);
+				}
+				missing -= results.size();
+				lastPage = page.getLastEvaluatedKey() == null || missing == 0;
+				queryRequest.setExclusiveStartKey(lastPage ? null : page.getLastEvaluatedKey());
+				if (!lastPage && queryRequest.getLimit() != null) {
+					queryRequest.setLimit(PageLimits.nextLimit(queryRequest.getLimit(), results.size(), missing));
+				}
+				return results;
+			}
+
+			@Override
+			public boolean hasNextPage() {
+				return !lastPage;
+			}
+		};
 	}
 
 	@Override
@@ -197,7 +742,8 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
 		int count = 0;
 		QueryResult queryResult = null;
 		do {
-			queryResult = amazonDynamoDB.query(mutableQueryRequest);
+			queryResult = measure(DynamoDBMetrics.OPERATION_COUNT, clazz, mutableQueryRequest.getIndexName(),
+					() -> amazonDynamoDB.query(mutableQueryRequest));
 			count += queryResult.getCount();
 			mutableQueryRequest.setExclusiveStartKey(queryResult.getLastEvaluatedKey());
 		} while (queryResult.getLastEvaluatedKey() != null);
@@ -207,6 +753,22 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
 
 	@Override
 	public <T> String getOverriddenTableName(Class<T> domainClass, String tableName) {
+		return getOverriddenTableName(domainClass, tableName, dynamoDBMapperConfig);
+	}
+
+	/**
+	 * @return The table name of the {@link DynamoDBTable @DynamoDBTable}
+	 *         annotated domain class with the overrides of the config applied
+	 */
+	static String getTableName(Class<?> domainClass, DynamoDBMapperConfig dynamoDBMapperConfig) {
+		DynamoDBTable table = AnnotationUtils.findAnnotation(domainClass, DynamoDBTable.class);
+		Assert.notNull(table, "Domain type must by annotated by DynamoDBTable!");
+
+		return getOverriddenTableName(domainClass, table.tableName(), dynamoDBMapperConfig);
+	}
+
+	static <T> String getOverriddenTableName(Class<T> domainClass, String tableName,
+			DynamoDBMapperConfig dynamoDBMapperConfig) {
 		if (dynamoDBMapperConfig.getTableNameOverride() != null) {
 			if (dynamoDBMapperConfig.getTableNameOverride().getTableName() != null) {
 				tableName = dynamoDBMapperConfig.getTableNameOverride().getTableName();
@@ -228,14 +790,211 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
 		return dynamoDBMapper.getTableModel(domainClass, dynamoDBMapperConfig);
 	}
 
-	protected <T> void maybeEmitEvent(@Nullable T source, Function<T, DynamoDBMappingEvent<T>> factory) {
-		if (eventPublisher != null) {
-			if (source != null) {
-				DynamoDBMappingEvent<T> event = factory.apply(source);
+	private <R> R measure(String operation, Class<?> domainClass, @Nullable String indexName, Supplier<R> call) {
+		DynamoDBMetrics metrics = this.metrics;
+		if (metrics == DynamoDBMetrics.NOOP) {
+			return call.get();
+		}
 
-				eventPublisher.publishEvent(event);
+		Sample sample = metrics.startOperation(operation, getTableName(domainClass), indexName);
+		try {
+			R result = call.get();
+			sample.stop(null);
+			return result;
+		} catch (RuntimeException e) {
+			sample.stop(e);
+			throw e;
+		}
+	}
+
+	private void recordPage(String operation, Class<?> domainClass, @Nullable String indexName, int returnedCount,
+			@Nullable Integer scannedCount) {
+		DynamoDBMetrics metrics = this.metrics;
+		if (metrics != DynamoDBMetrics.NOOP) {
+			metrics.pageLoaded(operation, getTableName(domainClass), indexName, returnedCount, scannedCount);
+		}
+	}
+
+	/**
+	 * Serves {@link CachedEntity} types from the {@link EntityCache} and caches
+	 * the items loaded on a miss. Concurrent loads of {@link CoalesceLoads} types
+	 * share a single request.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T load(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, Supplier<T> loader) {
+		EntityCache entityCache = this.entityCache;
+		boolean cached = entityCache != EntityCache.NONE && isCachedEntity(domainClass);
+		boolean coalesced = isCoalescedEntity(domainClass);
+		if (!cached && !coalesced) {
+			return loader.get();
+		}
+
+		DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+		EntityCacheKey key = new EntityCacheKey(getTableName(domainClass), tableModel.convertKey(hashKey, rangeKey));
+		long generation = 0;
+		if (cached) {
+			Map<String, AttributeValue> item = entityCache.get(key);
+			metrics.cacheAccess(key.getTableName(), item != null);
+			if (item != null) {
+				return tableModel.unconvert(item);
+			}
+			generation = cacheGeneration(key);
+		}
+
+		T entity = coalesced
+				? (T) loads.execute(key, loader::get, it -> tableModel.unconvert(tableModel.convert((T) it)))
+				: loader.get();
+		if (cached && entity != null && cacheGeneration(key) == generation) {
+			entityCache.put(key, tableModel.convert(entity));
+			// A write evicting between the check and the put left the item stale
+			if (cacheGeneration(key) != generation) {
+				entityCache.evict(key);
+			}
+		}
+		return entity;
+	}
+
+	private long cacheGeneration(EntityCacheKey key) {
+		return cacheGenerations.get(cacheGenerationStripe(key));
+	}
+
+	private static int cacheGenerationStripe(EntityCacheKey key) {
+		int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) & (CACHE_GENERATION_STRIPES - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void evictFromCache(Object entity) {
+		EntityCache entityCache = this.entityCache;
+		if (entityCache == EntityCache.NONE || !isCachedEntity(entity.getClass())) {
+			return;
+		}
+		DynamoDBMapperTableModel<Object> tableModel = (DynamoDBMapperTableModel<Object>) getTableModel(
+				entity.getClass());
+		EntityCacheKey key = new EntityCacheKey(getTableName(entity.getClass()), tableModel.convertKey(entity));
+		// Before the eviction, so loads running concurrently do not cache the old item
+		cacheGenerations.incrementAndGet(cacheGenerationStripe(key));
+		entityCache.evict(key);
+	}
+
+	private boolean isCachedEntity(Class<?> domainClass) {
+		return cachedEntities.computeIfAbsent(domainClass,
+				it -> AnnotationUtils.findAnnotation(it, CachedEntity.class) != null);
+	}
+
+	/**
+	 * Strongly consistent loads are never coalesced, see {@link CoalesceLoads}
+	 */
+	private boolean isCoalescedEntity(Class<?> domainClass) {
+		return coalescedEntities.computeIfAbsent(domainClass,
+				it -> AnnotationUtils.findAnnotation(it, CoalesceLoads.class) != null
+						&& dynamoDBMapperConfig.getConsistentReads() != DynamoDBMapperConfig.ConsistentReads.CONSISTENT);
+	}
+
+	private void acquireRead(Class<?> domainClass, @Nullable String indexName) {
+		ThroughputGovernor throughputGovernor = this.throughputGovernor;
+		if (throughputGovernor != ThroughputGovernor.UNLIMITED) {
+			throughputGovernor.acquireRead(getTableName(domainClass), indexName);
+		}
+	}
+
+	private String getTableName(Class<?> domainClass) {
+		return tableNames.computeIfAbsent(domainClass, it -> getTableName(it, dynamoDBMapperConfig));
+	}
+
+	private <T> QueryResultPage<T> loadQueryPage(Class<T> clazz, QueryRequest queryRequest,
+			DynamoDBMapperTableModel<T> tableModel) {
+		QueryResult queryResult = measure(DynamoDBMetrics.OPERATION_QUERY, clazz, queryRequest.getIndexName(),
+				() -> amazonDynamoDB.query(queryRequest));
+		recordPage(DynamoDBMetrics.OPERATION_QUERY, clazz, queryRequest.getIndexName(), queryResult.getCount(),
+				queryResult.getScannedCount());
+
+		List<T> results = new ArrayList<>(queryResult.getItems().size());
+		for (Map<String, AttributeValue> item : queryResult.getItems()) {
+			results.add(tableModel.unconvert(item));
+		}
+		QueryResultPage<T> page = new QueryResultPage<>();
+		page.setResults(results);
+		page.setLastEvaluatedKey(queryResult.getLastEvaluatedKey());
+		page.setCount(queryResult.getCount());
+		page.setScannedCount(queryResult.getScannedCount());
+		page.setConsumedCapacity(queryResult.getConsumedCapacity());
+		return page;
+	}
+
+	/**
+	 * Wraps the pages into a lazy list that publishes an event for every
+	 * non-empty page once it got loaded. Listeners therefore never load more pages
+	 * than the caller iterates over. Whether events are published at all is
+	 * decided once when the list is created.
+	 */
+	@SuppressWarnings("rawtypes")
+	private <T> PaginatedList<T> paginate(Class<T> domainClass, PageSource<T> pageSource,
+			Class<? extends DynamoDBMappingEvent> eventType,
+			Function<List<T>, DynamoDBMappingEvent<List<T>>> eventFactory) {
+		return new PageLoadingPaginatedList<>(dynamoDBMapper, domainClass, amazonDynamoDB,
+				dynamoDBMapperConfig.getPaginationLoadingStrategy(), pageSource,
+				pageListener(domainClass, eventType, eventFactory));
+	}
+
+	/**
+	 * Like {@link #paginate(Class, PageSource, Class, Function)}, but streams the
+	 * pages without keeping the ones already consumed. No page is loaded before
+	 * the stream is consumed.
+	 */
+	@SuppressWarnings("rawtypes")
+	private <T> Stream<T> stream(Class<T> domainClass, PageSource<T> pageSource,
+			Class<? extends DynamoDBMappingEvent> eventType,
+			Function<List<T>, DynamoDBMappingEvent<List<T>>> eventFactory) {
+		return PageSpliterator.stream(pageSource, pageListener(domainClass, eventType, eventFactory));
+	}
+
+	@SuppressWarnings("rawtypes")
+	private <T> Consumer<List<T>> pageListener(Class<T> domainClass, Class<? extends DynamoDBMappingEvent> eventType,
+			Function<List<T>, DynamoDBMappingEvent<List<T>>> eventFactory) {
+		boolean publishEvents = isEventPublished(eventType, domainClass);
+		return page -> {
+			if (publishEvents && !page.isEmpty()) {
+				eventPublisher.publishEvent(eventFactory.apply(page));
 			}
+		};
+	}
+
+	/**
+	 * @param eventType
+	 *            The type of the event
+	 * @param domainClass
+	 *            The type of the entity
+	 * @return {@code false} if nobody listens to the event or the events are
+	 *         suppressed for the current thread
+	 */
+	@SuppressWarnings("rawtypes")
+	protected boolean isEventPublished(Class<? extends DynamoDBMappingEvent> eventType, Class<?> domainClass) {
+		return eventPublisher != null && !MappingEventSuppression.isSuppressed()
+				&& listenerRegistry.hasListeners(eventType, domainClass);
+	}
+
+	@SuppressWarnings("rawtypes")
+	protected <T> void maybeEmitEvent(@Nullable T source, Class<? extends DynamoDBMappingEvent> eventType,
+			Function<T, DynamoDBMappingEvent<T>> factory) {
+		if (source != null && isEventPublished(eventType, source.getClass())) {
+			DynamoDBMappingEvent<T> event = factory.apply(source);
+
+			eventPublisher.publishEvent(event);
 		}
+	}
 
+	/**
+	 * @deprecated Creates the event before it can tell whether anybody listens to
+	 *             it, use {@link #maybeEmitEvent(Object, Class, Function)} instead
+	 */
+	@Deprecated
+	protected <T> void maybeEmitEvent(@Nullable T source, Function<T, DynamoDBMappingEvent<T>> factory) {
+		if (source != null && eventPublisher != null) {
+			DynamoDBMappingEvent<T> event = factory.apply(source);
+			if (isEventPublished(event.getClass(), source.getClass())) {
+				eventPublisher.publishEvent(event);
+			}
+		}
 	}
 }
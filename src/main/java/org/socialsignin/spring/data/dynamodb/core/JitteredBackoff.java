@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Full jitter exponential backoff: the delay is picked at random between zero
+ * and the exponentially growing (but capped) backoff.
+ */
+final class JitteredBackoff {
+
+	static final long BASE_BACKOFF_MILLIS = 50;
+	static final long MAX_BACKOFF_MILLIS = 10_000;
+
+	private JitteredBackoff() {
+	}
+
+	static long delayMillis(int retriesAttempted) {
+		long backoff = BASE_BACKOFF_MILLIS << Math.min(retriesAttempted, 20);
+		return ThreadLocalRandom.current().nextLong(Math.min(backoff, MAX_BACKOFF_MILLIS) + 1);
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+/**
+ * Sizes the {@code Limit} of the requests reading the pages of a query or scan
+ * until a given number of items matched. As the {@code Limit} of a request caps
+ * the items DynamoDB evaluates - before a filter drops any of them - every
+ * request asks for the items still missing, scaled up by the share of the items
+ * the previous page lost to the filter.
+ */
+public final class PageLimits {
+
+	/**
+	 * The factor the {@code Limit} grows by at most from one page to the next
+	 */
+	public static final int MAX_GROWTH = 8;
+
+	private PageLimits() {
+	}
+
+	/**
+	 * @param limit
+	 *            The {@code Limit} of the previous request
+	 * @param matched
+	 *            The number of items the previous request returned
+	 * @param missing
+	 *            The number of items still to read
+	 * @return The {@code Limit} of the next request
+	 */
+	public static int nextLimit(int limit, int matched, int missing) {
+		long maxLimit = (long) limit * MAX_GROWTH;
+		long nextLimit = matched == 0 ? maxLimit : ((long) missing * limit + matched - 1) / matched;
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(missing, Math.min(nextLimit, maxLimit)));
+	}
+
+}
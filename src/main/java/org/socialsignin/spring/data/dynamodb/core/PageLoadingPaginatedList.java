@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedList;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link PaginatedList} that fetches its pages from a {@link PageSource} and
+ * hands every page to a listener the moment it is loaded. Iterating the first
+ * few elements only loads (and reports) the pages holding them.
+ */
+public class PageLoadingPaginatedList<T> extends PaginatedList<T> {
+
+	/**
+	 * Loads the pages of a query or scan one after another.
+	 */
+	public interface PageSource<T> {
+
+		/**
+		 * @return The next page of results - might be empty even if further pages
+		 *         follow
+		 */
+		List<T> nextPage();
+
+		/**
+		 * @return {@code true} if {@link #nextPage()} has more results to load
+		 */
+		boolean hasNextPage();
+	}
+
+	private final PageSource<T> pageSource;
+	private final Consumer<List<T>> pageListener;
+
+	public PageLoadingPaginatedList(DynamoDBMapper mapper, Class<T> clazz, AmazonDynamoDB dynamo,
+			PaginationLoadingStrategy paginationLoadingStrategy, PageSource<T> pageSource,
+			Consumer<List<T>> pageListener) {
+		super(mapper, clazz, dynamo, paginationLoadingStrategy);
+		Assert.notNull(pageSource, "pageSource must not be null!");
+		Assert.notNull(pageListener, "pageListener must not be null!");
+
+		this.pageSource = pageSource;
+		this.pageListener = pageListener;
+
+		allResults.addAll(fetchNextPage());
+
+		if (paginationLoadingStrategy == PaginationLoadingStrategy.EAGER_LOADING) {
+			loadAllResults();
+		}
+	}
+
+	@Override
+	protected boolean atEndOfResults() {
+		return !pageSource.hasNextPage();
+	}
+
+	@Override
+	protected synchronized List<T> fetchNextPage() {
+		List<T> page = pageSource.nextPage();
+		pageListener.accept(page);
+		return page;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.socialsignin.spring.data.dynamodb.core.PageLoadingPaginatedList.PageSource;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Spliterator} that fetches the pages of a {@link PageSource} one at a
+ * time while the stream is consumed. Only the current page is referenced, so
+ * arbitrarily large result sets are processed in constant memory. Closing the
+ * stream stops loading further pages.
+ */
+class PageSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+	private final PageSource<T> pageSource;
+	private final Consumer<List<T>> pageListener;
+	private Iterator<T> currentPage = Collections.emptyIterator();
+	private boolean firstPage = true;
+	private volatile boolean closed;
+
+	PageSpliterator(PageSource<T> pageSource, Consumer<List<T>> pageListener) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.pageSource = pageSource;
+		this.pageListener = pageListener;
+	}
+
+	/**
+	 * @return A sequential stream over all pages of the source
+	 */
+	static <T> Stream<T> stream(PageSource<T> pageSource, Consumer<List<T>> pageListener) {
+		PageSpliterator<T> spliterator = new PageSpliterator<>(pageSource, pageListener);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		while (!currentPage.hasNext()) {
+			if (closed || !(firstPage || pageSource.hasNextPage())) {
+				return false;
+			}
+			firstPage = false;
+			List<T> page = pageSource.nextPage();
+			pageListener.accept(page);
+			currentPage = page.iterator();
+		}
+		action.accept(currentPage.next());
+		return true;
+	}
+
+	void close() {
+		closed = true;
+		currentPage = Collections.emptyIterator();
+	}
+
+}
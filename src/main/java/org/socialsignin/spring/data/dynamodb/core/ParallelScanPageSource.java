@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Loads one page of every unfinished segment of a parallel scan concurrently;
+ * the combined results of these pages form a single page of the scan. The first
+ * segment and those the executor rejects are loaded on the calling thread.
+ */
+class ParallelScanPageSource<T> implements PageLoadingPaginatedList.PageSource<T> {
+
+	private final Function<DynamoDBScanExpression, ScanResultPage<T>> segmentLoader;
+	private final Executor executor;
+	private final List<DynamoDBScanExpression> activeSegments;
+
+	/**
+	 * @param segmentLoader
+	 *            Loads a page of a single segment, e.g. via
+	 *            {@link com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper#scanPage(Class, DynamoDBScanExpression)}
+	 */
+	ParallelScanPageSource(Function<DynamoDBScanExpression, ScanResultPage<T>> segmentLoader,
+			DynamoDBScanExpression scanExpression, int totalSegments, Executor executor) {
+		this.segmentLoader = segmentLoader;
+		this.executor = executor;
+		this.activeSegments = new ArrayList<>(totalSegments);
+		for (int segment = 0; segment < totalSegments; segment++) {
+			activeSegments.add(copyForSegment(scanExpression, segment, totalSegments));
+		}
+	}
+
+	@Override
+	public List<T> nextPage() {
+		List<FutureTask<ScanResultPage<T>>> pages = new ArrayList<>(activeSegments.size());
+		for (DynamoDBScanExpression segment : activeSegments) {
+			FutureTask<ScanResultPage<T>> page = new FutureTask<>(
+					RepositoryInvocation.propagate(() -> segmentLoader.apply(segment)));
+			if (!pages.isEmpty()) {
+				try {
+					executor.execute(page);
+				} catch (RejectedExecutionException e) {
+					// Loads on the calling thread below
+				}
+			}
+			pages.add(page);
+		}
+
+		List<T> results = new ArrayList<>();
+		Iterator<DynamoDBScanExpression> segments = activeSegments.iterator();
+		for (FutureTask<ScanResultPage<T>> page : pages) {
+			DynamoDBScanExpression segment = segments.next();
+			// A no-op if the executor already runs or ran the task
+			page.run();
+			ScanResultPage<T> result = await(page);
+			results.addAll(result.getResults());
+			if (result.getLastEvaluatedKey() == null) {
+				segments.remove();
+			} else {
+				segment.setExclusiveStartKey(result.getLastEvaluatedKey());
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public boolean hasNextPage() {
+		return !activeSegments.isEmpty();
+	}
+
+	private ScanResultPage<T> await(FutureTask<ScanResultPage<T>> page) {
+		try {
+			return page.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for a parallel scan", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DataAccessResourceFailureException("Parallel scan failed", e.getCause());
+		}
+	}
+
+	private static DynamoDBScanExpression copyForSegment(DynamoDBScanExpression source, int segment,
+			int totalSegments) {
+		DynamoDBScanExpression copy = new DynamoDBScanExpression();
+		copy.setScanFilter(source.getScanFilter());
+		copy.setExclusiveStartKey(source.getExclusiveStartKey());
+		copy.setLimit(source.getLimit());
+		copy.setConditionalOperator(source.getConditionalOperator());
+		copy.setFilterExpression(source.getFilterExpression());
+		copy.setExpressionAttributeNames(source.getExpressionAttributeNames());
+		copy.setExpressionAttributeValues(source.getExpressionAttributeValues());
+		copy.setSelect(source.getSelect());
+		copy.setProjectionExpression(source.getProjectionExpression());
+		copy.setReturnConsumedCapacity(source.getReturnConsumedCapacity());
+		copy.setIndexName(source.getIndexName());
+		copy.setConsistentRead(source.isConsistentRead());
+		copy.setSegment(segment);
+		copy.setTotalSegments(totalSegments);
+		return copy;
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Capacity;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the AWS SDK v1 model objects the mapper works with into their AWS SDK
+ * v2 counterparts and back.
+ */
+final class SdkV2ModelConverter {
+
+	private SdkV2ModelConverter() {
+	}
+
+	static software.amazon.awssdk.services.dynamodb.model.AttributeValue toV2(AttributeValue value) {
+		software.amazon.awssdk.services.dynamodb.model.AttributeValue.Builder builder = software.amazon.awssdk.services.dynamodb.model.AttributeValue
+				.builder();
+		if (value.getS() != null) {
+			builder.s(value.getS());
+		} else if (value.getN() != null) {
+			builder.n(value.getN());
+		} else if (value.getB() != null) {
+			builder.b(SdkBytes.fromByteBuffer(value.getB().duplicate()));
+		} else if (value.getSS() != null) {
+			builder.ss(value.getSS());
+		} else if (value.getNS() != null) {
+			builder.ns(value.getNS());
+		} else if (value.getBS() != null) {
+			List<SdkBytes> bs = new ArrayList<>(value.getBS().size());
+			for (ByteBuffer b : value.getBS()) {
+				bs.add(SdkBytes.fromByteBuffer(b.duplicate()));
+			}
+			builder.bs(bs);
+		} else if (value.getM() != null) {
+			builder.m(toV2(value.getM()));
+		} else if (value.getL() != null) {
+			List<software.amazon.awssdk.services.dynamodb.model.AttributeValue> l = new ArrayList<>(
+					value.getL().size());
+			for (AttributeValue v : value.getL()) {
+				l.add(toV2(v));
+			}
+			builder.l(l);
+		} else if (value.getBOOL() != null) {
+			builder.bool(value.getBOOL());
+		} else if (value.getNULL() != null) {
+			builder.nul(value.getNULL());
+		}
+		return builder.build();
+	}
+
+	static AttributeValue toV1(software.amazon.awssdk.services.dynamodb.model.AttributeValue value) {
+		AttributeValue result = new AttributeValue();
+		if (value.s() != null) {
+			result.setS(value.s());
+		} else if (value.n() != null) {
+			result.setN(value.n());
+		} else if (value.b() != null) {
+			result.setB(value.b().asByteBuffer());
+		} else if (value.hasSs()) {
+			result.setSS(value.ss());
+		} else if (value.hasNs()) {
+			result.setNS(value.ns());
+		} else if (value.hasBs()) {
+			List<ByteBuffer> bs = new ArrayList<>(value.bs().size());
+			for (SdkBytes b : value.bs()) {
+				bs.add(b.asByteBuffer());
+			}
+			result.setBS(bs);
+		} else if (value.hasM()) {
+			result.setM(toV1(value.m()));
+		} else if (value.hasL()) {
+			List<AttributeValue> l = new ArrayList<>(value.l().size());
+			for (software.amazon.awssdk.services.dynamodb.model.AttributeValue v : value.l()) {
+				l.add(toV1(v));
+			}
+			result.setL(l);
+		} else if (value.bool() != null) {
+			result.setBOOL(value.bool());
+		} else if (value.nul() != null) {
+			result.setNULL(value.nul());
+		}
+		return result;
+	}
+
+	static Map<String, software.amazon.awssdk.services.dynamodb.model.AttributeValue> toV2(
+			Map<String, AttributeValue> item) {
+		if (item == null) {
+			return null;
+		}
+		Map<String, software.amazon.awssdk.services.dynamodb.model.AttributeValue> result = new LinkedHashMap<>(
+				item.size() * 2);
+		for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+			result.put(entry.getKey(), toV2(entry.getValue()));
+		}
+		return result;
+	}
+
+	static Map<String, AttributeValue> toV1(
+			Map<String, software.amazon.awssdk.services.dynamodb.model.AttributeValue> item) {
+		if (item == null) {
+			return null;
+		}
+		Map<String, AttributeValue> result = new LinkedHashMap<>(item.size() * 2);
+		for (Map.Entry<String, software.amazon.awssdk.services.dynamodb.model.AttributeValue> entry : item
+				.entrySet()) {
+			result.put(entry.getKey(), toV1(entry.getValue()));
+		}
+		return result;
+	}
+
+	static software.amazon.awssdk.services.dynamodb.model.Condition toV2(Condition condition) {
+		List<software.amazon.awssdk.services.dynamodb.model.AttributeValue> values = null;
+		if (condition.getAttributeValueList() != null) {
+			values = new ArrayList<>(condition.getAttributeValueList().size());
+			for (AttributeValue value : condition.getAttributeValueList()) {
+				values.add(toV2(value));
+			}
+		}
+		return software.amazon.awssdk.services.dynamodb.model.Condition.builder()
+				.comparisonOperator(condition.getComparisonOperator()).attributeValueList(values).build();
+	}
+
+	static Map<String, software.amazon.awssdk.services.dynamodb.model.Condition> toV2Conditions(
+			Map<String, Condition> conditions) {
+		if (conditions == null) {
+			return null;
+		}
+		Map<String, software.amazon.awssdk.services.dynamodb.model.Condition> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Condition> entry : conditions.entrySet()) {
+			result.put(entry.getKey(), toV2(entry.getValue()));
+		}
+		return result;
+	}
+
+	static software.amazon.awssdk.services.dynamodb.model.QueryRequest toV2(QueryRequest queryRequest) {
+		return software.amazon.awssdk.services.dynamodb.model.QueryRequest.builder()
+				.tableName(queryRequest.getTableName()).indexName(queryRequest.getIndexName())
+				.select(queryRequest.getSelect()).attributesToGet(queryRequest.getAttributesToGet())
+				.limit(queryRequest.getLimit()).consistentRead(queryRequest.getConsistentRead())
+				.keyConditions(toV2Conditions(queryRequest.getKeyConditions()))
+				.queryFilter(toV2Conditions(queryRequest.getQueryFilter()))
+				.conditionalOperator(queryRequest.getConditionalOperator())
+				.scanIndexForward(queryRequest.getScanIndexForward())
+				.exclusiveStartKey(toV2(queryRequest.getExclusiveStartKey()))
+				.returnConsumedCapacity(queryRequest.getReturnConsumedCapacity())
+				.projectionExpression(queryRequest.getProjectionExpression())
+				.filterExpression(queryRequest.getFilterExpression())
+				.keyConditionExpression(queryRequest.getKeyConditionExpression())
+				.expressionAttributeNames(queryRequest.getExpressionAttributeNames())
+				.expressionAttributeValues(toV2(queryRequest.getExpressionAttributeValues())).build();
+	}
+
+	static WriteRequest toV1(software.amazon.awssdk.services.dynamodb.model.WriteRequest writeRequest) {
+		WriteRequest result = new WriteRequest();
+		if (writeRequest.putRequest() != null) {
+			result.setPutRequest(new PutRequest(toV1(writeRequest.putRequest().item())));
+		}
+		if (writeRequest.deleteRequest() != null) {
+			result.setDeleteRequest(new DeleteRequest(toV1(writeRequest.deleteRequest().key())));
+		}
+		return result;
+	}
+
+	static ConsumedCapacity toV1(software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity consumedCapacity) {
+		ConsumedCapacity result = new ConsumedCapacity().withTableName(consumedCapacity.tableName())
+				.withCapacityUnits(consumedCapacity.capacityUnits())
+				.withReadCapacityUnits(consumedCapacity.readCapacityUnits())
+				.withWriteCapacityUnits(consumedCapacity.writeCapacityUnits());
+		if (consumedCapacity.table() != null) {
+			result.setTable(toV1(consumedCapacity.table()));
+		}
+		if (consumedCapacity.hasLocalSecondaryIndexes()) {
+			result.setLocalSecondaryIndexes(toV1Capacities(consumedCapacity.localSecondaryIndexes()));
+		}
+		if (consumedCapacity.hasGlobalSecondaryIndexes()) {
+			result.setGlobalSecondaryIndexes(toV1Capacities(consumedCapacity.globalSecondaryIndexes()));
+		}
+		return result;
+	}
+
+	private static Capacity toV1(software.amazon.awssdk.services.dynamodb.model.Capacity capacity) {
+		return new Capacity().withCapacityUnits(capacity.capacityUnits())
+				.withReadCapacityUnits(capacity.readCapacityUnits())
+				.withWriteCapacityUnits(capacity.writeCapacityUnits());
+	}
+
+	private static Map<String, Capacity> toV1Capacities(
+			Map<String, software.amazon.awssdk.services.dynamodb.model.Capacity> capacities) {
+		Map<String, Capacity> result = new LinkedHashMap<>();
+		capacities.forEach((indexName, capacity) -> result.put(indexName, toV1(capacity)));
+		return result;
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.socialsignin.spring.data.dynamodb.metrics.CapacityUsage;
+import org.socialsignin.spring.data.dynamodb.metrics.ConsumedCapacityListener;
+import org.socialsignin.spring.data.dynamodb.metrics.ConsumedCapacityRequestHandler;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the bulk operations of the {@link DynamoDBTemplate} - batch loads,
+ * batch writes, scans and parallel scans - so that they leave the throughput
+ * of a table to the rest of the traffic. Every table and index can have a read
+ * and a write limit in capacity units per second.
+ *
+ * The limits are token buckets that are charged with the capacity actually
+ * consumed by <em>all</em> requests to the table, so the governor has to be
+ * registered as listener of a {@link ConsumedCapacityRequestHandler}:
+ *
+ * <pre>
+ * ThroughputGovernor governor = ThroughputGovernor.of(environment);
+ * AmazonDynamoDBClientBuilder.standard().withRequestHandlers(new ConsumedCapacityRequestHandler(governor)).build();
+ * </pre>
+ *
+ * Bulk operations wait before each request until the buckets of their table
+ * hold tokens again. Other requests are never delayed.
+ */
+public class ThroughputGovernor implements ConsumedCapacityListener {
+
+	/**
+	 * Does not limit anything
+	 */
+	public static final ThroughputGovernor UNLIMITED = new ThroughputGovernor();
+
+	/**
+	 * Comma separated limits of the form
+	 * {@code <table>[/<index>].<read|write>=<capacity units per second>}, e.g.
+	 * {@code Orders.read=200,Orders.write=50,Orders/byCustomer.read=100}
+	 */
+	public static final String LIMITS_PROPERTY = "spring.data.dynamodb.throughput.limits";
+
+	/**
+	 * Seconds of unused throughput a bucket accumulates - {@value #DEFAULT_BURST_SECONDS}
+	 * by default
+	 */
+	public static final String BURST_SECONDS_PROPERTY = "spring.data.dynamodb.throughput.burst-seconds";
+
+	public static final double DEFAULT_BURST_SECONDS = 1;
+
+	private static final String READ = "read";
+	private static final String WRITE = "write";
+	private static final char INDEX_SEPARATOR = '/';
+
+	private final double burstSeconds;
+	private final LongSupplier nanoClock;
+	private final Map<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+	private final Map<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+
+	public ThroughputGovernor() {
+		this(DEFAULT_BURST_SECONDS);
+	}
+
+	public ThroughputGovernor(double burstSeconds) {
+		this(burstSeconds, System::nanoTime);
+	}
+
+	ThroughputGovernor(double burstSeconds, LongSupplier nanoClock) {
+		Assert.isTrue(burstSeconds > 0, "burstSeconds must be positive!");
+		this.burstSeconds = burstSeconds;
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * @param propertyResolver
+	 *            Provides the {@value #LIMITS_PROPERTY} and
+	 *            {@value #BURST_SECONDS_PROPERTY} properties, e.g. the
+	 *            {@link org.springframework.core.env.Environment}
+	 * @return A governor with the configured limits
+	 */
+	public static ThroughputGovernor of(PropertyResolver propertyResolver) {
+		double burstSeconds = propertyResolver.getProperty(BURST_SECONDS_PROPERTY, Double.class,
+				DEFAULT_BURST_SECONDS);
+		ThroughputGovernor governor = new ThroughputGovernor(burstSeconds);
+		governor.addLimits(propertyResolver.getProperty(LIMITS_PROPERTY, ""));
+		return governor;
+	}
+
+	/**
+	 * @param limits
+	 *            Limits in the format of {@value #LIMITS_PROPERTY}
+	 */
+	void addLimits(String limits) {
+		for (String limit : StringUtils.commaDelimitedListToStringArray(limits)) {
+			limit = limit.trim();
+			if (limit.isEmpty()) {
+				continue;
+			}
+			int equals = limit.lastIndexOf('=');
+			int dot = equals < 0 ? -1 : limit.lastIndexOf('.', equals);
+			if (dot <= 0) {
+				throw new IllegalArgumentException("Invalid throughput limit '" + limit
+						+ "' - expected <table>[/<index>].<read|write>=<capacity units per second>");
+			}
+			String key = limit.substring(0, dot).trim();
+			String type = limit.substring(dot + 1, equals).trim();
+			double unitsPerSecond = Double.parseDouble(limit.substring(equals + 1).trim());
+
+			int separator = key.indexOf(INDEX_SEPARATOR);
+			String tableName = separator < 0 ? key : key.substring(0, separator);
+			String indexName = separator < 0 ? null : key.substring(separator + 1);
+			if (READ.equalsIgnoreCase(type)) {
+				withReadLimit(tableName, indexName, unitsPerSecond);
+			} else if (WRITE.equalsIgnoreCase(type)) {
+				withWriteLimit(tableName, indexName, unitsPerSecond);
+			} else {
+				throw new IllegalArgumentException(
+						"Invalid throughput limit '" + limit + "' - expected 'read' or 'write' but got '" + type + "'");
+			}
+		}
+	}
+
+	/**
+	 * @param tableName
+	 *            The table
+	 * @param indexName
+	 *            The index - or {@code null} for the table itself
+	 * @param unitsPerSecond
+	 *            The read capacity units per second
+	 * @return This governor
+	 */
+	public ThroughputGovernor withReadLimit(String tableName, @Nullable String indexName, double unitsPerSecond) {
+		Assert.state(this != UNLIMITED, "UNLIMITED must not be changed!");
+		readBuckets.put(key(tableName, indexName), newBucket(unitsPerSecond));
+		return this;
+	}
+
+	/**
+	 * @param tableName
+	 *            The table
+	 * @param indexName
+	 *            The global secondary index - or {@code null} for the table itself
+	 * @param unitsPerSecond
+	 *            The write capacity units per second
+	 * @return This governor
+	 */
+	public ThroughputGovernor withWriteLimit(String tableName, @Nullable String indexName, double unitsPerSecond) {
+		Assert.state(this != UNLIMITED, "UNLIMITED must not be changed!");
+		writeBuckets.put(key(tableName, indexName), newBucket(unitsPerSecond));
+		return this;
+	}
+
+	private TokenBucket newBucket(double unitsPerSecond) {
+		Assert.isTrue(unitsPerSecond > 0, "unitsPerSecond must be positive!");
+		return new TokenBucket(unitsPerSecond, burstSeconds, nanoClock);
+	}
+
+	/**
+	 * Waits until a read of the table or index is within its limit.
+	 *
+	 * @param tableName
+	 *            The table
+	 * @param indexName
+	 *            The index read - or {@code null} for the table itself
+	 */
+	public void acquireRead(String tableName, @Nullable String indexName) {
+		if (readBuckets.isEmpty()) {
+			return;
+		}
+		TokenBucket bucket = indexName == null ? null : readBuckets.get(key(tableName, indexName));
+		if (bucket == null) {
+			bucket = readBuckets.get(tableName);
+		}
+		if (bucket != null) {
+			await(bucket);
+		}
+	}
+
+	/**
+	 * Waits until a write of the table and of all its limited indexes is within
+	 * their limits.
+	 *
+	 * @param tableName
+	 *            The table
+	 */
+	public void acquireWrite(String tableName) {
+		if (writeBuckets.isEmpty()) {
+			return;
+		}
+		String indexPrefix = tableName + INDEX_SEPARATOR;
+		for (Map.Entry<String, TokenBucket> entry : writeBuckets.entrySet()) {
+			if (entry.getKey().equals(tableName) || entry.getKey().startsWith(indexPrefix)) {
+				await(entry.getValue());
+			}
+		}
+	}
+
+	private static void await(TokenBucket bucket) {
+		try {
+			for (long waitNanos = bucket.waitNanos(); waitNanos > 0; waitNanos = bucket.waitNanos()) {
+				TimeUnit.NANOSECONDS.sleep(waitNanos);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for throughput", e);
+		}
+	}
+
+	/**
+	 * Charges the consumed capacity to the bucket of the index - or, if the index
+	 * has no limit of its own, to the bucket of the table.
+	 */
+	@Override
+	public void onConsumedCapacity(CapacityUsage usage) {
+		charge(readBuckets, usage, usage.getReadCapacityUnits());
+		charge(writeBuckets, usage, usage.getWriteCapacityUnits());
+	}
+
+	private static void charge(Map<String, TokenBucket> buckets, CapacityUsage usage, double units) {
+		if (units <= 0 || buckets.isEmpty()) {
+			return;
+		}
+		TokenBucket bucket = usage.getIndexName() == null
+				? null
+				: buckets.get(key(usage.getTableName(), usage.getIndexName()));
+		if (bucket == null) {
+			bucket = buckets.get(usage.getTableName());
+		}
+		if (bucket != null) {
+			bucket.charge(units);
+		}
+	}
+
+	/**
+	 * @return The tokens left in the read bucket of the table or index - or
+	 *         {@code null} if it has no limit
+	 */
+	@Nullable
+	Double getReadTokens(String tableName, @Nullable String indexName) {
+		TokenBucket bucket = readBuckets.get(key(tableName, indexName));
+		return bucket == null ? null : bucket.getTokens();
+	}
+
+	private static String key(String tableName, @Nullable String indexName) {
+		Assert.hasText(tableName, "tableName must not be empty!");
+		return indexName == null ? tableName : tableName + INDEX_SEPARATOR + indexName;
+	}
+
+}
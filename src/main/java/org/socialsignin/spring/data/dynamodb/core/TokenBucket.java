@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket that is charged after the fact: requests wait until the
+ * bucket holds tokens again and the capacity they actually consumed is charged
+ * afterwards - which may leave the bucket in debt.
+ */
+final class TokenBucket {
+
+	private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final double unitsPerSecond;
+	private final double capacity;
+	private final LongSupplier nanoClock;
+	private double tokens;
+	private long lastRefill;
+
+	TokenBucket(double unitsPerSecond, double burstSeconds, LongSupplier nanoClock) {
+		this.unitsPerSecond = unitsPerSecond;
+		this.capacity = Math.max(unitsPerSecond * burstSeconds, 1);
+		this.nanoClock = nanoClock;
+		this.tokens = capacity;
+		this.lastRefill = nanoClock.getAsLong();
+	}
+
+	double getUnitsPerSecond() {
+		return unitsPerSecond;
+	}
+
+	/**
+	 * @return How long to wait until the bucket holds tokens again - {@code 0} if
+	 *         it does already
+	 */
+	synchronized long waitNanos() {
+		refill();
+		if (tokens > 0) {
+			return 0;
+		}
+		return Math.max((long) (-tokens / unitsPerSecond * TimeUnit.SECONDS.toNanos(1)), MIN_WAIT_NANOS);
+	}
+
+	synchronized void charge(double units) {
+		refill();
+		tokens -= units;
+	}
+
+	synchronized double getTokens() {
+		refill();
+		return tokens;
+	}
+
+	private void refill() {
+		long now = nanoClock.getAsLong();
+		tokens = Math.min(capacity, tokens + (now - lastRefill) * unitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+		lastRefill = now;
+	}
+
+}
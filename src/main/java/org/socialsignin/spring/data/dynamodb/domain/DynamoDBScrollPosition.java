@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Position within the results of a query or scan, backed by the
+ * {@code LastEvaluatedKey} DynamoDB returned for the previous page. Continuing
+ * from a position reads exactly the next page, no matter how deep the position
+ * lies within the results.
+ *
+ * The position can be handed to clients as an opaque {@link #toToken() token}
+ * and {@link #fromToken(String) restored} from it.
+ */
+public final class DynamoDBScrollPosition implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final DynamoDBScrollPosition INITIAL = new DynamoDBScrollPosition(Collections.emptyMap());
+
+	private static final byte STRING = 'S';
+	private static final byte NUMBER = 'N';
+	private static final byte BINARY = 'B';
+
+	private final Map<String, AttributeValue> exclusiveStartKey;
+
+	private DynamoDBScrollPosition(Map<String, AttributeValue> exclusiveStartKey) {
+		this.exclusiveStartKey = exclusiveStartKey;
+	}
+
+	/**
+	 * @return The position before the first result
+	 */
+	public static DynamoDBScrollPosition initial() {
+		return INITIAL;
+	}
+
+	/**
+	 * @param lastEvaluatedKey
+	 *            The {@code LastEvaluatedKey} of a query or scan result
+	 * @return The position after the page the key was returned for - the
+	 *         {@link #initial() initial} position if the key is {@code null}
+	 */
+	public static DynamoDBScrollPosition of(@Nullable Map<String, AttributeValue> lastEvaluatedKey) {
+		if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+			return INITIAL;
+		}
+		return new DynamoDBScrollPosition(Collections.unmodifiableMap(new LinkedHashMap<>(lastEvaluatedKey)));
+	}
+
+	/**
+	 * @param token
+	 *            A token created by {@link #toToken()}
+	 * @return The position the token was created for
+	 * @throws IllegalArgumentException
+	 *             if the token is malformed
+	 */
+	public static DynamoDBScrollPosition fromToken(String token) {
+		Assert.notNull(token, "token must not be null!");
+		if (token.isEmpty()) {
+			return INITIAL;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+			int size = in.readUnsignedShort();
+			Map<String, AttributeValue> key = new LinkedHashMap<>(size * 2);
+			for (int i = 0; i < size; i++) {
+				String name = in.readUTF();
+				byte type = in.readByte();
+				if (type == STRING) {
+					key.put(name, new AttributeValue().withS(in.readUTF()));
+				} else if (type == NUMBER) {
+					key.put(name, new AttributeValue().withN(in.readUTF()));
+				} else if (type == BINARY) {
+					byte[] bytes = new byte[in.readInt()];
+					in.readFully(bytes);
+					key.put(name, new AttributeValue().withB(ByteBuffer.wrap(bytes)));
+				} else {
+					throw new IllegalArgumentException("Unknown key attribute type in scroll token: " + type);
+				}
+			}
+			if (in.available() > 0) {
+				throw new IllegalArgumentException("Trailing data in scroll token");
+			}
+			return of(key);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Malformed scroll token: " + token, e);
+		}
+	}
+
+	/**
+	 * @return {@code true} if this is the position before the first result
+	 */
+	public boolean isInitial() {
+		return exclusiveStartKey.isEmpty();
+	}
+
+	/**
+	 * @return The key to start the next page after - {@code null} for the
+	 *         {@link #initial() initial} position
+	 */
+	@Nullable
+	public Map<String, AttributeValue> getExclusiveStartKey() {
+		return isInitial() ? null : exclusiveStartKey;
+	}
+
+	/**
+	 * @return An URL-safe representation of this position
+	 */
+	public String toToken() {
+		if (isInitial()) {
+			return "";
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeShort(exclusiveStartKey.size());
+			for (Map.Entry<String, AttributeValue> entry : exclusiveStartKey.entrySet()) {
+				out.writeUTF(entry.getKey());
+				AttributeValue value = entry.getValue();
+				if (value.getS() != null) {
+					out.writeByte(STRING);
+					out.writeUTF(value.getS());
+				} else if (value.getN() != null) {
+					out.writeByte(NUMBER);
+					out.writeUTF(value.getN());
+				} else if (value.getB() != null) {
+					ByteBuffer buffer = value.getB().asReadOnlyBuffer();
+					byte[] binary = new byte[buffer.remaining()];
+					buffer.get(binary);
+					out.writeByte(BINARY);
+					out.writeInt(binary.length);
+					out.write(binary);
+				} else {
+					// Key attributes are always strings, numbers or binaries
+					throw new IllegalStateException("Unsupported key attribute " + entry.getKey() + ": " + value);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof DynamoDBScrollPosition)) {
+			return false;
+		}
+		return exclusiveStartKey.equals(((DynamoDBScrollPosition) o).exclusiveStartKey);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(exclusiveStartKey);
+	}
+
+	@Override
+	public String toString() {
+		return isInitial() ? "DynamoDBScrollPosition[initial]" : "DynamoDBScrollPosition" + exclusiveStartKey;
+	}
+
+}
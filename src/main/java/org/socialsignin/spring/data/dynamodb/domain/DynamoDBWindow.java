@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import org.springframework.data.util.Streamable;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A single page of query or scan results read from a
+ * {@link DynamoDBScrollPosition} on. Use {@link #getNextPosition()} to read
+ * the following page.
+ *
+ * @param <T>
+ *            The type of the entities
+ */
+public class DynamoDBWindow<T> implements Streamable<T> {
+
+	private final List<T> content;
+	@Nullable
+	private final DynamoDBScrollPosition nextPosition;
+
+	/**
+	 * @param content
+	 *            The entities of the page
+	 * @param nextPosition
+	 *            The position to read the next page from - {@code null} or the
+	 *            {@link DynamoDBScrollPosition#initial() initial} position if
+	 *            this is the last page
+	 */
+	public DynamoDBWindow(List<T> content, @Nullable DynamoDBScrollPosition nextPosition) {
+		Assert.notNull(content, "content must not be null!");
+		this.content = Collections.unmodifiableList(content);
+		this.nextPosition = nextPosition == null || nextPosition.isInitial() ? null : nextPosition;
+	}
+
+	/**
+	 * @return A window without any entities and without a next page
+	 */
+	public static <T> DynamoDBWindow<T> empty() {
+		return new DynamoDBWindow<>(Collections.emptyList(), null);
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public int size() {
+		return content.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return content.isEmpty();
+	}
+
+	/**
+	 * @return {@code true} if further results might follow - the next page can
+	 *         be empty nonetheless, e.g. if a filter rejected all of its items
+	 */
+	public boolean hasNext() {
+		return nextPosition != null;
+	}
+
+	public boolean isLast() {
+		return !hasNext();
+	}
+
+	/**
+	 * @return The position to read the next page from
+	 * @throws IllegalStateException
+	 *             if this is the last page
+	 */
+	public DynamoDBScrollPosition getNextPosition() {
+		Assert.state(nextPosition != null, "This is the last window!");
+		return nextPosition;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return content.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "DynamoDBWindow[size=" + size() + ", hasNext=" + hasNext() + "]";
+	}
+
+}
@@ -15,17 +15,21 @@
  */
 package org.socialsignin.spring.data.dynamodb.mapping.event;
 
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import java.util.List;
 
 /**
  * @author Michael Lavelle
  * @author Sebastian Just
  */
-public class AfterQueryEvent<T> extends DynamoDBMappingEvent<PaginatedQueryList<T>> {
+public class AfterQueryEvent<T> extends DynamoDBMappingEvent<List<T>> {
 
 	private static final long serialVersionUID = 1L;
 
-	public AfterQueryEvent(PaginatedQueryList<T> source) {
+	/**
+	 * @param source
+	 *            A single page of the query results as soon as it got loaded
+	 */
+	public AfterQueryEvent(List<T> source) {
 		super(source);
 	}
 
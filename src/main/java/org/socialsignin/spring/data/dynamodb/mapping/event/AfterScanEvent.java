@@ -15,17 +15,22 @@
  */
 package org.socialsignin.spring.data.dynamodb.mapping.event;
 
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import java.util.List;
 
 /**
  * @author Michael Lavelle
  * @author Sebastian Just
  */
-public class AfterScanEvent<T> extends DynamoDBMappingEvent<PaginatedScanList<T>> {
+public class AfterScanEvent<T> extends DynamoDBMappingEvent<List<T>> {
 
 	private static final long serialVersionUID = 1L;
 
-	public AfterScanEvent(PaginatedScanList<T> source) {
+	/**
+	 * @param source
+	 *            A single page of the (parallel) scan results as soon as it got
+	 *            loaded
+	 */
+	public AfterScanEvent(List<T> source) {
 		super(source);
 	}
 
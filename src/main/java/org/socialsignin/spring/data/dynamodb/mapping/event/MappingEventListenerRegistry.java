@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Knows which {@link DynamoDBMappingEvent}s of which domain types are handled by
+ * at least one {@link ApplicationListener}, so that events nobody listens to
+ * are neither created nor published.
+ *
+ * The registry is a snapshot of the listeners at the time it was created.
+ * Listeners added later on are only seen by a new registry.
+ */
+public final class MappingEventListenerRegistry {
+
+	/**
+	 * Used whenever the listeners can not be determined reliably - every event is
+	 * published.
+	 */
+	public static final MappingEventListenerRegistry PUBLISH_ALL = new MappingEventListenerRegistry(null);
+
+	@Nullable
+	private final List<ApplicationListener<?>> listeners;
+	private final Map<List<Class<?>>, Boolean> cache = new ConcurrentHashMap<>();
+
+	MappingEventListenerRegistry(@Nullable Collection<ApplicationListener<?>> listeners) {
+		this.listeners = listeners == null ? null : new ArrayList<>(listeners);
+	}
+
+	/**
+	 * Collects the listeners of the given context and all its parents, as
+	 * {@link org.springframework.context.ApplicationEvent}s are propagated to the
+	 * parent contexts.
+	 *
+	 * @param applicationContext
+	 *            The refreshed context
+	 * @return The registry or {@link #PUBLISH_ALL} if not all listeners are known
+	 *         up front, e.g. because of prototype listener beans
+	 */
+	public static MappingEventListenerRegistry of(ApplicationContext applicationContext) {
+		Assert.notNull(applicationContext, "applicationContext must not be null!");
+
+		Set<ApplicationListener<?>> listeners = new LinkedHashSet<>();
+		for (ApplicationContext context = applicationContext; context != null; context = context.getParent()) {
+			if (!(context instanceof AbstractApplicationContext)) {
+				return PUBLISH_ALL;
+			}
+			AbstractApplicationContext abstractContext = (AbstractApplicationContext) context;
+			listeners.addAll(abstractContext.getApplicationListeners());
+
+			for (String beanName : abstractContext.getBeanNamesForType(ApplicationListener.class, true, false)) {
+				if (!abstractContext.isSingleton(beanName)) {
+					return PUBLISH_ALL;
+				}
+				listeners.add(abstractContext.getBean(beanName, ApplicationListener.class));
+			}
+		}
+		return new MappingEventListenerRegistry(listeners);
+	}
+
+	/**
+	 * @param eventType
+	 *            The type of the event
+	 * @param domainType
+	 *            The entity type the event is published for
+	 * @return {@code true} if at least one listener might handle the event
+	 */
+	@SuppressWarnings("rawtypes")
+	public boolean hasListeners(Class<? extends DynamoDBMappingEvent> eventType, Class<?> domainType) {
+		if (listeners == null) {
+			return true;
+		}
+		return cache.computeIfAbsent(Arrays.asList(eventType, domainType),
+				key -> resolveListeners(eventType, domainType));
+	}
+
+	@SuppressWarnings("rawtypes")
+	private boolean resolveListeners(Class<? extends DynamoDBMappingEvent> eventType, Class<?> domainType) {
+		ResolvableType resolvableEventType = ResolvableType.forClassWithGenerics(eventType, domainType);
+
+		for (ApplicationListener<?> listener : listeners) {
+			GenericApplicationListener genericListener = listener instanceof GenericApplicationListener
+					? (GenericApplicationListener) listener
+					: new GenericApplicationListenerAdapter(listener);
+			if (!genericListener.supportsEventType(resolvableEventType)) {
+				continue;
+			}
+			// The domain specific listeners silently drop all other entities
+			if (listener instanceof AbstractDynamoDBEventListener
+					&& !((AbstractDynamoDBEventListener<?>) listener).getDomainClass().isAssignableFrom(domainType)) {
+				continue;
+			}
+			return true;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+/**
+ * Turns off the {@link DynamoDBMappingEvent}s of the current thread, e.g. for
+ * the duration of a repository call annotated with
+ * {@link org.socialsignin.spring.data.dynamodb.repository.DisableMappingEvents}.
+ *
+ * <pre>
+ * boolean previous = MappingEventSuppression.suppress();
+ * try {
+ * 	// ...
+ * } finally {
+ * 	MappingEventSuppression.restore(previous);
+ * }
+ * </pre>
+ */
+public final class MappingEventSuppression {
+
+	private static final ThreadLocal<Boolean> SUPPRESSED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	private MappingEventSuppression() {
+	}
+
+	/**
+	 * @return The previous state to be passed to {@link #restore(boolean)}
+	 */
+	public static boolean suppress() {
+		boolean previous = SUPPRESSED.get();
+		SUPPRESSED.set(Boolean.TRUE);
+		return previous;
+	}
+
+	public static void restore(boolean previous) {
+		if (previous) {
+			SUPPRESSED.set(Boolean.TRUE);
+		} else {
+			SUPPRESSED.remove();
+		}
+	}
+
+	public static boolean isSuppressed() {
+		return SUPPRESSED.get();
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.socialsignin.spring.data.dynamodb.marshaller;
 
+import org.springframework.util.StringUtils;
+
 import java.text.DateFormat;
 import java.text.FieldPosition;
 import java.text.ParsePosition;
@@ -46,4 +48,34 @@ public class Date2EpocheDynamoDBMarshaller extends DateDynamoDBMarshaller {
 		return new EpcoheDateFormat();
 	}
 
+	@Override
+	public String marshall(Date getterReturnResult) {
+		if (!isFormatFixed()) {
+			return super.marshall(getterReturnResult);
+		} else if (getterReturnResult == null) {
+			return null;
+		} else {
+			return Long.toString(getterReturnResult.getTime());
+		}
+	}
+
+	@Override
+	public Date unmarshall(Class<Date> clazz, String obj) {
+		if (!isFormatFixed()) {
+			return super.unmarshall(clazz, obj);
+		} else if (StringUtils.isEmpty(obj)) {
+			return null;
+		} else {
+			return new Date(Long.parseLong(obj));
+		}
+	}
+
+	/**
+	 * @return {@code false} if a subclass might have overridden
+	 *         {@link #getDateFormat()}, which then has to be used
+	 */
+	private boolean isFormatFixed() {
+		return getClass() == Date2EpocheDynamoDBMarshaller.class;
+	}
+
 }
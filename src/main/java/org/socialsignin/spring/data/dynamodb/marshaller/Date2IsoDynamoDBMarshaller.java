@@ -15,14 +15,32 @@
  */
 package org.socialsignin.spring.data.dynamodb.marshaller;
 
+import org.springframework.util.StringUtils;
+
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.Date;
 import java.util.TimeZone;
 
+/**
+ * Marshalls {@link Date}s in the ISO format {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'} in UTC. The
+ * conversion uses thread-safe formatters; values they reject are parsed as
+ * leniently as by {@link #getDateFormat()}. Subclasses convert with their
+ * {@link #getDateFormat()}.
+ */
 public class Date2IsoDynamoDBMarshaller extends DateDynamoDBMarshaller {
 
 	private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
 	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+	// Only accepts the dates SimpleDateFormat parses to the same instant
+	private static final DateTimeFormatter STRICT_FORMATTER = DateTimeFormatter
+			.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC)
+			.withResolverStyle(ResolverStyle.STRICT);
 
 	@Override
 	public DateFormat getDateFormat() {
@@ -30,4 +48,39 @@ public class Date2IsoDynamoDBMarshaller extends DateDynamoDBMarshaller {
 		df.setTimeZone(UTC);
 		return df;
 	}
+
+	@Override
+	public String marshall(Date getterReturnResult) {
+		if (!isFormatFixed()) {
+			return super.marshall(getterReturnResult);
+		} else if (getterReturnResult == null) {
+			return null;
+		} else {
+			return Instant2IsoDynamoDBMarshaller.FORMATTER.format(getterReturnResult.toInstant());
+		}
+	}
+
+	@Override
+	public Date unmarshall(Class<Date> clazz, String obj) {
+		if (!isFormatFixed()) {
+			return super.unmarshall(clazz, obj);
+		} else if (StringUtils.isEmpty(obj)) {
+			return null;
+		} else {
+			try {
+				return Date.from(Instant.from(STRICT_FORMATTER.parse(obj)));
+			} catch (DateTimeParseException e) {
+				// E.g. day 30 of February or trailing text
+				return super.unmarshall(clazz, obj);
+			}
+		}
+	}
+
+	/**
+	 * @return {@code false} if a subclass might have overridden
+	 *         {@link #getDateFormat()}, which then has to be used
+	 */
+	private boolean isFormatFixed() {
+		return getClass() == Date2IsoDynamoDBMarshaller.class;
+	}
 }
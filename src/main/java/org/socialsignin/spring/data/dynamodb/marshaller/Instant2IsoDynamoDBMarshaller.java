@@ -30,9 +30,11 @@ public class Instant2IsoDynamoDBMarshaller
 			DynamoDBMarshaller<Instant> {
 
 	private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+	// Immutable and thread-safe
+	static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN).withZone(ZoneOffset.UTC);
 
 	private DateTimeFormatter getDateFormat() {
-		return DateTimeFormatter.ofPattern(PATTERN).withZone(ZoneOffset.UTC);
+		return FORMATTER;
 	}
 
 	@Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Read and write capacity units consumed on a table or one of its indexes.
+ */
+public final class CapacityUsage {
+
+	private final String tableName;
+	@Nullable
+	private final String indexName;
+	@Nullable
+	private final RepositoryInvocation invocation;
+	private final double readCapacityUnits;
+	private final double writeCapacityUnits;
+
+	public CapacityUsage(String tableName, @Nullable String indexName, @Nullable RepositoryInvocation invocation,
+			double readCapacityUnits, double writeCapacityUnits) {
+		this.tableName = tableName;
+		this.indexName = indexName;
+		this.invocation = invocation;
+		this.readCapacityUnits = readCapacityUnits;
+		this.writeCapacityUnits = writeCapacityUnits;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * @return The index - or {@code null} for the capacity of the table itself
+	 */
+	@Nullable
+	public String getIndexName() {
+		return indexName;
+	}
+
+	/**
+	 * @return The repository method that sent the request - or {@code null} if
+	 *         the request was not sent by a repository
+	 */
+	@Nullable
+	public RepositoryInvocation getInvocation() {
+		return invocation;
+	}
+
+	public double getReadCapacityUnits() {
+		return readCapacityUnits;
+	}
+
+	public double getWriteCapacityUnits() {
+		return writeCapacityUnits;
+	}
+
+	@Override
+	public String toString() {
+		return "CapacityUsage [tableName=" + tableName + ", indexName=" + indexName + ", invocation=" + invocation
+				+ ", readCapacityUnits=" + readCapacityUnits + ", writeCapacityUnits=" + writeCapacityUnits + "]";
+	}
+
+}
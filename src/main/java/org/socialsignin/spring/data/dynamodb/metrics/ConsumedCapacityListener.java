@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+/**
+ * Receives the capacity consumed by the requests seen by a
+ * {@link ConsumedCapacityRequestHandler}. Called on the thread that sent the
+ * request, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface ConsumedCapacityListener {
+
+	/**
+	 * @param usage
+	 *            The capacity consumed on a single table or index by a single
+	 *            request
+	 */
+	void onConsumedCapacity(CapacityUsage usage);
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.Capacity;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactGetItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asks DynamoDB for the {@link ReturnConsumedCapacity#INDEXES consumed
+ * capacity} of every request and reports it per table, index and
+ * {@link RepositoryInvocation repository method} to the
+ * {@link ConsumedCapacityListener}s. Requests that already ask for a consumed
+ * capacity - or explicitly for {@link ReturnConsumedCapacity#NONE none} - are
+ * left as they are.
+ *
+ * Register the handler with the client used by the
+ * {@link org.socialsignin.spring.data.dynamodb.core.DynamoDBTemplate}:
+ *
+ * <pre>
+ * AmazonDynamoDBClientBuilder.standard()
+ * 		.withRequestHandlers(new ConsumedCapacityRequestHandler(micrometerDynamoDBMetrics)).build();
+ * </pre>
+ */
+public class ConsumedCapacityRequestHandler extends RequestHandler2 {
+
+	private static final String INDEXES = ReturnConsumedCapacity.INDEXES.toString();
+
+	private final List<ConsumedCapacityListener> listeners;
+
+	public ConsumedCapacityRequestHandler(ConsumedCapacityListener... listeners) {
+		Assert.notEmpty(listeners, "At least one listener is required!");
+		this.listeners = Arrays.asList(listeners);
+	}
+
+	@Override
+	public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+		if (request instanceof GetItemRequest) {
+			GetItemRequest getItemRequest = (GetItemRequest) request;
+			getItemRequest.setReturnConsumedCapacity(requested(getItemRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof PutItemRequest) {
+			PutItemRequest putItemRequest = (PutItemRequest) request;
+			putItemRequest.setReturnConsumedCapacity(requested(putItemRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof UpdateItemRequest) {
+			UpdateItemRequest updateItemRequest = (UpdateItemRequest) request;
+			updateItemRequest.setReturnConsumedCapacity(requested(updateItemRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof DeleteItemRequest) {
+			DeleteItemRequest deleteItemRequest = (DeleteItemRequest) request;
+			deleteItemRequest.setReturnConsumedCapacity(requested(deleteItemRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof QueryRequest) {
+			QueryRequest queryRequest = (QueryRequest) request;
+			queryRequest.setReturnConsumedCapacity(requested(queryRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof ScanRequest) {
+			ScanRequest scanRequest = (ScanRequest) request;
+			scanRequest.setReturnConsumedCapacity(requested(scanRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof BatchGetItemRequest) {
+			BatchGetItemRequest batchGetItemRequest = (BatchGetItemRequest) request;
+			batchGetItemRequest.setReturnConsumedCapacity(requested(batchGetItemRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof BatchWriteItemRequest) {
+			BatchWriteItemRequest batchWriteItemRequest = (BatchWriteItemRequest) request;
+			batchWriteItemRequest
+					.setReturnConsumedCapacity(requested(batchWriteItemRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof TransactGetItemsRequest) {
+			TransactGetItemsRequest transactGetItemsRequest = (TransactGetItemsRequest) request;
+			transactGetItemsRequest
+					.setReturnConsumedCapacity(requested(transactGetItemsRequest.getReturnConsumedCapacity()));
+		} else if (request instanceof TransactWriteItemsRequest) {
+			TransactWriteItemsRequest transactWriteItemsRequest = (TransactWriteItemsRequest) request;
+			transactWriteItemsRequest
+					.setReturnConsumedCapacity(requested(transactWriteItemsRequest.getReturnConsumedCapacity()));
+		}
+		return request;
+	}
+
+	private static String requested(@Nullable String returnConsumedCapacity) {
+		// An explicit choice of the caller - even NONE - is kept
+		return returnConsumedCapacity == null ? INDEXES : returnConsumedCapacity;
+	}
+
+	@Override
+	public void afterResponse(Request<?> request, Response<?> response) {
+		publish(getConsumedCapacities(response.getAwsResponse()), isWrite(request.getOriginalRequest()),
+				RepositoryInvocation.current());
+	}
+
+	/**
+	 * Passes the capacity consumed by a request to the listeners - also for
+	 * requests not sent through a client with this handler.
+	 *
+	 * @param consumedCapacities
+	 *            The consumed capacity returned for the request
+	 * @param write
+	 *            Whether the request was a write request
+	 * @param invocation
+	 *            The repository method that sent the request
+	 */
+	public void publish(@Nullable List<ConsumedCapacity> consumedCapacities, boolean write,
+			@Nullable RepositoryInvocation invocation) {
+		if (consumedCapacities == null || consumedCapacities.isEmpty()) {
+			return;
+		}
+
+		for (ConsumedCapacity consumedCapacity : consumedCapacities) {
+			if (consumedCapacity == null) {
+				continue;
+			}
+			String tableName = consumedCapacity.getTableName();
+			if (consumedCapacity.getTable() == null) {
+				// Only the total is known
+				publish(tableName, null, invocation, write, consumedCapacity.getReadCapacityUnits(),
+						consumedCapacity.getWriteCapacityUnits(), consumedCapacity.getCapacityUnits());
+				continue;
+			}
+
+			publish(tableName, null, invocation, write, consumedCapacity.getTable());
+			publishIndexes(tableName, invocation, write, consumedCapacity.getLocalSecondaryIndexes());
+			publishIndexes(tableName, invocation, write, consumedCapacity.getGlobalSecondaryIndexes());
+		}
+	}
+
+	private void publishIndexes(String tableName, @Nullable RepositoryInvocation invocation, boolean write,
+			@Nullable Map<String, Capacity> indexes) {
+		if (indexes != null) {
+			indexes.forEach((indexName, capacity) -> publish(tableName, indexName, invocation, write, capacity));
+		}
+	}
+
+	private void publish(String tableName, @Nullable String indexName, @Nullable RepositoryInvocation invocation,
+			boolean write, Capacity capacity) {
+		publish(tableName, indexName, invocation, write, capacity.getReadCapacityUnits(),
+				capacity.getWriteCapacityUnits(), capacity.getCapacityUnits());
+	}
+
+	private void publish(String tableName, @Nullable String indexName, @Nullable RepositoryInvocation invocation,
+			boolean write, @Nullable Double readCapacityUnits, @Nullable Double writeCapacityUnits,
+			@Nullable Double capacityUnits) {
+		// Depending on the request, only the sum of all capacity units is returned
+		double reads = readCapacityUnits != null ? readCapacityUnits : (write ? 0 : valueOf(capacityUnits));
+		double writes = writeCapacityUnits != null ? writeCapacityUnits : (write ? valueOf(capacityUnits) : 0);
+
+		CapacityUsage usage = new CapacityUsage(tableName, indexName, invocation, reads, writes);
+		for (ConsumedCapacityListener listener : listeners) {
+			listener.onConsumedCapacity(usage);
+		}
+	}
+
+	private static double valueOf(@Nullable Double capacityUnits) {
+		return capacityUnits == null ? 0 : capacityUnits;
+	}
+
+	private static boolean isWrite(AmazonWebServiceRequest request) {
+		return request instanceof PutItemRequest || request instanceof UpdateItemRequest
+				|| request instanceof DeleteItemRequest || request instanceof BatchWriteItemRequest
+				|| request instanceof TransactWriteItemsRequest;
+	}
+
+	@Nullable
+	private static List<ConsumedCapacity> getConsumedCapacities(@Nullable Object result) {
+		if (result instanceof GetItemResult) {
+			return Collections.singletonList(((GetItemResult) result).getConsumedCapacity());
+		} else if (result instanceof PutItemResult) {
+			return Collections.singletonList(((PutItemResult) result).getConsumedCapacity());
+		} else if (result instanceof UpdateItemResult) {
+			return Collections.singletonList(((UpdateItemResult) result).getConsumedCapacity());
+		} else if (result instanceof DeleteItemResult) {
+			return Collections.singletonList(((DeleteItemResult) result).getConsumedCapacity());
+		} else if (result instanceof QueryResult) {
+			return Collections.singletonList(((QueryResult) result).getConsumedCapacity());
+		} else if (result instanceof ScanResult) {
+			return Collections.singletonList(((ScanResult) result).getConsumedCapacity());
+		} else if (result instanceof BatchGetItemResult) {
+			return ((BatchGetItemResult) result).getConsumedCapacity();
+		} else if (result instanceof BatchWriteItemResult) {
+			return ((BatchWriteItemResult) result).getConsumedCapacity();
+		} else if (result instanceof TransactGetItemsResult) {
+			return ((TransactGetItemsResult) result).getConsumedCapacity();
+		} else if (result instanceof TransactWriteItemsResult) {
+			return ((TransactWriteItemsResult) result).getConsumedCapacity();
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Callbacks of the {@link org.socialsignin.spring.data.dynamodb.core.DynamoDBTemplate}
+ * and the repositories to record metrics. All methods do nothing by default,
+ * see {@link MicrometerDynamoDBMetrics} for a Micrometer based implementation.
+ */
+public interface DynamoDBMetrics {
+
+	/**
+	 * Records nothing - the default of the templates.
+	 */
+	DynamoDBMetrics NOOP = new DynamoDBMetrics() {
+	};
+
+	String OPERATION_GET = "get";
+	String OPERATION_QUERY = "query";
+	String OPERATION_SCAN = "scan";
+	String OPERATION_COUNT = "count";
+	String OPERATION_BATCH_GET = "batch_get";
+	String OPERATION_BATCH_WRITE = "batch_write";
+	String OPERATION_PUT = "put";
+	String OPERATION_DELETE = "delete";
+
+	/**
+	 * A running measurement.
+	 */
+	@FunctionalInterface
+	interface Sample {
+
+		Sample NOOP = error -> {
+		};
+
+		/**
+		 * @param error
+		 *            The exception the measured call failed with or {@code null}
+		 */
+		void stop(@Nullable Throwable error);
+	}
+
+	/**
+	 * Starts to measure a single request to DynamoDB.
+	 *
+	 * @param operation
+	 *            One of the {@code OPERATION_*} constants
+	 * @param tableName
+	 *            The table the request is sent to
+	 * @param indexName
+	 *            The index used by the request - or {@code null}
+	 * @return The sample to stop once the request is done
+	 */
+	default Sample startOperation(String operation, String tableName, @Nullable String indexName) {
+		return Sample.NOOP;
+	}
+
+	/**
+	 * Starts to measure the invocation of a repository method.
+	 *
+	 * @param repository
+	 *            The simple name of the repository interface
+	 * @param method
+	 *            The name of the invoked method
+	 * @return The sample to stop once the method returned
+	 */
+	default Sample startRepositoryMethod(String repository, String method) {
+		return Sample.NOOP;
+	}
+
+	/**
+	 * Records a page of a query or scan.
+	 *
+	 * @param operation
+	 *            {@link #OPERATION_QUERY} or {@link #OPERATION_SCAN}
+	 * @param tableName
+	 *            The queried table
+	 * @param indexName
+	 *            The queried index - or {@code null}
+	 * @param returnedCount
+	 *            The number of items matching the filter
+	 * @param scannedCount
+	 *            The number of items evaluated before the filter was applied - or
+	 *            {@code null} if unknown
+	 */
+	default void pageLoaded(String operation, String tableName, @Nullable String indexName, int returnedCount,
+			@Nullable Integer scannedCount) {
+	}
+
+	/**
+	 * Records the retry of unprocessed items of a batch request.
+	 *
+	 * @param operation
+	 *            {@link #OPERATION_BATCH_GET} or {@link #OPERATION_BATCH_WRITE}
+	 * @param tableName
+	 *            The table of the unprocessed items
+	 * @param unprocessedItems
+	 *            The number of items that are retried
+	 */
+	default void unprocessedRetry(String operation, String tableName, int unprocessedItems) {
+	}
+
+	/**
+	 * Records a lookup in the
+	 * {@link org.socialsignin.spring.data.dynamodb.cache.EntityCache}.
+	 *
+	 * @param tableName
+	 *            The table of the entity
+	 * @param hit
+	 *            Whether the entity was served from the cache
+	 */
+	default void cacheAccess(String tableName, boolean hit) {
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import com.amazonaws.SdkBaseException;
+import com.amazonaws.retry.RetryUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Records the {@link DynamoDBMetrics} in a Micrometer {@link MeterRegistry}:
+ * <ul>
+ * <li>{@value #REQUESTS} - timer of the DynamoDB requests, tagged by
+ * {@value #TAG_TABLE}, {@value #TAG_INDEX}, {@value #TAG_OPERATION} and
+ * {@value #TAG_EXCEPTION}</li>
+ * <li>{@value #REPOSITORY_INVOCATIONS} - timer of the repository methods,
+ * tagged by {@value #TAG_REPOSITORY}, {@value #TAG_METHOD} and
+ * {@value #TAG_EXCEPTION}</li>
+ * <li>{@value #PAGES}, {@value #ITEMS_RETURNED} and {@value #ITEMS_SCANNED} -
+ * counters of the loaded query and scan pages</li>
+ * <li>{@value #UNPROCESSED_RETRIES} and {@value #UNPROCESSED_ITEMS} - counters
+ * of the retried batch requests</li>
+ * <li>{@value #THROTTLED} - counter of the requests failed due to
+ * throttling</li>
+ * <li>{@value #CACHE_REQUESTS} - counter of the entity cache lookups, tagged
+ * by {@value #TAG_TABLE} and {@value #TAG_RESULT} ({@code hit} or
+ * {@code miss})</li>
+ * <li>{@value #CAPACITY_READ} and {@value #CAPACITY_WRITE} - counters of the
+ * consumed capacity units, tagged by {@value #TAG_TABLE}, {@value #TAG_INDEX},
+ * {@value #TAG_REPOSITORY} and {@value #TAG_METHOD}. Only recorded if this
+ * instance is also registered as listener of a
+ * {@link ConsumedCapacityRequestHandler}.</li>
+ * </ul>
+ */
+public class MicrometerDynamoDBMetrics implements DynamoDBMetrics, ConsumedCapacityListener {
+
+	public static final String REQUESTS = "spring.data.dynamodb.requests";
+	public static final String REPOSITORY_INVOCATIONS = "spring.data.dynamodb.repository.invocations";
+	public static final String PAGES = "spring.data.dynamodb.pages";
+	public static final String ITEMS_RETURNED = "spring.data.dynamodb.items.returned";
+	public static final String ITEMS_SCANNED = "spring.data.dynamodb.items.scanned";
+	public static final String UNPROCESSED_RETRIES = "spring.data.dynamodb.unprocessed.retries";
+	public static final String UNPROCESSED_ITEMS = "spring.data.dynamodb.unprocessed.items";
+	public static final String THROTTLED = "spring.data.dynamodb.throttled";
+	public static final String CACHE_REQUESTS = "spring.data.dynamodb.cache.requests";
+	public static final String CAPACITY_READ = "spring.data.dynamodb.capacity.read";
+	public static final String CAPACITY_WRITE = "spring.data.dynamodb.capacity.write";
+
+	public static final String TAG_TABLE = "table";
+	public static final String TAG_INDEX = "index";
+	public static final String TAG_OPERATION = "operation";
+	public static final String TAG_REPOSITORY = "repository";
+	public static final String TAG_METHOD = "method";
+	public static final String TAG_EXCEPTION = "exception";
+	public static final String TAG_RESULT = "result";
+
+	private static final String NONE = "none";
+
+	private final MeterRegistry meterRegistry;
+
+	public MicrometerDynamoDBMetrics(MeterRegistry meterRegistry) {
+		Assert.notNull(meterRegistry, "meterRegistry must not be null!");
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Sample startOperation(String operation, String tableName, @Nullable String indexName) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		return error -> {
+			Tags tags = operationTags(operation, tableName, indexName);
+			sample.stop(Timer.builder(REQUESTS).tags(tags).tag(TAG_EXCEPTION, exceptionTag(error))
+					.publishPercentileHistogram().register(meterRegistry));
+			if (isThrottling(error)) {
+				meterRegistry.counter(THROTTLED, tags).increment();
+			}
+		};
+	}
+
+	@Override
+	public Sample startRepositoryMethod(String repository, String method) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		return error -> sample.stop(Timer.builder(REPOSITORY_INVOCATIONS).tag(TAG_REPOSITORY, repository)
+				.tag(TAG_METHOD, method).tag(TAG_EXCEPTION, exceptionTag(error)).publishPercentileHistogram()
+				.register(meterRegistry));
+	}
+
+	@Override
+	public void pageLoaded(String operation, String tableName, @Nullable String indexName, int returnedCount,
+			@Nullable Integer scannedCount) {
+		Tags tags = operationTags(operation, tableName, indexName);
+		meterRegistry.counter(PAGES, tags).increment();
+		meterRegistry.counter(ITEMS_RETURNED, tags).increment(returnedCount);
+		if (scannedCount != null) {
+			meterRegistry.counter(ITEMS_SCANNED, tags).increment(scannedCount);
+		}
+	}
+
+	@Override
+	public void unprocessedRetry(String operation, String tableName, int unprocessedItems) {
+		Tags tags = Tags.of(TAG_TABLE, tableName, TAG_OPERATION, operation);
+		meterRegistry.counter(UNPROCESSED_RETRIES, tags).increment();
+		meterRegistry.counter(UNPROCESSED_ITEMS, tags).increment(unprocessedItems);
+	}
+
+	@Override
+	public void cacheAccess(String tableName, boolean hit) {
+		meterRegistry.counter(CACHE_REQUESTS, TAG_TABLE, tableName, TAG_RESULT, hit ? "hit" : "miss").increment();
+	}
+
+	@Override
+	public void onConsumedCapacity(CapacityUsage usage) {
+		RepositoryInvocation invocation = usage.getInvocation();
+		Tags tags = Tags.of(TAG_TABLE, usage.getTableName(), TAG_INDEX,
+				usage.getIndexName() == null ? NONE : usage.getIndexName(), TAG_REPOSITORY,
+				invocation == null ? NONE : invocation.getRepository(), TAG_METHOD,
+				invocation == null ? NONE : invocation.getMethod());
+		if (usage.getReadCapacityUnits() > 0) {
+			meterRegistry.counter(CAPACITY_READ, tags).increment(usage.getReadCapacityUnits());
+		}
+		if (usage.getWriteCapacityUnits() > 0) {
+			meterRegistry.counter(CAPACITY_WRITE, tags).increment(usage.getWriteCapacityUnits());
+		}
+	}
+
+	private static Tags operationTags(String operation, String tableName, @Nullable String indexName) {
+		return Tags.of(TAG_TABLE, tableName, TAG_INDEX, indexName == null ? NONE : indexName, TAG_OPERATION,
+				operation);
+	}
+
+	private static String exceptionTag(@Nullable Throwable error) {
+		return error == null ? NONE : error.getClass().getSimpleName();
+	}
+
+	private static boolean isThrottling(@Nullable Throwable error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SdkBaseException && RetryUtils.isThrottlingException((SdkBaseException) cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * The repository method the current thread is executing. Requests sent to
+ * DynamoDB on behalf of the method - also from the worker threads of batch
+ * operations and parallel scans - are attributed to it.
+ */
+public final class RepositoryInvocation {
+
+	private static final ThreadLocal<RepositoryInvocation> CURRENT = new ThreadLocal<>();
+
+	private final String repository;
+	private final String method;
+
+	public RepositoryInvocation(String repository, String method) {
+		Assert.notNull(repository, "repository must not be null!");
+		Assert.notNull(method, "method must not be null!");
+		this.repository = repository;
+		this.method = method;
+	}
+
+	/**
+	 * @return The simple name of the repository interface
+	 */
+	public String getRepository() {
+		return repository;
+	}
+
+	/**
+	 * @return The name of the repository method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	@Nullable
+	public static RepositoryInvocation current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * @param invocation
+	 *            The invocation that starts on the current thread
+	 * @return The previous invocation to be passed to {@link #restore}
+	 */
+	@Nullable
+	public static RepositoryInvocation enter(@Nullable RepositoryInvocation invocation) {
+		RepositoryInvocation previous = CURRENT.get();
+		CURRENT.set(invocation);
+		return previous;
+	}
+
+	public static void restore(@Nullable RepositoryInvocation previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * @param task
+	 *            A task to be executed on another thread
+	 * @param <V>
+	 *            The result type of the task
+	 * @return The task executed within the invocation of the calling thread
+	 */
+	public static <V> Callable<V> propagate(Callable<V> task) {
+		RepositoryInvocation invocation = CURRENT.get();
+		if (invocation == null) {
+			return task;
+		}
+		return () -> {
+			RepositoryInvocation previous = enter(invocation);
+			try {
+				return task.call();
+			} finally {
+				restore(previous);
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		RepositoryInvocation that = (RepositoryInvocation) o;
+		return repository.equals(that.repository) && method.equals(that.method);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(repository, method);
+	}
+
+	@Override
+	public String toString() {
+		return repository + "." + method;
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.socialsignin.spring.data.dynamodb.query;
 
+import org.springframework.lang.Nullable;
+
 /**
  * {@link org.socialsignin.spring.data.dynamodb.mapping.DynamoDBPersistentProperty}
  * implementation
@@ -26,6 +28,10 @@ public abstract class AbstractQuery<T> implements Query<T> {
 
 	protected boolean scanEnabled = false;
 	protected boolean scanCountEnabled = false;
+	protected int scanSegments = 1;
+	protected int rangeSegments = 1;
+	@Nullable
+	protected Integer maxResults;
 
 	@Override
 	public boolean isScanCountEnabled() {
@@ -47,4 +53,35 @@ public abstract class AbstractQuery<T> implements Query<T> {
 		return scanEnabled;
 	}
 
+	@Override
+	public void setScanSegments(int scanSegments) {
+		this.scanSegments = scanSegments;
+	}
+
+	@Override
+	public int getScanSegments() {
+		return scanSegments;
+	}
+
+	@Override
+	public void setRangeSegments(int rangeSegments) {
+		this.rangeSegments = rangeSegments;
+	}
+
+	@Override
+	public int getRangeSegments() {
+		return rangeSegments;
+	}
+
+	@Override
+	public void setMaxResults(@Nullable Integer maxResults) {
+		this.maxResults = maxResults;
+	}
+
+	@Override
+	@Nullable
+	public Integer getMaxResults() {
+		return maxResults;
+	}
+
 }
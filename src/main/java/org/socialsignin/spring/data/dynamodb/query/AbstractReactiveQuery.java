@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+public abstract class AbstractReactiveQuery<T> implements ReactiveQuery<T> {
+
+	protected final DynamoDBAsyncOperations dynamoDBAsyncOperations;
+	protected final Class<T> clazz;
+
+	protected boolean scanEnabled = false;
+	protected boolean scanCountEnabled = false;
+
+	public AbstractReactiveQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations, Class<T> clazz) {
+		this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+		this.clazz = clazz;
+	}
+
+	@Override
+	public Mono<T> getSingleResult() {
+		// Two elements are enough to detect a non-unique result
+		return getResults().take(2).collectList().flatMap(results -> {
+			if (results.size() > 1) {
+				return Mono.error(new IncorrectResultSizeDataAccessException("result returns more than one elements",
+						1, results.size()));
+			}
+			return results.isEmpty() ? Mono.empty() : Mono.just(results.get(0));
+		});
+	}
+
+	@Override
+	public boolean isScanCountEnabled() {
+		return scanCountEnabled;
+	}
+
+	@Override
+	public void setScanCountEnabled(boolean scanCountEnabled) {
+		this.scanCountEnabled = scanCountEnabled;
+	}
+
+	@Override
+	public void setScanEnabled(boolean scanEnabled) {
+		this.scanEnabled = scanEnabled;
+	}
+
+	@Override
+	public boolean isScanEnabled() {
+		return scanEnabled;
+	}
+
+	protected void assertScanEnabled(boolean scanEnabled) {
+		Assert.isTrue(scanEnabled, "Scanning for this query is not enabled.  "
+				+ "To enable annotate your repository method with @EnableScan, or "
+				+ "enable scanning for all repository methods by annotating your repository interface with @EnableScan");
+	}
+
+	protected void assertScanCountEnabled(boolean scanCountEnabled) {
+		Assert.isTrue(scanCountEnabled, "Scanning for counts for this query is not enabled.  "
+				+ "To enable annotate your repository method with @EnableScanCount, or "
+				+ "enable scanning for all repository methods by annotating your repository interface with @EnableScanCount");
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Counts the results of a {@link MultipleEntityFanOutQuery}: either by summing
+ * up the counts of queries that cannot return the same item, run concurrently,
+ * or by counting the merged results.
+ */
+public class FanOutCountQuery extends AbstractSingleEntityQuery<Long> {
+
+	private final List<Query<Long>> countQueries;
+	@Nullable
+	private final Query<?> resultQuery;
+
+	/**
+	 * @param dynamoDBOperations
+	 *            Provides the executor to run the count queries on
+	 * @param countQueries
+	 *            The count queries of disjoint result sets, e.g. one per hash key
+	 */
+	public FanOutCountQuery(DynamoDBOperations dynamoDBOperations, List<Query<Long>> countQueries) {
+		super(dynamoDBOperations, Long.class);
+		this.countQueries = countQueries;
+		this.resultQuery = null;
+	}
+
+	/**
+	 * @param dynamoDBOperations
+	 *            Provides the executor to run the queries on
+	 * @param resultQuery
+	 *            The query to count the merged results of
+	 */
+	public FanOutCountQuery(DynamoDBOperations dynamoDBOperations, MultipleEntityFanOutQuery<?> resultQuery) {
+		super(dynamoDBOperations, Long.class);
+		this.countQueries = Collections.emptyList();
+		this.resultQuery = resultQuery;
+	}
+
+	@Override
+	public Long getSingleResult() {
+		if (resultQuery != null) {
+			return Long.valueOf(resultQuery.getResultList().size());
+		}
+
+		List<Supplier<Long>> tasks = new ArrayList<>(countQueries.size());
+		for (Query<Long> countQuery : countQueries) {
+			tasks.add(countQuery::getSingleResult);
+		}
+		long count = 0;
+		for (Long queryCount : MultipleEntityFanOutQuery.runConcurrently(dynamoDBOperations, tasks)) {
+			count += queryCount;
+		}
+		return count;
+	}
+
+}
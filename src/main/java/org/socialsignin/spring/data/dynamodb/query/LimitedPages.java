@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import org.socialsignin.spring.data.dynamodb.core.PageLimits;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the pages of a query or scan until a given number of items matched,
+ * sizing every request by {@link PageLimits#nextLimit(int, int, int)}.
+ */
+final class LimitedPages {
+
+	private LimitedPages() {
+	}
+
+	/**
+	 * @param maxResults
+	 *            The number of items to read at most
+	 * @param pageReader
+	 *            Reads the page at the given position, evaluating the given
+	 *            number of items at most
+	 * @return The items of the pages, {@code maxResults} at most
+	 */
+	static <T> List<T> read(int maxResults,
+			BiFunction<DynamoDBScrollPosition, Integer, DynamoDBWindow<T>> pageReader) {
+		List<T> results = new ArrayList<>();
+		new PageIterator<>(maxResults, pageReader).forEachRemaining(results::add);
+		return results;
+	}
+
+	/**
+	 * Lazy variant of {@link #read(int, BiFunction)} that reads the next page not
+	 * before the items of the previous one are consumed.
+	 */
+	static <T> Stream<T> stream(int maxResults,
+			BiFunction<DynamoDBScrollPosition, Integer, DynamoDBWindow<T>> pageReader) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PageIterator<>(maxResults, pageReader),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private static final class PageIterator<T> implements Iterator<T> {
+
+		private final BiFunction<DynamoDBScrollPosition, Integer, DynamoDBWindow<T>> pageReader;
+		private int missing;
+		private int limit;
+		private DynamoDBScrollPosition position = DynamoDBScrollPosition.initial();
+		private boolean lastPage = false;
+		private Iterator<T> page = Collections.emptyIterator();
+
+		private PageIterator(int maxResults, BiFunction<DynamoDBScrollPosition, Integer, DynamoDBWindow<T>> pageReader) {
+			this.pageReader = pageReader;
+			this.missing = maxResults;
+			this.limit = maxResults;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (!page.hasNext() && !lastPage && missing > 0) {
+				DynamoDBWindow<T> window = pageReader.apply(position, limit);
+				List<T> content = window.getContent();
+				if (content.size() > missing) {
+					content = content.subList(0, missing);
+				}
+				page = content.iterator();
+				missing -= content.size();
+				if (window.hasNext()) {
+					position = window.getNextPosition();
+					limit = PageLimits.nextLimit(limit, content.size(), missing);
+				} else {
+					lastPage = true;
+				}
+			}
+			return page.hasNext();
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return page.next();
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import org.socialsignin.spring.data.dynamodb.core.BatchLoadOptions;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the items of many hash keys of an entity without range key by a single
+ * {@link DynamoDBOperations#batchLoad(Class, List, BatchLoadOptions) batch
+ * load} instead of loading them one by one.
+ */
+public class MultipleEntityBatchLoadQuery<T> extends AbstractMultipleEntityQuery<T> {
+
+	private final List<KeyPair> keyPairs;
+	private final BatchLoadOptions options;
+	@Nullable
+	private final Comparator<T> order;
+
+	/**
+	 * @param dynamoDBOperations
+	 *            The operations to load with
+	 * @param clazz
+	 *            The domain class
+	 * @param hashKeys
+	 *            The distinct hash keys of the items to load
+	 * @param options
+	 *            Consistency and ordering of the load
+	 * @param order
+	 *            The order to return the items in, {@code null} for the order of
+	 *            the load
+	 */
+	public MultipleEntityBatchLoadQuery(DynamoDBOperations dynamoDBOperations, Class<T> clazz,
+			Collection<?> hashKeys, BatchLoadOptions options, @Nullable Comparator<T> order) {
+		super(dynamoDBOperations, clazz);
+		this.keyPairs = new ArrayList<>(hashKeys.size());
+		for (Object hashKey : hashKeys) {
+			keyPairs.add(new KeyPair().withHashKey(hashKey));
+		}
+		this.options = options;
+		this.order = order;
+	}
+
+	@Override
+	public List<T> getResultList() {
+		List<T> results = new ArrayList<>(dynamoDBOperations.batchLoad(clazz, keyPairs, options));
+		if (order != null) {
+			results.sort(order);
+		}
+		return getMaxResults() != null && results.size() > getMaxResults()
+				? new ArrayList<>(results.subList(0, getMaxResults()))
+				: results;
+	}
+
+}
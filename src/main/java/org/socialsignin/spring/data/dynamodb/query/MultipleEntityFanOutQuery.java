@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the queries an {@code IN} or {@code OR} condition on a hash key got
+ * rewritten into concurrently on the
+ * {@link DynamoDBOperations#getQueryExecutor() query executor} instead of
+ * scanning the table. The results are merged, dropping items returned by more
+ * than one query. If the queries are sorted by their range key, the merge keeps
+ * that order.
+ */
+public class MultipleEntityFanOutQuery<T> extends AbstractMultipleEntityQuery<T> {
+
+	private final List<Query<T>> queries;
+	private final Function<T, Object> keyExtractor;
+	@Nullable
+	private final Comparator<T> order;
+
+	/**
+	 * @param dynamoDBOperations
+	 *            Provides the executor to run the queries on
+	 * @param clazz
+	 *            The domain class
+	 * @param queries
+	 *            The queries to merge the results of
+	 * @param keyExtractor
+	 *            Extracts the primary key of an item to recognize duplicates
+	 * @param order
+	 *            The order every query returns its results in, {@code null} if
+	 *            unsorted
+	 */
+	public MultipleEntityFanOutQuery(DynamoDBOperations dynamoDBOperations, Class<T> clazz, List<Query<T>> queries,
+			Function<T, Object> keyExtractor, @Nullable Comparator<T> order) {
+		super(dynamoDBOperations, clazz);
+		this.queries = queries;
+		this.keyExtractor = keyExtractor;
+		this.order = order;
+	}
+
+	@Override
+	public List<T> getResultList() {
+		List<Supplier<List<T>>> tasks = new ArrayList<>(queries.size());
+		for (Query<T> query : queries) {
+			// Read all pages on the executor, not while merging
+			tasks.add(() -> new ArrayList<>(query.getResultList()));
+		}
+		List<List<T>> results = runConcurrently(dynamoDBOperations, tasks);
+		List<T> merged = order == null ? concat(results) : merge(results);
+		return getMaxResults() != null && merged.size() > getMaxResults()
+				? new ArrayList<>(merged.subList(0, getMaxResults()))
+				: merged;
+	}
+
+	@Override
+	public void setRangeSegments(int rangeSegments) {
+		super.setRangeSegments(rangeSegments);
+		queries.forEach(query -> query.setRangeSegments(rangeSegments));
+	}
+
+	@Override
+	public void setMaxResults(@Nullable Integer maxResults) {
+		// Each query might have to provide all of the results
+		super.setMaxResults(maxResults);
+		queries.forEach(query -> query.setMaxResults(maxResults));
+	}
+
+	@Override
+	public boolean exists() {
+		for (Query<T> query : queries) {
+			if (query.exists()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<T> concat(List<List<T>> results) {
+		Set<Object> keys = new HashSet<>();
+		List<T> merged = new ArrayList<>();
+		for (List<T> result : results) {
+			for (T item : result) {
+				if (keys.add(keyExtractor.apply(item))) {
+					merged.add(item);
+				}
+			}
+		}
+		return merged;
+	}
+
+	private List<T> merge(List<List<T>> results) {
+		// k-way merge of the sorted results, ties keep the order of the queries
+		PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, results.size()),
+				Comparator.<Head<T>, T>comparing(head -> head.item, order).thenComparingInt(head -> head.index));
+		for (int i = 0; i < results.size(); i++) {
+			Iterator<T> iterator = results.get(i).iterator();
+			if (iterator.hasNext()) {
+				heads.add(new Head<>(i, iterator));
+			}
+		}
+
+		Set<Object> keys = new HashSet<>();
+		List<T> merged = new ArrayList<>();
+		while (!heads.isEmpty()) {
+			Head<T> head = heads.poll();
+			if (keys.add(keyExtractor.apply(head.item))) {
+				merged.add(head.item);
+			}
+			if (head.iterator.hasNext()) {
+				head.item = head.iterator.next();
+				heads.add(head);
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Runs the tasks on the {@link DynamoDBOperations#getQueryExecutor() query
+	 * executor}. The first task as well as the tasks the executor rejects run on
+	 * the calling thread.
+	 *
+	 * @return The results of the tasks in the order of the tasks
+	 */
+	static <R> List<R> runConcurrently(DynamoDBOperations dynamoDBOperations, List<Supplier<R>> tasks) {
+		Executor executor = dynamoDBOperations.getQueryExecutor();
+		List<FutureTask<R>> futures = new ArrayList<>(tasks.size());
+		for (int i = 0; i < tasks.size(); i++) {
+			FutureTask<R> future = new FutureTask<>(RepositoryInvocation.propagate(tasks.get(i)::get));
+			if (i > 0 && executor != null) {
+				try {
+					executor.execute(future);
+				} catch (RejectedExecutionException e) {
+					// Runs on the calling thread below
+				}
+			}
+			futures.add(future);
+		}
+
+		List<R> results = new ArrayList<>(futures.size());
+		for (FutureTask<R> future : futures) {
+			// A no-op if the executor already runs or ran the task
+			future.run();
+			results.add(await(future));
+		}
+		return results;
+	}
+
+	private static <R> R await(FutureTask<R> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for a query", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DataAccessResourceFailureException("Query failed", e.getCause());
+		}
+	}
+
+	private static final class Head<T> {
+		private final int index;
+		private final Iterator<T> iterator;
+		private T item;
+
+		private Head(int index, Iterator<T> iterator) {
+			this.index = index;
+			this.iterator = iterator;
+			this.item = iterator.next();
+		}
+	}
+
+}
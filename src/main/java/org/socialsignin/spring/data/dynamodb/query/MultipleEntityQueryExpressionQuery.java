@@ -16,9 +16,22 @@
 package org.socialsignin.spring.data.dynamodb.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Condition;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
+import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * @author Michael Lavelle
@@ -27,16 +40,123 @@ import java.util.List;
 public class MultipleEntityQueryExpressionQuery<T> extends AbstractMultipleEntityQuery<T> {
 
 	private DynamoDBQueryExpression<T> queryExpression;
+	@Nullable
+	private final Map<String, Condition> rangeKeyConditions;
+	private final UnaryOperator<DynamoDBQueryExpression<T>> conditionCompiler;
+	private Map<String, Class<?>> propertyTypes = Collections.emptyMap();
 
 	public MultipleEntityQueryExpressionQuery(DynamoDBOperations dynamoDBOperations, Class<T> clazz,
 			DynamoDBQueryExpression<T> queryExpression) {
+		this(dynamoDBOperations, clazz, queryExpression, UnaryOperator.identity());
+	}
+
+	/**
+	 * @param queryExpression
+	 *            The query with its hash key values and range key conditions
+	 * @param conditionCompiler
+	 *            Replaces the key conditions of a query by expressions - applied
+	 *            to the query and to the query of each range segment
+	 */
+	public MultipleEntityQueryExpressionQuery(DynamoDBOperations dynamoDBOperations, Class<T> clazz,
+			DynamoDBQueryExpression<T> queryExpression, UnaryOperator<DynamoDBQueryExpression<T>> conditionCompiler) {
 		super(dynamoDBOperations, clazz);
-		this.queryExpression = queryExpression;
+		this.rangeKeyConditions = queryExpression.getRangeKeyConditions();
+		this.queryExpression = conditionCompiler.apply(queryExpression);
+		this.conditionCompiler = conditionCompiler;
+	}
+
+	/**
+	 * @param propertyTypes
+	 *            The declared types of the properties the key conditions are on,
+	 *            by attribute name; a range key condition is only
+	 *            {@link #setRangeSegments(int) split} if its property is integral
+	 */
+	public void setPropertyTypes(Map<String, Class<?>> propertyTypes) {
+		this.propertyTypes = propertyTypes;
 	}
 
 	@Override
 	public List<T> getResultList() {
+		if (getMaxResults() != null && getRangeSegments() <= 1) {
+			return LimitedPages.read(getMaxResults(), this::getResultWindow);
+		}
+		if (getRangeSegments() > 1) {
+			List<T> results = queryRangeSegments();
+			if (results != null) {
+				return results;
+			}
+		}
 		return dynamoDBOperations.query(clazz, queryExpression);
 	}
 
+	/**
+	 * @return The results of the sub-ranges of the range key condition queried
+	 *         concurrently, {@code null} if the condition cannot be split
+	 */
+	@Nullable
+	private List<T> queryRangeSegments() {
+		Map.Entry<String, Condition> rangeKeyCondition = RangeSegments.findSplittable(rangeKeyConditions);
+		if (rangeKeyCondition == null || !RangeSegments.isSplittable(propertyTypes.get(rangeKeyCondition.getKey()))) {
+			return null;
+		}
+		String attributeName = rangeKeyCondition.getKey();
+		Condition condition = rangeKeyCondition.getValue();
+
+		AttributeValue upperBound = null;
+		if (!RangeSegments.isBounded(condition)) {
+			// The last item of the range bounds it
+			DynamoDBQueryExpression<T> lastItemExpression = RangeSegments.copy(queryExpression);
+			lastItemExpression.setScanIndexForward(false);
+			lastItemExpression.setLimit(1);
+			QueryResultPage<T> lastItem = dynamoDBOperations.queryPage(clazz, lastItemExpression);
+			if (lastItem.getLastEvaluatedKey() != null) {
+				upperBound = lastItem.getLastEvaluatedKey().get(attributeName);
+			} else if (lastItem.getResults() == null || lastItem.getResults().isEmpty()) {
+				return new ArrayList<>();
+			}
+		}
+		List<Condition> segments = RangeSegments.split(condition, upperBound, getRangeSegments());
+		if (segments == null) {
+			return null;
+		}
+
+		List<Supplier<List<T>>> tasks = new ArrayList<>(segments.size());
+		for (Condition segment : segments) {
+			DynamoDBQueryExpression<T> segmentExpression = RangeSegments.copy(queryExpression);
+			Map<String, Condition> segmentConditions = new HashMap<>(rangeKeyConditions);
+			segmentConditions.put(attributeName, segment);
+			segmentExpression.setRangeKeyConditions(segmentConditions);
+			conditionCompiler.apply(segmentExpression);
+			tasks.add(() -> new ArrayList<>(dynamoDBOperations.query(clazz, segmentExpression)));
+		}
+		if (!queryExpression.isScanIndexForward()) {
+			Collections.reverse(tasks);
+		}
+
+		List<T> results = new ArrayList<>();
+		MultipleEntityFanOutQuery.runConcurrently(dynamoDBOperations, tasks).forEach(results::addAll);
+		return results;
+	}
+
+	@Override
+	public Stream<T> getResultStream() {
+		if (getMaxResults() != null) {
+			return LimitedPages.stream(getMaxResults(), this::getResultWindow);
+		}
+		return dynamoDBOperations.queryStream(clazz, queryExpression);
+	}
+
+	@Override
+	public boolean exists() {
+		return dynamoDBOperations.exists(clazz, queryExpression);
+	}
+
+	@Override
+	public DynamoDBWindow<T> getResultWindow(DynamoDBScrollPosition position, @Nullable Integer limit) {
+		queryExpression.setExclusiveStartKey(position.getExclusiveStartKey());
+		queryExpression.setLimit(limit);
+		QueryResultPage<T> page = dynamoDBOperations.queryPage(clazz, queryExpression);
+		return new DynamoDBWindow<>(page.getResults(), DynamoDBScrollPosition.of(page.getLastEvaluatedKey()));
+	}
+
 }
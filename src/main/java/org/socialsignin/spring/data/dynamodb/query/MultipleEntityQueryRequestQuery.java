@@ -15,27 +15,146 @@
  */
 package org.socialsignin.spring.data.dynamodb.query;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
+import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 public class MultipleEntityQueryRequestQuery<T> extends AbstractMultipleEntityQuery<T> {
 
 	private DynamoDBOperations dynamoDBOperations;
 	private QueryRequest queryRequest;
+	@Nullable
+	private final Map<String, Condition> keyConditions;
+	private final UnaryOperator<QueryRequest> conditionCompiler;
+	private Map<String, Class<?>> propertyTypes = Collections.emptyMap();
 
 	public MultipleEntityQueryRequestQuery(DynamoDBOperations dynamoDBOperations, Class<T> clazz,
 			QueryRequest queryRequest) {
+		this(dynamoDBOperations, clazz, queryRequest, UnaryOperator.identity());
+	}
+
+	/**
+	 * @param queryRequest
+	 *            The query with its key conditions
+	 * @param conditionCompiler
+	 *            Replaces the key conditions of a query by expressions - applied
+	 *            to the query and to the query of each range segment
+	 */
+	public MultipleEntityQueryRequestQuery(DynamoDBOperations dynamoDBOperations, Class<T> clazz,
+			QueryRequest queryRequest, UnaryOperator<QueryRequest> conditionCompiler) {
 		super(null, clazz);
-		this.queryRequest = queryRequest;
+		this.keyConditions = queryRequest.getKeyConditions();
+		this.queryRequest = conditionCompiler.apply(queryRequest);
+		this.conditionCompiler = conditionCompiler;
 		this.dynamoDBOperations = dynamoDBOperations;
 	}
 
+	/**
+	 * @param propertyTypes
+	 *            The declared types of the properties the key conditions are on,
+	 *            by attribute name; a range key condition is only
+	 *            {@link #setRangeSegments(int) split} if its property is integral
+	 */
+	public void setPropertyTypes(Map<String, Class<?>> propertyTypes) {
+		this.propertyTypes = propertyTypes;
+	}
+
 	@Override
 	public List<T> getResultList() {
-
+		if (getMaxResults() != null && getRangeSegments() <= 1) {
+			return LimitedPages.read(getMaxResults(), this::getResultWindow);
+		}
+		if (getRangeSegments() > 1) {
+			List<T> results = queryRangeSegments();
+			if (results != null) {
+				return results;
+			}
+		}
 		return dynamoDBOperations.query(clazz, queryRequest);
 	}
 
+	/**
+	 * @return The results of the sub-ranges of the range key condition queried
+	 *         concurrently, {@code null} if the condition cannot be split
+	 */
+	@Nullable
+	private List<T> queryRangeSegments() {
+		Map.Entry<String, Condition> rangeKeyCondition = RangeSegments.findSplittable(keyConditions);
+		if (rangeKeyCondition == null || !RangeSegments.isSplittable(propertyTypes.get(rangeKeyCondition.getKey()))) {
+			return null;
+		}
+		String attributeName = rangeKeyCondition.getKey();
+		Condition condition = rangeKeyCondition.getValue();
+
+		AttributeValue upperBound = null;
+		if (!RangeSegments.isBounded(condition)) {
+			// The last item of the range bounds it
+			QueryRequest lastItemRequest = queryRequest.clone();
+			lastItemRequest.setScanIndexForward(false);
+			lastItemRequest.setLimit(1);
+			QueryResultPage<T> lastItem = dynamoDBOperations.queryPage(clazz, lastItemRequest);
+			if (lastItem.getLastEvaluatedKey() != null) {
+				upperBound = lastItem.getLastEvaluatedKey().get(attributeName);
+			} else if (lastItem.getResults() == null || lastItem.getResults().isEmpty()) {
+				return new ArrayList<>();
+			}
+		}
+		List<Condition> segments = RangeSegments.split(condition, upperBound, getRangeSegments());
+		if (segments == null) {
+			return null;
+		}
+
+		List<Supplier<List<T>>> tasks = new ArrayList<>(segments.size());
+		for (Condition segment : segments) {
+			QueryRequest segmentRequest = queryRequest.clone();
+			Map<String, Condition> segmentConditions = new HashMap<>(keyConditions);
+			segmentConditions.put(attributeName, segment);
+			segmentRequest.setKeyConditions(segmentConditions);
+			conditionCompiler.apply(segmentRequest);
+			tasks.add(() -> new ArrayList<>(dynamoDBOperations.query(clazz, segmentRequest)));
+		}
+		if (Boolean.FALSE.equals(queryRequest.getScanIndexForward())) {
+			Collections.reverse(tasks);
+		}
+
+		List<T> results = new ArrayList<>();
+		MultipleEntityFanOutQuery.runConcurrently(dynamoDBOperations, tasks).forEach(results::addAll);
+		return results;
+	}
+
+	@Override
+	public Stream<T> getResultStream() {
+		if (getMaxResults() != null) {
+			return LimitedPages.stream(getMaxResults(), this::getResultWindow);
+		}
+		return dynamoDBOperations.queryStream(clazz, queryRequest);
+	}
+
+	@Override
+	public boolean exists() {
+		return dynamoDBOperations.exists(clazz, queryRequest);
+	}
+
+	@Override
+	public DynamoDBWindow<T> getResultWindow(DynamoDBScrollPosition position, @Nullable Integer limit) {
+		queryRequest.setExclusiveStartKey(position.getExclusiveStartKey());
+		queryRequest.setLimit(limit);
+		QueryResultPage<T> page = dynamoDBOperations.queryPage(clazz, queryRequest);
+		return new DynamoDBWindow<>(page.getResults(), DynamoDBScrollPosition.of(page.getLastEvaluatedKey()));
+	}
+
 }
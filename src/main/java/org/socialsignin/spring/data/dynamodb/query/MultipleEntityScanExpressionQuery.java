@@ -16,10 +16,15 @@
 package org.socialsignin.spring.data.dynamodb.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public class MultipleEntityScanExpressionQuery<T> extends AbstractMultipleEntityQuery<T> {
 
@@ -34,9 +39,46 @@ public class MultipleEntityScanExpressionQuery<T> extends AbstractMultipleEntity
 	@Override
 	public List<T> getResultList() {
 		assertScanEnabled(isScanEnabled());
+		if (getMaxResults() != null && getScanSegments() <= 1) {
+			return LimitedPages.read(getMaxResults(), this::getResultWindow);
+		}
+		if (getScanSegments() > 1) {
+			return dynamoDBOperations.parallelScan(clazz, scanExpression, getScanSegments());
+		}
 		return dynamoDBOperations.scan(clazz, scanExpression);
 	}
 
+	@Override
+	public Stream<T> getResultStream() {
+		assertScanEnabled(isScanEnabled());
+		if (getMaxResults() != null && getScanSegments() <= 1) {
+			return LimitedPages.stream(getMaxResults(), this::getResultWindow);
+		}
+		if (getScanSegments() > 1) {
+			return dynamoDBOperations.parallelScanStream(clazz, scanExpression, getScanSegments());
+		}
+		return dynamoDBOperations.scanStream(clazz, scanExpression);
+	}
+
+	@Override
+	public boolean exists() {
+		assertScanEnabled(isScanEnabled());
+		return dynamoDBOperations.exists(clazz, scanExpression);
+	}
+
+	/**
+	 * Scrolls through the results with a sequential scan, as a single position
+	 * cannot continue all segments of a parallel scan.
+	 */
+	@Override
+	public DynamoDBWindow<T> getResultWindow(DynamoDBScrollPosition position, @Nullable Integer limit) {
+		assertScanEnabled(isScanEnabled());
+		scanExpression.setExclusiveStartKey(position.getExclusiveStartKey());
+		scanExpression.setLimit(limit);
+		ScanResultPage<T> page = dynamoDBOperations.scanPage(clazz, scanExpression);
+		return new DynamoDBWindow<>(page.getResults(), DynamoDBScrollPosition.of(page.getLastEvaluatedKey()));
+	}
+
 	public void assertScanEnabled(boolean scanEnabled) {
 		Assert.isTrue(scanEnabled, "Scanning for this query is not enabled.  "
 				+ "To enable annotate your repository method with @EnableScan, or "
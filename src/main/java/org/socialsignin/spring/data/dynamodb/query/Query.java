@@ -15,7 +15,12 @@
  */
 package org.socialsignin.spring.data.dynamodb.query;
 
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
+import org.springframework.lang.Nullable;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface Query<T> {
 
@@ -36,9 +41,73 @@ public interface Query<T> {
 	 */
 	T getSingleResult();
 
+	/**
+	 * Execute a SELECT query and return the query results as a lazy stream. The
+	 * stream should be closed once it is not needed any more.
+	 *
+	 * @return a stream of the results
+	 */
+	default Stream<T> getResultStream() {
+		return getResultList().stream();
+	}
+
+	/**
+	 * Execute a SELECT query and check whether it returns any result, reading as
+	 * little as possible.
+	 *
+	 * @return {@code true} if there is at least one result
+	 */
+	default boolean exists() {
+		try (Stream<T> results = getResultStream()) {
+			return results.findAny().isPresent();
+		}
+	}
+
+	/**
+	 * Execute a SELECT query and return a single page of the results, read from
+	 * the given position on. Queries that don't read in pages return all of their
+	 * results with the initial position and none after it.
+	 *
+	 * @param position
+	 *            The position to continue from
+	 * @param limit
+	 *            The maximum number of items to evaluate for the page, {@code null}
+	 *            to let DynamoDB decide
+	 * @return the page of the results
+	 */
+	default DynamoDBWindow<T> getResultWindow(DynamoDBScrollPosition position, @Nullable Integer limit) {
+		return position.isInitial() ? new DynamoDBWindow<>(getResultList(), null) : DynamoDBWindow.empty();
+	}
+
 	void setScanEnabled(boolean scanEnabled);
 	void setScanCountEnabled(boolean scanCountEnabled);
 	boolean isScanCountEnabled();
 	boolean isScanEnabled();
 
+	/**
+	 * @param scanSegments
+	 *            Number of segments a scan is split into; more than one segment
+	 *            results in a parallel scan
+	 */
+	void setScanSegments(int scanSegments);
+	int getScanSegments();
+
+	/**
+	 * @param rangeSegments
+	 *            Number of sub-ranges a range key condition is split into; more
+	 *            than one sub-range results in concurrent queries
+	 */
+	void setRangeSegments(int rangeSegments);
+	int getRangeSegments();
+
+	/**
+	 * @param maxResults
+	 *            Number of results the caller reads at most, {@code null} if it
+	 *            reads all of them; lets the query stop reading pages once that
+	 *            many items matched
+	 */
+	void setMaxResults(@Nullable Integer maxResults);
+	@Nullable
+	Integer getMaxResults();
+
 }
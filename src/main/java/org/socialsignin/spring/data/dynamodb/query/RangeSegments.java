@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import org.socialsignin.spring.data.dynamodb.marshaller.Instant2IsoDynamoDBMarshaller;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a {@code BETWEEN}, {@code GT} or {@code GE} range key condition into
+ * {@code BETWEEN} conditions on consecutive, non-overlapping sub-ranges of
+ * about the same width. Only range keys of an integral property type are split:
+ * integral numbers, and dates stored as epoch milliseconds or in the ISO format
+ * of {@link Instant2IsoDynamoDBMarshaller} (split by milliseconds).
+ */
+final class RangeSegments {
+
+	// Stateless and thread-safe
+	private static final Instant2IsoDynamoDBMarshaller DATE_MARSHALLER = new Instant2IsoDynamoDBMarshaller();
+
+	private RangeSegments() {
+	}
+
+	/**
+	 * @param condition
+	 *            The range key condition
+	 * @return {@code true} if the condition can be split, provided its values
+	 *         can
+	 */
+	static boolean isSplittable(@Nullable Condition condition) {
+		if (condition == null || condition.getAttributeValueList() == null) {
+			return false;
+		}
+		String operator = condition.getComparisonOperator();
+		return ComparisonOperator.BETWEEN.toString().equals(operator)
+				|| ComparisonOperator.GT.toString().equals(operator)
+				|| ComparisonOperator.GE.toString().equals(operator);
+	}
+
+	/**
+	 * @param propertyType
+	 *            The declared type of the range key property, {@code null} if
+	 *            unknown
+	 * @return {@code true} if no item can have a range key value between two
+	 *         consecutive integral values, so that the sub-ranges cover the whole
+	 *         range
+	 */
+	static boolean isSplittable(@Nullable Class<?> propertyType) {
+		if (propertyType == null) {
+			return false;
+		}
+		Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(propertyType);
+		return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+				|| type == BigInteger.class || Date.class.isAssignableFrom(type) || type == Instant.class;
+	}
+
+	/**
+	 * @param condition
+	 *            A {@link #isSplittable(Condition) splittable} range key condition
+	 * @return {@code true} if the condition has an upper bound, otherwise it has
+	 *         to be passed to {@link #split(Condition, AttributeValue, int)}
+	 */
+	static boolean isBounded(Condition condition) {
+		return ComparisonOperator.BETWEEN.toString().equals(condition.getComparisonOperator());
+	}
+
+	/**
+	 * @param condition
+	 *            A {@link #isSplittable(Condition) splittable} range key condition
+	 * @param upperBound
+	 *            The greatest range key value of the items matching an unbounded
+	 *            condition, ignored for a {@code BETWEEN} condition
+	 * @param segments
+	 *            The maximum number of sub-ranges
+	 * @return The conditions of the sub-ranges in ascending order - empty if no
+	 *         item can match - or {@code null} if the values cannot be split
+	 */
+	@Nullable
+	static List<Condition> split(Condition condition, @Nullable AttributeValue upperBound, int segments) {
+		List<AttributeValue> values = condition.getAttributeValueList();
+		AttributeValue lowerBound = values.get(0);
+		if (isBounded(condition)) {
+			upperBound = values.size() > 1 ? values.get(1) : null;
+		}
+		if (upperBound == null) {
+			return null;
+		}
+
+		boolean dates = lowerBound.getS() != null;
+		BigInteger lower = dates ? toMillis(lowerBound.getS()) : toInteger(lowerBound.getN());
+		BigInteger upper = dates ? toMillis(upperBound.getS()) : toInteger(upperBound.getN());
+		if (lower == null || upper == null) {
+			return null;
+		}
+		if (ComparisonOperator.GT.toString().equals(condition.getComparisonOperator())) {
+			lower = lower.add(BigInteger.ONE);
+		}
+
+		List<Condition> conditions = new ArrayList<>(segments);
+		BigInteger width = upper.subtract(lower).add(BigInteger.ONE);
+		if (width.signum() <= 0) {
+			return isBounded(condition) ? null : conditions;
+		}
+		BigInteger count = width.min(BigInteger.valueOf(segments));
+		BigInteger from = lower;
+		for (BigInteger i = BigInteger.ONE; i.compareTo(count) <= 0; i = i.add(BigInteger.ONE)) {
+			BigInteger next = lower.add(width.multiply(i).divide(count));
+			conditions.add(new Condition().withComparisonOperator(ComparisonOperator.BETWEEN)
+					.withAttributeValueList(toAttributeValue(from, dates),
+							toAttributeValue(next.subtract(BigInteger.ONE), dates)));
+			from = next;
+		}
+		return conditions;
+	}
+
+	/**
+	 * @return A copy of the query expression, e.g. to change the range key
+	 *         conditions of
+	 */
+	static <T> DynamoDBQueryExpression<T> copy(DynamoDBQueryExpression<T> queryExpression) {
+		DynamoDBQueryExpression<T> copy = new DynamoDBQueryExpression<>();
+		copy.setHashKeyValues(queryExpression.getHashKeyValues());
+		copy.setRangeKeyConditions(queryExpression.getRangeKeyConditions());
+		copy.setIndexName(queryExpression.getIndexName());
+		copy.setConsistentRead(queryExpression.isConsistentRead());
+		copy.setScanIndexForward(queryExpression.isScanIndexForward());
+		copy.setLimit(queryExpression.getLimit());
+		copy.setSelect(queryExpression.getSelect());
+		copy.setProjectionExpression(queryExpression.getProjectionExpression());
+		copy.setFilterExpression(queryExpression.getFilterExpression());
+		copy.setKeyConditionExpression(queryExpression.getKeyConditionExpression());
+		copy.setExpressionAttributeNames(queryExpression.getExpressionAttributeNames());
+		copy.setExpressionAttributeValues(queryExpression.getExpressionAttributeValues());
+		copy.setQueryFilter(queryExpression.getQueryFilter());
+		copy.setConditionalOperator(queryExpression.getConditionalOperator());
+		copy.setExclusiveStartKey(queryExpression.getExclusiveStartKey());
+		return copy;
+	}
+
+	/**
+	 * @return The single key condition that {@link #isSplittable(Condition) can
+	 *         be split}, {@code null} if there is none or several
+	 */
+	@Nullable
+	static Map.Entry<String, Condition> findSplittable(@Nullable Map<String, Condition> keyConditions) {
+		if (keyConditions == null) {
+			return null;
+		}
+		Map.Entry<String, Condition> splittable = null;
+		for (Map.Entry<String, Condition> keyCondition : keyConditions.entrySet()) {
+			if (isSplittable(keyCondition.getValue())) {
+				if (splittable != null) {
+					return null;
+				}
+				splittable = keyCondition;
+			}
+		}
+		return splittable;
+	}
+
+	@Nullable
+	private static BigInteger toInteger(@Nullable String number) {
+		if (number == null) {
+			return null;
+		}
+		try {
+			return new BigDecimal(number).toBigIntegerExact();
+		} catch (ArithmeticException | NumberFormatException e) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static BigInteger toMillis(@Nullable String date) {
+		if (date == null) {
+			return null;
+		}
+		try {
+			Instant instant = DATE_MARSHALLER.unconvert(date);
+			// Other formats might not sort like the instants they represent
+			if (instant == null || !date.equals(DATE_MARSHALLER.convert(instant))) {
+				return null;
+			}
+			return BigInteger.valueOf(instant.toEpochMilli());
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private static AttributeValue toAttributeValue(BigInteger value, boolean dates) {
+		return dates
+				? new AttributeValue().withS(DATE_MARSHALLER.convert(Instant.ofEpochMilli(value.longValueExact())))
+				: new AttributeValue().withN(value.toString());
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Loads a single entity by its hash key and - if present - its range key.
+ */
+public class ReactiveLoadQuery<T> extends AbstractReactiveQuery<T> {
+
+	private final Object hashKey;
+	private final Object rangeKey;
+
+	public ReactiveLoadQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations, Class<T> clazz, Object hashKey,
+			@Nullable Object rangeKey) {
+		super(dynamoDBAsyncOperations, clazz);
+		this.hashKey = hashKey;
+		this.rangeKey = rangeKey;
+	}
+
+	@Override
+	public Flux<T> getResults() {
+		return getSingleResult().flux();
+	}
+
+	@Override
+	public Mono<T> getSingleResult() {
+		return Mono.fromFuture(() -> rangeKey == null
+				? dynamoDBAsyncOperations.load(clazz, hashKey)
+				: dynamoDBAsyncOperations.load(clazz, hashKey, rangeKey));
+	}
+
+	@Override
+	public Mono<Long> getCount() {
+		return getSingleResult().map(entity -> 1L).defaultIfEmpty(0L);
+	}
+
+}
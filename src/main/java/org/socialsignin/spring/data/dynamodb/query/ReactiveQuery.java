@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link Query}: nothing is sent to DynamoDB before the
+ * returned publishers are subscribed to.
+ */
+public interface ReactiveQuery<T> {
+
+	/**
+	 * Execute a SELECT query and emit the results page by page as they arrive.
+	 *
+	 * @return the results
+	 */
+	Flux<T> getResults();
+
+	/**
+	 * Execute a SELECT query that returns a single result.
+	 *
+	 * @return the result or an empty {@link Mono}
+	 */
+	Mono<T> getSingleResult();
+
+	/**
+	 * Execute a COUNT query.
+	 *
+	 * @return the number of matching items
+	 */
+	Mono<Long> getCount();
+
+	void setScanEnabled(boolean scanEnabled);
+	void setScanCountEnabled(boolean scanCountEnabled);
+	boolean isScanCountEnabled();
+	boolean isScanEnabled();
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveQueryRequestQuery<T> extends AbstractReactiveQuery<T> {
+
+	private final QueryRequest queryRequest;
+
+	public ReactiveQueryRequestQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations, Class<T> clazz,
+			QueryRequest queryRequest) {
+		super(dynamoDBAsyncOperations, clazz);
+		this.queryRequest = queryRequest;
+	}
+
+	@Override
+	public Flux<T> getResults() {
+		return Flux.defer(() -> dynamoDBAsyncOperations.query(clazz, queryRequest));
+	}
+
+	@Override
+	public Mono<Long> getCount() {
+		return Mono.fromFuture(() -> dynamoDBAsyncOperations.count(clazz, queryRequest.clone()))
+				.map(Integer::longValue);
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveScanExpressionQuery<T> extends AbstractReactiveQuery<T> {
+
+	private final DynamoDBScanExpression scanExpression;
+
+	public ReactiveScanExpressionQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations, Class<T> clazz,
+			DynamoDBScanExpression scanExpression) {
+		super(dynamoDBAsyncOperations, clazz);
+		this.scanExpression = scanExpression;
+	}
+
+	@Override
+	public Flux<T> getResults() {
+		return Flux.defer(() -> {
+			assertScanEnabled(isScanEnabled());
+			return dynamoDBAsyncOperations.scan(clazz, scanExpression);
+		});
+	}
+
+	@Override
+	public Mono<Long> getCount() {
+		return Mono.defer(() -> {
+			assertScanCountEnabled(isScanCountEnabled());
+			return Mono.fromFuture(dynamoDBAsyncOperations.count(clazz, scanExpression));
+		}).map(Integer::longValue);
+	}
+
+}
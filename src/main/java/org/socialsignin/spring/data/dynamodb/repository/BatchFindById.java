@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Collects the {@code findById} and {@code findByIdAsync} calls of the annotated
+ * repository that arrive within a short window and loads them with a single
+ * {@code findAllById} - turning N {@code GetItem} requests into one
+ * {@code BatchGetItem}. Callers of {@code findById} wait for the batch, so
+ * only calls from concurrent threads are batched; a single thread batches its
+ * calls with {@link DynamoDBCrudRepository#findByIdAsync(Object)}.
+ *
+ * Batched loads always use the mapper's read consistency and bypass the
+ * {@link org.socialsignin.spring.data.dynamodb.cache.EntityCache}. Callers
+ * loading the same id within a window receive the same entity instance.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Documented
+public @interface BatchFindById {
+
+	/**
+	 * @return How long the first call of a batch waits for further calls, in
+	 *         milliseconds
+	 */
+	long window() default 2;
+
+	/**
+	 * @return The number of ids that are loaded without waiting for the window
+	 *         to end
+	 */
+	int maxBatchSize() default 100;
+
+}
@@ -15,9 +15,14 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository;
 
+import org.socialsignin.spring.data.dynamodb.core.BatchLoadOptions;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * DynamoDB specific extension of
  * {@link org.springframework.data.repository.Repository}.
@@ -28,4 +33,32 @@ import org.springframework.data.repository.NoRepositoryBean;
 @NoRepositoryBean
 public interface DynamoDBCrudRepository<T, ID> extends CrudRepository<T, ID> {
 
+	/**
+	 * Returns all instances of the type {@code T} with the given IDs, loaded in
+	 * concurrent batches.
+	 *
+	 * @param ids
+	 *            must not be {@literal null} nor contain any {@literal null}
+	 *            values.
+	 * @param options
+	 *            Consistency, projection and ordering of the load
+	 * @return guaranteed to be not {@literal null}. The size can be equal or less
+	 *         than the number of given {@literal ids}.
+	 */
+	List<T> findAllById(Iterable<ID> ids, BatchLoadOptions options);
+
+	/**
+	 * Retrieves an entity by its id without waiting for it. Repositories
+	 * annotated with {@link BatchFindById} load the ids requested within a
+	 * window together, all others complete the future immediately.
+	 *
+	 * @param id
+	 *            must not be {@literal null}.
+	 * @return the entity with the given id or {@literal Optional#empty()} if none
+	 *         found
+	 */
+	default CompletableFuture<Optional<T>> findByIdAsync(ID id) {
+		return CompletableFuture.completedFuture(findById(id));
+	}
+
 }
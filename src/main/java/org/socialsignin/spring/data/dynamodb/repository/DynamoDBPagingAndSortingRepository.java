@@ -15,6 +15,8 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository;
 
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
@@ -28,4 +30,20 @@ import org.springframework.data.repository.PagingAndSortingRepository;
 @NoRepositoryBean
 public interface DynamoDBPagingAndSortingRepository<T, ID> extends PagingAndSortingRepository<T, ID> {
 
+	/**
+	 * Scans a single page of entities, starting after the given position. Unlike
+	 * {@link #findAll(org.springframework.data.domain.Pageable)}, reading a deep
+	 * page costs no more than reading the first one.
+	 *
+	 * @param position
+	 *            The position to continue from, e.g.
+	 *            {@link DynamoDBScrollPosition#initial()} or the
+	 *            {@link DynamoDBWindow#getNextPosition() next position} of the
+	 *            previous window
+	 * @param limit
+	 *            The maximum number of entities to evaluate for the page
+	 * @return The page of entities
+	 */
+	DynamoDBWindow<T> findAll(DynamoDBScrollPosition position, int limit);
+
 }
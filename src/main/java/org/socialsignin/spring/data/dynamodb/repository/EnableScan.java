@@ -30,4 +30,14 @@ import java.lang.annotation.Target;
 @Documented
 public @interface EnableScan {
 
+	/**
+	 * Number of segments an unpaginated scan is split into. With more than one
+	 * segment, the segments are scanned in parallel (see
+	 * {@link com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper#parallelScan(Class, com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression, int)})
+	 * and the results are merged into a single lazily loaded list.
+	 *
+	 * @return The number of segments, {@code 1} for a sequential scan
+	 */
+	int segments() default 1;
+
 }
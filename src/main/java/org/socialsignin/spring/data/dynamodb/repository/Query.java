@@ -21,6 +21,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import org.socialsignin.spring.data.dynamodb.repository.QueryConstants.ConsistentReadMode;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants.CountMode;
+import static org.socialsignin.spring.data.dynamodb.repository.QueryConstants.DEFAULT_MAX_FAN_OUT;
 import static org.socialsignin.spring.data.dynamodb.repository.QueryConstants.QUERY_LIMIT_UNLIMITED;
 
 @Retention(RetentionPolicy.RUNTIME)
@@ -41,7 +43,9 @@ public @interface Query {
 	String fields() default "";
 
 	/**
-	 * An integer to limit the number of elements returned.
+	 * An integer to limit the number of elements returned. The query reads as
+	 * many pages as needed for that many elements to match, sizing the
+	 * {@code Limit} of each request to the elements still missing.
 	 *
 	 * @see <a href=
 	 *      "https://docs.aws.amazon.com/amazondynamodb/latest/developerguide/Expressions.ProjectionExpressions.html">Projection
@@ -61,6 +65,35 @@ public @interface Query {
 	 */
 	ConsistentReadMode consistentReads() default ConsistentReadMode.DEFAULT;
 
+	/**
+	 * How the total of a {@link org.springframework.data.domain.Page} is
+	 * determined
+	 *
+	 * @return CountMode of page queries
+	 */
+	CountMode count() default CountMode.EXACT;
+
+	/**
+	 * Number of consecutive sub-ranges a {@code Between}, {@code GreaterThan} or
+	 * {@code GreaterThanEqual} condition on a numeric or date range key is split
+	 * into. The sub-ranges are queried concurrently and their results
+	 * concatenated in order, to read a large item collection faster.
+	 *
+	 * @return number of sub-ranges, {@code 1} to query the range as a whole
+	 */
+	int rangeSegments() default 1;
+
+	/**
+	 * Maximum number of values of an {@code In} condition on a (global secondary
+	 * index) hash key that are queried concurrently, one query per value. With
+	 * more values the {@code In} condition filters a scan instead. Values of a
+	 * hash key without further conditions are read by a single batch load
+	 * regardless of this limit.
+	 *
+	 * @return maximum number of concurrent queries per call
+	 */
+	int maxFanOut() default DEFAULT_MAX_FAN_OUT;
+
 	/**
 	 * Set filter expressions for a query
 	 *
@@ -22,6 +22,8 @@ public class QueryConstants {
 
 	public static final int QUERY_LIMIT_UNLIMITED = Integer.MIN_VALUE;
 
+	public static final int DEFAULT_MAX_FAN_OUT = 25;
+
 	public enum ConsistentReadMode {
 		/**
 		 * Use the default configured in the DynamoDBMapper
@@ -48,4 +50,23 @@ public class QueryConstants {
 		EVENTUAL
 	}
 
+	public enum CountMode {
+		/**
+		 * Count all matching items - concurrently to reading the content of the
+		 * page
+		 */
+		EXACT,
+		/**
+		 * Don't count but derive the total from the items read: it is exact on
+		 * the last page and otherwise exceeds the page by one, so that
+		 * {@link org.springframework.data.domain.Page#hasNext()} holds. Determining
+		 * whether more items follow might read the next page of the query.
+		 */
+		ESTIMATE,
+		/**
+		 * Don't count - the total only covers the items up to the end of the page
+		 */
+		NONE
+	}
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.socialsignin.spring.data.dynamodb.repository.support.ReactiveDynamoDBRepositoryFactoryBean;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+
+/**
+ * Annotation to enable reactive DynamoDB repositories. Will scan the package of
+ * the annotated configuration class for Spring Data reactive repositories by
+ * default.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@Import(ReactiveDynamoDBRepositoriesRegistrar.class)
+public @interface EnableReactiveDynamoDBRepositories {
+
+	/**
+	 * Alias for the {@link #basePackages()} attribute.
+	 * 
+	 * @return The package name for scanning
+	 */
+	String[] value() default {};
+
+	/**
+	 * Base packages to scan for annotated components. {@link #value()} is an alias
+	 * for (and mutually exclusive with) this attribute.
+	 * 
+	 * @return The package name for scanning
+	 */
+	String[] basePackages() default {};
+
+	/**
+	 * Type-safe alternative to {@link #basePackages()}.
+	 * 
+	 * @return The class to figure out the base package for scanning
+	 */
+	Class<?>[] basePackageClasses() default {};
+
+	/**
+	 * @return All the include filters
+	 */
+	Filter[] includeFilters() default {};
+
+	/**
+	 * @return All the exclude filters
+	 */
+	Filter[] excludeFilters() default {};
+
+	/**
+	 * @return The implementation postfix that's used
+	 */
+	String repositoryImplementationPostfix() default "Impl";
+
+	/**
+	 * @return The location of the named queries
+	 */
+	String namedQueriesLocation() default "";
+
+	/**
+	 * Returns the key of the
+	 * {@link org.springframework.data.repository.query.QueryLookupStrategy} to be
+	 * used for lookup queries for query methods. Defaults to
+	 * {@link Key#CREATE_IF_NOT_FOUND}.
+	 *
+	 * @return The lookup strategy
+	 */
+	Key queryLookupStrategy() default Key.CREATE_IF_NOT_FOUND;
+
+	/**
+	 * Returns the {@link org.springframework.beans.factory.FactoryBean} class to be
+	 * used for each repository instance. Defaults to
+	 * {@link ReactiveDynamoDBRepositoryFactoryBean}.
+	 *
+	 * @return The repository factory bean class
+	 */
+	Class<?> repositoryFactoryBeanClass() default ReactiveDynamoDBRepositoryFactoryBean.class;
+
+	// DynamoDB specific configuration
+
+	/**
+	 * Returns the
+	 * {@link org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations}
+	 * reference to be used for each repository instance
+	 *
+	 * @return The
+	 *         {@link org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations}
+	 *         bean name
+	 */
+	String dynamoDBAsyncOperationsRef() default "dynamoDBAsyncOperations";
+
+	/**
+	 * Returns the
+	 * {@link org.socialsignin.spring.data.dynamodb.mapping.DynamoDBMappingContext}
+	 * reference for the
+	 * {@link org.springframework.data.mapping.context.MappingContext}.
+	 *
+	 * @return The
+	 *         {@link org.socialsignin.spring.data.dynamodb.mapping.DynamoDBMappingContext}
+	 *         bean name
+	 */
+	String mappingContextRef() default "";
+
+	/**
+	 * Configures whether nested repository-interfaces (e.g. defined as inner classes) should be discovered by the
+	 * repositories infrastructure.
+	 */
+	boolean considerNestedRepositories() default false;
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.config;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Collections;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import org.socialsignin.spring.data.dynamodb.mapping.DynamoDBMappingContext;
+import org.socialsignin.spring.data.dynamodb.repository.ReactiveDynamoDBRepository;
+import org.socialsignin.spring.data.dynamodb.repository.support.ReactiveDynamoDBRepositoryFactoryBean;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
+import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
+import org.springframework.data.repository.config.RepositoryConfigurationSource;
+import org.springframework.data.repository.config.XmlRepositoryConfigurationSource;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration extension for {@link EnableReactiveDynamoDBRepositories}.
+ * Only annotation based configuration is supported.
+ */
+public class ReactiveDynamoDBRepositoryConfigExtension extends RepositoryConfigurationExtensionSupport {
+
+	private BeanDefinitionRegistry registry;
+	private String defaultDynamoDBMappingContext;
+
+	@Override
+	public String getRepositoryFactoryBeanClassName() {
+		return ReactiveDynamoDBRepositoryFactoryBean.class.getName();
+	}
+
+	@Override
+	protected Collection<Class<?>> getIdentifyingTypes() {
+		return Collections.singleton(ReactiveDynamoDBRepository.class);
+	}
+
+	@Override
+	protected Collection<Class<? extends Annotation>> getIdentifyingAnnotations() {
+		return Collections.singleton(DynamoDBTable.class);
+	}
+
+	@Override
+	protected boolean useRepositoryConfiguration(RepositoryMetadata metadata) {
+		return metadata.isReactiveRepository();
+	}
+
+	@Override
+	public void postProcess(BeanDefinitionBuilder builder, AnnotationRepositoryConfigurationSource config) {
+		AnnotationAttributes attributes = config.getAttributes();
+
+		builder.addPropertyReference("dynamoDBAsyncOperations", attributes.getString("dynamoDBAsyncOperationsRef"));
+
+		String dynamoDBMappingContextRef = attributes.getString("mappingContextRef");
+		if (!StringUtils.hasText(dynamoDBMappingContextRef)) {
+			// Register DynamoDBMappingContext only once if necessary
+			if (defaultDynamoDBMappingContext == null) {
+				defaultDynamoDBMappingContext = registerDynamoDBMappingContext(registry);
+			}
+			dynamoDBMappingContextRef = defaultDynamoDBMappingContext;
+		}
+		builder.addPropertyReference("dynamoDBMappingContext", dynamoDBMappingContextRef);
+	}
+
+	@Override
+	public void postProcess(BeanDefinitionBuilder builder, XmlRepositoryConfigurationSource config) {
+		throw new UnsupportedOperationException("XML configuration is not supported for reactive repositories");
+	}
+
+	private String registerDynamoDBMappingContext(BeanDefinitionRegistry registry) {
+		assert registry != null;
+
+		BeanDefinitionBuilder dynamoDBMappingContextBuilder = BeanDefinitionBuilder
+				.genericBeanDefinition(DynamoDBMappingContext.class);
+		String dynamoDBMappingContextRef = String.format("%s-%s", getModulePrefix(), "DynamoDBMappingContext");
+		registry.registerBeanDefinition(dynamoDBMappingContextRef, dynamoDBMappingContextBuilder.getBeanDefinition());
+
+		return dynamoDBMappingContextRef;
+	}
+
+	@Override
+	public void registerBeansForRoot(BeanDefinitionRegistry registry,
+			RepositoryConfigurationSource configurationSource) {
+		super.registerBeansForRoot(registry, configurationSource);
+
+		// Store for later to be used by #postProcess, too
+		this.registry = registry;
+	}
+
+	@Override
+	protected String getModulePrefix() {
+		return "reactiveDynamoDB";
+	}
+
+}
@@ -16,25 +16,34 @@
 package org.socialsignin.spring.data.dynamodb.repository.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import org.socialsignin.spring.data.dynamodb.core.ConcurrentCount;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
 import org.socialsignin.spring.data.dynamodb.domain.UnpagedPageImpl;
 import org.socialsignin.spring.data.dynamodb.exception.BatchDeleteException;
 import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants.CountMode;
 import org.socialsignin.spring.data.dynamodb.utils.ExceptionHandler;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.util.Streamable;
+import org.springframework.lang.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Michael Lavelle
@@ -51,7 +60,13 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 	}
 
 	protected QueryExecution<T, ID> getExecution() {
-		if (method.isCollectionQuery() && !isSingleEntityResultsRestriction()) {
+		if (method.isScrollQuery()) {
+			return new ScrollExecution(method.getParameters());
+		} else if (method.isStreamQuery()) {
+			return new StreamExecution();
+		} else if (method.isStreamableQuery()) {
+			return new StreamableExecution();
+		} else if (method.isCollectionQuery() && !isSingleEntityResultsRestriction()) {
 			return new CollectionExecution();
 		} else if (method.isSliceQuery() && !isSingleEntityResultsRestriction()) {
 			return new SlicedExecution(method.getParameters());
@@ -80,9 +95,46 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 	protected Query<T> doCreateQueryWithPermissions(Object[] values) {
 		Query<T> query = doCreateQuery(values);
 		query.setScanEnabled(method.isScanEnabled());
+		query.setScanSegments(method.getScanSegments());
+		query.setRangeSegments(method.getRangeSegments());
 		return query;
 	}
 
+	/**
+	 * Like {@link #doCreateQueryWithPermissions(Object[])}, but the query reads
+	 * no more pages than needed for the results the execution reads.
+	 *
+	 * @param resultsToRead
+	 *            The number of results the execution reads at most, {@code null}
+	 *            if it reads all of them; {@link DynamoDBQueryMethod#getLimitResults()}
+	 *            caps it
+	 */
+	protected Query<T> doCreateQueryWithPermissions(Object[] values, @Nullable Long resultsToRead) {
+		Query<T> query = doCreateQueryWithPermissions(values);
+		Optional<Integer> limitResults = method.getLimitResults();
+		if (limitResults != null && limitResults.isPresent()
+				&& (resultsToRead == null || limitResults.get() < resultsToRead)) {
+			resultsToRead = limitResults.get().longValue();
+		}
+		if (resultsToRead != null) {
+			query.setMaxResults((int) Math.min(resultsToRead, Integer.MAX_VALUE));
+		}
+		return query;
+	}
+
+	@Nullable
+	private Long getResultsToRead(Pageable pageable) {
+		Integer resultsRestriction = getResultsRestrictionIfApplicable();
+		if (pageable.isUnpaged()) {
+			return resultsRestriction == null ? null : resultsRestriction.longValue();
+		}
+		int pageSize = resultsRestriction == null
+				? pageable.getPageSize()
+				: Math.min(pageable.getPageSize(), resultsRestriction);
+		// One more to tell whether further results follow
+		return pageable.getOffset() + pageSize + 1;
+	}
+
 	protected Query<Long> doCreateCountQueryWithPermissions(Object[] values, boolean pageQuery) {
 		Query<Long> query = doCreateCountQuery(values, pageQuery);
 		query.setScanCountEnabled(method.isScanCountEnabled());
@@ -97,8 +149,10 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 
 		@Override
 		public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
-			Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
-			if (getResultsRestrictionIfApplicable() != null) {
+			Integer resultsRestriction = getResultsRestrictionIfApplicable();
+			Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values,
+					resultsRestriction == null ? null : resultsRestriction.longValue());
+			if (resultsRestriction != null) {
 				return restrictMaxResultsIfNecessary(query.getResultList().iterator());
 			} else
 				return query.getResultList();
@@ -116,6 +170,72 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 
 	}
 
+	/**
+	 * Executes the {@link AbstractDynamoDBQuery} to return a {@link DynamoDBWindow}
+	 * holding a single page of results, read from the
+	 * {@link DynamoDBScrollPosition} parameter on. Unlike {@link PagedExecution}
+	 * and {@link SlicedExecution}, deep pages cost no more than the first one.
+	 */
+	class ScrollExecution implements QueryExecution<T, ID> {
+
+		private final int positionIndex;
+
+		public ScrollExecution(Parameters<?, ?> parameters) {
+			int index = -1;
+			for (Parameter parameter : parameters) {
+				if (DynamoDBScrollPosition.class.equals(parameter.getType())) {
+					index = parameter.getIndex();
+				}
+			}
+			this.positionIndex = index;
+		}
+
+		@Override
+		public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+			DynamoDBScrollPosition position = positionIndex < 0 ? null : (DynamoDBScrollPosition) values[positionIndex];
+			if (position == null) {
+				position = DynamoDBScrollPosition.initial();
+			}
+			Integer limit = getResultsRestrictionIfApplicable();
+			if (limit == null) {
+				limit = method.getLimitResults().orElse(null);
+			}
+			return dynamoDBQuery.doCreateQueryWithPermissions(values).getResultWindow(position, limit);
+		}
+	}
+
+	/**
+	 * Executes the {@link AbstractDynamoDBQuery} to return a {@link Stream} that
+	 * loads the pages of the query lazily and doesn't keep the pages already
+	 * consumed.
+	 */
+	class StreamExecution implements QueryExecution<T, ID> {
+
+		@Override
+		public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+			Integer resultsRestriction = getResultsRestrictionIfApplicable();
+			Stream<T> stream = dynamoDBQuery.doCreateQueryWithPermissions(values,
+					resultsRestriction == null ? null : resultsRestriction.longValue()).getResultStream();
+			return resultsRestriction != null ? stream.limit(resultsRestriction) : stream;
+		}
+	}
+
+	/**
+	 * Executes the {@link AbstractDynamoDBQuery} to return a {@link Streamable}
+	 * that runs the query again for every iteration - like {@link StreamExecution}
+	 * without keeping the pages already consumed.
+	 */
+	class StreamableExecution implements QueryExecution<T, ID> {
+
+		private final StreamExecution streamExecution = new StreamExecution();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+			return Streamable.of(() -> (Stream<T>) streamExecution.execute(dynamoDBQuery, values));
+		}
+	}
+
 	/**
 	 * Executes the {@link AbstractDynamoDBQuery} to return a
 	 * {@link org.springframework.data.domain.Page} of entities.
@@ -156,14 +276,22 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 
 			ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
 			Pageable pageable = accessor.getPageable();
-			Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
+			Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values, getResultsToRead(pageable));
+
+			// Count the result set size while the content is read
+			CountMode countMode = method.getCountMode();
+			ConcurrentCount count = null;
+			if (countMode == null || countMode == CountMode.EXACT) {
+				Query<Long> countQuery = dynamoDBQuery.doCreateCountQueryWithPermissions(values, true);
+				count = ConcurrentCount.start(dynamoDBOperations, countQuery::getSingleResult);
+			}
 
 			List<T> results = query.getResultList();
-			return createPage(results, pageable, dynamoDBQuery, values);
+			return createPage(results, pageable, countMode, count);
 		}
 
-		private Page<T> createPage(List<T> allResults, Pageable pageable, AbstractDynamoDBQuery<T, ID> dynamoDBQuery,
-				Object[] values) {
+		private Page<T> createPage(List<T> allResults, Pageable pageable, @Nullable CountMode countMode,
+				@Nullable ConcurrentCount count) {
 
 			// Get the result = this list might be a lazy list
 			Iterator<T> iterator = allResults.iterator();
@@ -176,23 +304,30 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 				}
 			}
 
-			// Then Count the result set size
-			Query<Long> countQuery = dynamoDBQuery.doCreateCountQueryWithPermissions(values, true);
-			long count = countQuery.getSingleResult();
-
 			// Finally wrap the result in a page -
 			if (!pageable.isUnpaged()) {
 				// either seek to the proper part of the result set
+				List<T> results = readPageOfResultsRestrictMaxResultsIfNecessary(iterator, pageable.getPageSize());
+				long total = count != null
+						? count.get()
+						: estimateTotal(countMode, pageable, results, iterator);
 				if (getResultsRestrictionIfApplicable() != null) {
-					count = Math.min(count, getResultsRestrictionIfApplicable());
+					total = Math.min(total, getResultsRestrictionIfApplicable());
 				}
-
-				List<T> results = readPageOfResultsRestrictMaxResultsIfNecessary(iterator, pageable.getPageSize());
-				return new PageImpl<>(results, pageable, count);
+				return new PageImpl<>(results, pageable, total);
 			} else {
 				// or treat the whole (lazy) list as the result page if it's unpaged
-				return new UnpagedPageImpl<>(allResults, count);
+				return new UnpagedPageImpl<>(allResults, count != null ? count.get() : allResults.size());
+			}
+		}
+
+		private long estimateTotal(CountMode countMode, Pageable pageable, List<T> results, Iterator<T> iterator) {
+			long total = pageable.getOffset() + results.size();
+			if (countMode == CountMode.ESTIMATE && results.size() == pageable.getPageSize() && iterator.hasNext()) {
+				// At least one more item follows
+				total++;
 			}
+			return total;
 		}
 	}
 
@@ -233,7 +368,7 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 
 			ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
 			Pageable pageable = accessor.getPageable();
-			Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
+			Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values, getResultsToRead(pageable));
 			List<T> results = query.getResultList();
 			return createSlice(results, pageable);
 		}
@@ -277,7 +412,7 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 			if (isCountQuery()) {
 				return dynamoDBQuery.doCreateCountQueryWithPermissions(values, false).getSingleResult();
 			} else if (isExistsQuery()) {
-				return !dynamoDBQuery.doCreateQueryWithPermissions(values).getResultList().isEmpty();
+				return dynamoDBQuery.doCreateQueryWithPermissions(values).exists();
 			} else {
 				return dynamoDBQuery.doCreateQueryWithPermissions(values).getSingleResult();
 			}
@@ -292,7 +427,7 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 			if (isCountQuery()) {
 				return dynamoDBQuery.doCreateCountQueryWithPermissions(values, false).getSingleResult();
 			} else {
-				List<T> resultList = dynamoDBQuery.doCreateQueryWithPermissions(values).getResultList();
+				List<T> resultList = dynamoDBQuery.doCreateQueryWithPermissions(values, 1L).getResultList();
 				return resultList.size() == 0 ? null : resultList.get(0);
 
 			}
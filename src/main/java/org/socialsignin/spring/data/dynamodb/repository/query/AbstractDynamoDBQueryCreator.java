@@ -23,8 +23,6 @@ import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
 import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBIdIsHashAndRangeKeyEntityInformation;
-import org.springframework.data.mapping.PropertyPath;
-import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
@@ -60,12 +58,14 @@ public abstract class AbstractDynamoDBQueryCreator<T, ID, R>
 	protected final ExpressionAttribute[] expressionAttributeValues;
 	protected final Map<String, String> mappedExpressionValues = new HashMap<>();
 	protected final QueryConstants.ConsistentReadMode consistentReads;
+	protected final DynamoDBQueryPlan<T, ID> queryPlan;
 
 	public AbstractDynamoDBQueryCreator(PartTree tree, DynamoDBEntityInformation<T, ID> entityMetadata,
 										Optional<String> projection, Optional<Integer> limitResults, QueryConstants.ConsistentReadMode consistentReads,
 										Optional<String> filterExpression, ExpressionAttribute[] names, ExpressionAttribute[] values, DynamoDBOperations dynamoDBOperations) {
 		super(tree);
 		this.entityMetadata = entityMetadata;
+		this.queryPlan = new DynamoDBQueryPlan<>(entityMetadata);
 		this.projection = projection;
 		this.limit = limitResults;
 		this.consistentReads = consistentReads;
@@ -86,8 +86,17 @@ public abstract class AbstractDynamoDBQueryCreator<T, ID, R>
 	public AbstractDynamoDBQueryCreator(PartTree tree, ParameterAccessor parameterAccessor,
 										DynamoDBEntityInformation<T, ID> entityMetadata, Optional<String> projection,
 										Optional<Integer> limitResults, QueryConstants.ConsistentReadMode consistentReads, Optional<String> filterExpression, ExpressionAttribute[] names, ExpressionAttribute[] values, DynamoDBOperations dynamoDBOperations) {
+		this(tree, parameterAccessor, entityMetadata, projection, limitResults, consistentReads, filterExpression, names,
+				values, dynamoDBOperations, new DynamoDBQueryPlan<>(entityMetadata));
+	}
+
+	public AbstractDynamoDBQueryCreator(PartTree tree, ParameterAccessor parameterAccessor,
+										DynamoDBEntityInformation<T, ID> entityMetadata, Optional<String> projection,
+										Optional<Integer> limitResults, QueryConstants.ConsistentReadMode consistentReads, Optional<String> filterExpression, ExpressionAttribute[] names, ExpressionAttribute[] values, DynamoDBOperations dynamoDBOperations,
+										DynamoDBQueryPlan<T, ID> queryPlan) {
 		super(tree, parameterAccessor);
 		this.entityMetadata = entityMetadata;
+		this.queryPlan = queryPlan;
 		this.projection = projection;
 		this.limit = limitResults;
 		this.filterExpression = filterExpression;
@@ -99,12 +108,15 @@ public abstract class AbstractDynamoDBQueryCreator<T, ID, R>
 		}
 		if(values != null) {
 			this.expressionAttributeValues = values.clone();
+			Map<String, Integer> parameterIndexes = null;
 			for(ExpressionAttribute value: expressionAttributeValues) {
 				if(!StringUtils.isEmpty(value.parameterName())) {
-					for(Parameter p : ((ParametersParameterAccessor)parameterAccessor).getParameters()) {
-						if(p.getName().isPresent() && p.getName().get().equals(value.parameterName())) {
-							mappedExpressionValues.put(value.parameterName(), (String) parameterAccessor.getBindableValue(p.getIndex()));
-						}
+					if (parameterIndexes == null) {
+						parameterIndexes = queryPlan.getParameterIndexes(((ParametersParameterAccessor)parameterAccessor).getParameters());
+					}
+					Integer index = parameterIndexes.get(value.parameterName());
+					if(index != null) {
+						mappedExpressionValues.put(value.parameterName(), (String) parameterAccessor.getBindableValue(index));
 					}
 				}
 			}
@@ -116,27 +128,26 @@ public abstract class AbstractDynamoDBQueryCreator<T, ID, R>
 
 	@Override
 	protected DynamoDBQueryCriteria<T, ID> create(Part part, Iterator<Object> iterator) {
-		final DynamoDBMapperTableModel<T> tableModel = dynamoDBOperations.getTableModel(entityMetadata.getJavaType());
+		final DynamoDBMapperTableModel<T> tableModel = getTableModel();
 		DynamoDBQueryCriteria<T, ID> criteria = entityMetadata.isRangeKeyAware()
 				? new DynamoDBEntityWithHashAndRangeKeyCriteria<>(
-				(DynamoDBIdIsHashAndRangeKeyEntityInformation<T, ID>) entityMetadata, tableModel)
-				: new DynamoDBEntityWithHashKeyOnlyCriteria<>(entityMetadata, tableModel);
+				(DynamoDBIdIsHashAndRangeKeyEntityInformation<T, ID>) entityMetadata, tableModel, queryPlan)
+				: new DynamoDBEntityWithHashKeyOnlyCriteria<>(entityMetadata, tableModel, queryPlan);
 		return addCriteria(criteria, part, iterator);
 	}
 
+	protected DynamoDBMapperTableModel<T> getTableModel() {
+		return dynamoDBOperations.getTableModel(entityMetadata.getJavaType());
+	}
+
 	protected DynamoDBQueryCriteria<T, ID> addCriteria(DynamoDBQueryCriteria<T, ID> criteria, Part part,
 			Iterator<Object> iterator) {
 		if (part.shouldIgnoreCase().equals(IgnoreCaseType.ALWAYS))
 			throw new UnsupportedOperationException("Case insensitivity not supported");
 
-		Class<?> leafNodePropertyType = part.getProperty().getLeafProperty().getType();
-
-		PropertyPath leafNodePropertyPath = part.getProperty().getLeafProperty();
-		String leafNodePropertyName = leafNodePropertyPath.toDotPath();
-		if (leafNodePropertyName.contains(".")) {
-			int index = leafNodePropertyName.lastIndexOf(".");
-			leafNodePropertyName = leafNodePropertyName.substring(index);
-		}
+		DynamoDBQueryPlan.LeafProperty leafProperty = queryPlan.getLeafProperty(part);
+		Class<?> leafNodePropertyType = leafProperty.getType();
+		String leafNodePropertyName = leafProperty.getName();
 
 		switch (part.getType()) {
 			case IN :
@@ -226,9 +237,14 @@ public abstract class AbstractDynamoDBQueryCreator<T, ID, R>
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	protected DynamoDBQueryCriteria<T, ID> or(DynamoDBQueryCriteria<T, ID> base,
 			DynamoDBQueryCriteria<T, ID> criteria) {
-		throw new UnsupportedOperationException("Or queries not supported");
+		// Each alternative is queried on its own, see DynamoDBDisjunctionCriteria
+		if (base instanceof DynamoDBDisjunctionCriteria) {
+			return ((DynamoDBDisjunctionCriteria<T, ID>) base).or(criteria);
+		}
+		return new DynamoDBDisjunctionCriteria<>(base, criteria);
 	}
 
 }
@@ -19,16 +19,23 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMarshaller;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.Select;
+import org.socialsignin.spring.data.dynamodb.core.BatchLoadOptions;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.marshaller.Date2IsoDynamoDBMarshaller;
 import org.socialsignin.spring.data.dynamodb.marshaller.Instant2IsoDynamoDBMarshaller;
+import org.socialsignin.spring.data.dynamodb.query.FanOutCountQuery;
+import org.socialsignin.spring.data.dynamodb.query.MultipleEntityBatchLoadQuery;
+import org.socialsignin.spring.data.dynamodb.query.MultipleEntityFanOutQuery;
 import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
 import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
 import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
@@ -43,18 +50,24 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author Michael Lavelle
@@ -62,14 +75,21 @@ import java.util.Optional;
  */
 public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQueryCriteria<T, ID>, SortHandler {
 
+	// Both are stateless and thread-safe
+	private static final Date2IsoDynamoDBMarshaller DATE_MARSHALLER = new Date2IsoDynamoDBMarshaller();
+	private static final Instant2IsoDynamoDBMarshaller INSTANT_MARSHALLER = new Instant2IsoDynamoDBMarshaller();
+
 	protected Class<T> clazz;
 	private final DynamoDBEntityInformation<T, ID> entityInformation;
-	private final Map<String, String> attributeNamesByPropertyName;
+	private final DynamoDBQueryPlan<T, ID> queryPlan;
 	private final DynamoDBMapperTableModel<T> tableModel;
 	private final String hashKeyPropertyName;
 
 	protected MultiValueMap<String, Condition> attributeConditions;
 	protected MultiValueMap<String, Condition> propertyConditions;
+	// The declared types of the properties with range conditions, by attribute
+	// name
+	private final Map<String, Class<?>> rangePropertyTypes = new HashMap<>();
 
 	protected Object hashKeyAttributeValue;
 	protected Object hashKeyPropertyValue;
@@ -83,8 +103,49 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 	protected Map<String, String> mappedExpressionValues;
 	protected QueryConstants.ConsistentReadMode consistentReads = QueryConstants.ConsistentReadMode.DEFAULT;
 
+	// An IN condition on a (global secondary index) hash key, resolved into one
+	// query per value once all conditions are known
+	private String fanOutPropertyName;
+	private Class<?> fanOutPropertyType;
+	private List<Object> fanOutValues;
+
 	public abstract boolean isApplicableForLoad();
 
+	/**
+	 * @return {@code true} if the items can be loaded or queried by their
+	 *         (global secondary index) keys instead of scanning the table
+	 */
+	protected abstract boolean isApplicableWithoutScan();
+
+	/**
+	 * @return A new criteria of the same type for the same entity, without any
+	 *         conditions
+	 */
+	protected abstract AbstractDynamoDBQueryCriteria<T, ID> newCriteria();
+
+	/**
+	 * Copies the conditions and query settings of this criteria to the given,
+	 * {@link #newCriteria() new} one.
+	 *
+	 * @param criteria
+	 *            The criteria to copy to
+	 */
+	protected void copyTo(AbstractDynamoDBQueryCriteria<T, ID> criteria) {
+		criteria.attributeConditions.addAll(attributeConditions);
+		criteria.propertyConditions.addAll(propertyConditions);
+		criteria.rangePropertyTypes.putAll(rangePropertyTypes);
+		criteria.hashKeyAttributeValue = hashKeyAttributeValue;
+		criteria.hashKeyPropertyValue = hashKeyPropertyValue;
+		criteria.sort = sort;
+		criteria.projection = projection;
+		criteria.limit = limit;
+		criteria.filterExpression = filterExpression;
+		criteria.expressionAttributeNames = expressionAttributeNames;
+		criteria.expressionAttributeValues = expressionAttributeValues;
+		criteria.mappedExpressionValues = mappedExpressionValues;
+		criteria.consistentReads = consistentReads;
+	}
+
 	protected QueryRequest buildQueryRequest(String tableName, String theIndexName, String hashKeyAttributeName,
 			String rangeKeyAttributeName, String rangeKeyPropertyName, List<Condition> hashKeyConditions,
 			List<Condition> rangeKeyConditions) {
@@ -149,30 +210,91 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 
 		limit.ifPresent(queryRequest::setLimit);
 
-		if(filterExpression.isPresent()) {
-			String filter = filterExpression.get();
-			if(!StringUtils.isEmpty(filter)) {
-				queryRequest.setFilterExpression(filter);
-				if (expressionAttributeNames != null && expressionAttributeNames.length > 0) {
-					for (ExpressionAttribute attribute : expressionAttributeNames) {
-						if(!StringUtils.isEmpty(attribute.key()))
-							queryRequest.addExpressionAttributeNamesEntry(attribute.key(), attribute.value());
-					}
+		return queryRequest;
+	}
+
+	/**
+	 * Replaces the key conditions of the query by a key condition expression and
+	 * sets the filter expression of the query method. The derived conditions are
+	 * always sent as expressions, as DynamoDB rejects requests mixing them with
+	 * condition maps.
+	 *
+	 * @param queryRequest
+	 *            The query built by
+	 *            {@link #buildQueryRequest(String, String, String, String, String, List, List)}
+	 * @return The given query
+	 */
+	protected QueryRequest compileConditionExpressions(QueryRequest queryRequest) {
+		Map<String, Condition> keyConditions = queryRequest.getKeyConditions();
+		ConditionExpressionTemplate.BoundExpressions expressions = getConditionExpressions(keyConditions, null)
+				.bind(keyConditions, null, getNativeExpressionAttributeValues());
+		queryRequest.setKeyConditions(null);
+		queryRequest.setKeyConditionExpression(expressions.getKeyConditionExpression());
+		queryRequest.setFilterExpression(expressions.getFilterExpression());
+		queryRequest.setExpressionAttributeNames(expressions.getExpressionAttributeNames());
+		queryRequest.setExpressionAttributeValues(expressions.getExpressionAttributeValues());
+		return queryRequest;
+	}
+
+	/**
+	 * @param keyConditions
+	 *            The conditions on key attributes
+	 * @param filterConditions
+	 *            The conditions on other attributes
+	 * @return The expressions the conditions compile to, combined with the filter
+	 *         expression of the query method
+	 */
+	ConditionExpressionTemplate getConditionExpressions(@Nullable Map<String, Condition> keyConditions,
+			@Nullable Map<String, Condition> filterConditions) {
+		return queryPlan.getConditionExpressionTemplate(keyConditions, filterConditions, getNativeFilterExpression(),
+				this::getNativeExpressionAttributeNames);
+	}
+
+	/**
+	 * Replaces the filter conditions of the scan by a filter expression, combined
+	 * with the filter expression of the query method.
+	 */
+	protected void applyConditionExpressions(DynamoDBScanExpression scanExpression) {
+		Map<String, Condition> filterConditions = scanExpression.getScanFilter();
+		ConditionExpressionTemplate.BoundExpressions expressions = getConditionExpressions(null, filterConditions)
+				.bind(null, filterConditions, getNativeExpressionAttributeValues());
+		scanExpression.setScanFilter(null);
+		scanExpression.setFilterExpression(expressions.getFilterExpression());
+		scanExpression.setExpressionAttributeNames(expressions.getExpressionAttributeNames());
+		scanExpression.setExpressionAttributeValues(expressions.getExpressionAttributeValues());
+	}
+
+	@Nullable
+	private String getNativeFilterExpression() {
+		return filterExpression.filter(StringUtils::hasText).orElse(null);
+	}
+
+	private Map<String, String> getNativeExpressionAttributeNames() {
+		Map<String, String> names = new HashMap<>();
+		if (getNativeFilterExpression() != null && expressionAttributeNames != null) {
+			for (ExpressionAttribute attribute : expressionAttributeNames) {
+				if (StringUtils.hasText(attribute.key())) {
+					names.put(attribute.key(), attribute.value());
 				}
-				if (expressionAttributeValues != null && expressionAttributeValues.length > 0) {
-					for (ExpressionAttribute value : expressionAttributeValues) {
-						if (!StringUtils.isEmpty(value.key())) {
-							if (mappedExpressionValues.containsKey(value.parameterName())) {
-								queryRequest.addExpressionAttributeValuesEntry(value.key(), new AttributeValue(mappedExpressionValues.get(value.parameterName())));
-							} else {
-								queryRequest.addExpressionAttributeValuesEntry(value.key(), new AttributeValue(value.value()));
-							}
-						}
+			}
+		}
+		return names;
+	}
+
+	protected Map<String, AttributeValue> getNativeExpressionAttributeValues() {
+		Map<String, AttributeValue> values = new HashMap<>();
+		if (getNativeFilterExpression() != null && expressionAttributeValues != null) {
+			for (ExpressionAttribute value : expressionAttributeValues) {
+				if (StringUtils.hasText(value.key())) {
+					if (mappedExpressionValues != null && mappedExpressionValues.containsKey(value.parameterName())) {
+						values.put(value.key(), new AttributeValue(mappedExpressionValues.get(value.parameterName())));
+					} else {
+						values.put(value.key(), new AttributeValue(value.value()));
 					}
 				}
 			}
 		}
-		return queryRequest;
+		return values;
 	}
 
 	protected void applyConsistentReads(QueryRequest queryRequest) {
@@ -282,98 +404,43 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 
 	public AbstractDynamoDBQueryCriteria(DynamoDBEntityInformation<T, ID> dynamoDBEntityInformation,
 			final DynamoDBMapperTableModel<T> tableModel) {
+		this(dynamoDBEntityInformation, tableModel, new DynamoDBQueryPlan<>(dynamoDBEntityInformation));
+	}
+
+	public AbstractDynamoDBQueryCriteria(DynamoDBEntityInformation<T, ID> dynamoDBEntityInformation,
+			final DynamoDBMapperTableModel<T> tableModel, DynamoDBQueryPlan<T, ID> queryPlan) {
 		this.clazz = dynamoDBEntityInformation.getJavaType();
 		this.attributeConditions = new LinkedMultiValueMap<>();
 		this.propertyConditions = new LinkedMultiValueMap<>();
 		this.hashKeyPropertyName = dynamoDBEntityInformation.getHashKeyPropertyName();
 		this.entityInformation = dynamoDBEntityInformation;
-		this.attributeNamesByPropertyName = new HashMap<>();
+		this.queryPlan = queryPlan;
 		// TODO consider adding the DynamoDBMapper table model to
 		// DynamoDBEntityInformation instead
 		this.tableModel = tableModel;
 	}
 
-	private String getFirstDeclaredIndexNameForAttribute(Map<String, String[]> indexNamesByAttributeName,
-			List<String> indexNamesToCheck, String attributeName) {
-		String indexName = null;
-		String[] declaredOrderedIndexNamesForAttribute = indexNamesByAttributeName.get(attributeName);
-		for (String declaredOrderedIndexNameForAttribute : declaredOrderedIndexNamesForAttribute) {
-			if (indexName == null && indexNamesToCheck.contains(declaredOrderedIndexNameForAttribute)) {
-				indexName = declaredOrderedIndexNameForAttribute;
-			}
-		}
-
-		return indexName;
-	}
-
 	protected String getGlobalSecondaryIndexName() {
 
 		// Lazy evaluate the globalSecondaryIndexName if not already set
 
 		// We must have attribute conditions specified in order to use a global
-		// secondary index, otherwise return null for index name
-		// Also this method only evaluates the
+		// secondary index, otherwise return null for index name. The index serving a
+		// set of attributes is resolved once per query method.
 		if (globalSecondaryIndexName == null && attributeConditions != null && !attributeConditions.isEmpty()) {
-			// Declare map of index names by attribute name which we will populate below -
-			// this will be used to determine which index to use if multiple indexes are
-			// applicable
-			Map<String, String[]> indexNamesByAttributeName = new HashMap<>();
-
-			// Declare map of attribute lists by index name which we will populate below -
-			// this will be used to determine whether we have an exact match index for
-			// specified attribute conditions
-			MultiValueMap<String, String> attributeListsByIndexName = new LinkedMultiValueMap<>();
-
-			// Populate the above maps
-			for (Entry<String, String[]> indexNamesForPropertyNameEntry : entityInformation
-					.getGlobalSecondaryIndexNamesByPropertyName().entrySet()) {
-				String propertyName = indexNamesForPropertyNameEntry.getKey();
-				String attributeName = getAttributeName(propertyName);
-				indexNamesByAttributeName.put(attributeName, indexNamesForPropertyNameEntry.getValue());
-				for (String indexNameForPropertyName : indexNamesForPropertyNameEntry.getValue()) {
-					attributeListsByIndexName.add(indexNameForPropertyName, attributeName);
-				}
-			}
-
-			// Declare lists to store matching index names
-			List<String> exactMatchIndexNames = new ArrayList<>();
-			List<String> partialMatchIndexNames = new ArrayList<>();
-
-			// Populate matching index name lists - an index is either an exact match ( the
-			// index attributes match all the specified criteria exactly)
-			// or a partial match ( the properties for the specified criteria are contained
-			// within the property set for an index )
-			for (Entry<String, List<String>> attributeListForIndexNameEntry : attributeListsByIndexName.entrySet()) {
-				String indexNameForAttributeList = attributeListForIndexNameEntry.getKey();
-				List<String> attributeList = attributeListForIndexNameEntry.getValue();
-				if (attributeList.containsAll(attributeConditions.keySet())) {
-					if (attributeConditions.keySet().containsAll(attributeList)) {
-						exactMatchIndexNames.add(indexNameForAttributeList);
-					} else {
-						partialMatchIndexNames.add(indexNameForAttributeList);
-					}
-				}
-			}
-
-			if (exactMatchIndexNames.size() > 1) {
-				throw new RuntimeException(
-						"Multiple indexes defined on same attribute set:" + attributeConditions.keySet());
-			} else if (exactMatchIndexNames.size() == 1) {
-				globalSecondaryIndexName = exactMatchIndexNames.get(0);
-			} else if (partialMatchIndexNames.size() > 1) {
-				if (attributeConditions.size() == 1) {
-					globalSecondaryIndexName = getFirstDeclaredIndexNameForAttribute(indexNamesByAttributeName,
-							partialMatchIndexNames, attributeConditions.keySet().iterator().next());
-				}
-				if (globalSecondaryIndexName == null) {
-					globalSecondaryIndexName = partialMatchIndexNames.get(0);
-				}
-			} else if (partialMatchIndexNames.size() == 1) {
-				globalSecondaryIndexName = partialMatchIndexNames.get(0);
-			}
+			globalSecondaryIndexName = queryPlan.getGlobalSecondaryIndexName(attributeConditions.keySet());
 		}
 		return globalSecondaryIndexName;
 	}
+
+	protected DynamoDBMapperTableModel<T> getTableModel() {
+		return tableModel;
+	}
+
+	protected DynamoDBQueryPlan<T, ID> getQueryPlan() {
+		return queryPlan;
+	}
+
 	protected boolean isHashKeyProperty(String propertyName) {
 		return hashKeyPropertyName.equals(propertyName);
 	}
@@ -451,14 +518,17 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 		return hashKeyPropertyValue;
 	}
 
-	protected String getAttributeName(String propertyName) {
-		String attributeName = attributeNamesByPropertyName.get(propertyName);
-		if (attributeName == null) {
-			attributeName = entityInformation.getOverriddenAttributeName(propertyName).orElse(propertyName);
-			attributeNamesByPropertyName.put(propertyName, attributeName);
-		}
-		return attributeName;
+	/**
+	 * @return The declared types of the properties with range conditions, by
+	 *         attribute name, to decide whether a query can split its range key
+	 *         condition
+	 */
+	protected Map<String, Class<?>> getRangePropertyTypes() {
+		return rangePropertyTypes;
+	}
 
+	protected String getAttributeName(String propertyName) {
+		return queryPlan.getAttributeName(propertyName);
 	}
 
 	@Override
@@ -466,12 +536,23 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 			Class<?> type) {
 		Condition condition = createCollectionCondition(propertyName, ComparisonOperator.BETWEEN,
 				Arrays.asList(value1, value2), type);
+		rangePropertyTypes.put(getAttributeName(propertyName), type);
 		return withCondition(propertyName, condition);
 	}
 
 	@Override
 	public DynamoDBQueryCriteria<T, ID> withPropertyIn(String propertyName, Iterable<?> value, Class<?> propertyType) {
 
+		if (fanOutValues == null && isFanOutProperty(propertyName)) {
+			// Decided once all conditions are known, see resolveFanOut()
+			Set<Object> values = new LinkedHashSet<>();
+			value.forEach(values::add);
+			fanOutPropertyName = propertyName;
+			fanOutPropertyType = propertyType;
+			fanOutValues = new ArrayList<>(values);
+			return this;
+		}
+
 		Condition condition = createCollectionCondition(propertyName, ComparisonOperator.IN, value, propertyType);
 		return withCondition(propertyName, condition);
 	}
@@ -484,12 +565,17 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 		} else {
 			Condition condition = createSingleValueCondition(propertyName, comparisonOperator, value, propertyType,
 					false);
+			rangePropertyTypes.put(getAttributeName(propertyName), propertyType);
 			return withCondition(propertyName, condition);
 		}
 	}
 
 	@Override
 	public Query<T> buildQuery(DynamoDBOperations dynamoDBOperations) {
+		List<AbstractDynamoDBQueryCriteria<T, ID>> fanOut = resolveFanOut();
+		if (fanOut != null) {
+			return buildFanOutQuery(dynamoDBOperations, fanOut);
+		}
 		if (isApplicableForLoad()) {
 			return buildSingleEntityLoadQuery(dynamoDBOperations);
 		} else {
@@ -499,6 +585,19 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 
 	@Override
 	public Query<Long> buildCountQuery(DynamoDBOperations dynamoDBOperations, boolean pageQuery) {
+		List<AbstractDynamoDBQueryCriteria<T, ID>> fanOut = resolveFanOut();
+		if (fanOut != null) {
+			if (fanOut.get(0).isApplicableForBatchLoad()) {
+				// A single batch load reads all items
+				return new FanOutCountQuery(dynamoDBOperations, buildFanOutQuery(dynamoDBOperations, fanOut));
+			}
+			// Each value of the IN condition selects different items
+			List<Query<Long>> countQueries = new ArrayList<>(fanOut.size());
+			for (AbstractDynamoDBQueryCriteria<T, ID> criteria : fanOut) {
+				countQueries.add(criteria.buildCountQuery(dynamoDBOperations, pageQuery));
+			}
+			return new FanOutCountQuery(dynamoDBOperations, countQueries);
+		}
 		if (isApplicableForLoad()) {
 			return buildSingleEntityCountQuery(dynamoDBOperations);
 		} else {
@@ -506,6 +605,196 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 		}
 	}
 
+	@Override
+	public ReactiveQuery<T> buildReactiveQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		// Reactive queries aren't fanned out
+		applyFanOutCondition();
+		if (isApplicableForLoad()) {
+			return buildReactiveSingleEntityLoadQuery(dynamoDBAsyncOperations);
+		} else {
+			return buildReactiveFinderQuery(dynamoDBAsyncOperations);
+		}
+	}
+
+	/**
+	 * @return One criteria per value of an IN condition on a (global secondary
+	 *         index) hash key, {@code null} if there is no such condition, the
+	 *         criteria would have to scan the table anyway or there are more
+	 *         values than {@link DynamoDBQueryPlan#getMaxFanOut() queries to
+	 *         run} - then the IN condition is applied as a regular condition
+	 */
+	@Nullable
+	List<AbstractDynamoDBQueryCriteria<T, ID>> resolveFanOut() {
+		if (fanOutValues == null || fanOutValues.isEmpty()) {
+			applyFanOutCondition();
+			return null;
+		}
+		// All criteria only differ by the value
+		AbstractDynamoDBQueryCriteria<T, ID> first = newFanOutCriteria(fanOutValues.get(0));
+		if (!first.isApplicableWithoutScan() || (fanOutValues.size() > queryPlan.getMaxFanOut()
+				&& !first.isApplicableForBatchLoad())) {
+			applyFanOutCondition();
+			return null;
+		}
+		List<AbstractDynamoDBQueryCriteria<T, ID>> fanOut = new ArrayList<>(fanOutValues.size());
+		fanOut.add(first);
+		for (Object value : fanOutValues.subList(1, fanOutValues.size())) {
+			fanOut.add(newFanOutCriteria(value));
+		}
+		return fanOut;
+	}
+
+	private AbstractDynamoDBQueryCriteria<T, ID> newFanOutCriteria(Object value) {
+		AbstractDynamoDBQueryCriteria<T, ID> criteria = newCriteria();
+		copyTo(criteria);
+		criteria.withPropertyEquals(fanOutPropertyName, value, fanOutPropertyType);
+		return criteria;
+	}
+
+	/**
+	 * @return {@code true} if the criteria selects a single item by its hash
+	 *         key only, so that the items of many such criteria can be read by a
+	 *         single batch load
+	 */
+	protected boolean isApplicableForBatchLoad() {
+		return false;
+	}
+
+	/**
+	 * @return The criteria to query instead of this one without scanning the
+	 *         table, {@code null} if it has to be scanned
+	 */
+	@Nullable
+	List<AbstractDynamoDBQueryCriteria<T, ID>> getQueryableCriteria() {
+		List<AbstractDynamoDBQueryCriteria<T, ID>> fanOut = resolveFanOut();
+		if (fanOut != null) {
+			return fanOut;
+		}
+		return isApplicableWithoutScan() ? Collections.singletonList(this) : null;
+	}
+
+	private void applyFanOutCondition() {
+		if (fanOutValues != null) {
+			withCondition(fanOutPropertyName,
+					createCollectionCondition(fanOutPropertyName, ComparisonOperator.IN, fanOutValues, fanOutPropertyType));
+			fanOutValues = null;
+		}
+	}
+
+	private boolean isFanOutProperty(String propertyName) {
+		return isHashKeyProperty(propertyName) || entityInformation.isGlobalIndexHashKeyProperty(propertyName);
+	}
+
+	/**
+	 * @param dynamoDBOperations
+	 *            The operations to query with
+	 * @param criteria
+	 *            The criteria to query concurrently, all sorted like this one
+	 * @return A query merging the results of all criteria
+	 */
+	MultipleEntityFanOutQuery<T> buildFanOutQuery(DynamoDBOperations dynamoDBOperations,
+			List<AbstractDynamoDBQueryCriteria<T, ID>> criteria) {
+		List<Query<T>> queries = new ArrayList<>(criteria.size());
+		Set<Object> batchLoadHashKeys = new LinkedHashSet<>();
+		int batchLoadPosition = 0;
+		for (AbstractDynamoDBQueryCriteria<T, ID> single : criteria) {
+			if (!single.isApplicableForBatchLoad()) {
+				queries.add(single.buildQuery(dynamoDBOperations));
+			} else {
+				if (batchLoadHashKeys.isEmpty()) {
+					batchLoadPosition = queries.size();
+				}
+				batchLoadHashKeys.add(single.getHashKeyPropertyValue());
+			}
+		}
+		if (!batchLoadHashKeys.isEmpty()) {
+			// All loads by hash key are read at the position of the first one
+			queries.add(batchLoadPosition, buildBatchLoadQuery(dynamoDBOperations, batchLoadHashKeys));
+		}
+		return new MultipleEntityFanOutQuery<>(dynamoDBOperations, clazz, queries, this::getItemKey, getResultOrder());
+	}
+
+	private Query<T> buildBatchLoadQuery(DynamoDBOperations dynamoDBOperations, Collection<Object> hashKeys) {
+		// Returns the items in the order of the IN values like one load per value
+		BatchLoadOptions options = BatchLoadOptions.defaults().withPreserveOrder(true);
+		switch (consistentReads) {
+			case CONSISTENT:
+				options.withConsistentReads(true);
+				break;
+			case EVENTUAL:
+				options.withConsistentReads(false);
+				break;
+			default:
+				break;
+		}
+		return new MultipleEntityBatchLoadQuery<>(dynamoDBOperations, clazz, hashKeys, options, getResultOrder());
+	}
+
+	private Object getItemKey(T item) {
+		ID id = entityInformation.getId(item);
+		if (id == null) {
+			return item;
+		}
+		return Arrays.asList(entityInformation.getHashKey(id), entityInformation.getRangeKey(id));
+	}
+
+	/**
+	 * @return The order of the query results, compared like DynamoDB compares
+	 *         the range key values; {@code null} if unsorted
+	 */
+	@Nullable
+	private Comparator<T> getResultOrder() {
+		if (tableModel == null) {
+			return null;
+		}
+		// Queries are sorted by a single range key at most
+		for (Order order : sort) {
+			DynamoDBMapperFieldModel<T, Object> fieldModel = getFieldModel(getAttributeName(order.getProperty()));
+			if (fieldModel == null) {
+				throw new UnsupportedOperationException("Sorting only possible by attributes of "
+						+ clazz.getSimpleName() + " and not by " + order.getProperty());
+			}
+			Comparator<T> comparator = Comparator.<T, AttributeValue>comparing(item -> {
+				Object value = fieldModel.get(item);
+				return value == null ? null : fieldModel.convert(value);
+			}, Comparator.nullsLast(AbstractDynamoDBQueryCriteria::compare));
+			return order.isAscending() ? comparator : comparator.reversed();
+		}
+		return null;
+	}
+
+	/**
+	 * @return The field of the attribute - {@code null} if the table has none, as
+	 *         {@link DynamoDBMapperTableModel#field(String)} throws then
+	 */
+	@Nullable
+	private DynamoDBMapperFieldModel<T, Object> getFieldModel(String attributeName) {
+		for (DynamoDBMapperFieldModel<T, Object> fieldModel : tableModel.fields()) {
+			if (fieldModel.name().equals(attributeName)) {
+				return fieldModel;
+			}
+		}
+		return null;
+	}
+
+	private static int compare(AttributeValue value1, AttributeValue value2) {
+		if (value1.getN() != null && value2.getN() != null) {
+			return new BigDecimal(value1.getN()).compareTo(new BigDecimal(value2.getN()));
+		} else if (value1.getS() != null && value2.getS() != null) {
+			return Arrays.compareUnsigned(value1.getS().getBytes(StandardCharsets.UTF_8),
+					value2.getS().getBytes(StandardCharsets.UTF_8));
+		} else if (value1.getB() != null && value2.getB() != null) {
+			return Arrays.compareUnsigned(toBytes(value1.getB()), toBytes(value2.getB()));
+		}
+		return 0;
+	}
+
+	private static byte[] toBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
 	protected abstract Query<T> buildSingleEntityLoadQuery(DynamoDBOperations dynamoDBOperations);
 
 	protected abstract Query<Long> buildSingleEntityCountQuery(DynamoDBOperations dynamoDBOperations);
@@ -514,6 +803,11 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 
 	protected abstract Query<Long> buildFinderCountQuery(DynamoDBOperations dynamoDBOperations, boolean pageQuery);
 
+	protected abstract ReactiveQuery<T> buildReactiveSingleEntityLoadQuery(
+			DynamoDBAsyncOperations dynamoDBAsyncOperations);
+
+	protected abstract ReactiveQuery<T> buildReactiveFinderQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations);
+
 	protected abstract boolean isOnlyHashKeySpecified();
 
 	@Override
@@ -587,13 +881,11 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 		return list;
 	}
 
-	@SuppressWarnings("deprecation")
 	private List<String> getDateListAsStringList(List<Date> dateList) {
-		DynamoDBMarshaller<Date> marshaller = new Date2IsoDynamoDBMarshaller();
-		List<String> list = new ArrayList<String>();
+		List<String> list = new ArrayList<>(dateList.size());
 		for (Date date : dateList) {
 			if (date != null) {
-				list.add(marshaller.marshall(date));
+				list.add(DATE_MARSHALLER.marshall(date));
 			} else {
 				list.add(null);
 			}
@@ -601,13 +893,11 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 		return list;
 	}
 
-	@SuppressWarnings("deprecation")
 	private List<String> getInstantListAsStringList(List<Instant> dateList) {
-		DynamoDBMarshaller<Instant> marshaller = new Instant2IsoDynamoDBMarshaller();
-		List<String> list = new ArrayList<>();
+		List<String> list = new ArrayList<>(dateList.size());
 		for (Instant date : dateList) {
 			if (date != null) {
-				list.add(marshaller.marshall(date));
+				list.add(INSTANT_MARSHALLER.marshall(date));
 			} else {
 				list.add(null);
 			}
@@ -681,7 +971,7 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 				attributeValueObject.withSS(attributeValueAsStringList);
 			} else {
 				Date date = (Date) attributeValue;
-				String marshalledDate = new Date2IsoDynamoDBMarshaller().marshall(date);
+				String marshalledDate = DATE_MARSHALLER.marshall(date);
 				attributeValueObject.withS(marshalledDate);
 			}
 		} else if (ClassUtils.isAssignable(Instant.class, propertyType)) {
@@ -691,7 +981,7 @@ public abstract class AbstractDynamoDBQueryCriteria<T, ID> implements DynamoDBQu
 				attributeValueObject.withSS(attributeValueAsStringList);
 			} else {
 				Instant date = (Instant) attributeValue;
-				String marshalledDate = new Instant2IsoDynamoDBMarshaller().marshall(date);
+				String marshalledDate = INSTANT_MARSHALLER.marshall(date);
 				attributeValueObject.withS(marshalledDate);
 			}
 		} else {
@@ -0,0 +1,311 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The {@code KeyConditionExpression} and {@code FilterExpression} derived
+ * conditions compile to, with placeholders for the attribute names and values.
+ * A template is compiled once per shape of the conditions - their attributes
+ * and operators - and cached in the {@link DynamoDBQueryPlan}, so that each
+ * call only {@link #bind(Map, Map, Map) binds} its values. The value lists of
+ * {@code IN} conditions are not part of the shape: their placeholders are
+ * expanded when binding, so that collections of any size share a template.
+ */
+final class ConditionExpressionTemplate {
+
+	private static final String NAME_PREFIX = "#derived";
+	private static final String VALUE_PREFIX = ":derived";
+	private static final String IN_VALUE_PREFIX = ":derivedIn";
+	private static final char IN_LIST_MARKER = '\u0000';
+
+	@Nullable
+	private final String keyConditionExpression;
+	@Nullable
+	private final String filterExpression;
+	@Nullable
+	private final Map<String, String> expressionAttributeNames;
+	private final int valueCount;
+	private final int inListCount;
+
+	private ConditionExpressionTemplate(@Nullable String keyConditionExpression, @Nullable String filterExpression,
+			Map<String, String> expressionAttributeNames, int valueCount, int inListCount) {
+		this.keyConditionExpression = keyConditionExpression;
+		this.filterExpression = filterExpression;
+		this.expressionAttributeNames = expressionAttributeNames.isEmpty()
+				? null
+				: Collections.unmodifiableMap(expressionAttributeNames);
+		this.valueCount = valueCount;
+		this.inListCount = inListCount;
+	}
+
+	/**
+	 * @param keyConditions
+	 *            The conditions on key attributes
+	 * @param filterConditions
+	 *            The conditions on other attributes
+	 * @param nativeFilterExpression
+	 *            The filter expression of the query method the derived filter is
+	 *            combined with
+	 * @param nativeAttributeNames
+	 *            The attribute name placeholders of the native filter
+	 * @return The template compiled from the shape of the conditions
+	 */
+	static ConditionExpressionTemplate compile(@Nullable Map<String, Condition> keyConditions,
+			@Nullable Map<String, Condition> filterConditions, @Nullable String nativeFilterExpression,
+			Map<String, String> nativeAttributeNames) {
+		Map<String, String> names = new LinkedHashMap<>(nativeAttributeNames);
+		Map<String, String> placeholdersByAttributeName = new HashMap<>();
+		// The number of single values and of IN value lists
+		int[] counts = {0, 0};
+
+		String keyConditionExpression = compile(keyConditions, names, placeholdersByAttributeName, counts);
+		String filterExpression = compile(filterConditions, names, placeholdersByAttributeName, counts);
+		if (filterExpression == null) {
+			filterExpression = nativeFilterExpression;
+		} else if (nativeFilterExpression != null) {
+			filterExpression = "(" + filterExpression + ") AND (" + nativeFilterExpression + ")";
+		}
+		return new ConditionExpressionTemplate(keyConditionExpression, filterExpression, names, counts[0],
+				counts[1]);
+	}
+
+	@Nullable
+	private static String compile(@Nullable Map<String, Condition> conditions, Map<String, String> names,
+			Map<String, String> placeholdersByAttributeName, int[] counts) {
+		if (conditions == null || conditions.isEmpty()) {
+			return null;
+		}
+		StringJoiner expression = new StringJoiner(" AND ");
+		for (Map.Entry<String, Condition> condition : conditions.entrySet()) {
+			String name = placeholdersByAttributeName.computeIfAbsent(condition.getKey(), attributeName -> {
+				String placeholder = NAME_PREFIX + placeholdersByAttributeName.size();
+				names.put(placeholder, attributeName);
+				return placeholder;
+			});
+			ComparisonOperator comparisonOperator = ComparisonOperator
+					.fromValue(condition.getValue().getComparisonOperator());
+			if (comparisonOperator == ComparisonOperator.IN) {
+				expression.add(name + " IN (" + inListMarker(counts[1]++) + ")");
+				continue;
+			}
+			List<String> values = new ArrayList<>();
+			for (int i = 0; i < sizeOf(condition.getValue()); i++) {
+				values.add(VALUE_PREFIX + counts[0]++);
+			}
+			expression.add(compile(name, comparisonOperator, values));
+		}
+		return expression.toString();
+	}
+
+	private static String compile(String name, ComparisonOperator comparisonOperator, List<String> values) {
+		switch (comparisonOperator) {
+			case EQ :
+				return name + " = " + values.get(0);
+			case NE :
+				return name + " <> " + values.get(0);
+			case LT :
+				return name + " < " + values.get(0);
+			case LE :
+				return name + " <= " + values.get(0);
+			case GT :
+				return name + " > " + values.get(0);
+			case GE :
+				return name + " >= " + values.get(0);
+			case BETWEEN :
+				return name + " BETWEEN " + values.get(0) + " AND " + values.get(1);
+			case BEGINS_WITH :
+				return "begins_with(" + name + ", " + values.get(0) + ")";
+			case CONTAINS :
+				return "contains(" + name + ", " + values.get(0) + ")";
+			case NOT_CONTAINS :
+				return "NOT contains(" + name + ", " + values.get(0) + ")";
+			case NULL :
+				return "attribute_not_exists(" + name + ")";
+			case NOT_NULL :
+				return "attribute_exists(" + name + ")";
+			default :
+				throw new UnsupportedOperationException(
+						"Comparison operator " + comparisonOperator + " not supported in expressions");
+		}
+	}
+
+	private static String inListMarker(int inList) {
+		return IN_LIST_MARKER + Integer.toString(inList) + IN_LIST_MARKER;
+	}
+
+	/**
+	 * @return A key identifying the shape of the conditions a template is
+	 *         compiled from
+	 */
+	static String shapeOf(@Nullable Map<String, Condition> keyConditions,
+			@Nullable Map<String, Condition> filterConditions, @Nullable String nativeFilterExpression) {
+		StringBuilder shape = new StringBuilder();
+		appendShape(shape, keyConditions);
+		shape.append('\u0001');
+		appendShape(shape, filterConditions);
+		if (nativeFilterExpression != null) {
+			shape.append('\u0001').append(nativeFilterExpression);
+		}
+		return shape.toString();
+	}
+
+	private static void appendShape(StringBuilder shape, @Nullable Map<String, Condition> conditions) {
+		if (conditions != null) {
+			for (Map.Entry<String, Condition> condition : conditions.entrySet()) {
+				String comparisonOperator = condition.getValue().getComparisonOperator();
+				shape.append(condition.getKey()).append('\u0000').append(comparisonOperator).append('\u0000');
+				if (!ComparisonOperator.IN.toString().equals(comparisonOperator)) {
+					shape.append(sizeOf(condition.getValue())).append('\u0000');
+				}
+			}
+		}
+	}
+
+	private static int sizeOf(Condition condition) {
+		return condition.getAttributeValueList() == null ? 0 : condition.getAttributeValueList().size();
+	}
+
+	/**
+	 * @param keyConditions
+	 *            The conditions on key attributes, of the shape the template was
+	 *            compiled from
+	 * @param filterConditions
+	 *            The conditions on other attributes, of the shape the template
+	 *            was compiled from
+	 * @param nativeAttributeValues
+	 *            The values of the native filter
+	 * @return The expressions with the placeholders of the values
+	 */
+	BoundExpressions bind(@Nullable Map<String, Condition> keyConditions,
+			@Nullable Map<String, Condition> filterConditions, Map<String, AttributeValue> nativeAttributeValues) {
+		if (valueCount == 0 && inListCount == 0 && nativeAttributeValues.isEmpty()) {
+			return new BoundExpressions(keyConditionExpression, filterExpression, expressionAttributeNames, null);
+		}
+		Map<String, AttributeValue> values = new HashMap<>(nativeAttributeValues);
+		List<Integer> inListSizes = new ArrayList<>(inListCount);
+		int index = bind(keyConditions, values, 0, inListSizes);
+		bind(filterConditions, values, index, inListSizes);
+		return new BoundExpressions(expand(keyConditionExpression, inListSizes),
+				expand(filterExpression, inListSizes), expressionAttributeNames, values);
+	}
+
+	private static int bind(@Nullable Map<String, Condition> conditions, Map<String, AttributeValue> values,
+			int index, List<Integer> inListSizes) {
+		if (conditions != null) {
+			for (Condition condition : conditions.values()) {
+				if (condition.getAttributeValueList() == null) {
+					continue;
+				}
+				if (ComparisonOperator.IN.toString().equals(condition.getComparisonOperator())) {
+					List<AttributeValue> inValues = condition.getAttributeValueList();
+					for (int i = 0; i < inValues.size(); i++) {
+						values.put(inValue(inListSizes.size(), i), inValues.get(i));
+					}
+					inListSizes.add(inValues.size());
+				} else {
+					for (AttributeValue value : condition.getAttributeValueList()) {
+						values.put(VALUE_PREFIX + index++, value);
+					}
+				}
+			}
+		}
+		return index;
+	}
+
+	@Nullable
+	private static String expand(@Nullable String expression, List<Integer> inListSizes) {
+		if (expression == null) {
+			return null;
+		}
+		for (int inList = 0; inList < inListSizes.size(); inList++) {
+			StringJoiner values = new StringJoiner(", ");
+			for (int i = 0; i < inListSizes.get(inList); i++) {
+				values.add(inValue(inList, i));
+			}
+			expression = expression.replace(inListMarker(inList), values.toString());
+		}
+		return expression;
+	}
+
+	private static String inValue(int inList, int index) {
+		return IN_VALUE_PREFIX + inList + "v" + index;
+	}
+
+	/**
+	 * The expressions of a single call, with its values bound.
+	 */
+	static final class BoundExpressions {
+
+		@Nullable
+		private final String keyConditionExpression;
+		@Nullable
+		private final String filterExpression;
+		@Nullable
+		private final Map<String, String> expressionAttributeNames;
+		@Nullable
+		private final Map<String, AttributeValue> expressionAttributeValues;
+
+		private BoundExpressions(@Nullable String keyConditionExpression, @Nullable String filterExpression,
+				@Nullable Map<String, String> expressionAttributeNames,
+				@Nullable Map<String, AttributeValue> expressionAttributeValues) {
+			this.keyConditionExpression = keyConditionExpression;
+			this.filterExpression = filterExpression;
+			this.expressionAttributeNames = expressionAttributeNames;
+			this.expressionAttributeValues = expressionAttributeValues;
+		}
+
+		@Nullable
+		String getKeyConditionExpression() {
+			return keyConditionExpression;
+		}
+
+		@Nullable
+		String getFilterExpression() {
+			return filterExpression;
+		}
+
+		/**
+		 * @return The placeholders of the derived and native attribute names,
+		 *         {@code null} if there are none
+		 */
+		@Nullable
+		Map<String, String> getExpressionAttributeNames() {
+			return expressionAttributeNames;
+		}
+
+		/**
+		 * @return The values of the placeholders, {@code null} if there are none
+		 */
+		@Nullable
+		Map<String, AttributeValue> getExpressionAttributeValues() {
+			return expressionAttributeValues;
+		}
+	}
+
+}
@@ -55,6 +55,17 @@ public class DynamoDBCountQueryCreator<T, ID> extends AbstractDynamoDBQueryCreat
 
 	}
 
+	public DynamoDBCountQueryCreator(PartTree tree, ParameterAccessor parameterAccessor,
+									 DynamoDBEntityInformation<T, ID> entityMetadata, Optional<String> filterExpression,
+									 ExpressionAttribute[] names, ExpressionAttribute[] values, DynamoDBOperations dynamoDBOperations,
+									 boolean pageQuery, DynamoDBQueryPlan<T, ID> queryPlan) {
+
+		super(tree, parameterAccessor, entityMetadata, Optional.empty(), Optional.empty(),
+				QueryConstants.ConsistentReadMode.DEFAULT,  filterExpression, names, values, dynamoDBOperations, queryPlan);
+		this.pageQuery = pageQuery;
+
+	}
+
 	@Override
 	protected Query<Long> complete(@Nullable DynamoDBQueryCriteria<T, ID> criteria, Sort sort) {
 		if (criteria == null) {
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.query.FanOutCountQuery;
+import org.socialsignin.spring.data.dynamodb.query.MultipleEntityFanOutQuery;
+import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
+import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code OR} of several criteria, each of which has to be served by
+ * loading or querying by (global secondary index) hash keys. The criteria are
+ * queried concurrently and their results merged by a
+ * {@link MultipleEntityFanOutQuery}.
+ */
+public class DynamoDBDisjunctionCriteria<T, ID> implements DynamoDBQueryCriteria<T, ID> {
+
+	private final List<AbstractDynamoDBQueryCriteria<T, ID>> criteria = new ArrayList<>();
+
+	public DynamoDBDisjunctionCriteria(DynamoDBQueryCriteria<T, ID> first, DynamoDBQueryCriteria<T, ID> second) {
+		or(first);
+		or(second);
+	}
+
+	/**
+	 * @param other
+	 *            The criteria to add as another alternative
+	 * @return this
+	 */
+	@SuppressWarnings("unchecked")
+	public DynamoDBDisjunctionCriteria<T, ID> or(DynamoDBQueryCriteria<T, ID> other) {
+		if (other instanceof DynamoDBDisjunctionCriteria) {
+			criteria.addAll(((DynamoDBDisjunctionCriteria<T, ID>) other).criteria);
+		} else if (other instanceof AbstractDynamoDBQueryCriteria) {
+			criteria.add((AbstractDynamoDBQueryCriteria<T, ID>) other);
+		} else {
+			throw new UnsupportedOperationException("Or queries not supported for " + other.getClass());
+		}
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withSingleValueCriteria(String propertyName,
+			ComparisonOperator comparisonOperator, Object value, Class<?> type) {
+		criteria.forEach(single -> single.withSingleValueCriteria(propertyName, comparisonOperator, value, type));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withNoValuedCriteria(String segment, ComparisonOperator comparisonOperator) {
+		criteria.forEach(single -> single.withNoValuedCriteria(segment, comparisonOperator));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withPropertyEquals(String segment, Object value, Class<?> type) {
+		criteria.forEach(single -> single.withPropertyEquals(segment, value, type));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withPropertyIn(String segment, Iterable<?> values, Class<?> type) {
+		criteria.forEach(single -> single.withPropertyIn(segment, values, type));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withPropertyBetween(String segment, Object value1, Object value2,
+			Class<?> type) {
+		criteria.forEach(single -> single.withPropertyBetween(segment, value1, value2, type));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withSort(Sort sort) {
+		criteria.forEach(single -> single.withSort(sort));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withProjection(Optional<String> projection) {
+		criteria.forEach(single -> single.withProjection(projection));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withLimit(Optional<Integer> limit) {
+		criteria.forEach(single -> single.withLimit(limit));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withConsistentReads(QueryConstants.ConsistentReadMode reads) {
+		criteria.forEach(single -> single.withConsistentReads(reads));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withFilterExpression(Optional<String> filterExpression) {
+		criteria.forEach(single -> single.withFilterExpression(filterExpression));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withExpressionAttributeNames(ExpressionAttribute[] names) {
+		criteria.forEach(single -> single.withExpressionAttributeNames(names));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withExpressionAttributeValues(ExpressionAttribute[] values) {
+		criteria.forEach(single -> single.withExpressionAttributeValues(values));
+		return this;
+	}
+
+	@Override
+	public DynamoDBQueryCriteria<T, ID> withMappedExpressionValues(Map<String, String> values) {
+		criteria.forEach(single -> single.withMappedExpressionValues(values));
+		return this;
+	}
+
+	@Override
+	public MultipleEntityFanOutQuery<T> buildQuery(DynamoDBOperations dynamoDBOperations) {
+		List<AbstractDynamoDBQueryCriteria<T, ID>> queryable = new ArrayList<>();
+		for (AbstractDynamoDBQueryCriteria<T, ID> single : criteria) {
+			List<AbstractDynamoDBQueryCriteria<T, ID>> singleQueryable = single.getQueryableCriteria();
+			if (singleQueryable == null) {
+				throw new UnsupportedOperationException(
+						"Or queries only supported if each alternative can be queried by a hash key or global secondary index hash key");
+			}
+			queryable.addAll(singleQueryable);
+		}
+		return criteria.get(0).buildFanOutQuery(dynamoDBOperations, queryable);
+	}
+
+	@Override
+	public Query<Long> buildCountQuery(DynamoDBOperations dynamoDBOperations, boolean pageQuery) {
+		// The alternatives might select the same items
+		return new FanOutCountQuery(dynamoDBOperations, buildQuery(dynamoDBOperations));
+	}
+
+	@Override
+	public ReactiveQuery<T> buildReactiveQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		throw new UnsupportedOperationException("Or queries not supported");
+	}
+
+}
@@ -18,11 +18,11 @@ package org.socialsignin.spring.data.dynamodb.repository.query;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
-import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.Select;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.query.CountByHashAndRangeKeyQuery;
 import org.socialsignin.spring.data.dynamodb.query.MultipleEntityQueryExpressionQuery;
@@ -31,17 +31,21 @@ import org.socialsignin.spring.data.dynamodb.query.MultipleEntityScanExpressionQ
 import org.socialsignin.spring.data.dynamodb.query.Query;
 import org.socialsignin.spring.data.dynamodb.query.QueryExpressionCountQuery;
 import org.socialsignin.spring.data.dynamodb.query.QueryRequestCountQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveLoadQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQueryExpressionQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQueryRequestQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveScanExpressionQuery;
 import org.socialsignin.spring.data.dynamodb.query.ScanExpressionCountQuery;
 import org.socialsignin.spring.data.dynamodb.query.SingleEntityLoadByHashAndRangeKeyQuery;
-import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBIdIsHashAndRangeKeyEntityInformation;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -74,8 +78,14 @@ public class DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> extends AbstractDy
 	public DynamoDBEntityWithHashAndRangeKeyCriteria(
 			DynamoDBIdIsHashAndRangeKeyEntityInformation<T, ID> entityInformation,
 			DynamoDBMapperTableModel<T> tableModel) {
+		this(entityInformation, tableModel, new DynamoDBQueryPlan<>(entityInformation));
+	}
 
-		super(entityInformation, tableModel);
+	public DynamoDBEntityWithHashAndRangeKeyCriteria(
+			DynamoDBIdIsHashAndRangeKeyEntityInformation<T, ID> entityInformation,
+			DynamoDBMapperTableModel<T> tableModel, DynamoDBQueryPlan<T, ID> queryPlan) {
+
+		super(entityInformation, tableModel, queryPlan);
 		this.rangeKeyPropertyName = entityInformation.getRangeKeyPropertyName();
 		Set<String> indexRangeProps = entityInformation.getIndexRangeKeyPropertyNames();
 		if(indexRangeProps == null) {
@@ -199,29 +209,36 @@ public class DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> extends AbstractDy
 
 		limit.ifPresent(queryExpression::setLimit);
 
-		if(filterExpression.isPresent()) {
-			String filter = filterExpression.get();
-			if(!StringUtils.isEmpty(filter)) {
-				queryExpression.setFilterExpression(filter);
-				if (expressionAttributeNames != null && expressionAttributeNames.length > 0) {
-					for (ExpressionAttribute attribute : expressionAttributeNames) {
-						if(!StringUtils.isEmpty(attribute.key()))
-							queryExpression.addExpressionAttributeNamesEntry(attribute.key(), attribute.value());
-					}
-				}
-				if (expressionAttributeValues != null && expressionAttributeValues.length > 0) {
-					for (ExpressionAttribute value : expressionAttributeValues) {
-						if (!StringUtils.isEmpty(value.key())) {
-							if (mappedExpressionValues.containsKey(value.parameterName())) {
-								queryExpression.addExpressionAttributeValuesEntry(value.key(), new AttributeValue(mappedExpressionValues.get(value.parameterName())));
-							} else {
-								queryExpression.addExpressionAttributeValuesEntry(value.key(), new AttributeValue(value.value()));
-							}
-						}
-					}
-				}
-			}
+		return queryExpression;
+	}
+
+	/**
+	 * Replaces the hash key prototype and the range key conditions of the query
+	 * by a key condition expression and sets the filter expression of the query
+	 * method, see {@link #compileConditionExpressions(QueryRequest)}.
+	 *
+	 * @param queryExpression
+	 *            The query built by {@link #buildQueryExpression()}
+	 * @return The given query
+	 */
+	protected DynamoDBQueryExpression<T> compileConditionExpressions(DynamoDBQueryExpression<T> queryExpression) {
+		// The hash key prototype is replaced by its condition
+		Map<String, Condition> keyConditions = new LinkedHashMap<>();
+		if (isHashKeySpecified()) {
+			keyConditions.put(getHashKeyAttributeName(), createSingleValueCondition(getHashKeyPropertyName(),
+					ComparisonOperator.EQ, getHashKeyAttributeValue(), getHashKeyAttributeValue().getClass(), true));
+		}
+		if (queryExpression.getRangeKeyConditions() != null) {
+			keyConditions.putAll(queryExpression.getRangeKeyConditions());
 		}
+		ConditionExpressionTemplate.BoundExpressions expressions = getConditionExpressions(keyConditions, null)
+				.bind(keyConditions, null, getNativeExpressionAttributeValues());
+		queryExpression.setHashKeyValues(null);
+		queryExpression.setRangeKeyConditions(null);
+		queryExpression.setKeyConditionExpression(expressions.getKeyConditionExpression());
+		queryExpression.setFilterExpression(expressions.getFilterExpression());
+		queryExpression.setExpressionAttributeNames(expressions.getExpressionAttributeNames());
+		queryExpression.setExpressionAttributeValues(expressions.getExpressionAttributeValues());
 		return queryExpression;
 	}
 
@@ -245,12 +262,17 @@ public class DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> extends AbstractDy
 				QueryRequest queryRequest = buildQueryRequest(tableName, getGlobalSecondaryIndexName(),
 						getHashKeyAttributeName(), getRangeKeyAttributeName(), this.getRangeKeyPropertyName(),
 						getHashKeyConditions(), getRangeKeyConditions());
-				return new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, entityInformation.getJavaType(),
-						queryRequest);
+				MultipleEntityQueryRequestQuery<T> query = new MultipleEntityQueryRequestQuery<>(dynamoDBOperations,
+						entityInformation.getJavaType(), queryRequest, this::compileConditionExpressions);
+				query.setPropertyTypes(getRangePropertyTypes());
+				return query;
 			} else {
 				DynamoDBQueryExpression<T> queryExpression = buildQueryExpression();
-				return new MultipleEntityQueryExpressionQuery<>(dynamoDBOperations, entityInformation.getJavaType(),
-						queryExpression);
+				MultipleEntityQueryExpressionQuery<T> query = new MultipleEntityQueryExpressionQuery<>(
+						dynamoDBOperations, entityInformation.getJavaType(), queryExpression,
+						this::compileConditionExpressions);
+				query.setPropertyTypes(getRangePropertyTypes());
+				return query;
 			}
 		} else {
 			return new MultipleEntityScanExpressionQuery<>(dynamoDBOperations, clazz, buildScanExpression());
@@ -265,10 +287,10 @@ public class DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> extends AbstractDy
 				QueryRequest queryRequest = buildQueryRequest(tableName, getGlobalSecondaryIndexName(),
 						getHashKeyAttributeName(), getRangeKeyAttributeName(), this.getRangeKeyPropertyName(),
 						getHashKeyConditions(), getRangeKeyConditions());
-				return new QueryRequestCountQuery(dynamoDBOperations, queryRequest);
+				return new QueryRequestCountQuery(dynamoDBOperations, compileConditionExpressions(queryRequest));
 
 			} else {
-				DynamoDBQueryExpression<T> queryExpression = buildQueryExpression();
+				DynamoDBQueryExpression<T> queryExpression = compileConditionExpressions(buildQueryExpression());
 				return new QueryExpressionCountQuery<>(dynamoDBOperations, entityInformation.getJavaType(),
 						queryExpression);
 
@@ -278,11 +300,54 @@ public class DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> extends AbstractDy
 		}
 	}
 
+	protected ReactiveQuery<T> buildReactiveSingleEntityLoadQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		return new ReactiveLoadQuery<>(dynamoDBAsyncOperations, entityInformation.getJavaType(),
+				getHashKeyPropertyValue(), getRangeKeyPropertyValue());
+	}
+
+	protected ReactiveQuery<T> buildReactiveFinderQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		if (isApplicableForQuery()) {
+			if (isApplicableForGlobalSecondaryIndex()) {
+				String tableName = dynamoDBAsyncOperations.getOverriddenTableName(clazz,
+						entityInformation.getDynamoDBTableName());
+				QueryRequest queryRequest = buildQueryRequest(tableName, getGlobalSecondaryIndexName(),
+						getHashKeyAttributeName(), getRangeKeyAttributeName(), this.getRangeKeyPropertyName(),
+						getHashKeyConditions(), getRangeKeyConditions());
+				return new ReactiveQueryRequestQuery<>(dynamoDBAsyncOperations, entityInformation.getJavaType(),
+						compileConditionExpressions(queryRequest));
+			} else {
+				DynamoDBQueryExpression<T> queryExpression = compileConditionExpressions(buildQueryExpression());
+				return new ReactiveQueryExpressionQuery<>(dynamoDBAsyncOperations, entityInformation.getJavaType(),
+						queryExpression);
+			}
+		} else {
+			return new ReactiveScanExpressionQuery<>(dynamoDBAsyncOperations, clazz, buildScanExpression());
+		}
+	}
+
 	@Override
 	public boolean isApplicableForLoad() {
 		return attributeConditions.size() == 0 && isHashAndRangeKeySpecified();
 	}
 
+	@Override
+	protected boolean isApplicableWithoutScan() {
+		return isApplicableForLoad() || isApplicableForQuery();
+	}
+
+	@Override
+	protected DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> newCriteria() {
+		return new DynamoDBEntityWithHashAndRangeKeyCriteria<>(entityInformation, getTableModel(), getQueryPlan());
+	}
+
+	@Override
+	protected void copyTo(AbstractDynamoDBQueryCriteria<T, ID> criteria) {
+		super.copyTo(criteria);
+		DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> copy = (DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID>) criteria;
+		copy.rangeKeyAttributeValue = rangeKeyAttributeValue;
+		copy.rangeKeyPropertyValue = rangeKeyPropertyValue;
+	}
+
 	protected boolean isHashAndRangeKeySpecified() {
 		return isHashKeySpecified() && isRangeKeySpecified();
 	}
@@ -389,6 +454,7 @@ public class DynamoDBEntityWithHashAndRangeKeyCriteria<T, ID> extends AbstractDy
 				scanExpression.addFilterCondition(conditionEntry.getKey(), condition);
 			}
 		}
+		applyConditionExpressions(scanExpression);
 		return scanExpression;
 	}
 
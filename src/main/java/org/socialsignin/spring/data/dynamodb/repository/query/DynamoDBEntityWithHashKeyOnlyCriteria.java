@@ -21,12 +21,17 @@ import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.Select;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.query.CountByHashKeyQuery;
 import org.socialsignin.spring.data.dynamodb.query.MultipleEntityQueryRequestQuery;
 import org.socialsignin.spring.data.dynamodb.query.MultipleEntityScanExpressionQuery;
 import org.socialsignin.spring.data.dynamodb.query.Query;
 import org.socialsignin.spring.data.dynamodb.query.QueryRequestCountQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveLoadQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQueryRequestQuery;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveScanExpressionQuery;
 import org.socialsignin.spring.data.dynamodb.query.ScanExpressionCountQuery;
 import org.socialsignin.spring.data.dynamodb.query.SingleEntityLoadByHashKeyQuery;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
@@ -44,7 +49,12 @@ public class DynamoDBEntityWithHashKeyOnlyCriteria<T, ID> extends AbstractDynamo
 
 	public DynamoDBEntityWithHashKeyOnlyCriteria(DynamoDBEntityInformation<T, ID> entityInformation,
 			DynamoDBMapperTableModel<T> tableModel) {
-		super(entityInformation, tableModel);
+		this(entityInformation, tableModel, new DynamoDBQueryPlan<>(entityInformation));
+	}
+
+	public DynamoDBEntityWithHashKeyOnlyCriteria(DynamoDBEntityInformation<T, ID> entityInformation,
+			DynamoDBMapperTableModel<T> tableModel, DynamoDBQueryPlan<T, ID> queryPlan) {
+		super(entityInformation, tableModel, queryPlan);
 		this.entityInformation = entityInformation;
 	}
 
@@ -63,8 +73,10 @@ public class DynamoDBEntityWithHashKeyOnlyCriteria<T, ID> extends AbstractDynamo
 			QueryRequest queryRequest = buildQueryRequest(
 					dynamoDBOperations.getOverriddenTableName(clazz, entityInformation.getDynamoDBTableName()),
 					getGlobalSecondaryIndexName(), getHashKeyAttributeName(), null, null, hashKeyConditions, null);
-			return new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, entityInformation.getJavaType(),
-					queryRequest);
+			MultipleEntityQueryRequestQuery<T> query = new MultipleEntityQueryRequestQuery<>(dynamoDBOperations,
+					entityInformation.getJavaType(), queryRequest, this::compileConditionExpressions);
+			query.setPropertyTypes(getRangePropertyTypes());
+			return query;
 		} else {
 			return new MultipleEntityScanExpressionQuery<>(dynamoDBOperations, clazz, buildScanExpression());
 		}
@@ -78,13 +90,31 @@ public class DynamoDBEntityWithHashKeyOnlyCriteria<T, ID> extends AbstractDynamo
 					dynamoDBOperations.getOverriddenTableName(clazz, entityInformation.getDynamoDBTableName()),
 					getGlobalSecondaryIndexName(), getHashKeyAttributeName(), null, null, hashKeyConditions, null);
 			queryRequest.setSelect(Select.COUNT);
-			return new QueryRequestCountQuery(dynamoDBOperations, queryRequest);
+			return new QueryRequestCountQuery(dynamoDBOperations, compileConditionExpressions(queryRequest));
 
 		} else {
 			return new ScanExpressionCountQuery<>(dynamoDBOperations, clazz, buildScanExpression(), pageQuery);
 		}
 	}
 
+	protected ReactiveQuery<T> buildReactiveSingleEntityLoadQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		return new ReactiveLoadQuery<>(dynamoDBAsyncOperations, clazz, getHashKeyPropertyValue(), null);
+	}
+
+	protected ReactiveQuery<T> buildReactiveFinderQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		if (isApplicableForGlobalSecondaryIndex()) {
+
+			List<Condition> hashKeyConditions = getHashKeyConditions();
+			QueryRequest queryRequest = buildQueryRequest(
+					dynamoDBAsyncOperations.getOverriddenTableName(clazz, entityInformation.getDynamoDBTableName()),
+					getGlobalSecondaryIndexName(), getHashKeyAttributeName(), null, null, hashKeyConditions, null);
+			return new ReactiveQueryRequestQuery<>(dynamoDBAsyncOperations, entityInformation.getJavaType(),
+					compileConditionExpressions(queryRequest));
+		} else {
+			return new ReactiveScanExpressionQuery<>(dynamoDBAsyncOperations, clazz, buildScanExpression());
+		}
+	}
+
 	@Override
 	protected boolean isOnlyHashKeySpecified() {
 		return attributeConditions.size() == 0 && isHashKeySpecified();
@@ -95,6 +125,21 @@ public class DynamoDBEntityWithHashKeyOnlyCriteria<T, ID> extends AbstractDynamo
 		return isOnlyHashKeySpecified();
 	}
 
+	@Override
+	protected boolean isApplicableForBatchLoad() {
+		return isApplicableForLoad();
+	}
+
+	@Override
+	protected boolean isApplicableWithoutScan() {
+		return isApplicableForLoad() || isApplicableForGlobalSecondaryIndex();
+	}
+
+	@Override
+	protected DynamoDBEntityWithHashKeyOnlyCriteria<T, ID> newCriteria() {
+		return new DynamoDBEntityWithHashKeyOnlyCriteria<>(entityInformation, getTableModel(), getQueryPlan());
+	}
+
 	public DynamoDBScanExpression buildScanExpression() {
 
 		ensureNoSort(sort);
@@ -117,6 +162,7 @@ public class DynamoDBEntityWithHashKeyOnlyCriteria<T, ID> extends AbstractDynamo
 			scanExpression.setProjectionExpression(projection.get());
 		}
 		limit.ifPresent(scanExpression::setLimit);
+		applyConditionExpressions(scanExpression);
 		return scanExpression;
 	}
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * {@link Parameters} of a {@link DynamoDBQueryMethod} - a
+ * {@link DynamoDBScrollPosition} is a special parameter that isn't bound to the
+ * query criteria.
+ */
+public class DynamoDBParameters extends Parameters<DynamoDBParameters, DynamoDBParameters.DynamoDBParameter> {
+
+	public DynamoDBParameters(Method method) {
+		super(method);
+	}
+
+	private DynamoDBParameters(List<DynamoDBParameter> parameters) {
+		super(parameters);
+	}
+
+	@Override
+	protected DynamoDBParameter createParameter(MethodParameter parameter) {
+		return new DynamoDBParameter(parameter);
+	}
+
+	@Override
+	protected DynamoDBParameters createFrom(List<DynamoDBParameter> parameters) {
+		return new DynamoDBParameters(parameters);
+	}
+
+	public static class DynamoDBParameter extends Parameter {
+
+		protected DynamoDBParameter(MethodParameter parameter) {
+			super(parameter);
+		}
+
+		@Override
+		public boolean isSpecialParameter() {
+			return super.isSpecialParameter() || isScrollPosition();
+		}
+
+		public boolean isScrollPosition() {
+			return DynamoDBScrollPosition.class.equals(getType());
+		}
+	}
+
+}
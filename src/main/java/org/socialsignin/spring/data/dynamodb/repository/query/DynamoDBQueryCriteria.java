@@ -16,8 +16,10 @@
 package org.socialsignin.spring.data.dynamodb.repository.query;
 
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
 import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
 import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
 import org.springframework.data.domain.Sort;
@@ -62,4 +64,6 @@ public interface DynamoDBQueryCriteria<T, ID> {
 
 	Query<Long> buildCountQuery(DynamoDBOperations dynamoDBOperations, boolean pageQuery);
 
+	ReactiveQuery<T> buildReactiveQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations);
+
 }
@@ -15,16 +15,19 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository.query;
 
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
 import org.socialsignin.spring.data.dynamodb.repository.EnableScan;
 import org.socialsignin.spring.data.dynamodb.repository.EnableScanCount;
 import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
 import org.socialsignin.spring.data.dynamodb.repository.Query;
 import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
-import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityMetadataSupport;
+import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityMetadataRegistry;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.util.Streamable;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
@@ -39,6 +42,7 @@ import static org.socialsignin.spring.data.dynamodb.repository.QueryConstants.QU
 public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 
 	private final Method method;
+	private final Class<?> repositoryInterface;
 	private final boolean scanEnabledForRepository;
 	private final boolean scanCountEnabledForRepository;
 	private final Optional<String> projectionExpression;
@@ -47,10 +51,16 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 	private final ExpressionAttribute[] expressionAttributeNames;
 	private final ExpressionAttribute[] expressionAttributeValues;
 	private final QueryConstants.ConsistentReadMode consistentReadMode;
+	private final QueryConstants.CountMode countMode;
+	private final int rangeSegments;
+	private final int maxFanOut;
+	@Nullable
+	private volatile DynamoDBEntityInformation<T, ID> entityInformation;
 
 	public DynamoDBQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
 		super(method, metadata, factory);
 		this.method = method;
+		this.repositoryInterface = metadata.getRepositoryInterface();
 		this.scanEnabledForRepository = metadata.getRepositoryInterface().isAnnotationPresent(EnableScan.class);
 		this.scanCountEnabledForRepository = metadata.getRepositoryInterface()
 				.isAnnotationPresent(EnableScanCount.class);
@@ -78,10 +88,16 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 				this.limitResults = Optional.empty();
 			}
 			this.consistentReadMode = query.consistentReads();
+			this.countMode = query.count();
+			this.rangeSegments = query.rangeSegments();
+			this.maxFanOut = query.maxFanOut();
 		} else {
 			this.projectionExpression = Optional.empty();
 			this.limitResults = Optional.empty();
 			this.consistentReadMode = QueryConstants.ConsistentReadMode.DEFAULT;
+			this.countMode = QueryConstants.CountMode.EXACT;
+			this.rangeSegments = 1;
+			this.maxFanOut = QueryConstants.DEFAULT_MAX_FAN_OUT;
 			this.filterExpression = Optional.empty();
 			this.expressionAttributeNames = null;
 			this.expressionAttributeValues = null;
@@ -98,10 +114,41 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 		return method.getReturnType();
 	}
 
+	@Override
+	protected DynamoDBParameters createParameters(Method method) {
+		return new DynamoDBParameters(method);
+	}
+
+	/**
+	 * @return {@code true} if the method returns a {@link DynamoDBWindow}
+	 */
+	public boolean isScrollQuery() {
+		return DynamoDBWindow.class.isAssignableFrom(method.getReturnType());
+	}
+
+	/**
+	 * @return {@code true} if the method returns a {@link Streamable}
+	 */
+	public boolean isStreamableQuery() {
+		return Streamable.class.isAssignableFrom(method.getReturnType());
+	}
+
 	public boolean isScanEnabled() {
 		return scanEnabledForRepository || method.isAnnotationPresent(EnableScan.class);
 	}
 
+	/**
+	 * @return the number of segments of a scan as configured by {@link EnableScan}
+	 *         on the method or, if absent, on the repository interface
+	 */
+	public int getScanSegments() {
+		EnableScan enableScan = method.getAnnotation(EnableScan.class);
+		if (enableScan == null) {
+			enableScan = repositoryInterface.getAnnotation(EnableScan.class);
+		}
+		return enableScan == null ? 1 : enableScan.segments();
+	}
+
 	public boolean isScanCountEnabled() {
 		return scanCountEnabledForRepository || method.isAnnotationPresent(EnableScanCount.class);
 	}
@@ -113,9 +160,14 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 	 * org.springframework.data.repository.query.QueryMethod#getEntityInformation ()
 	 */
 	@Override
-	@SuppressWarnings({"rawtypes", "unchecked"})
+	@SuppressWarnings("unchecked")
 	public DynamoDBEntityInformation<T, ID> getEntityInformation() {
-		return new DynamoDBEntityMetadataSupport(getDomainClass()).getEntityInformation();
+		DynamoDBEntityInformation<T, ID> entityInformation = this.entityInformation;
+		if (entityInformation == null) {
+			entityInformation = DynamoDBEntityMetadataRegistry.getEntityInformation((Class<T>) getDomainClass(), null);
+			this.entityInformation = entityInformation;
+		}
+		return entityInformation;
 	}
 
 	public Class<T> getEntityType() {
@@ -135,6 +187,26 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 		return this.consistentReadMode;
 	}
 
+	public QueryConstants.CountMode getCountMode() {
+		return this.countMode;
+	}
+
+	/**
+	 * @return the number of sub-ranges a range key condition is split into as
+	 *         configured by {@link Query#rangeSegments()}
+	 */
+	public int getRangeSegments() {
+		return this.rangeSegments;
+	}
+
+	/**
+	 * @return the maximum number of values of an {@code In} condition queried
+	 *         concurrently as configured by {@link Query#maxFanOut()}
+	 */
+	public int getMaxFanOut() {
+		return this.maxFanOut;
+	}
+
 	public Optional<String> getFilterExpression() {
 		return this.filterExpression;
 	}
@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
+import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The parts of a derived query that do not depend on the argument values of a
+ * call: the attribute names of the properties, the leaf property of each
+ * {@link Part}, the global secondary index serving a set of attribute
+ * conditions and the expressions the conditions compile to. A plan is created
+ * once per query method and shared by all {@link AbstractDynamoDBQueryCreator
+ * query creators} and {@link AbstractDynamoDBQueryCriteria criteria} built for
+ * it, so that each call only binds its argument values.
+ */
+public class DynamoDBQueryPlan<T, ID> {
+
+	private final DynamoDBEntityInformation<T, ID> entityInformation;
+	private final int maxFanOut;
+	private final Map<String, String> attributeNamesByPropertyName = new ConcurrentHashMap<>();
+	private final Map<Part, LeafProperty> leafPropertiesByPart = new ConcurrentHashMap<>();
+	private final Map<Set<String>, Optional<String>> indexNamesByAttributeConditions = new ConcurrentHashMap<>();
+	private final Map<String, ConditionExpressionTemplate> conditionExpressionTemplatesByShape = new ConcurrentHashMap<>();
+	@Nullable
+	private volatile Map<String, String[]> indexNamesByAttributeName;
+	@Nullable
+	private volatile MultiValueMap<String, String> attributeListsByIndexName;
+	@Nullable
+	private volatile Map<String, Integer> parameterIndexesByName;
+
+	public DynamoDBQueryPlan(DynamoDBEntityInformation<T, ID> entityInformation) {
+		this(entityInformation, QueryConstants.DEFAULT_MAX_FAN_OUT);
+	}
+
+	/**
+	 * @param entityInformation
+	 *            The entity the query method reads
+	 * @param maxFanOut
+	 *            The maximum number of values of an {@code IN} condition on a
+	 *            hash key that are queried concurrently
+	 */
+	public DynamoDBQueryPlan(DynamoDBEntityInformation<T, ID> entityInformation, int maxFanOut) {
+		Assert.notNull(entityInformation, "entityInformation must not be null!");
+		Assert.isTrue(maxFanOut > 0, "maxFanOut must be positive!");
+		this.entityInformation = entityInformation;
+		this.maxFanOut = maxFanOut;
+	}
+
+	public DynamoDBEntityInformation<T, ID> getEntityInformation() {
+		return entityInformation;
+	}
+
+	public int getMaxFanOut() {
+		return maxFanOut;
+	}
+
+	public String getAttributeName(String propertyName) {
+		return attributeNamesByPropertyName.computeIfAbsent(propertyName,
+				name -> entityInformation.getOverriddenAttributeName(name).orElse(name));
+	}
+
+	LeafProperty getLeafProperty(Part part) {
+		return leafPropertiesByPart.computeIfAbsent(part, LeafProperty::new);
+	}
+
+	/**
+	 * @return The positions of the named method parameters
+	 */
+	Map<String, Integer> getParameterIndexes(Parameters<?, ?> parameters) {
+		Map<String, Integer> indexes = parameterIndexesByName;
+		if (indexes == null) {
+			indexes = new HashMap<>();
+			for (Parameter parameter : parameters) {
+				Optional<String> name = parameter.getName();
+				if (name.isPresent()) {
+					indexes.put(name.get(), parameter.getIndex());
+				}
+			}
+			indexes = Collections.unmodifiableMap(indexes);
+			parameterIndexesByName = indexes;
+		}
+		return indexes;
+	}
+
+	/**
+	 * @param keyConditions
+	 *            The conditions on key attributes
+	 * @param filterConditions
+	 *            The conditions on other attributes
+	 * @param nativeFilterExpression
+	 *            The filter expression of the query method
+	 * @param nativeAttributeNames
+	 *            Provides the attribute name placeholders of that filter
+	 * @return The expressions the conditions compile to, compiled once per shape
+	 *         of the conditions - independent of the sizes of {@code IN} value
+	 *         lists
+	 */
+	ConditionExpressionTemplate getConditionExpressionTemplate(@Nullable Map<String, Condition> keyConditions,
+			@Nullable Map<String, Condition> filterConditions, @Nullable String nativeFilterExpression,
+			Supplier<Map<String, String>> nativeAttributeNames) {
+		return conditionExpressionTemplatesByShape.computeIfAbsent(
+				ConditionExpressionTemplate.shapeOf(keyConditions, filterConditions, nativeFilterExpression),
+				shape -> ConditionExpressionTemplate.compile(keyConditions, filterConditions, nativeFilterExpression,
+						nativeAttributeNames.get()));
+	}
+
+	/**
+	 * @param attributeNames
+	 *            The attribute names with conditions
+	 * @return The global secondary index to query for conditions on exactly these
+	 *         attributes, or {@code null} if there is none
+	 */
+	@Nullable
+	public String getGlobalSecondaryIndexName(Set<String> attributeNames) {
+		if (attributeNames.isEmpty()) {
+			return null;
+		}
+		Optional<String> indexName = indexNamesByAttributeConditions.get(attributeNames);
+		if (indexName == null) {
+			indexName = Optional.ofNullable(resolveGlobalSecondaryIndexName(attributeNames));
+			indexNamesByAttributeConditions.putIfAbsent(new HashSet<>(attributeNames), indexName);
+		}
+		return indexName.orElse(null);
+	}
+
+	private synchronized void resolveIndexAttributes() {
+		if (attributeListsByIndexName != null) {
+			return;
+		}
+		// Index names by attribute name determine which index to use if multiple
+		// indexes are applicable, the attribute lists by index name whether we have an
+		// exact match index for specified attribute conditions
+		Map<String, String[]> indexNames = new HashMap<>();
+		MultiValueMap<String, String> attributeLists = new LinkedMultiValueMap<>();
+		for (Entry<String, String[]> indexNamesForPropertyNameEntry : entityInformation
+				.getGlobalSecondaryIndexNamesByPropertyName().entrySet()) {
+			String attributeName = getAttributeName(indexNamesForPropertyNameEntry.getKey());
+			indexNames.put(attributeName, indexNamesForPropertyNameEntry.getValue());
+			for (String indexNameForPropertyName : indexNamesForPropertyNameEntry.getValue()) {
+				attributeLists.add(indexNameForPropertyName, attributeName);
+			}
+		}
+		indexNamesByAttributeName = indexNames;
+		attributeListsByIndexName = attributeLists;
+	}
+
+	@Nullable
+	private String resolveGlobalSecondaryIndexName(Set<String> attributeNames) {
+		resolveIndexAttributes();
+
+		// Declare lists to store matching index names
+		List<String> exactMatchIndexNames = new ArrayList<>();
+		List<String> partialMatchIndexNames = new ArrayList<>();
+
+		// Populate matching index name lists - an index is either an exact match ( the
+		// index attributes match all the specified criteria exactly)
+		// or a partial match ( the properties for the specified criteria are contained
+		// within the property set for an index )
+		for (Entry<String, List<String>> attributeListForIndexNameEntry : attributeListsByIndexName.entrySet()) {
+			String indexNameForAttributeList = attributeListForIndexNameEntry.getKey();
+			List<String> attributeList = attributeListForIndexNameEntry.getValue();
+			if (attributeList.containsAll(attributeNames)) {
+				if (attributeNames.containsAll(attributeList)) {
+					exactMatchIndexNames.add(indexNameForAttributeList);
+				} else {
+					partialMatchIndexNames.add(indexNameForAttributeList);
+				}
+			}
+		}
+
+		String indexName = null;
+		if (exactMatchIndexNames.size() > 1) {
+			throw new RuntimeException("Multiple indexes defined on same attribute set:" + attributeNames);
+		} else if (exactMatchIndexNames.size() == 1) {
+			indexName = exactMatchIndexNames.get(0);
+		} else if (partialMatchIndexNames.size() > 1) {
+			if (attributeNames.size() == 1) {
+				indexName = getFirstDeclaredIndexNameForAttribute(partialMatchIndexNames,
+						attributeNames.iterator().next());
+			}
+			if (indexName == null) {
+				indexName = partialMatchIndexNames.get(0);
+			}
+		} else if (partialMatchIndexNames.size() == 1) {
+			indexName = partialMatchIndexNames.get(0);
+		}
+		return indexName;
+	}
+
+	@Nullable
+	private String getFirstDeclaredIndexNameForAttribute(List<String> indexNamesToCheck, String attributeName) {
+		for (String declaredOrderedIndexNameForAttribute : indexNamesByAttributeName.get(attributeName)) {
+			if (indexNamesToCheck.contains(declaredOrderedIndexNameForAttribute)) {
+				return declaredOrderedIndexNameForAttribute;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The leaf property a {@link Part} puts a condition on
+	 */
+	static final class LeafProperty {
+
+		private final String name;
+		private final Class<?> type;
+
+		private LeafProperty(Part part) {
+			PropertyPath leafNodePropertyPath = part.getProperty().getLeafProperty();
+			String leafNodePropertyName = leafNodePropertyPath.toDotPath();
+			if (leafNodePropertyName.contains(".")) {
+				int index = leafNodePropertyName.lastIndexOf(".");
+				leafNodePropertyName = leafNodePropertyName.substring(index);
+			}
+			this.name = leafNodePropertyName;
+			this.type = leafNodePropertyPath.getType();
+		}
+
+		String getName() {
+			return name;
+		}
+
+		Class<?> getType() {
+			return type;
+		}
+	}
+}
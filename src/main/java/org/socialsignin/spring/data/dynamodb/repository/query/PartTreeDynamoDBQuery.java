@@ -30,25 +30,27 @@ public class PartTreeDynamoDBQuery<T, ID> extends AbstractDynamoDBQuery<T, ID> i
 
 	private final Parameters<?, ?> parameters;
 	private final PartTree tree;
+	private final DynamoDBQueryPlan<T, ID> queryPlan;
 
 	public PartTreeDynamoDBQuery(DynamoDBOperations dynamoDBOperations, DynamoDBQueryMethod<T, ID> method) {
 		super(dynamoDBOperations, method);
 		this.parameters = method.getParameters();
 		this.tree = new PartTree(method.getName(), method.getEntityType());
+		this.queryPlan = new DynamoDBQueryPlan<>(method.getEntityInformation(), method.getMaxFanOut());
 	}
 
 	protected DynamoDBQueryCreator<T, ID> createQueryCreator(ParametersParameterAccessor accessor) {
 		DynamoDBQueryMethod<T, ID> queryMethod = getQueryMethod();
 		return new DynamoDBQueryCreator<>(tree, accessor, queryMethod.getEntityInformation(),
 				queryMethod.getProjectionExpression(), queryMethod.getLimitResults(), queryMethod.getConsistentReadMode(), queryMethod.getFilterExpression(),
-				queryMethod.getExpressionAttributeNames(), queryMethod.getExpressionAttributeValues(), dynamoDBOperations);
+				queryMethod.getExpressionAttributeNames(), queryMethod.getExpressionAttributeValues(), dynamoDBOperations, queryPlan);
 	}
 
 	protected DynamoDBCountQueryCreator<T, ID> createCountQueryCreator(ParametersParameterAccessor accessor,
 			boolean pageQuery) {
 		DynamoDBQueryMethod<T, ID> queryMethod = getQueryMethod();
 		return new DynamoDBCountQueryCreator<>(tree, accessor, queryMethod.getEntityInformation(), queryMethod.getFilterExpression(),
-				queryMethod.getExpressionAttributeNames(), queryMethod.getExpressionAttributeValues(), dynamoDBOperations, pageQuery);
+				queryMethod.getExpressionAttributeNames(), queryMethod.getExpressionAttributeValues(), dynamoDBOperations, pageQuery, queryPlan);
 	}
 
 	@Override
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
+import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
+import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.parser.AbstractQueryCreator;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Creates {@link ReactiveQuery reactive queries} from a {@link PartTree}. The
+ * criteria are built by the same rules as for the blocking
+ * {@link DynamoDBQueryCreator}.
+ */
+public class ReactiveDynamoDBQueryCreator<T, ID>
+		extends
+			AbstractQueryCreator<ReactiveQuery<T>, DynamoDBQueryCriteria<T, ID>> {
+
+	private final DynamoDBAsyncOperations dynamoDBAsyncOperations;
+	private final CriteriaCreator criteriaCreator;
+
+	public ReactiveDynamoDBQueryCreator(PartTree tree, ParameterAccessor parameterAccessor,
+			DynamoDBEntityInformation<T, ID> entityMetadata, Optional<String> projection, Optional<Integer> limit,
+			QueryConstants.ConsistentReadMode consistentReads, Optional<String> filterExpression,
+			ExpressionAttribute[] names, ExpressionAttribute[] values,
+			DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		this(tree, parameterAccessor, entityMetadata, projection, limit, consistentReads, filterExpression, names,
+				values, dynamoDBAsyncOperations, new DynamoDBQueryPlan<>(entityMetadata));
+	}
+
+	public ReactiveDynamoDBQueryCreator(PartTree tree, ParameterAccessor parameterAccessor,
+			DynamoDBEntityInformation<T, ID> entityMetadata, Optional<String> projection, Optional<Integer> limit,
+			QueryConstants.ConsistentReadMode consistentReads, Optional<String> filterExpression,
+			ExpressionAttribute[] names, ExpressionAttribute[] values, DynamoDBAsyncOperations dynamoDBAsyncOperations,
+			DynamoDBQueryPlan<T, ID> queryPlan) {
+		super(tree, parameterAccessor);
+		this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+		this.criteriaCreator = new CriteriaCreator(tree, parameterAccessor, entityMetadata, projection, limit,
+				consistentReads, filterExpression, names, values, queryPlan);
+	}
+
+	@Override
+	protected DynamoDBQueryCriteria<T, ID> create(Part part, Iterator<Object> iterator) {
+		return criteriaCreator.create(part, iterator);
+	}
+
+	@Override
+	protected DynamoDBQueryCriteria<T, ID> and(Part part, DynamoDBQueryCriteria<T, ID> base,
+			Iterator<Object> iterator) {
+		return criteriaCreator.and(part, base, iterator);
+	}
+
+	@Override
+	protected DynamoDBQueryCriteria<T, ID> or(DynamoDBQueryCriteria<T, ID> base,
+			DynamoDBQueryCriteria<T, ID> criteria) {
+		return criteriaCreator.or(base, criteria);
+	}
+
+	@Override
+	protected ReactiveQuery<T> complete(@Nullable DynamoDBQueryCriteria<T, ID> criteria, Sort sort) {
+		Assert.notNull(criteria, "Reactive queries require at least one criteria");
+
+		criteria.withSort(sort);
+		criteria.withProjection(criteriaCreator.projection);
+		criteria.withLimit(criteriaCreator.limit);
+		criteria.withConsistentReads(criteriaCreator.consistentReads);
+		criteria.withFilterExpression(criteriaCreator.filterExpression);
+		criteria.withExpressionAttributeNames(criteriaCreator.expressionAttributeNames);
+		criteria.withExpressionAttributeValues(criteriaCreator.expressionAttributeValues);
+		criteria.withMappedExpressionValues(criteriaCreator.mappedExpressionValues);
+		return criteria.buildReactiveQuery(dynamoDBAsyncOperations);
+	}
+
+	/**
+	 * Reuses the criteria building of the blocking query creators, but takes the
+	 * table model from the {@link DynamoDBAsyncOperations}.
+	 */
+	private class CriteriaCreator extends AbstractDynamoDBQueryCreator<T, ID, T> {
+
+		CriteriaCreator(PartTree tree, ParameterAccessor parameterAccessor,
+				DynamoDBEntityInformation<T, ID> entityMetadata, Optional<String> projection, Optional<Integer> limit,
+				QueryConstants.ConsistentReadMode consistentReads, Optional<String> filterExpression,
+				ExpressionAttribute[] names, ExpressionAttribute[] values, DynamoDBQueryPlan<T, ID> queryPlan) {
+			super(tree, parameterAccessor, entityMetadata, projection, limit, consistentReads, filterExpression, names,
+					values, null, queryPlan);
+		}
+
+		@Override
+		protected DynamoDBMapperTableModel<T> getTableModel() {
+			return dynamoDBAsyncOperations.getTableModel(entityMetadata.getJavaType());
+		}
+
+		@Override
+		protected Query<T> complete(@Nullable DynamoDBQueryCriteria<T, ID> criteria, Sort sort) {
+			throw new UnsupportedOperationException("Only used to create criteria");
+		}
+	}
+
+}
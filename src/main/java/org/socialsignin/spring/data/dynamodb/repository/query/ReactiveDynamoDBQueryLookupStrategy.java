@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.repository.query.RepositoryQuery;
+
+import java.lang.reflect.Method;
+
+/**
+ * {@link QueryLookupStrategy} for reactive repositories. As for the blocking
+ * repositories only queries derived from the method name are supported.
+ */
+public class ReactiveDynamoDBQueryLookupStrategy {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private ReactiveDynamoDBQueryLookupStrategy() {
+
+	}
+
+	private static class CreateQueryLookupStrategy implements QueryLookupStrategy {
+
+		private final DynamoDBAsyncOperations dynamoDBAsyncOperations;
+
+		public CreateQueryLookupStrategy(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+			this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+		}
+
+		@Override
+		public RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata, ProjectionFactory factory,
+				NamedQueries namedQueries) {
+			try {
+				return new ReactivePartTreeDynamoDBQuery<>(dynamoDBAsyncOperations,
+						new DynamoDBQueryMethod<>(method, metadata, factory));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(
+						String.format("Could not create query metamodel for method %s!", method.toString()), e);
+			}
+		}
+	}
+
+	/**
+	 * Creates a {@link QueryLookupStrategy} for the given
+	 * {@link DynamoDBAsyncOperations} and {@link Key}.
+	 *
+	 * @param dynamoDBAsyncOperations
+	 *            The current operation
+	 * @param key
+	 *            The key of the lookup strategy
+	 * @return The created {@link QueryLookupStrategy}
+	 */
+	public static QueryLookupStrategy create(DynamoDBAsyncOperations dynamoDBAsyncOperations, Key key) {
+
+		if (key == null) {
+			return new CreateQueryLookupStrategy(dynamoDBAsyncOperations);
+		}
+
+		switch (key) {
+			case CREATE :
+			case CREATE_IF_NOT_FOUND :
+				// Declared queries are not supported, so both end up in query creation
+				return new CreateQueryLookupStrategy(dynamoDBAsyncOperations);
+			default :
+				throw new IllegalArgumentException(String.format("Unsupported query lookup strategy %s!", key));
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.exception.BatchDeleteException;
+import org.socialsignin.spring.data.dynamodb.query.ReactiveQuery;
+import org.socialsignin.spring.data.dynamodb.utils.ExceptionHandler;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.PartTree;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Derived query whose results are emitted as {@link Flux} or {@link Mono}
+ * depending on the declared return type of the query method.
+ */
+public class ReactivePartTreeDynamoDBQuery<T, ID> implements RepositoryQuery, ExceptionHandler {
+
+	private final DynamoDBAsyncOperations dynamoDBAsyncOperations;
+	private final DynamoDBQueryMethod<T, ID> method;
+	private final Parameters<?, ?> parameters;
+	private final PartTree tree;
+	private final DynamoDBQueryPlan<T, ID> queryPlan;
+
+	public ReactivePartTreeDynamoDBQuery(DynamoDBAsyncOperations dynamoDBAsyncOperations,
+			DynamoDBQueryMethod<T, ID> method) {
+		this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+		this.method = method;
+		this.parameters = method.getParameters();
+		this.tree = new PartTree(method.getName(), method.getEntityType());
+		this.queryPlan = new DynamoDBQueryPlan<>(method.getEntityInformation());
+	}
+
+	protected ReactiveDynamoDBQueryCreator<T, ID> createQueryCreator(ParametersParameterAccessor accessor) {
+		return new ReactiveDynamoDBQueryCreator<>(tree, accessor, method.getEntityInformation(),
+				method.getProjectionExpression(), method.getLimitResults(), method.getConsistentReadMode(),
+				method.getFilterExpression(), method.getExpressionAttributeNames(),
+				method.getExpressionAttributeValues(), dynamoDBAsyncOperations, queryPlan);
+	}
+
+	protected ReactiveQuery<T> doCreateQueryWithPermissions(Object[] values) {
+		ParametersParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
+		ReactiveQuery<T> query = createQueryCreator(accessor).createQuery();
+		query.setScanEnabled(method.isScanEnabled());
+		query.setScanCountEnabled(method.isScanCountEnabled());
+		return query;
+	}
+
+	@Override
+	public Object execute(Object[] parameters) {
+		ReactiveQuery<T> query = doCreateQueryWithPermissions(parameters);
+
+		if (tree.isCountProjection()) {
+			return query.getCount();
+		} else if (tree.isExistsProjection()) {
+			return query.getResults().hasElements();
+		} else if (tree.isDelete()) {
+			return executeDelete(query);
+		}
+
+		Flux<T> results = query.getResults();
+		if (tree.isLimiting()) {
+			results = results.take(tree.getMaxResults());
+		}
+
+		if (isSingleValueQuery()) {
+			return tree.isLimiting() ? results.next() : query.getSingleResult();
+		}
+		return results;
+	}
+
+	private Object executeDelete(ReactiveQuery<T> query) {
+		Mono<List<T>> deleted = query.getResults().collectList()
+				.flatMap(entities -> Mono.fromFuture(() -> dynamoDBAsyncOperations.batchDelete(entities))
+						.flatMap(failedBatches -> failedBatches.isEmpty()
+								? Mono.just(entities)
+								: Mono.error(repackageToException(failedBatches, BatchDeleteException.class))));
+
+		return isSingleValueQuery() ? deleted.then() : deleted.flatMapIterable(entities -> entities);
+	}
+
+	private boolean isSingleValueQuery() {
+		return Mono.class.isAssignableFrom(method.getReturnType());
+	}
+
+	@Override
+	public DynamoDBQueryMethod<T, ID> getQueryMethod() {
+		return method;
+	}
+
+}
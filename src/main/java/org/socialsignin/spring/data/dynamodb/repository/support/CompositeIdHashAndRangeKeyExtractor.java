@@ -15,9 +15,8 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository.support;
 
-import org.springframework.util.ReflectionUtils;
-
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /**
  * @author Michael Lavelle
@@ -26,30 +25,30 @@ import java.lang.reflect.Method;
 public class CompositeIdHashAndRangeKeyExtractor<ID, H> implements HashAndRangeKeyExtractor<ID, H> {
 
 	private DynamoDBHashAndRangeKeyMethodExtractor<ID> hashAndRangeKeyMethodExtractor;
+	private final Function<ID, H> hashKeyAccessor;
+	private final Function<ID, Object> rangeKeyAccessor;
 
 	public CompositeIdHashAndRangeKeyExtractor(Class<ID> idClass) {
 		this.hashAndRangeKeyMethodExtractor = new DynamoDBHashAndRangeKeyMethodExtractorImpl<ID>(idClass);
+
+		Method hashKeyMethod = hashAndRangeKeyMethodExtractor.getHashKeyMethod();
+		this.hashKeyAccessor = hashKeyMethod != null
+				? PropertyAccessors.getter(hashKeyMethod)
+				: PropertyAccessors.getter(hashAndRangeKeyMethodExtractor.getHashKeyField());
+		Method rangeKeyMethod = hashAndRangeKeyMethodExtractor.getRangeKeyMethod();
+		this.rangeKeyAccessor = rangeKeyMethod != null
+				? PropertyAccessors.getter(rangeKeyMethod)
+				: PropertyAccessors.getter(hashAndRangeKeyMethodExtractor.getRangeKeyField());
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public H getHashKey(ID id) {
-		Method method = hashAndRangeKeyMethodExtractor.getHashKeyMethod();
-		if (method != null) {
-			return (H) ReflectionUtils.invokeMethod(method, id);
-		} else {
-			return (H) ReflectionUtils.getField(hashAndRangeKeyMethodExtractor.getHashKeyField(), id);
-		}
+		return hashKeyAccessor.apply(id);
 	}
 
 	@Override
 	public Object getRangeKey(ID id) {
-		Method method = hashAndRangeKeyMethodExtractor.getRangeKeyMethod();
-		if (method != null) {
-			return ReflectionUtils.invokeMethod(method, id);
-		} else {
-			return ReflectionUtils.getField(hashAndRangeKeyMethodExtractor.getRangeKeyField(), id);
-		}
+		return rangeKeyAccessor.apply(id);
 	}
 
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.socialsignin.spring.data.dynamodb.mapping.event.MappingEventSuppression;
+import org.socialsignin.spring.data.dynamodb.repository.DisableMappingEvents;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Suppresses the mapping events while repository methods annotated with
+ * {@link DisableMappingEvents} - or all methods of an annotated repository -
+ * are running.
+ */
+class DisableMappingEventsPostProcessor implements RepositoryProxyPostProcessor {
+
+	@Override
+	public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+		Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+		boolean allMethods = AnnotatedElementUtils.hasAnnotation(repositoryInterface, DisableMappingEvents.class);
+
+		if (allMethods || hasAnnotatedMethod(repositoryInterface)) {
+			factory.addAdvice(new DisableMappingEventsInterceptor(allMethods));
+		}
+	}
+
+	private static boolean hasAnnotatedMethod(Class<?> repositoryInterface) {
+		for (Method method : ReflectionUtils.getAllDeclaredMethods(repositoryInterface)) {
+			if (AnnotatedElementUtils.hasAnnotation(method, DisableMappingEvents.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class DisableMappingEventsInterceptor implements MethodInterceptor {
+
+		private final boolean allMethods;
+
+		DisableMappingEventsInterceptor(boolean allMethods) {
+			this.allMethods = allMethods;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			if (!allMethods && !AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), DisableMappingEvents.class)) {
+				return invocation.proceed();
+			}
+
+			boolean previous = MappingEventSuppression.suppress();
+			try {
+				return invocation.proceed();
+			} finally {
+				MappingEventSuppression.restore(previous);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the {@link DynamoDBEntityInformation} of a domain type between the
+ * repository factories, query methods and query criteria. Reading the hash,
+ * range and index keys of a domain type scans all its fields and methods, so
+ * it is done once per domain type and table name.
+ *
+ * The entity information is attached to the domain type itself, so it is held
+ * as long as the type is loaded and not kept beyond that.
+ */
+public final class DynamoDBEntityMetadataRegistry {
+
+	// Replaced by clear(), a ClassValue cannot forget the values of all types
+	private static volatile ClassValue<Map<String, DynamoDBEntityInformation<?, ?>>> entityInformation =
+			newEntityInformation();
+
+	private DynamoDBEntityMetadataRegistry() {
+	}
+
+	/**
+	 * @param domainType
+	 *            must be annotated with {@link DynamoDBTable}
+	 * @param dynamoDBOperations
+	 *            to resolve an overridden table name, might be {@code null}
+	 * @return The shared entity information of the domain type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, ID> DynamoDBEntityInformation<T, ID> getEntityInformation(Class<T> domainType,
+			@Nullable DynamoDBOperations dynamoDBOperations) {
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		DynamoDBTable table = domainType.getAnnotation(DynamoDBTable.class);
+		String tableName = null;
+		if (table != null) {
+			tableName = dynamoDBOperations != null
+					? dynamoDBOperations.getOverriddenTableName(domainType, table.tableName())
+					: table.tableName();
+		}
+		if (tableName == null) {
+			// Not cacheable, fails with the usual message if not annotated
+			return new DynamoDBEntityMetadataSupport<T, ID>(domainType, dynamoDBOperations).getEntityInformation();
+		}
+
+		return (DynamoDBEntityInformation<T, ID>) entityInformation.get(domainType).computeIfAbsent(tableName,
+				name -> new DynamoDBEntityMetadataSupport<T, ID>(domainType, dynamoDBOperations)
+						.getEntityInformation());
+	}
+
+	/**
+	 * Forgets all entity information, e.g. after the domain types were
+	 * redefined.
+	 */
+	public static void clear() {
+		entityInformation = newEntityInformation();
+	}
+
+	private static ClassValue<Map<String, DynamoDBEntityInformation<?, ?>>> newEntityInformation() {
+		return new ClassValue<Map<String, DynamoDBEntityInformation<?, ?>>>() {
+			@Override
+			protected Map<String, DynamoDBEntityInformation<?, ?>> computeValue(Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
+		};
+	}
+}
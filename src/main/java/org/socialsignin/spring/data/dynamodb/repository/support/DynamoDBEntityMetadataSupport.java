@@ -40,6 +40,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Michael Lavelle
@@ -55,6 +56,11 @@ public class DynamoDBEntityMetadataSupport<T, ID> implements DynamoDBHashKeyExtr
 
 	private String dynamoDBTableName;
 	private Map<String, String[]> globalSecondaryIndexNames = new HashMap<>();
+	private final Map<String, Optional<String>> overriddenAttributeNames = new ConcurrentHashMap<>();
+	// Like the DynamoDBMapper, one marshaller and converter instance per property
+	// is shared by all threads
+	private final Map<String, Optional<DynamoDBMarshaller<?>>> marshallers = new ConcurrentHashMap<>();
+	private final Map<String, Optional<DynamoDBTypeConverter<?, ?>>> typeConverters = new ConcurrentHashMap<>();
 
 	@Override
 	public String getDynamoDBTableName() {
@@ -240,6 +246,10 @@ public class DynamoDBEntityMetadataSupport<T, ID> implements DynamoDBHashKeyExtr
 
 	@Override
 	public Optional<String> getOverriddenAttributeName(final String propertyName) {
+		return overriddenAttributeNames.computeIfAbsent(propertyName, this::findOverriddenAttributeName);
+	}
+
+	private Optional<String> findOverriddenAttributeName(final String propertyName) {
 
 		Method method = findMethod(propertyName);
 		if (method != null) {
@@ -301,8 +311,14 @@ public class DynamoDBEntityMetadataSupport<T, ID> implements DynamoDBHashKeyExtr
 	}
 
 	@Override
-	@SuppressWarnings("deprecation")
+	@SuppressWarnings({"deprecation", "unchecked"})
 	public <V extends DynamoDBMarshaller<?>> V getMarshallerForProperty(final String propertyName) {
+		return (V) marshallers.computeIfAbsent(propertyName, name -> Optional.ofNullable(createMarshaller(name)))
+				.orElse(null);
+	}
+
+	@SuppressWarnings("deprecation")
+	private <V extends DynamoDBMarshaller<?>> V createMarshaller(final String propertyName) {
 		// TODO #28
 		DynamoDBMarshalling annotation = null;
 
@@ -334,6 +350,11 @@ public class DynamoDBEntityMetadataSupport<T, ID> implements DynamoDBHashKeyExtr
 
 	@Override
 	public DynamoDBTypeConverter<?, ?> getTypeConverterForProperty(final String propertyName) {
+		return typeConverters.computeIfAbsent(propertyName, name -> Optional.ofNullable(createTypeConverter(name)))
+				.orElse(null);
+	}
+
+	private DynamoDBTypeConverter<?, ?> createTypeConverter(final String propertyName) {
 		DynamoDBTypeConverted annotation = null;
 
 		Method method = findMethod(propertyName);
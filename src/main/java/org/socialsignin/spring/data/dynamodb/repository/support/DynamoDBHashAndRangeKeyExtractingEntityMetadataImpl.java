@@ -22,10 +22,14 @@ import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * @author Michael Lavelle
@@ -39,6 +43,10 @@ public class DynamoDBHashAndRangeKeyExtractingEntityMetadataImpl<T, ID> extends
 
 	private Method hashKeySetterMethod;
 	private Field hashKeyField;
+	private volatile Supplier<T> instantiator;
+	private volatile BiConsumer<T, Object> hashKeySetter;
+	private volatile Set<String> indexRangeKeyPropertyNames;
+	private final Map<String, Boolean> compositeHashAndRangeKeyProperties = new ConcurrentHashMap<>();
 
 	public DynamoDBHashAndRangeKeyExtractingEntityMetadataImpl(final Class<T> domainType) {
 		super(domainType);
@@ -78,6 +86,15 @@ public class DynamoDBHashAndRangeKeyExtractingEntityMetadataImpl<T, ID> extends
 
 	@Override
 	public Set<String> getIndexRangeKeyPropertyNames() {
+		Set<String> propertyNames = indexRangeKeyPropertyNames;
+		if (propertyNames == null) {
+			propertyNames = Collections.unmodifiableSet(findIndexRangeKeyPropertyNames());
+			indexRangeKeyPropertyNames = propertyNames;
+		}
+		return propertyNames;
+	}
+
+	private Set<String> findIndexRangeKeyPropertyNames() {
 		final Set<String> propertyNames = new HashSet<>();
 		ReflectionUtils.doWithMethods(getJavaType(), method -> {
 			if (method.getAnnotation(DynamoDBIndexRangeKey.class) != null) {
@@ -104,25 +121,32 @@ public class DynamoDBHashAndRangeKeyExtractingEntityMetadataImpl<T, ID> extends
 	}
 
 	public T getHashKeyPropotypeEntityForHashKey(Object hashKey) {
-
-		try {
-			T entity = getJavaType().getDeclaredConstructor().newInstance();
-			if (hashKeySetterMethod != null) {
-				ReflectionUtils.invokeMethod(hashKeySetterMethod, entity, hashKey);
-			} else {
-				ReflectionUtils.setField(hashKeyField, entity, hashKey);
+		Supplier<T> instantiator = this.instantiator;
+		if (instantiator == null) {
+			try {
+				instantiator = PropertyAccessors.instantiator(getJavaType().getDeclaredConstructor());
+			} catch (NoSuchMethodException e) {
+				throw new RuntimeException(e);
 			}
-
-			return entity;
-		} catch (InstantiationException | IllegalAccessException | NoSuchMethodException
-				| InvocationTargetException e) {
-			throw new RuntimeException(e);
+			this.instantiator = instantiator;
 		}
+		BiConsumer<T, Object> hashKeySetter = this.hashKeySetter;
+		if (hashKeySetter == null) {
+			hashKeySetter = hashKeySetterMethod != null
+					? PropertyAccessors.setter(hashKeySetterMethod)
+					: PropertyAccessors.setter(hashKeyField);
+			this.hashKeySetter = hashKeySetter;
+		}
+
+		T entity = instantiator.get();
+		hashKeySetter.accept(entity, hashKey);
+		return entity;
 	}
 
 	@Override
 	public boolean isCompositeHashAndRangeKeyProperty(String propertyName) {
-		return isFieldAnnotatedWith(propertyName, Id.class);
+		return compositeHashAndRangeKeyProperties.computeIfAbsent(propertyName,
+				name -> isFieldAnnotatedWith(name, Id.class));
 	}
 
 }
@@ -19,8 +19,10 @@ import com.amazonaws.util.VersionInfoUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.repository.BatchFindById;
 import org.socialsignin.spring.data.dynamodb.repository.DynamoDBCrudRepository;
 import org.socialsignin.spring.data.dynamodb.repository.query.DynamoDBQueryLookupStrategy;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -95,13 +97,14 @@ public class DynamoDBRepositoryFactory extends RepositoryFactorySupport {
 
 	public DynamoDBRepositoryFactory(DynamoDBOperations dynamoDBOperations) {
 		this.dynamoDBOperations = dynamoDBOperations;
+		addRepositoryProxyPostProcessor(new DisableMappingEventsPostProcessor());
+		addRepositoryProxyPostProcessor(new RepositoryMetricsPostProcessor(dynamoDBOperations));
 	}
 
 	@Override
 	public <T, ID> DynamoDBEntityInformation<T, ID> getEntityInformation(final Class<T> domainClass) {
 
-		final DynamoDBEntityMetadataSupport<T, ID> metadata = new DynamoDBEntityMetadataSupport<>(domainClass, this.dynamoDBOperations);
-		return metadata.getEntityInformation();
+		return DynamoDBEntityMetadataRegistry.getEntityInformation(domainClass, this.dynamoDBOperations);
 	}
 
 	@Override
@@ -125,8 +128,16 @@ public class DynamoDBRepositoryFactory extends RepositoryFactorySupport {
 	 */
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	protected <T, ID> DynamoDBCrudRepository<?, ?> getDynamoDBRepository(RepositoryMetadata metadata) {
-		return new SimpleDynamoDBPagingAndSortingRepository(getEntityInformation(metadata.getDomainType()),
-				dynamoDBOperations, getEnableScanPermissions(metadata));
+		SimpleDynamoDBPagingAndSortingRepository repository = new SimpleDynamoDBPagingAndSortingRepository(
+				getEntityInformation(metadata.getDomainType()), dynamoDBOperations,
+				getEnableScanPermissions(metadata));
+
+		BatchFindById batchFindById = AnnotatedElementUtils.findMergedAnnotation(metadata.getRepositoryInterface(),
+				BatchFindById.class);
+		if (batchFindById != null) {
+			repository.enableFindByIdBatching(batchFindById.window(), batchFindById.maxBatchSize());
+		}
+		return repository;
 	}
 
 	protected EnableScanPermissions getEnableScanPermissions(RepositoryMetadata metadata) {
@@ -38,9 +38,15 @@ public class EnableScanAnnotationPermissions implements EnableScanPermissions {
 	private boolean countUnpaginatedScanEnabled = false;
 	private boolean deleteAllUnpaginatedScanEnabled = false;
 
+	private int findAllUnpaginatedScanSegments = 1;
+	private int deleteAllUnpaginatedScanSegments = 1;
+
 	public EnableScanAnnotationPermissions(Class<?> repositoryInterface) {
 		// Check to see if global EnableScan is declared at interface level
 		if (repositoryInterface.isAnnotationPresent(EnableScan.class)) {
+			int segments = repositoryInterface.getAnnotation(EnableScan.class).segments();
+			this.findAllUnpaginatedScanSegments = segments;
+			this.deleteAllUnpaginatedScanSegments = segments;
 			this.findAllUnpaginatedScanEnabled = true;
 			this.countUnpaginatedScanEnabled = true;
 			this.deleteAllUnpaginatedScanEnabled = true;
@@ -58,11 +64,13 @@ public class EnableScanAnnotationPermissions implements EnableScanPermissions {
 
 				if (method.getName().equals("findAll")) {
 					findAllUnpaginatedScanEnabled = true;
+					findAllUnpaginatedScanSegments = method.getAnnotation(EnableScan.class).segments();
 					continue;
 				}
 
 				if (method.getName().equals("deleteAll")) {
 					deleteAllUnpaginatedScanEnabled = true;
+					deleteAllUnpaginatedScanSegments = method.getAnnotation(EnableScan.class).segments();
 					continue;
 				}
 
@@ -135,4 +143,14 @@ public class EnableScanAnnotationPermissions implements EnableScanPermissions {
 		return findAllPaginatedScanEnabled;
 	}
 
+	@Override
+	public int getFindAllUnpaginatedScanSegments() {
+		return findAllUnpaginatedScanSegments;
+	}
+
+	@Override
+	public int getDeleteAllUnpaginatedScanSegments() {
+		return deleteAllUnpaginatedScanSegments;
+	}
+
 }
@@ -31,4 +31,20 @@ public interface EnableScanPermissions {
 
 	boolean isCountUnpaginatedScanEnabled();
 
+	/**
+	 * @return Number of segments the unpaginated findAll() scan is split into
+	 * @see org.socialsignin.spring.data.dynamodb.repository.EnableScan#segments()
+	 */
+	default int getFindAllUnpaginatedScanSegments() {
+		return 1;
+	}
+
+	/**
+	 * @return Number of segments the unpaginated deleteAll() scan is split into
+	 * @see org.socialsignin.spring.data.dynamodb.repository.EnableScan#segments()
+	 */
+	default int getDeleteAllUnpaginatedScanSegments() {
+		return 1;
+	}
+
 }
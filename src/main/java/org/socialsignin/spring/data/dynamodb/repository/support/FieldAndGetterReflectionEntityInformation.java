@@ -23,6 +23,7 @@ import org.springframework.util.ReflectionUtils;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /**
  * {@link org.springframework.data.repository.core.EntityInformation}
@@ -36,6 +37,7 @@ public class FieldAndGetterReflectionEntityInformation<T, ID> extends AbstractEn
 
 	protected Method method;
 	private Field field;
+	private final Function<T, ID> idAccessor;
 
 	/**
 	 * Creates a new {@link FieldAndGetterReflectionEntityInformation} inspecting
@@ -76,9 +78,10 @@ public class FieldAndGetterReflectionEntityInformation<T, ID> extends AbstractEn
 
 		if (method != null) {
 			ReflectionUtils.makeAccessible(method);
-		}
-		if (field != null) {
+			this.idAccessor = PropertyAccessors.getter(method);
+		} else {
 			ReflectionUtils.makeAccessible(field);
+			this.idAccessor = PropertyAccessors.getter(field);
 		}
 	}
 
@@ -89,14 +92,8 @@ public class FieldAndGetterReflectionEntityInformation<T, ID> extends AbstractEn
 	 * .lang.Object)
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	public ID getId(T entity) {
-
-		if (method != null) {
-			return entity == null ? null : (ID) ReflectionUtils.invokeMethod(method, entity);
-		} else {
-			return entity == null ? null : (ID) ReflectionUtils.getField(field, entity);
-		}
+		return entity == null ? null : idAccessor.apply(entity);
 	}
 
 	/*
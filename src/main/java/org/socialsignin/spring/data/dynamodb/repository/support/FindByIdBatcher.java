@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Loads the ids requested within a window with a single batch load, see
+ * {@link org.socialsignin.spring.data.dynamodb.repository.BatchFindById}.
+ */
+class FindByIdBatcher<T, ID> {
+
+	/**
+	 * Number of batch loads running concurrently, further batches wait for one
+	 * of them to finish
+	 */
+	static final int DISPATCH_CONCURRENCY = 16;
+
+	// Only ends the windows, the batches are loaded by the DISPATCHER
+	private static final ScheduledThreadPoolExecutor SCHEDULER;
+	private static final ThreadPoolExecutor DISPATCHER;
+
+	static {
+		CustomizableThreadFactory timerThreadFactory = new CustomizableThreadFactory("dynamodb-find-by-id-timer-");
+		timerThreadFactory.setDaemon(true);
+		// Idle threads time out, so there is nothing to shut down
+		SCHEDULER = new ScheduledThreadPoolExecutor(1, timerThreadFactory);
+		SCHEDULER.setKeepAliveTime(60L, TimeUnit.SECONDS);
+		SCHEDULER.allowCoreThreadTimeOut(true);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dynamodb-find-by-id-");
+		threadFactory.setDaemon(true);
+		DISPATCHER = new ThreadPoolExecutor(DISPATCH_CONCURRENCY, DISPATCH_CONCURRENCY, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), threadFactory);
+		DISPATCHER.allowCoreThreadTimeOut(true);
+	}
+
+	private final Function<List<ID>, List<T>> batchLoader;
+	private final Function<T, ID> idExtractor;
+	private final UnaryOperator<T> copy;
+	private final long windowMillis;
+	private final int maxBatchSize;
+	// Guarded by this
+	private Map<ID, List<CompletableFuture<Optional<T>>>> pending = new LinkedHashMap<>();
+
+	/**
+	 * @param batchLoader
+	 *            Loads the entities of the given ids
+	 * @param idExtractor
+	 *            Determines the id of a loaded entity
+	 * @param copy
+	 *            Copies a loaded entity for every further caller of the same id,
+	 *            so callers never share an instance
+	 */
+	FindByIdBatcher(Function<List<ID>, List<T>> batchLoader, Function<T, ID> idExtractor, UnaryOperator<T> copy,
+			long windowMillis, int maxBatchSize) {
+		Assert.isTrue(windowMillis > 0, "window must be positive!");
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive!");
+		this.batchLoader = batchLoader;
+		this.idExtractor = idExtractor;
+		this.copy = copy;
+		this.windowMillis = windowMillis;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	CompletableFuture<Optional<T>> load(ID id) {
+		CompletableFuture<Optional<T>> result = new CompletableFuture<>();
+		Map<ID, List<CompletableFuture<Optional<T>>>> fullBatch = null;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				Map<ID, List<CompletableFuture<Optional<T>>>> batch = pending;
+				Callable<Void> dispatchIfPending = RepositoryInvocation.propagate(() -> {
+					dispatchIfPending(batch);
+					return null;
+				});
+				SCHEDULER.schedule(() -> DISPATCHER.submit(dispatchIfPending), windowMillis, TimeUnit.MILLISECONDS);
+			}
+			pending.computeIfAbsent(id, it -> new ArrayList<>(1)).add(result);
+			if (pending.size() >= maxBatchSize) {
+				fullBatch = pending;
+				pending = new LinkedHashMap<>();
+			}
+		}
+
+		if (fullBatch != null) {
+			Map<ID, List<CompletableFuture<Optional<T>>>> batch = fullBatch;
+			DISPATCHER.submit(RepositoryInvocation.propagate(() -> {
+				dispatch(batch);
+				return null;
+			}));
+		}
+		return result;
+	}
+
+	/**
+	 * @return The result of the future - exceptions the load failed with are
+	 *         rethrown unwrapped
+	 */
+	static <V> V await(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private void dispatchIfPending(Map<ID, List<CompletableFuture<Optional<T>>>> batch) {
+		synchronized (this) {
+			if (pending != batch) {
+				// Already dispatched as it got full
+				return;
+			}
+			pending = new LinkedHashMap<>();
+		}
+		dispatch(batch);
+	}
+
+	private void dispatch(Map<ID, List<CompletableFuture<Optional<T>>>> batch) {
+		Map<ID, T> loaded = new HashMap<>();
+		try {
+			for (T entity : batchLoader.apply(new ArrayList<>(batch.keySet()))) {
+				loaded.put(idExtractor.apply(entity), entity);
+			}
+		} catch (RuntimeException e) {
+			batch.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+			return;
+		}
+		batch.forEach((id, futures) -> {
+			T entity = loaded.get(id);
+			for (int i = 0; i < futures.size(); i++) {
+				futures.get(i).complete(Optional.ofNullable(i == 0 || entity == null ? entity : copy.apply(entity)));
+			}
+		});
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates accessors for getters, setters, fields and constructors that are
+ * invoked like regular methods instead of through reflection. Getters, setters
+ * and constructors are bound via the {@link LambdaMetafactory}, fields via a
+ * {@link MethodHandle}. If the member cannot be bound (e.g. because it is not
+ * accessible from this module), the accessor falls back to a
+ * {@link MethodHandle} or to reflection.
+ *
+ * The accessors are meant to be created once per type and reused.
+ */
+final class PropertyAccessors {
+
+	private PropertyAccessors() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T, R> Function<T, R> getter(Method method) {
+		ReflectionUtils.makeAccessible(method);
+		try {
+			MethodHandles.Lookup lookup = lookup(method.getDeclaringClass());
+			MethodHandle handle = lookup.unreflect(method);
+			try {
+				return (Function<T, R>) LambdaMetafactory.metafactory(lookup, "apply",
+						MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+						handle, handle.type().wrap()).getTarget().invokeExact();
+			} catch (Throwable ex) {
+				return getter(handle);
+			}
+		} catch (IllegalAccessException ex) {
+			return target -> (R) ReflectionUtils.invokeMethod(method, target);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T, R> Function<T, R> getter(Field field) {
+		ReflectionUtils.makeAccessible(field);
+		try {
+			return getter(lookup(field.getDeclaringClass()).unreflectGetter(field));
+		} catch (IllegalAccessException ex) {
+			return target -> (R) ReflectionUtils.getField(field, target);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T, V> BiConsumer<T, V> setter(Method method) {
+		ReflectionUtils.makeAccessible(method);
+		try {
+			MethodHandles.Lookup lookup = lookup(method.getDeclaringClass());
+			MethodHandle handle = lookup.unreflect(method);
+			try {
+				return (BiConsumer<T, V>) LambdaMetafactory.metafactory(lookup, "accept",
+						MethodType.methodType(BiConsumer.class),
+						MethodType.methodType(void.class, Object.class, Object.class), handle,
+						handle.type().wrap().changeReturnType(void.class)).getTarget().invokeExact();
+			} catch (Throwable ex) {
+				return setter(handle);
+			}
+		} catch (IllegalAccessException ex) {
+			return (target, value) -> ReflectionUtils.invokeMethod(method, target, value);
+		}
+	}
+
+	static <T, V> BiConsumer<T, V> setter(Field field) {
+		ReflectionUtils.makeAccessible(field);
+		try {
+			return setter(lookup(field.getDeclaringClass()).unreflectSetter(field));
+		} catch (IllegalAccessException ex) {
+			return (target, value) -> ReflectionUtils.setField(field, target, value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> Supplier<T> instantiator(Constructor<T> constructor) {
+		ReflectionUtils.makeAccessible(constructor);
+		try {
+			MethodHandles.Lookup lookup = lookup(constructor.getDeclaringClass());
+			MethodHandle handle = lookup.unreflectConstructor(constructor);
+			try {
+				return (Supplier<T>) LambdaMetafactory.metafactory(lookup, "get",
+						MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+						handle.type()).getTarget().invokeExact();
+			} catch (Throwable ex) {
+				MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+				return () -> {
+					try {
+						return (T) generic.invokeExact();
+					} catch (Throwable t) {
+						ReflectionUtils.rethrowRuntimeException(t);
+						return null;
+					}
+				};
+			}
+		} catch (IllegalAccessException ex) {
+			return () -> {
+				try {
+					return constructor.newInstance();
+				} catch (Exception e) {
+					ReflectionUtils.handleReflectionException(e);
+					return null;
+				}
+			};
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T, R> Function<T, R> getter(MethodHandle handle) {
+		MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+		return target -> {
+			try {
+				return (R) generic.invokeExact((Object) target);
+			} catch (Throwable ex) {
+				ReflectionUtils.rethrowRuntimeException(ex);
+				return null;
+			}
+		};
+	}
+
+	private static <T, V> BiConsumer<T, V> setter(MethodHandle handle) {
+		MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		return (target, value) -> {
+			try {
+				generic.invokeExact((Object) target, (Object) value);
+			} catch (Throwable ex) {
+				ReflectionUtils.rethrowRuntimeException(ex);
+			}
+		};
+	}
+
+	private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+		return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.repository.query.ReactiveDynamoDBQueryLookupStrategy;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.ReactiveRepositoryFactorySupport;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.util.Assert;
+
+import java.util.Optional;
+
+/**
+ * Factory to create {@link SimpleReactiveDynamoDBRepository} instances backed
+ * by a {@link DynamoDBAsyncOperations}.
+ */
+public class ReactiveDynamoDBRepositoryFactory extends ReactiveRepositoryFactorySupport {
+
+	private final DynamoDBAsyncOperations dynamoDBAsyncOperations;
+
+	public ReactiveDynamoDBRepositoryFactory(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		Assert.notNull(dynamoDBAsyncOperations, "dynamoDBAsyncOperations must not be null");
+		this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+	}
+
+	@Override
+	public <T, ID> DynamoDBEntityInformation<T, ID> getEntityInformation(final Class<T> domainClass) {
+
+		return DynamoDBEntityMetadataRegistry.getEntityInformation(domainClass, null);
+	}
+
+	@Override
+	protected Optional<QueryLookupStrategy> getQueryLookupStrategy(Key key,
+			QueryMethodEvaluationContextProvider evaluationContextProvider) {
+		return Optional.of(ReactiveDynamoDBQueryLookupStrategy.create(dynamoDBAsyncOperations, key));
+	}
+
+	protected EnableScanPermissions getEnableScanPermissions(RepositoryMetadata metadata) {
+		return new EnableScanAnnotationPermissions(metadata.getRepositoryInterface());
+	}
+
+	@Override
+	protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+		return SimpleReactiveDynamoDBRepository.class;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	protected Object getTargetRepository(RepositoryInformation metadata) {
+		return new SimpleReactiveDynamoDBRepository(getEntityInformation(metadata.getDomainType()),
+				dynamoDBAsyncOperations, getEnableScanPermissions(metadata));
+	}
+
+}
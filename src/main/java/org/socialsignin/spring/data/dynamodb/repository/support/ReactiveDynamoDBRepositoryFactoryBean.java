@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.mapping.DynamoDBMappingContext;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+
+import java.io.Serializable;
+
+/**
+ * Special adapter for Springs
+ * {@link org.springframework.beans.factory.FactoryBean} interface to allow easy
+ * setup of reactive repository factories via Spring configuration.
+ *
+ * @param <T>
+ *            the type of the repository
+ */
+public class ReactiveDynamoDBRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable>
+		extends
+			RepositoryFactoryBeanSupport<T, S, ID> {
+
+	private DynamoDBAsyncOperations dynamoDBAsyncOperations;
+
+	public ReactiveDynamoDBRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+		super(repositoryInterface);
+	}
+
+	@Override
+	protected RepositoryFactorySupport createRepositoryFactory() {
+		assert dynamoDBAsyncOperations != null;
+		return new ReactiveDynamoDBRepositoryFactory(dynamoDBAsyncOperations);
+	}
+
+	public void setDynamoDBAsyncOperations(DynamoDBAsyncOperations dynamoDBAsyncOperations) {
+		this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+	}
+
+	public void setDynamoDBMappingContext(DynamoDBMappingContext dynamoDBMappingContext) {
+		setMappingContext(dynamoDBMappingContext);
+	}
+}
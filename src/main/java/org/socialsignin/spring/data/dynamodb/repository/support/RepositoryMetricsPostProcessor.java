@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics.Sample;
+import org.socialsignin.spring.data.dynamodb.metrics.RepositoryInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+/**
+ * Exposes every repository method as the current {@link RepositoryInvocation}
+ * and times it with the {@link DynamoDBOperations#getMetrics() metrics} of the
+ * {@link DynamoDBOperations} - as long as they are not
+ * {@link DynamoDBMetrics#NOOP}.
+ */
+class RepositoryMetricsPostProcessor implements RepositoryProxyPostProcessor {
+
+	private final DynamoDBOperations dynamoDBOperations;
+
+	RepositoryMetricsPostProcessor(DynamoDBOperations dynamoDBOperations) {
+		this.dynamoDBOperations = dynamoDBOperations;
+	}
+
+	@Override
+	public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+		if (dynamoDBOperations != null) {
+			factory.addAdvice(
+					new RepositoryMetricsInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()));
+		}
+	}
+
+	private class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+		private final String repository;
+
+		RepositoryMetricsInterceptor(String repository) {
+			this.repository = repository;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			String method = invocation.getMethod().getName();
+			RepositoryInvocation previous = RepositoryInvocation.enter(new RepositoryInvocation(repository, method));
+			try {
+				// Looked up for each call as the metrics might be set after the repository got
+				// created
+				DynamoDBMetrics metrics = dynamoDBOperations.getMetrics();
+				if (metrics == null || metrics == DynamoDBMetrics.NOOP) {
+					return invocation.proceed();
+				}
+
+				Sample sample = metrics.startRepositoryMethod(repository, method);
+				try {
+					Object result = invocation.proceed();
+					sample.stop(null);
+					return result;
+				} catch (Throwable e) {
+					sample.stop(e);
+					throw e;
+				}
+			} finally {
+				RepositoryInvocation.restore(previous);
+			}
+		}
+	}
+
+}
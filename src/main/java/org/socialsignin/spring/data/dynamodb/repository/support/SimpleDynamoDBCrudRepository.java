@@ -16,8 +16,10 @@
 package org.socialsignin.spring.data.dynamodb.repository.support;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import org.socialsignin.spring.data.dynamodb.core.BatchLoadOptions;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
 import org.socialsignin.spring.data.dynamodb.repository.DynamoDBCrudRepository;
@@ -27,10 +29,9 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -58,6 +59,8 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 
 	protected DynamoDBOperations dynamoDBOperations;
 
+	private FindByIdBatcher<T, ID> findByIdBatcher;
+
 	public SimpleDynamoDBCrudRepository(DynamoDBEntityInformation<T, ID> entityInformation,
 			DynamoDBOperations dynamoDBOperations, EnableScanPermissions enableScanPermissions) {
 		Assert.notNull(entityInformation, "entityInformation must not be null");
@@ -69,11 +72,50 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 		this.enableScanPermissions = enableScanPermissions;
 	}
 
+	/**
+	 * Loads the ids requested by {@link #findById(Object)} and
+	 * {@link #findByIdAsync(Object)} within the window in a single batch.
+	 *
+	 * @param windowMillis
+	 *            How long the first id of a batch waits for further ids
+	 * @param maxBatchSize
+	 *            The number of ids that are loaded without waiting for the window
+	 *            to end
+	 * @see org.socialsignin.spring.data.dynamodb.repository.BatchFindById
+	 */
+	public void enableFindByIdBatching(long windowMillis, int maxBatchSize) {
+		this.findByIdBatcher = new FindByIdBatcher<>(ids -> findAllById(ids, BatchLoadOptions.defaults()),
+				entityInformation::getId, this::copy, windowMillis, maxBatchSize);
+	}
+
+	private T copy(T entity) {
+		DynamoDBMapperTableModel<T> tableModel = dynamoDBOperations.getTableModel(domainType);
+		return tableModel.unconvert(tableModel.convert(entity));
+	}
+
 	@Override
 	public Optional<T> findById(ID id) {
 
 		Assert.notNull(id, "The given id must not be null!");
 
+		if (findByIdBatcher != null) {
+			return FindByIdBatcher.await(findByIdBatcher.load(id));
+		}
+		return Optional.ofNullable(load(id));
+	}
+
+	@Override
+	public CompletableFuture<Optional<T>> findByIdAsync(ID id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+
+		if (findByIdBatcher != null) {
+			return findByIdBatcher.load(id);
+		}
+		return CompletableFuture.completedFuture(Optional.ofNullable(load(id)));
+	}
+
+	private T load(ID id) {
 		T result;
 		if (entityInformation.isRangeKeyAware()) {
 			result = dynamoDBOperations.load(domainType, entityInformation.getHashKey(id),
@@ -81,14 +123,19 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 		} else {
 			result = dynamoDBOperations.load(domainType, entityInformation.getHashKey(id));
 		}
-
-		return Optional.ofNullable(result);
+		return result;
 	}
 
 	@Override
 	public List<T> findAllById(Iterable<ID> ids) {
+		return findAllById(ids, BatchLoadOptions.defaults());
+	}
+
+	@Override
+	public List<T> findAllById(Iterable<ID> ids, BatchLoadOptions options) {
 
 		Assert.notNull(ids, "The given ids must not be null!");
+		Assert.notNull(options, "The given options must not be null!");
 
 		// Works only with non-parallel streams!
 		AtomicInteger idx = new AtomicInteger();
@@ -104,9 +151,7 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 			}
 		}).collect(Collectors.toList());
 
-		Map<Class<?>, List<KeyPair>> keyPairsMap = Collections.<Class<?>, List<KeyPair>>singletonMap(domainType,
-				keyPairs);
-		return dynamoDBOperations.batchLoad(keyPairsMap);
+		return dynamoDBOperations.batchLoad(domainType, keyPairs, options);
 	}
 
 	@Override
@@ -142,7 +187,11 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 	public boolean existsById(ID id) {
 
 		Assert.notNull(id, "The given id must not be null!");
-		return findById(id).isPresent();
+		if (entityInformation.isRangeKeyAware()) {
+			return dynamoDBOperations.exists(domainType, entityInformation.getHashKey(id),
+					entityInformation.getRangeKey(id));
+		}
+		return dynamoDBOperations.exists(domainType, entityInformation.getHashKey(id), null);
 	}
 
 	void assertScanEnabled(boolean scanEnabled, String methodName) {
@@ -156,7 +205,14 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 	public List<T> findAll() {
 
 		assertScanEnabled(enableScanPermissions.isFindAllUnpaginatedScanEnabled(), "findAll");
+		return scanAll(enableScanPermissions.getFindAllUnpaginatedScanSegments());
+	}
+
+	private List<T> scanAll(int segments) {
 		DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+		if (segments > 1) {
+			return dynamoDBOperations.parallelScan(domainType, scanExpression, segments);
+		}
 		return dynamoDBOperations.scan(domainType, scanExpression);
 	}
 
@@ -205,7 +261,7 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 	public void deleteAll() {
 
 		assertScanEnabled(enableScanPermissions.isDeleteAllUnpaginatedScanEnabled(), "deleteAll");
-		dynamoDBOperations.batchDelete(findAll());
+		dynamoDBOperations.batchDelete(scanAll(enableScanPermissions.getDeleteAllUnpaginatedScanSegments()));
 	}
 
 	@NonNull
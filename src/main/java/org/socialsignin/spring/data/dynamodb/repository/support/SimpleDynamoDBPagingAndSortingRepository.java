@@ -16,8 +16,11 @@
 package org.socialsignin.spring.data.dynamodb.repository.support;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import org.socialsignin.spring.data.dynamodb.core.ConcurrentCount;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
 import org.socialsignin.spring.data.dynamodb.repository.DynamoDBPagingAndSortingRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -72,12 +75,19 @@ public class SimpleDynamoDBPagingAndSortingRepository<T, ID> extends SimpleDynam
 	public Page<T> findAll(Pageable pageable) {
 
 		ensureNoSort(pageable);
+		assertScanEnabled(enableScanPermissions.isFindAllPaginatedScanEnabled(), "findAll(Pageable pageable)");
+		assertScanCountEnabled(enableScanPermissions.isFindAllUnpaginatedScanCountEnabled(),
+				"findAll(Pageable pageable)");
+
+		// Count the items while the page is scanned
+		ConcurrentCount totalCount = ConcurrentCount.start(dynamoDBOperations,
+				() -> (long) dynamoDBOperations.count(domainType, new DynamoDBScanExpression()));
 
 		DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
 		// Scan to the end of the page after the requested page
 		long scanTo = pageable.getOffset() + (2L * pageable.getPageSize());
 		scanExpression.setLimit((int) Math.min(scanTo, Integer.MAX_VALUE));
-		PaginatedScanList<T> paginatedScanList = dynamoDBOperations.scan(domainType, scanExpression);
+		List<T> paginatedScanList = dynamoDBOperations.scan(domainType, scanExpression);
 		Iterator<T> iterator = paginatedScanList.iterator();
 		if (pageable.getOffset() > 0) {
 			long processedCount = scanThroughResults(iterator, pageable.getOffset());
@@ -87,14 +97,22 @@ public class SimpleDynamoDBPagingAndSortingRepository<T, ID> extends SimpleDynam
 		// Scan ahead to retrieve the next page count
 		List<T> results = readPageOfResults(iterator, pageable.getPageSize());
 
-		assertScanEnabled(enableScanPermissions.isFindAllPaginatedScanEnabled(), "findAll(Pageable pageable)");
-		assertScanCountEnabled(enableScanPermissions.isFindAllUnpaginatedScanCountEnabled(),
-				"findAll(Pageable pageable)");
+		return new PageImpl<>(results, pageable, totalCount.get());
 
-		int totalCount = dynamoDBOperations.count(domainType, scanExpression);
+	}
 
-		return new PageImpl<>(results, pageable, totalCount);
+	@Override
+	public DynamoDBWindow<T> findAll(DynamoDBScrollPosition position, int limit) {
+		Assert.notNull(position, "position must not be null!");
+		Assert.isTrue(limit > 0, "limit must be positive!");
+		assertScanEnabled(enableScanPermissions.isFindAllPaginatedScanEnabled(),
+				"findAll(DynamoDBScrollPosition position, int limit)");
 
+		DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+		scanExpression.setExclusiveStartKey(position.getExclusiveStartKey());
+		scanExpression.setLimit(limit);
+		ScanResultPage<T> page = dynamoDBOperations.scanPage(domainType, scanExpression);
+		return new DynamoDBWindow<>(page.getResults(), DynamoDBScrollPosition.of(page.getLastEvaluatedKey()));
 	}
 
 	private long scanThroughResults(Iterator<T> paginatedScanListIterator, long resultsToScan) {
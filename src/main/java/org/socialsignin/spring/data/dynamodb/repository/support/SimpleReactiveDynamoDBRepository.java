@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import org.reactivestreams.Publisher;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.exception.BatchDeleteException;
+import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.socialsignin.spring.data.dynamodb.repository.ReactiveDynamoDBRepository;
+import org.socialsignin.spring.data.dynamodb.utils.ExceptionHandler;
+import org.socialsignin.spring.data.dynamodb.utils.SortHandler;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Default implementation of the
+ * {@link org.springframework.data.repository.reactive.ReactiveCrudRepository}
+ * interface on top of {@link DynamoDBAsyncOperations}.
+ *
+ * Due to DynamoDB limitations, sorting is not supported for find-all operations
+ *
+ * @param <T>
+ *            the type of the entity to handle
+ * @param <ID>
+ *            the type of the entity's identifier
+ */
+public class SimpleReactiveDynamoDBRepository<T, ID>
+		implements
+			ReactiveDynamoDBRepository<T, ID>,
+			SortHandler,
+			ExceptionHandler {
+
+	static final int MAX_BATCH_WRITE_SIZE = 25;
+	static final int MAX_BATCH_GET_SIZE = 100;
+
+	protected DynamoDBEntityInformation<T, ID> entityInformation;
+
+	protected Class<T> domainType;
+
+	protected EnableScanPermissions enableScanPermissions;
+
+	protected DynamoDBAsyncOperations dynamoDBAsyncOperations;
+
+	public SimpleReactiveDynamoDBRepository(DynamoDBEntityInformation<T, ID> entityInformation,
+			DynamoDBAsyncOperations dynamoDBAsyncOperations, EnableScanPermissions enableScanPermissions) {
+		Assert.notNull(entityInformation, "entityInformation must not be null");
+		Assert.notNull(dynamoDBAsyncOperations, "dynamoDBAsyncOperations must not be null");
+
+		this.entityInformation = entityInformation;
+		this.dynamoDBAsyncOperations = dynamoDBAsyncOperations;
+		this.domainType = entityInformation.getJavaType();
+		this.enableScanPermissions = enableScanPermissions;
+	}
+
+	@Override
+	public <S extends T> Mono<S> save(S entity) {
+
+		Assert.notNull(entity, "The entity must not be null!");
+		return Mono.fromFuture(() -> dynamoDBAsyncOperations.save(entity));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws BatchWriteException
+	 *             signaled in case of an error during saving
+	 */
+	@Override
+	public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+
+		Assert.notNull(entities, "The given Iterable of entities not be null!");
+		return batch(entities, dynamoDBAsyncOperations::batchSave, BatchWriteException.class)
+				.thenMany(Flux.fromIterable(entities));
+	}
+
+	@Override
+	public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+
+		Assert.notNull(entityStream, "The given Publisher of entities not be null!");
+		return Flux.from(entityStream).buffer(MAX_BATCH_WRITE_SIZE).concatMap(this::saveAll);
+	}
+
+	@Override
+	public Mono<T> findById(ID id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+
+		return Mono.fromFuture(() -> {
+			if (entityInformation.isRangeKeyAware()) {
+				return dynamoDBAsyncOperations.load(domainType, entityInformation.getHashKey(id),
+						entityInformation.getRangeKey(id));
+			} else {
+				return dynamoDBAsyncOperations.load(domainType, entityInformation.getHashKey(id));
+			}
+		});
+	}
+
+	@Override
+	public Mono<T> findById(Publisher<ID> id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+		return Mono.from(id).flatMap(this::findById);
+	}
+
+	@Override
+	public Mono<Boolean> existsById(ID id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+		return findById(id).hasElement();
+	}
+
+	@Override
+	public Mono<Boolean> existsById(Publisher<ID> id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+		return Mono.from(id).flatMap(this::existsById);
+	}
+
+	void assertScanEnabled(boolean scanEnabled, String methodName) {
+		Assert.isTrue(scanEnabled, "Scanning for unpaginated " + methodName + "() queries is not enabled.  "
+				+ "To enable, re-implement the " + methodName
+				+ "() method in your repository interface and annotate with @EnableScan, or "
+				+ "enable scanning for all repository methods by annotating your repository interface with @EnableScan");
+	}
+
+	@Override
+	public Flux<T> findAll() {
+
+		return Flux.defer(() -> {
+			assertScanEnabled(enableScanPermissions.isFindAllUnpaginatedScanEnabled(), "findAll");
+			return dynamoDBAsyncOperations.scan(domainType, new DynamoDBScanExpression());
+		});
+	}
+
+	@Override
+	public Flux<T> findAll(Sort sort) {
+		return throwUnsupportedSortOperationException();
+	}
+
+	@Override
+	public Flux<T> findAllById(Iterable<ID> ids) {
+
+		Assert.notNull(ids, "The given ids must not be null!");
+
+		List<KeyPair> keyPairs = new ArrayList<>();
+		int idx = 0;
+		for (ID id : ids) {
+			Assert.notNull(id, "The given id at position " + idx++ + " must not be null!");
+
+			if (entityInformation.isRangeKeyAware()) {
+				keyPairs.add(new KeyPair().withHashKey(entityInformation.getHashKey(id))
+						.withRangeKey(entityInformation.getRangeKey(id)));
+			} else {
+				keyPairs.add(new KeyPair().withHashKey(id));
+			}
+		}
+		if (keyPairs.isEmpty()) {
+			return Flux.empty();
+		}
+
+		Map<Class<?>, List<KeyPair>> keyPairsMap = Collections.<Class<?>, List<KeyPair>>singletonMap(domainType,
+				keyPairs);
+		return Mono.fromFuture(() -> dynamoDBAsyncOperations.<T>batchLoad(keyPairsMap))
+				.flatMapIterable(entities -> entities);
+	}
+
+	@Override
+	public Flux<T> findAllById(Publisher<ID> idStream) {
+
+		Assert.notNull(idStream, "The given Publisher of ids must not be null!");
+		return Flux.from(idStream).buffer(MAX_BATCH_GET_SIZE).concatMap(this::findAllById);
+	}
+
+	@Override
+	public Mono<Long> count() {
+
+		return Mono.defer(() -> {
+			assertScanEnabled(enableScanPermissions.isCountUnpaginatedScanEnabled(), "count");
+			return Mono.fromFuture(dynamoDBAsyncOperations.count(domainType, new DynamoDBScanExpression()));
+		}).map(Integer::longValue);
+	}
+
+	@Override
+	public Mono<Void> deleteById(ID id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+
+		return findById(id)
+				.switchIfEmpty(Mono.error(() -> new EmptyResultDataAccessException(
+						String.format("No %s entity with id %s exists!", domainType, id), 1)))
+				.flatMap(this::delete);
+	}
+
+	@Override
+	public Mono<Void> deleteById(Publisher<ID> id) {
+
+		Assert.notNull(id, "The given id must not be null!");
+		return Mono.from(id).flatMap(this::deleteById);
+	}
+
+	@Override
+	public Mono<Void> delete(T entity) {
+
+		Assert.notNull(entity, "The entity must not be null!");
+		return Mono.fromFuture(() -> dynamoDBAsyncOperations.delete(entity)).then();
+	}
+
+	@Override
+	public Mono<Void> deleteAllById(Iterable<? extends ID> ids) {
+
+		Assert.notNull(ids, "The given Iterable of ids not be null!");
+		return Flux.fromIterable(ids).concatMap(this::deleteById).then();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws BatchDeleteException
+	 *             signaled in case of an error during deleting
+	 */
+	@Override
+	public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+
+		Assert.notNull(entities, "The given Iterable of entities not be null!");
+		return batch(entities, dynamoDBAsyncOperations::batchDelete, BatchDeleteException.class);
+	}
+
+	@Override
+	public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+
+		Assert.notNull(entityStream, "The given Publisher of entities not be null!");
+		return Flux.from(entityStream).buffer(MAX_BATCH_WRITE_SIZE).concatMap(this::deleteAll).then();
+	}
+
+	@Override
+	public Mono<Void> deleteAll() {
+
+		return Mono.defer(() -> {
+			assertScanEnabled(enableScanPermissions.isDeleteAllUnpaginatedScanEnabled(), "deleteAll");
+			return deleteAll(findAll());
+		});
+	}
+
+	private Mono<Void> batch(Iterable<?> entities,
+			Function<Iterable<?>, CompletableFuture<List<FailedBatch>>> operation,
+			Class<? extends DataAccessException> exceptionType) {
+		return Mono.fromFuture(() -> operation.apply(entities)).flatMap(failedBatches -> failedBatches.isEmpty()
+				? Mono.<Void>empty()
+				: Mono.error(repackageToException(failedBatches, exceptionType)));
+	}
+
+	@NonNull
+	public DynamoDBEntityInformation<T, ID> getEntityInformation() {
+		return this.entityInformation;
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.cache;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DefaultEntityCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        DefaultEntityCache underTest = new DefaultEntityCache(nanoTime::get).withMaximumSize(2);
+
+        underTest.put(key("a"), item("a"));
+        underTest.put(key("b"), item("b"));
+        underTest.get(key("a"));
+        underTest.put(key("c"), item("c"));
+
+        assertEquals(2, underTest.size());
+        assertNotNull(underTest.get(key("a")));
+        assertNull(underTest.get(key("b")));
+    }
+
+    @Test
+    public void testEvictsByWeight() {
+        DefaultEntityCache underTest = new DefaultEntityCache(nanoTime::get).withMaximumWeight(10,
+                DefaultEntityCache.ITEM_SIZE);
+
+        underTest.put(key("a"), item("aaa"));
+        underTest.put(key("b"), item("bbb"));
+        underTest.put(key("c"), item("ccccc"));
+        underTest.put(key("d"), item("much too heavy"));
+
+        assertNull(underTest.get(key("a")));
+        assertNotNull(underTest.get(key("b")));
+        assertNotNull(underTest.get(key("c")));
+        assertNull(underTest.get(key("d")));
+    }
+
+    @Test
+    public void testExpiresAfterWrite() {
+        DefaultEntityCache underTest = new DefaultEntityCache(nanoTime::get)
+                .withExpireAfterWrite(Duration.ofSeconds(10));
+
+        underTest.put(key("a"), item("a"));
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertNotNull(underTest.get(key("a")));
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull(underTest.get(key("a")));
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    public void testEvict() {
+        DefaultEntityCache underTest = new DefaultEntityCache(nanoTime::get);
+
+        underTest.put(key("a"), item("a"));
+        underTest.evict(key("a"));
+
+        assertNull(underTest.get(key("a")));
+    }
+
+    private static EntityCacheKey key(String id) {
+        return new EntityCacheKey("country", Collections.singletonMap("id", new AttributeValue(id)));
+    }
+
+    private static Map<String, AttributeValue> item(String name) {
+        return Collections.singletonMap("n", new AttributeValue(name));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.exception.BatchLoadException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchLoadEngineTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private BatchLoadEngine engine(int maxRetries) {
+        return new BatchLoadEngine(amazonDynamoDB, new DynamoDBMapper(amazonDynamoDB), DynamoDBMapperConfig.DEFAULT,
+                4, maxRetries);
+    }
+
+    private static List<KeyPair> keys(int count) {
+        List<KeyPair> keyPairs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keyPairs.add(new KeyPair().withHashKey("id" + i));
+        }
+        return keyPairs;
+    }
+
+    /**
+     * Answers every request with all requested keys as items - in reverse order
+     */
+    private static BatchGetItemResult echo(BatchGetItemRequest request) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>(request.getRequestItems().get("user").getKeys());
+        Collections.reverse(items);
+        return new BatchGetItemResult().withResponses(Collections.singletonMap("user", items));
+    }
+
+    @Test
+    public void testChunksOf100InInputOrder() {
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> echo(invocation.getArgument(0)));
+
+        List<String> loadedIds = new ArrayList<>();
+        List<User> users = engine(1).batchLoad(User.class, keys(250),
+                BatchLoadOptions.defaults().withPreserveOrder(true), user -> loadedIds.add(user.getId()));
+
+        List<String> expected = keys(250).stream().map(k -> (String) k.getHashKey()).collect(Collectors.toList());
+        assertEquals(expected, users.stream().map(User::getId).collect(Collectors.toList()));
+        assertEquals(expected, loadedIds);
+        verify(amazonDynamoDB, times(3)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    public void testDuplicateKeysAreRequestedOnce() {
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> echo(invocation.getArgument(0)));
+
+        List<KeyPair> keyPairs = keys(2);
+        keyPairs.add(new KeyPair().withHashKey("id0"));
+
+        List<User> users = engine(1).batchLoad(User.class, keyPairs, BatchLoadOptions.defaults(), user -> {
+        });
+
+        assertEquals(2, users.size());
+    }
+
+    @Test
+    public void testConsistentReadsAndProjection() {
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> echo(invocation.getArgument(0)));
+
+        engine(1).batchLoad(User.class, keys(1),
+                BatchLoadOptions.defaults().withConsistentReads(true).withProjection("name"), user -> {
+                });
+
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(amazonDynamoDB).batchGetItem(captor.capture());
+        KeysAndAttributes keysAndAttributes = captor.getValue().getRequestItems().get("user");
+        assertTrue(keysAndAttributes.getConsistentRead());
+        assertEquals("#p0,#p1", keysAndAttributes.getProjectionExpression());
+        assertEquals("Id", keysAndAttributes.getExpressionAttributeNames().get("#p0"));
+        assertEquals("name", keysAndAttributes.getExpressionAttributeNames().get("#p1"));
+    }
+
+    @Test
+    public void testUnprocessedKeysAreRetried() {
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("id0"));
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(new BatchGetItemResult().withUnprocessedKeys(
+                        Collections.singletonMap("user", new KeysAndAttributes().withKeys(key))))
+                .thenReturn(new BatchGetItemResult()
+                        .withResponses(Collections.singletonMap("user", Collections.singletonList(key))));
+
+        List<User> users = engine(1).batchLoad(User.class, keys(1), BatchLoadOptions.defaults(), user -> {
+        });
+
+        assertEquals(1, users.size());
+        verify(amazonDynamoDB, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    public void testUnprocessedKeysAfterRetries() {
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("id0"));
+        when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(new BatchGetItemResult()
+                .withUnprocessedKeys(Collections.singletonMap("user", new KeysAndAttributes().withKeys(key))));
+
+        assertThrows(BatchLoadException.class,
+                () -> engine(0).batchLoad(User.class, keys(1), BatchLoadOptions.defaults(), user -> {
+                }));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchWriteEngineTest {
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+
+    private List<Object> before;
+    private List<Object> after;
+
+    @BeforeEach
+    public void setUp() {
+        before = Collections.synchronizedList(new ArrayList<>());
+        after = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    private BatchWriteEngine engine(int maxRetries) {
+        return new BatchWriteEngine(new DynamoDBMapper(amazonDynamoDB), DynamoDBMapperConfig.DEFAULT, 4, maxRetries);
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void testChunksOf25() {
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult());
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            users.add(user("id" + i));
+        }
+
+        BatchWriteOutcome outcome = engine(1).batchSave(users, before::add, after::add);
+
+        assertTrue(outcome.isSuccessful());
+        assertEquals(60, outcome.getWrittenCount());
+        assertEquals(60, before.size());
+        assertEquals(60, after.size());
+        verify(amazonDynamoDB, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testDuplicateKeysAreRemoved() {
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult());
+
+        User first = user("a");
+        User second = user("a");
+        User other = user("b");
+
+        BatchWriteOutcome outcome = engine(1).batchSave(Arrays.asList(first, other, second), before::add, after::add);
+
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(amazonDynamoDB).batchWriteItem(captor.capture());
+        assertEquals(2, captor.getValue().getRequestItems().get("user").size());
+
+        assertEquals(2, outcome.getWrittenCount());
+        assertEquals(Collections.singletonList(first), outcome.getDuplicates());
+        assertTrue(after.contains(second));
+        assertFalse(after.contains(first));
+    }
+
+    @Test
+    public void testUnprocessedItemsAreReportedPerItem() {
+        WriteRequest unprocessed = new WriteRequest(
+                new PutRequest(Collections.singletonMap("Id", new AttributeValue("a"))));
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult()
+                .withUnprocessedItems(Collections.singletonMap("user", Collections.singletonList(unprocessed))));
+
+        User failing = user("a");
+        User succeeding = user("b");
+
+        BatchWriteOutcome outcome = engine(1).batchSave(Arrays.asList(failing, succeeding), before::add,
+                after::add);
+
+        assertFalse(outcome.isSuccessful());
+        assertEquals(1, outcome.getWrittenCount());
+        assertEquals(1, outcome.getFailedItems().size());
+        assertSame(failing, outcome.getFailedItems().get(0).getEntity());
+        assertEquals(Collections.singletonList(succeeding), after);
+        verify(amazonDynamoDB, atLeast(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testBackoffIsCapped() {
+        BatchWriteEngine.JitteredBatchWriteRetryStrategy strategy = new BatchWriteEngine.JitteredBatchWriteRetryStrategy(3);
+
+        assertEquals(3, strategy.getMaxRetryOnUnprocessedItems(Collections.emptyMap()));
+        for (int retry = 0; retry < 100; retry++) {
+            long delay = strategy.getDelayBeforeRetryUnprocessedItems(Collections.emptyMap(), retry);
+            assertTrue(delay >= 0 && delay <= JitteredBackoff.MAX_BACKOFF_MILLIS);
+        }
+    }
+}
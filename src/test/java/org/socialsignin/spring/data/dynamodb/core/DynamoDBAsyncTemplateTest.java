@@ -0,0 +1,369 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.metrics.CapacityUsage;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics.Sample;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DynamoDBAsyncTemplateTest {
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+    @Mock
+    private DynamoDBMapperConfig dynamoDBMapperConfig;
+    @Mock
+    private DynamoDBMapperTableModel<User> userTableModel;
+    @Mock
+    private DynamoDBMapperFieldModel<User, Object> userIdField;
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private DynamoDBAsyncTemplate dynamoDBAsyncTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        this.dynamoDBAsyncTemplate = new DynamoDBAsyncTemplate(dynamoDbAsyncClient, dynamoDBMapper,
+                dynamoDBMapperConfig);
+        this.dynamoDBAsyncTemplate.setApplicationContext(applicationContext);
+    }
+
+    @Test
+    public void testConstructorAllNull() {
+        assertThrows(IllegalArgumentException.class, () -> new DynamoDBAsyncTemplate(null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DynamoDBAsyncTemplate(dynamoDbAsyncClient, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DynamoDBAsyncTemplate(dynamoDbAsyncClient, dynamoDBMapper, null));
+    }
+
+    @Test
+    public void testLoadByHashKey_WhenItemIsMissing() {
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.convertKey("someHashKey", null)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("someHashKey")));
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetItemResponse.builder().build()));
+
+        User user = dynamoDBAsyncTemplate.load(User.class, "someHashKey").join();
+
+        assertNull(user);
+        ArgumentCaptor<GetItemRequest> request = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(dynamoDbAsyncClient).getItem(request.capture());
+        assertEquals("user", request.getValue().tableName());
+        assertEquals("someHashKey", request.getValue().key().get("Id").s());
+    }
+
+    @Test
+    public void testSave() {
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.convert(user)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("id")));
+        when(dynamoDbAsyncClient.putItem(any(PutItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutItemResponse.builder().build()));
+
+        User actual = dynamoDBAsyncTemplate.save(user).join();
+
+        assertSame(user, actual);
+        ArgumentCaptor<PutItemRequest> request = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDbAsyncClient).putItem(request.capture());
+        assertEquals("user", request.getValue().tableName());
+        assertEquals("id", request.getValue().item().get("Id").s());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSave_IncrementsTheVersionConditionally() {
+        User user = new User();
+        DynamoDBMapperFieldModel<User, Object> version = mock(DynamoDBMapperFieldModel.class);
+        com.amazonaws.services.dynamodbv2.model.AttributeValue next = new com.amazonaws.services.dynamodbv2.model.AttributeValue()
+                .withN("4");
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.convert(user)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("id")));
+        when(userTableModel.fields()).thenReturn(Collections.singletonList(version));
+        when(version.versioned()).thenReturn(true);
+        when(version.name()).thenReturn("version");
+        when(version.getAndConvert(user))
+                .thenReturn(new com.amazonaws.services.dynamodbv2.model.AttributeValue().withN("3"));
+        when(dynamoDbAsyncClient.putItem(any(PutItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutItemResponse.builder().build()));
+
+        dynamoDBAsyncTemplate.save(user).join();
+
+        ArgumentCaptor<PutItemRequest> request = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDbAsyncClient).putItem(request.capture());
+        assertEquals("#version0 = :version0", request.getValue().conditionExpression());
+        assertEquals(Collections.singletonMap("#version0", "version"), request.getValue().expressionAttributeNames());
+        assertEquals("3", request.getValue().expressionAttributeValues().get(":version0").n());
+        assertEquals("4", request.getValue().item().get("version").n());
+        verify(version).unconvertAndSet(user, next);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSave_VersionConflict() {
+        User user = new User();
+        DynamoDBMapperFieldModel<User, Object> version = mock(DynamoDBMapperFieldModel.class);
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.convert(user)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("id")));
+        when(userTableModel.fields()).thenReturn(Collections.singletonList(version));
+        when(version.versioned()).thenReturn(true);
+        when(version.name()).thenReturn("version");
+        CompletableFuture<PutItemResponse> conflict = new CompletableFuture<>();
+        conflict.completeExceptionally(ConditionalCheckFailedException.builder().message("conflict").build());
+        when(dynamoDbAsyncClient.putItem(any(PutItemRequest.class))).thenReturn(conflict);
+
+        CompletionException actual = assertThrows(CompletionException.class,
+                () -> dynamoDBAsyncTemplate.save(user).join());
+
+        assertInstanceOf(OptimisticLockingFailureException.class, actual.getCause());
+        verify(version, never()).unconvertAndSet(any(), any());
+    }
+
+    @Test
+    public void testSave_RejectsPartialUpdates() {
+        when(dynamoDBMapperConfig.getSaveBehavior())
+                .thenReturn(DynamoDBMapperConfig.SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES);
+
+        CompletionException actual = assertThrows(CompletionException.class,
+                () -> dynamoDBAsyncTemplate.save(new User()).join());
+
+        assertInstanceOf(InvalidDataAccessApiUsageException.class, actual.getCause());
+        verify(dynamoDbAsyncClient, never()).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    public void testBatchSave_SplitsIntoChunksOf25() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            User user = new User();
+            users.add(user);
+            when(userIdField.get(user)).thenReturn("id" + i);
+            when(userTableModel.convert(user)).thenReturn(Collections.singletonMap("Id",
+                    new com.amazonaws.services.dynamodbv2.model.AttributeValue("id" + i)));
+        }
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.hashKey()).thenReturn(userIdField);
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+
+        List<FailedBatch> actual = dynamoDBAsyncTemplate.batchSave(users).join();
+
+        assertTrue(actual.isEmpty());
+        verify(dynamoDbAsyncClient, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testBatchSave_SendsEachKeyOncePerRequest() {
+        User first = new User();
+        User second = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.hashKey()).thenReturn(userIdField);
+        when(userIdField.get(first)).thenReturn("id");
+        when(userIdField.get(second)).thenReturn("id");
+        when(userTableModel.convert(second)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("id")));
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+
+        dynamoDBAsyncTemplate.batchSave(Arrays.asList(first, second)).join();
+
+        ArgumentCaptor<BatchWriteItemRequest> request = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbAsyncClient).batchWriteItem(request.capture());
+        assertEquals(1, request.getValue().requestItems().get("user").size());
+        verify(userTableModel, never()).convert(first);
+    }
+
+    @Test
+    public void testBatchSave_BoundsTheRequestsInFlight() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            User user = new User();
+            users.add(user);
+            when(userIdField.get(user)).thenReturn("id" + i);
+            when(userTableModel.convert(user)).thenReturn(Collections.singletonMap("Id",
+                    new com.amazonaws.services.dynamodbv2.model.AttributeValue("id" + i)));
+        }
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.hashKey()).thenReturn(userIdField);
+        CompletableFuture<BatchWriteItemResponse> firstResponse = new CompletableFuture<>();
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(firstResponse,
+                CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+
+        dynamoDBAsyncTemplate.setBatchConcurrency(1);
+        CompletableFuture<List<FailedBatch>> actual = dynamoDBAsyncTemplate.batchSave(users);
+
+        verify(dynamoDbAsyncClient, times(1)).batchWriteItem(any(BatchWriteItemRequest.class));
+        firstResponse.complete(BatchWriteItemResponse.builder().build());
+        assertTrue(actual.join().isEmpty());
+        verify(dynamoDbAsyncClient, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testBatchSave_RecordsTheRequestsAndTheirConsumedCapacity() {
+        User user = new User();
+        DynamoDBMetrics metrics = mock(DynamoDBMetrics.class);
+        Sample sample = mock(Sample.class);
+        List<CapacityUsage> usages = new ArrayList<>();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.hashKey()).thenReturn(userIdField);
+        when(userIdField.get(user)).thenReturn("id");
+        when(userTableModel.convert(user)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("id")));
+        when(metrics.startOperation(DynamoDBMetrics.OPERATION_BATCH_WRITE, "user", null)).thenReturn(sample);
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                        .consumedCapacity(ConsumedCapacity.builder().tableName("user").capacityUnits(1.0).build())
+                        .build()));
+
+        dynamoDBAsyncTemplate.setMetrics(metrics);
+        dynamoDBAsyncTemplate.setConsumedCapacityListeners(usages::add);
+        dynamoDBAsyncTemplate.batchSave(Collections.singletonList(user)).join();
+
+        ArgumentCaptor<BatchWriteItemRequest> request = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbAsyncClient).batchWriteItem(request.capture());
+        assertEquals(ReturnConsumedCapacity.INDEXES, request.getValue().returnConsumedCapacity());
+        verify(sample).stop(null);
+        assertEquals(1, usages.size());
+        assertEquals("user", usages.get(0).getTableName());
+        assertEquals(1.0, usages.get(0).getWriteCapacityUnits());
+    }
+
+    @Test
+    public void testBatchSave_ReportsItemsRemainingUnprocessed() {
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.hashKey()).thenReturn(userIdField);
+        when(userIdField.get(user)).thenReturn("id");
+        when(userTableModel.convert(user)).thenReturn(
+                Collections.singletonMap("Id", new com.amazonaws.services.dynamodbv2.model.AttributeValue("id")));
+        Map<String, List<WriteRequest>> unprocessed = Collections.singletonMap("user",
+                Collections.singletonList(WriteRequest.builder().build()));
+        when(dynamoDbAsyncClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(BatchWriteItemResponse.builder().unprocessedItems(unprocessed).build()));
+
+        dynamoDBAsyncTemplate.setMaxUnprocessedRetries(2);
+
+        List<FailedBatch> actual = dynamoDBAsyncTemplate.batchSave(Collections.singletonList(user)).join();
+
+        assertEquals(1, actual.size());
+        assertEquals(1, actual.get(0).getUnprocessedItems().get("user").size());
+        verify(dynamoDbAsyncClient, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreateQueryRequest_LocalSecondaryIndexUsesTheTableHashKey() {
+        User hashKeyValues = new User();
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        DynamoDBMapperFieldModel<User, Object> indexRangeKey = mock(DynamoDBMapperFieldModel.class);
+        com.amazonaws.services.dynamodbv2.model.AttributeValue id = new com.amazonaws.services.dynamodbv2.model.AttributeValue(
+                "id");
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(userTableModel);
+        when(userTableModel.fields()).thenReturn(Arrays.asList(hashKey, indexRangeKey));
+        when(hashKey.globalSecondaryIndexNames(KeyType.HASH)).thenReturn(Collections.emptyList());
+        when(indexRangeKey.globalSecondaryIndexNames(KeyType.HASH)).thenReturn(Collections.emptyList());
+        when(hashKey.keyType()).thenReturn(KeyType.HASH);
+        when(hashKey.getAndConvert(hashKeyValues)).thenReturn(id);
+        when(hashKey.name()).thenReturn("Id");
+        Condition rangeKeyCondition = new Condition().withComparisonOperator(ComparisonOperator.GT)
+                .withAttributeValueList(new com.amazonaws.services.dynamodbv2.model.AttributeValue().withN("1"));
+        DynamoDBQueryExpression<User> queryExpression = new DynamoDBQueryExpression<User>()
+                .withIndexName("numberOfPlaylists-index").withHashKeyValues(hashKeyValues)
+                .withRangeKeyCondition("numberOfPlaylists", rangeKeyCondition);
+
+        QueryRequest actual = dynamoDBAsyncTemplate.createQueryRequest(User.class, queryExpression);
+
+        assertEquals("numberOfPlaylists-index", actual.getIndexName());
+        assertEquals(Arrays.asList("Id", "numberOfPlaylists"), new ArrayList<>(actual.getKeyConditions().keySet()));
+        assertEquals(Collections.singletonList(id), actual.getKeyConditions().get("Id").getAttributeValueList());
+    }
+
+    @Test
+    public void testGetOverriddenTableName() {
+        assertEquals("UserTable", dynamoDBAsyncTemplate.getOverriddenTableName(User.class, "UserTable"));
+    }
+
+    @Test
+    public void testSdkV2ModelConverterRoundTrip() {
+        com.amazonaws.services.dynamodbv2.model.AttributeValue v1 = new com.amazonaws.services.dynamodbv2.model.AttributeValue()
+                .withM(Collections.singletonMap("nested",
+                        new com.amazonaws.services.dynamodbv2.model.AttributeValue().withNS("1", "2")));
+
+        AttributeValue v2 = SdkV2ModelConverter.toV2(v1);
+
+        assertEquals(v1, SdkV2ModelConverter.toV1(v2));
+    }
+}
@@ -19,24 +19,53 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.cache.CachedEntity;
+import org.socialsignin.spring.data.dynamodb.cache.DefaultEntityCache;
 import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterScanEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.MappingEventSuppression;
+import org.socialsignin.spring.data.dynamodb.metrics.DynamoDBMetrics;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.util.AssertionErrors.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -106,11 +135,97 @@ public class DynamoDBTemplateTest {
         verify(dynamoDBMapper).delete(user);
     }
 
+    @Test
+    public void testSave_PublishesEvents() {
+        User user = new User();
+        dynamoDBTemplate.save(user);
+
+        verify(applicationContext, times(2)).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    public void testSave_EventsSuppressed() {
+        User user = new User();
+        boolean previous = MappingEventSuppression.suppress();
+        try {
+            dynamoDBTemplate.save(user);
+        } finally {
+            MappingEventSuppression.restore(previous);
+        }
+
+        verify(dynamoDBMapper).save(user);
+        verify(applicationContext, never()).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    public void testLoad_RecordsMetrics() {
+        DynamoDBMetrics metrics = mock(DynamoDBMetrics.class);
+        DynamoDBMetrics.Sample sample = mock(DynamoDBMetrics.Sample.class);
+        when(metrics.startOperation(DynamoDBMetrics.OPERATION_GET, "user", null)).thenReturn(sample);
+        dynamoDBTemplate.setMetrics(metrics);
+
+        dynamoDBTemplate.load(User.class, "someHashKey");
+
+        verify(dynamoDBMapper).load(User.class, "someHashKey");
+        verify(sample).stop(null);
+    }
+
+    @Test
+    public void testLoad_ServedFromCacheUntilSaved() {
+        @SuppressWarnings("unchecked")
+        DynamoDBMapperTableModel<Country> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("code", new AttributeValue("DE"));
+        Map<String, AttributeValue> item = Collections.singletonMap("code", new AttributeValue("DE"));
+        Country loaded = new Country();
+        Country cached = new Country();
+        when(dynamoDBMapper.getTableModel(Country.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("DE", null)).thenReturn(key);
+        when(tableModel.convertKey(loaded)).thenReturn(key);
+        when(tableModel.convert(loaded)).thenReturn(item);
+        when(tableModel.unconvert(item)).thenReturn(cached);
+        when(dynamoDBMapper.load(Country.class, "DE")).thenReturn(loaded);
+        dynamoDBTemplate.setEntityCache(new DefaultEntityCache());
+
+        assertSame(loaded, dynamoDBTemplate.load(Country.class, "DE"));
+        assertSame(cached, dynamoDBTemplate.load(Country.class, "DE"));
+        verify(dynamoDBMapper, times(1)).load(Country.class, "DE");
+
+        dynamoDBTemplate.save(loaded);
+
+        assertSame(loaded, dynamoDBTemplate.load(Country.class, "DE"));
+        verify(dynamoDBMapper, times(2)).load(Country.class, "DE");
+    }
+
+    @Test
+    public void testLoad_DoesNotCacheAnItemSavedWhileItWasRead() {
+        @SuppressWarnings("unchecked")
+        DynamoDBMapperTableModel<Country> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("code", new AttributeValue("DE"));
+        Country stale = new Country();
+        Country saved = new Country();
+        when(dynamoDBMapper.getTableModel(Country.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("DE", null)).thenReturn(key);
+        when(tableModel.convertKey(saved)).thenReturn(key);
+        when(tableModel.convert(saved)).thenReturn(Collections.singletonMap("code", new AttributeValue("DE")));
+        // The save completes after the load read the item, but before it is cached
+        when(dynamoDBMapper.load(Country.class, "DE")).thenAnswer(invocation -> {
+            dynamoDBTemplate.save(saved);
+            return stale;
+        }).thenReturn(saved);
+        dynamoDBTemplate.setEntityCache(new DefaultEntityCache());
+
+        assertSame(stale, dynamoDBTemplate.load(Country.class, "DE"));
+        verify(tableModel, never()).convert(stale);
+
+        assertSame(saved, dynamoDBTemplate.load(Country.class, "DE"));
+        verify(dynamoDBMapper, times(2)).load(Country.class, "DE");
+    }
+
     @Test
     public void testBatchDelete_CallsCorrectDynamoDBMapperMethod() {
         List<User> users = new ArrayList<>();
         dynamoDBTemplate.batchDelete(users);
-        verify(dynamoDBMapper).batchDelete(anyList());
+        verify(dynamoDBMapper, never()).batchWrite(anyList(), anyList(), any());
     }
 
     @Test
@@ -126,7 +241,7 @@ public class DynamoDBTemplateTest {
         List<User> users = new ArrayList<>();
         dynamoDBTemplate.batchSave(users);
 
-        verify(dynamoDBMapper).batchSave(eq(users));
+        verify(dynamoDBMapper, never()).batchWrite(anyList(), anyList(), any());
     }
 
     @Test
@@ -139,11 +254,48 @@ public class DynamoDBTemplateTest {
 
     @Test
     public void testCountScan() {
-        DynamoDBScanExpression scan = mock(DynamoDBScanExpression.class);
+        DynamoDBScanExpression scan = new DynamoDBScanExpression();
+        when(dynamoDB.scan(any(ScanRequest.class))).thenReturn(new ScanResult().withCount(0));
+
         int actual = dynamoDBTemplate.count(User.class, scan);
 
         assertEquals(0, actual);
-        verify(dynamoDBMapper).count(User.class, scan);
+        ArgumentCaptor<ScanRequest> request = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDB).scan(request.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals("COUNT", request.getValue().getSelect());
+    }
+
+    @Test
+    public void testCountScan_AcquiresTheReadOfEveryPage() {
+        ThroughputGovernor throughputGovernor = mock(ThroughputGovernor.class);
+        DynamoDBScanExpression scan = new DynamoDBScanExpression();
+        when(dynamoDB.scan(any(ScanRequest.class))).thenReturn(new ScanResult().withCount(2)
+                .withLastEvaluatedKey(Collections.singletonMap("id", new AttributeValue("2"))),
+                new ScanResult().withCount(1));
+
+        dynamoDBTemplate.setThroughputGovernor(throughputGovernor);
+        int actual = dynamoDBTemplate.count(User.class, scan);
+
+        assertEquals(3, actual);
+        verify(throughputGovernor, times(2)).acquireRead("user", null);
+        verify(dynamoDB, times(2)).scan(any(ScanRequest.class));
+        verify(dynamoDBMapper, never()).count(any(), any(DynamoDBScanExpression.class));
+    }
+
+    @Test
+    public void testCountScan_CountsEverySegmentOfAParallelScan() {
+        DynamoDBScanExpression scan = new DynamoDBScanExpression().withTotalSegments(2);
+        when(dynamoDB.scan(any(ScanRequest.class))).thenReturn(new ScanResult().withCount(2),
+                new ScanResult().withCount(3));
+
+        int actual = dynamoDBTemplate.count(User.class, scan);
+
+        assertEquals(5, actual);
+        ArgumentCaptor<ScanRequest> request = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDB, times(2)).scan(request.capture());
+        assertEquals(Integer.valueOf(0), request.getAllValues().get(0).getSegment());
+        assertEquals(Integer.valueOf(1), request.getAllValues().get(1).getSegment());
     }
 
     @Test
@@ -158,4 +310,231 @@ public class DynamoDBTemplateTest {
         assertNull(playlist);
     }
 
+    @Test
+    public void testScan_PublishesEventsPerLoadedPage() {
+        User first = new User();
+        User second = new User();
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+        when(dynamoDBMapperConfig.getPaginationLoadingStrategy()).thenReturn(PaginationLoadingStrategy.LAZY_LOADING);
+        when(dynamoDBMapper.scanPage(User.class, scanExpression)).thenReturn(
+                scanResultPage(first, Collections.singletonMap("id", new AttributeValue("1"))),
+                scanResultPage(second, null));
+
+        List<User> actual = dynamoDBTemplate.scan(User.class, scanExpression);
+        Iterator<User> iterator = actual.iterator();
+        assertSame(first, iterator.next());
+
+        verify(dynamoDBMapper).scanPage(User.class, scanExpression);
+        verify(applicationContext).publishEvent(any(AfterScanEvent.class));
+
+        assertSame(second, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        verify(dynamoDBMapper, times(2)).scanPage(User.class, scanExpression);
+        verify(applicationContext, times(2)).publishEvent(any(AfterScanEvent.class));
+    }
+
+    @Test
+    public void testParallelScan_LoadsEverySegment() {
+        User first = new User();
+        User second = new User();
+        when(dynamoDBMapperConfig.getPaginationLoadingStrategy()).thenReturn(PaginationLoadingStrategy.LAZY_LOADING);
+        when(dynamoDBMapper.scanPage(any(), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression segment = invocation.getArgument(1);
+            assertEquals(Integer.valueOf(2), segment.getTotalSegments());
+            return scanResultPage(segment.getSegment() == 0 ? first : second, null);
+        });
+
+        List<User> actual = dynamoDBTemplate.parallelScan(User.class, new DynamoDBScanExpression(), 2);
+
+        assertEquals(2, actual.size());
+        assertSame(first, actual.get(0));
+        assertSame(second, actual.get(1));
+        verify(applicationContext).publishEvent(any(AfterScanEvent.class));
+    }
+
+    @Test
+    public void testParallelScan_LoadsRejectedSegmentsOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        when(dynamoDBMapperConfig.getPaginationLoadingStrategy()).thenReturn(PaginationLoadingStrategy.LAZY_LOADING);
+        when(dynamoDBMapper.scanPage(any(), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            assertSame(caller, Thread.currentThread());
+            return scanResultPage(new User(), null);
+        });
+        dynamoDBTemplate.setParallelScanExecutor(task -> {
+            throw new RejectedExecutionException("saturated");
+        });
+
+        List<User> actual = dynamoDBTemplate.parallelScan(User.class, new DynamoDBScanExpression(), 3);
+
+        assertEquals(3, actual.size());
+        verify(dynamoDBMapper, times(3)).scanPage(any(), any(DynamoDBScanExpression.class));
+    }
+
+    @Test
+    public void testScanStream_LoadsPagesWhileConsumed() {
+        User first = new User();
+        User second = new User();
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+        when(dynamoDBMapper.scanPage(User.class, scanExpression)).thenReturn(
+                scanResultPage(first, Collections.singletonMap("id", new AttributeValue("1"))),
+                scanResultPage(second, null));
+
+        Iterator<User> iterator = dynamoDBTemplate.scanStream(User.class, scanExpression).iterator();
+        verify(dynamoDBMapper, never()).scanPage(User.class, scanExpression);
+
+        assertSame(first, iterator.next());
+        verify(dynamoDBMapper).scanPage(User.class, scanExpression);
+
+        assertSame(second, iterator.next());
+        assertFalse(iterator.hasNext());
+        verify(dynamoDBMapper, times(2)).scanPage(User.class, scanExpression);
+        verify(applicationContext, times(2)).publishEvent(any(AfterScanEvent.class));
+    }
+
+    @Test
+    public void testScanStream_StopsLoadingWhenClosed() {
+        User first = new User();
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+        when(dynamoDBMapper.scanPage(User.class, scanExpression)).thenReturn(
+                scanResultPage(first, Collections.singletonMap("id", new AttributeValue("1"))));
+
+        Stream<User> stream = dynamoDBTemplate.scanStream(User.class, scanExpression);
+        Iterator<User> iterator = stream.iterator();
+        assertSame(first, iterator.next());
+        stream.close();
+
+        assertFalse(iterator.hasNext());
+        verify(dynamoDBMapper).scanPage(User.class, scanExpression);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExists_ReadsOnlyTheKeyAttributes() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("1"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("1", null)).thenReturn(key);
+        when(tableModel.keys()).thenReturn(Collections.singletonList(hashKey));
+        when(hashKey.name()).thenReturn("Id");
+        when(dynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult().withItem(key));
+
+        assertTrue("The entity exists", dynamoDBTemplate.exists(User.class, "1", null));
+
+        ArgumentCaptor<GetItemRequest> request = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(dynamoDB).getItem(request.capture());
+        assertEquals(key, request.getValue().getKey());
+        assertEquals("#key0", request.getValue().getProjectionExpression());
+        assertEquals(Collections.singletonMap("#key0", "Id"), request.getValue().getExpressionAttributeNames());
+        verify(dynamoDBMapper, never()).load(User.class, "1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExists_QueryRequestWithConditionMaps_NeverMixesExpressions() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        Map<String, AttributeValue> item = Collections.singletonMap("Id", new AttributeValue("1"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.keys()).thenReturn(Collections.singletonList(hashKey));
+        when(hashKey.name()).thenReturn("Id");
+        when(tableModel.unconvert(item)).thenReturn(new User());
+        when(dynamoDB.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(item).withCount(1));
+        QueryRequest queryRequest = new QueryRequest("user").withIndexName("idx")
+                .withKeyConditions(Collections.singletonMap("Name", new Condition()
+                        .withComparisonOperator(ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue("someName"))));
+
+        assertTrue("An entity matches", dynamoDBTemplate.exists(User.class, queryRequest));
+
+        ArgumentCaptor<QueryRequest> request = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDB).query(request.capture());
+        assertNotNull(request.getValue().getKeyConditions());
+        assertEquals(Collections.singletonList("Id"), request.getValue().getAttributesToGet());
+        assertNull(request.getValue().getProjectionExpression());
+        assertNull(request.getValue().getKeyConditionExpression());
+        assertNull(request.getValue().getFilterExpression());
+        assertNull(request.getValue().getExpressionAttributeNames());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExists_QueryRequestWithExpressions_ProjectsTheKeys() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.keys()).thenReturn(Collections.singletonList(hashKey));
+        when(hashKey.name()).thenReturn("Id");
+        when(dynamoDB.query(any(QueryRequest.class)))
+                .thenReturn(new QueryResult().withItems(Collections.emptyList()).withCount(0));
+        QueryRequest queryRequest = new QueryRequest("user").withIndexName("idx")
+                .withKeyConditionExpression("#derived0 = :derived0")
+                .withExpressionAttributeNames(Collections.singletonMap("#derived0", "Name"))
+                .withExpressionAttributeValues(Collections.singletonMap(":derived0", new AttributeValue("someName")));
+
+        assertFalse(dynamoDBTemplate.exists(User.class, queryRequest));
+
+        ArgumentCaptor<QueryRequest> request = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDB).query(request.capture());
+        assertNull(request.getValue().getKeyConditions());
+        assertNull(request.getValue().getAttributesToGet());
+        assertEquals("#key1", request.getValue().getProjectionExpression());
+        assertEquals("Id", request.getValue().getExpressionAttributeNames().get("#key1"));
+    }
+
+    @Test
+    public void testExists_ScanWithScanFilter_NeverMixesExpressions() {
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression()
+                .withScanFilter(Collections.singletonMap("Name", new Condition()
+                        .withComparisonOperator(ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue("someName"))));
+        when(dynamoDBMapper.scanPage(User.class, scanExpression))
+                .thenReturn(scanResultPage(new User(), null));
+
+        assertTrue("An entity matches", dynamoDBTemplate.exists(User.class, scanExpression));
+
+        assertNull(scanExpression.getProjectionExpression());
+        assertNull(scanExpression.getExpressionAttributeNames());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQuery_QueryRequestWithLimit_ReadsPagesUntilTheLimitMatched() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> item = Collections.singletonMap("Id", new AttributeValue("1"));
+        Map<String, AttributeValue> lastEvaluatedKey = Collections.singletonMap("Id", new AttributeValue("2"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.unconvert(item)).thenReturn(new User());
+        List<Integer> limits = new ArrayList<>();
+        when(dynamoDB.query(any(QueryRequest.class))).thenAnswer(invocation -> {
+            QueryRequest request = invocation.getArgument(0);
+            limits.add(request.getLimit());
+            return limits.size() == 1
+                    ? new QueryResult().withItems(item).withCount(1).withLastEvaluatedKey(lastEvaluatedKey)
+                    : new QueryResult().withItems(item, item, item, item).withCount(4)
+                            .withLastEvaluatedKey(lastEvaluatedKey);
+        });
+        QueryRequest queryRequest = new QueryRequest("user").withLimit(3);
+
+        List<User> results = new ArrayList<>(dynamoDBTemplate.query(User.class, queryRequest));
+
+        assertEquals(3, results.size());
+        assertEquals(2, limits.size());
+        assertEquals(Integer.valueOf(3), limits.get(0));
+        assertEquals(Integer.valueOf(6), limits.get(1));
+    }
+
+    private static ScanResultPage<User> scanResultPage(User user, Map<String, AttributeValue> lastEvaluatedKey) {
+        ScanResultPage<User> page = new ScanResultPage<>();
+        page.setResults(Collections.singletonList(user));
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        return page;
+    }
+
+    @CachedEntity
+    @DynamoDBTable(tableName = "country")
+    static class Country {
+    }
+
 }
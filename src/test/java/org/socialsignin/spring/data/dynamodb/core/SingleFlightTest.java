@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, StringBuilder> underTest = new SingleFlight<>();
+
+    @Test
+    public void testConcurrentLoadsShareOneFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<StringBuilder> followerResult = new AtomicReference<>();
+        Thread follower = new Thread(() -> followerResult.set(underTest.execute("key", () -> {
+            loads.incrementAndGet();
+            return new StringBuilder("other");
+        }, it -> new StringBuilder(it).append(" copy"))));
+
+        StringBuilder leaderResult = underTest.execute("key", () -> {
+            loads.incrementAndGet();
+            follower.start();
+            // Wait until the follower joined this flight
+            while (follower.getState() != Thread.State.WAITING && follower.getState() != Thread.State.TERMINATED) {
+                Thread.yield();
+            }
+            return new StringBuilder("value");
+        }, StringBuilder::new);
+        follower.join(5000);
+
+        assertEquals("value", leaderResult.toString());
+        assertEquals("value copy", followerResult.get().toString());
+        assertEquals(1, loads.get());
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    public void testFailedFlightIsNotReused() {
+        assertThrows(IllegalStateException.class, () -> underTest.execute("key", () -> {
+            throw new IllegalStateException();
+        }, StringBuilder::new));
+
+        assertEquals("value", underTest.execute("key", () -> new StringBuilder("value"), StringBuilder::new)
+                .toString());
+    }
+}
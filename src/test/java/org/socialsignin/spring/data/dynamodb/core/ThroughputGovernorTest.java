@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.junit.jupiter.api.Test;
+import org.socialsignin.spring.data.dynamodb.metrics.CapacityUsage;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ThroughputGovernorTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    public void testOf_ParsesLimits() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(ThroughputGovernor.LIMITS_PROPERTY,
+                        "prod.Orders.read=200, prod.Orders/byCustomer.read=50")
+                .withProperty(ThroughputGovernor.BURST_SECONDS_PROPERTY, "2");
+
+        ThroughputGovernor underTest = ThroughputGovernor.of(environment);
+
+        assertEquals(400.0, underTest.getReadTokens("prod.Orders", null));
+        assertEquals(100.0, underTest.getReadTokens("prod.Orders", "byCustomer"));
+        assertNull(underTest.getReadTokens("Users", null));
+    }
+
+    @Test
+    public void testAddLimits_Invalid() {
+        ThroughputGovernor underTest = new ThroughputGovernor();
+
+        assertThrows(IllegalArgumentException.class, () -> underTest.addLimits("Orders=10"));
+        assertThrows(IllegalArgumentException.class, () -> underTest.addLimits("Orders.update=10"));
+    }
+
+    @Test
+    public void testOnConsumedCapacity_ChargesIndexOrTable() {
+        ThroughputGovernor underTest = new ThroughputGovernor(1, nanoTime::get).withReadLimit("Orders", null, 10)
+                .withReadLimit("Orders", "byCustomer", 5);
+
+        underTest.onConsumedCapacity(new CapacityUsage("Orders", "byCustomer", null, 2, 0));
+        underTest.onConsumedCapacity(new CapacityUsage("Orders", "byStatus", null, 3, 0));
+        underTest.onConsumedCapacity(new CapacityUsage("Orders", null, null, 1, 0));
+
+        assertEquals(3.0, underTest.getReadTokens("Orders", "byCustomer"));
+        assertEquals(6.0, underTest.getReadTokens("Orders", null));
+    }
+
+    @Test
+    public void testTokenBucket_RefillsAfterDebt() {
+        TokenBucket bucket = new TokenBucket(10, 1, nanoTime::get);
+
+        assertEquals(0, bucket.waitNanos());
+
+        bucket.charge(15);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.waitNanos());
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, bucket.waitNanos());
+        assertEquals(5.0, bucket.getTokens(), 0.0001);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(10.0, bucket.getTokens(), 0.0001);
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DynamoDBScrollPositionTest {
+
+    @Test
+    public void testInitial() {
+        assertTrue(DynamoDBScrollPosition.initial().isInitial());
+        assertNull(DynamoDBScrollPosition.initial().getExclusiveStartKey());
+        assertSame(DynamoDBScrollPosition.initial(), DynamoDBScrollPosition.of(null));
+        assertSame(DynamoDBScrollPosition.initial(), DynamoDBScrollPosition.fromToken(""));
+        assertEquals("", DynamoDBScrollPosition.initial().toToken());
+    }
+
+    @Test
+    public void testTokenRoundTrip() {
+        Map<String, AttributeValue> lastEvaluatedKey = new LinkedHashMap<>();
+        lastEvaluatedKey.put("userName", new AttributeValue().withS("michael/ä?&="));
+        lastEvaluatedKey.put("count", new AttributeValue().withN("42"));
+        lastEvaluatedKey.put("data", new AttributeValue().withB(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+        DynamoDBScrollPosition position = DynamoDBScrollPosition.of(lastEvaluatedKey);
+
+        String token = position.toToken();
+        DynamoDBScrollPosition actual = DynamoDBScrollPosition.fromToken(token);
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(position, actual);
+        assertEquals(lastEvaluatedKey, actual.getExclusiveStartKey());
+    }
+
+    @Test
+    public void testMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> DynamoDBScrollPosition.fromToken("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> DynamoDBScrollPosition.fromToken("AAEA"));
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+import org.junit.jupiter.api.Test;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappingEventListenerRegistryTest {
+
+    static class UserListener extends AbstractDynamoDBEventListener<User> {
+    }
+
+    static class BeforeSaveListener implements ApplicationListener<BeforeSaveEvent<?>> {
+        @Override
+        public void onApplicationEvent(BeforeSaveEvent<?> event) {
+        }
+    }
+
+    static class RefreshListener implements ApplicationListener<ContextRefreshedEvent> {
+        @Override
+        public void onApplicationEvent(ContextRefreshedEvent event) {
+        }
+    }
+
+    @Test
+    public void testNoListeners() {
+        MappingEventListenerRegistry underTest = new MappingEventListenerRegistry(Collections.emptyList());
+
+        assertFalse(underTest.hasListeners(AfterLoadEvent.class, User.class));
+        assertFalse(underTest.hasListeners(AfterQueryEvent.class, User.class));
+    }
+
+    @Test
+    public void testPublishAll() {
+        assertTrue(MappingEventListenerRegistry.PUBLISH_ALL.hasListeners(AfterLoadEvent.class, User.class));
+    }
+
+    @Test
+    public void testDomainSpecificListener() {
+        MappingEventListenerRegistry underTest = new MappingEventListenerRegistry(
+                Arrays.asList(new UserListener(), new RefreshListener()));
+
+        assertTrue(underTest.hasListeners(AfterSaveEvent.class, User.class));
+        assertTrue(underTest.hasListeners(AfterScanEvent.class, User.class));
+        assertFalse(underTest.hasListeners(AfterSaveEvent.class, Playlist.class));
+    }
+
+    @Test
+    public void testEventSpecificListener() {
+        MappingEventListenerRegistry underTest = new MappingEventListenerRegistry(
+                Collections.singletonList(new BeforeSaveListener()));
+
+        assertTrue(underTest.hasListeners(BeforeSaveEvent.class, Playlist.class));
+        assertFalse(underTest.hasListeners(AfterSaveEvent.class, Playlist.class));
+    }
+
+    @Test
+    public void testFromContext() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("userListener", UserListener.class);
+        context.refresh();
+
+        MappingEventListenerRegistry underTest = MappingEventListenerRegistry.of(context);
+
+        assertTrue(underTest.hasListeners(BeforeDeleteEvent.class, User.class));
+        assertFalse(underTest.hasListeners(BeforeDeleteEvent.class, Playlist.class));
+    }
+
+    @Test
+    public void testFromContextWithPrototypeListener() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerPrototype("userListener", UserListener.class);
+        context.refresh();
+
+        MappingEventListenerRegistry underTest = MappingEventListenerRegistry.of(context);
+
+        assertTrue(underTest.hasListeners(BeforeDeleteEvent.class, Playlist.class));
+    }
+
+}
@@ -18,7 +18,10 @@ package org.socialsignin.spring.data.dynamodb.marshaller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -65,4 +68,19 @@ public class Date2EpocheDynamoDBMarshallerTest {
             underTest.unmarshall(Date.class, "something");
         });
     }
+
+    @Test
+    public void testSubclassDateFormat() {
+        Date2EpocheDynamoDBMarshaller subclass = new Date2EpocheDynamoDBMarshaller() {
+            @Override
+            public DateFormat getDateFormat() {
+                SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd");
+                df.setTimeZone(TimeZone.getTimeZone("UTC"));
+                return df;
+            }
+        };
+
+        assertEquals("1970-01-01", subclass.marshall(new Date(0)));
+        assertEquals(new Date(0), subclass.unmarshall(Date.class, "1970-01-01"));
+    }
 }
@@ -18,7 +18,11 @@ package org.socialsignin.spring.data.dynamodb.marshaller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,6 +48,12 @@ public class Date2IsoDynamoDBMarshallerTest {
         assertEquals("1970-01-01T00:00:00.000Z", underTest.convert(new Date(0)));
     }
 
+    @Test
+    public void testMarshall_Milliseconds() {
+        assertEquals("2014-02-12T02:34:00.123Z", underTest.marshall(new Date(1392172440123L)));
+        assertEquals(new Date(1392172440123L), underTest.unmarshall(Date.class, "2014-02-12T02:34:00.123Z"));
+    }
+
     @Test
     public void testUnmarshallNull() {
         Date actual = underTest.unmarshall(Date.class, null);
@@ -64,4 +74,37 @@ public class Date2IsoDynamoDBMarshallerTest {
             underTest.unmarshall(Date.class, "something");
         });
     }
+
+    @Test
+    public void testUnmarshallGarbage_ThrowsTheParseException() {
+        RuntimeException actual = assertThrows(RuntimeException.class,
+                () -> underTest.unmarshall(Date.class, "something"));
+
+        assertInstanceOf(ParseException.class, actual.getCause());
+    }
+
+    @Test
+    public void testUnmarshall_IsAsLenientAsTheDateFormat() throws ParseException {
+        DateFormat dateFormat = underTest.getDateFormat();
+
+        assertEquals(dateFormat.parse("2017-02-30T00:00:00.000Z"),
+                underTest.unmarshall(Date.class, "2017-02-30T00:00:00.000Z"));
+        assertEquals(dateFormat.parse("2017-02-28T00:00:00.000Z trailing"),
+                underTest.unmarshall(Date.class, "2017-02-28T00:00:00.000Z trailing"));
+    }
+
+    @Test
+    public void testSubclassDateFormat() {
+        Date2IsoDynamoDBMarshaller subclass = new Date2IsoDynamoDBMarshaller() {
+            @Override
+            public DateFormat getDateFormat() {
+                SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd");
+                df.setTimeZone(TimeZone.getTimeZone("UTC"));
+                return df;
+            }
+        };
+
+        assertEquals("1970-01-01", subclass.marshall(new Date(0)));
+        assertEquals(new Date(0), subclass.unmarshall(Date.class, "1970-01-01"));
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Response;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.Capacity;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ConsumedCapacityRequestHandlerTest {
+
+    private List<CapacityUsage> usages;
+    private ConsumedCapacityRequestHandler underTest;
+
+    @BeforeEach
+    public void setUp() {
+        usages = new ArrayList<>();
+        underTest = new ConsumedCapacityRequestHandler(usages::add);
+    }
+
+    @Test
+    public void testBeforeExecution_RequestsIndexCapacity() {
+        GetItemRequest getItemRequest = new GetItemRequest();
+        QueryRequest queryRequest = new QueryRequest().withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+
+        underTest.beforeExecution(getItemRequest);
+        underTest.beforeExecution(queryRequest);
+
+        assertEquals("INDEXES", getItemRequest.getReturnConsumedCapacity());
+        assertEquals("TOTAL", queryRequest.getReturnConsumedCapacity());
+    }
+
+    @Test
+    public void testBeforeExecution_KeepsAnExplicitNone() {
+        ScanRequest scanRequest = new ScanRequest().withReturnConsumedCapacity(ReturnConsumedCapacity.NONE);
+
+        underTest.beforeExecution(scanRequest);
+
+        assertEquals("NONE", scanRequest.getReturnConsumedCapacity());
+    }
+
+    @Test
+    public void testAfterResponse_ReportsTableAndIndexes() {
+        QueryResult result = new QueryResult().withConsumedCapacity(new ConsumedCapacity().withTableName("user")
+                .withCapacityUnits(3.0).withTable(new Capacity().withCapacityUnits(1.0))
+                .withGlobalSecondaryIndexes(Collections.singletonMap("idx", new Capacity().withCapacityUnits(2.0))));
+
+        RepositoryInvocation previous = RepositoryInvocation
+                .enter(new RepositoryInvocation("UserRepository", "findByName"));
+        try {
+            afterResponse(new QueryRequest(), result);
+        } finally {
+            RepositoryInvocation.restore(previous);
+        }
+
+        assertEquals(2, usages.size());
+        assertEquals("user", usages.get(0).getTableName());
+        assertNull(usages.get(0).getIndexName());
+        assertEquals(1.0, usages.get(0).getReadCapacityUnits());
+        assertEquals(0.0, usages.get(0).getWriteCapacityUnits());
+        assertEquals("idx", usages.get(1).getIndexName());
+        assertEquals(2.0, usages.get(1).getReadCapacityUnits());
+        assertEquals(new RepositoryInvocation("UserRepository", "findByName"), usages.get(1).getInvocation());
+    }
+
+    @Test
+    public void testAfterResponse_WriteTotalsOnly() {
+        BatchWriteItemResult result = new BatchWriteItemResult()
+                .withConsumedCapacity(new ConsumedCapacity().withTableName("user").withCapacityUnits(25.0));
+
+        afterResponse(new BatchWriteItemRequest(), result);
+
+        assertEquals(1, usages.size());
+        assertEquals(0.0, usages.get(0).getReadCapacityUnits());
+        assertEquals(25.0, usages.get(0).getWriteCapacityUnits());
+        assertNull(usages.get(0).getInvocation());
+    }
+
+    private <T> void afterResponse(AmazonWebServiceRequest request, T result) {
+        underTest.afterResponse(new DefaultRequest<>(request, "AmazonDynamoDBv2"), new Response<>(result, null));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.metrics;
+
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MicrometerDynamoDBMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MicrometerDynamoDBMetrics underTest;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new MicrometerDynamoDBMetrics(meterRegistry);
+    }
+
+    @Test
+    public void testOperation() {
+        underTest.startOperation(DynamoDBMetrics.OPERATION_QUERY, "user", "idx").stop(null);
+
+        assertEquals(1, meterRegistry.get(MicrometerDynamoDBMetrics.REQUESTS).tag("table", "user")
+                .tag("index", "idx").tag("operation", "query").tag("exception", "none").timer().count());
+        assertNull(meterRegistry.find(MicrometerDynamoDBMetrics.THROTTLED).counter());
+    }
+
+    @Test
+    public void testThrottledOperation() {
+        underTest.startOperation(DynamoDBMetrics.OPERATION_PUT, "user", null)
+                .stop(new ProvisionedThroughputExceededException("slow down"));
+
+        assertEquals(1, meterRegistry.get(MicrometerDynamoDBMetrics.REQUESTS).tag("index", "none")
+                .tag("exception", "ProvisionedThroughputExceededException").timer().count());
+        assertEquals(1.0, meterRegistry.get(MicrometerDynamoDBMetrics.THROTTLED).tag("operation", "put").counter()
+                .count());
+    }
+
+    @Test
+    public void testRepositoryMethod() {
+        underTest.startRepositoryMethod("UserRepository", "findByName").stop(new IllegalStateException());
+
+        assertEquals(1, meterRegistry.get(MicrometerDynamoDBMetrics.REPOSITORY_INVOCATIONS)
+                .tag("repository", "UserRepository").tag("method", "findByName")
+                .tag("exception", "IllegalStateException").timer().count());
+    }
+
+    @Test
+    public void testPageLoaded() {
+        underTest.pageLoaded(DynamoDBMetrics.OPERATION_SCAN, "user", null, 3, 10);
+        underTest.pageLoaded(DynamoDBMetrics.OPERATION_SCAN, "user", null, 2, 5);
+
+        assertEquals(2.0, meterRegistry.get(MicrometerDynamoDBMetrics.PAGES).counter().count());
+        assertEquals(5.0, meterRegistry.get(MicrometerDynamoDBMetrics.ITEMS_RETURNED).counter().count());
+        assertEquals(15.0, meterRegistry.get(MicrometerDynamoDBMetrics.ITEMS_SCANNED).counter().count());
+    }
+
+    @Test
+    public void testUnprocessedRetry() {
+        underTest.unprocessedRetry(DynamoDBMetrics.OPERATION_BATCH_WRITE, "user", 7);
+
+        assertEquals(1.0, meterRegistry.get(MicrometerDynamoDBMetrics.UNPROCESSED_RETRIES).counter().count());
+        assertEquals(7.0, meterRegistry.get(MicrometerDynamoDBMetrics.UNPROCESSED_ITEMS).counter().count());
+    }
+
+    @Test
+    public void testConsumedCapacity() {
+        underTest.onConsumedCapacity(new CapacityUsage("user", "idx",
+                new RepositoryInvocation("UserRepository", "findByName"), 1.5, 0));
+
+        assertEquals(1.5, meterRegistry.get(MicrometerDynamoDBMetrics.CAPACITY_READ).tag("table", "user")
+                .tag("index", "idx").tag("repository", "UserRepository").tag("method", "findByName").counter()
+                .count());
+        assertNull(meterRegistry.find(MicrometerDynamoDBMetrics.CAPACITY_WRITE).counter());
+    }
+
+}
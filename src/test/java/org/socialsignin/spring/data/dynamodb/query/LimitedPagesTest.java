@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.Test;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LimitedPagesTest {
+
+    private final List<Integer> limits = new ArrayList<>();
+
+    @Test
+    public void testRead_GrowsTheLimitByTheShareOfFilteredItems() {
+        // Of 100 items, the filter keeps every fourth
+        List<Integer> results = LimitedPages.read(10, filteredPages(100, 4));
+
+        assertEquals(Arrays.asList(0, 4, 8, 12, 16, 20, 24, 28, 32, 36), results);
+        assertEquals(Arrays.asList(10, 24, 4), limits);
+    }
+
+    @Test
+    public void testRead_StopsAtTheLastPage() {
+        // Of 30 items, the filter keeps none but the first
+        List<Integer> results = LimitedPages.read(5, filteredPages(30, 100));
+
+        assertEquals(Collections.singletonList(0), results);
+        assertEquals(Arrays.asList(5, 20, 160), limits);
+    }
+
+    @Test
+    public void testStream_ReadsPagesOnlyWhenConsumed() {
+        Stream<Integer> results = LimitedPages.stream(10, filteredPages(100, 1));
+        assertTrue(limits.isEmpty());
+
+        assertEquals(Arrays.asList(0, 1), results.limit(2).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(10), limits);
+    }
+
+    /**
+     * @return Reads pages of the numbers from 0 to {@code count}, keeping the
+     *         multiples of {@code divisor} only
+     */
+    private BiFunction<DynamoDBScrollPosition, Integer, DynamoDBWindow<Integer>> filteredPages(int count,
+            int divisor) {
+        return (position, limit) -> {
+            limits.add(limit);
+            int start = position.isInitial()
+                    ? 0
+                    : Integer.parseInt(position.getExclusiveStartKey().get("id").getN()) + 1;
+            int end = Math.min(count, start + limit);
+            List<Integer> matches = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                if (i % divisor == 0) {
+                    matches.add(i);
+                }
+            }
+            DynamoDBScrollPosition next = end < count
+                    ? DynamoDBScrollPosition.of(
+                            Collections.singletonMap("id", new AttributeValue().withN(String.valueOf(end - 1))))
+                    : null;
+            return new DynamoDBWindow<>(matches, next);
+        };
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.BatchLoadOptions;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(MockitoExtension.class)
+public class MultipleEntityBatchLoadQueryTest {
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetResultList_LoadsAllHashKeysAtOnce() {
+        User a = user("1", "a");
+        User b = user("2", "b");
+        BatchLoadOptions options = BatchLoadOptions.defaults();
+        Mockito.when(dynamoDBOperations.batchLoad(Mockito.eq(User.class), Mockito.anyList(), Mockito.same(options)))
+                .thenReturn(Arrays.asList(b, a));
+        MultipleEntityBatchLoadQuery<User> underTest = new MultipleEntityBatchLoadQuery<>(dynamoDBOperations,
+                User.class, Arrays.asList("1", "2"), options, null);
+
+        assertEquals(Arrays.asList(b, a), underTest.getResultList());
+
+        ArgumentCaptor<List<KeyPair>> keyPairs = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(dynamoDBOperations).batchLoad(Mockito.eq(User.class), keyPairs.capture(), Mockito.same(options));
+        assertEquals(Arrays.asList("1", "2"),
+                keyPairs.getValue().stream().map(KeyPair::getHashKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testGetResultList_SortsAndLimitsTheLoadedItems() {
+        User a = user("1", "a");
+        User b = user("2", "b");
+        User c = user("3", "c");
+        Mockito.when(dynamoDBOperations.batchLoad(Mockito.eq(User.class), Mockito.anyList(), Mockito.any()))
+                .thenReturn(Arrays.asList(c, a, b));
+        MultipleEntityBatchLoadQuery<User> underTest = new MultipleEntityBatchLoadQuery<>(dynamoDBOperations,
+                User.class, Arrays.asList("1", "2", "3"), BatchLoadOptions.defaults(),
+                Comparator.comparing(User::getName));
+        underTest.setMaxResults(2);
+
+        List<User> results = underTest.getResultList();
+
+        assertEquals(2, results.size());
+        assertSame(a, results.get(0));
+        assertSame(b, results.get(1));
+    }
+
+    private static User user(String id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class MultipleEntityFanOutQueryTest {
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+
+    @Test
+    public void testGetResultList_MergesSortedResultsWithoutDuplicates() {
+        User a = user("1", "a");
+        User b = user("2", "b");
+        User c = user("3", "c");
+        User d = user("4", "d");
+        MultipleEntityFanOutQuery<User> underTest = new MultipleEntityFanOutQuery<>(dynamoDBOperations, User.class,
+                Arrays.asList(query(a, c, d), query(b, c)),
+                User::getId, Comparator.comparing(User::getName));
+
+        assertEquals(Arrays.asList(a, b, c, d), underTest.getResultList());
+    }
+
+    @Test
+    public void testGetResultList_RunsQueriesOnTheQueryExecutor() {
+        AtomicInteger executions = new AtomicInteger();
+        Executor queryExecutor = command -> {
+            executions.incrementAndGet();
+            command.run();
+        };
+        Mockito.when(dynamoDBOperations.getQueryExecutor()).thenReturn(queryExecutor);
+        User a = user("1", "a");
+        User b = user("2", "b");
+        User c = user("3", "c");
+        MultipleEntityFanOutQuery<User> underTest = new MultipleEntityFanOutQuery<>(dynamoDBOperations, User.class,
+                Arrays.asList(query(b, a), query(c), query(a)),
+                User::getId, null);
+
+        List<User> results = underTest.getResultList();
+
+        // The first query runs on the calling thread
+        assertEquals(2, executions.get());
+        assertEquals(Arrays.asList(b, a, c), results);
+    }
+
+    @Test
+    public void testExists() {
+        MultipleEntityFanOutQuery<User> underTest = new MultipleEntityFanOutQuery<>(dynamoDBOperations, User.class,
+                Arrays.asList(query(), query(user("1", "a"))),
+                User::getId, null);
+        MultipleEntityFanOutQuery<User> empty = new MultipleEntityFanOutQuery<>(dynamoDBOperations, User.class,
+                Arrays.asList(query()), User::getId, null);
+
+        assertTrue(underTest.exists());
+        assertFalse(empty.exists());
+    }
+
+    private Query<User> query(User... results) {
+        return new AbstractMultipleEntityQuery<User>(dynamoDBOperations, User.class) {
+            @Override
+            public List<User> getResultList() {
+                return Arrays.asList(results);
+            }
+        };
+    }
+
+    private static User user(String id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedList;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.core.PageLoadingPaginatedList;
+import org.socialsignin.spring.data.dynamodb.core.PageLoadingPaginatedList.PageSource;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MultipleEntityQueryExpressionQueryTest {
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+
+    @Test
+    public void testGetResultList_SplitsAnIntegralRangeKey() {
+        DynamoDBQueryExpression<User> queryExpression = between("1", "4");
+        when(dynamoDBOperations.query(eq(User.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(results(new User()));
+
+        MultipleEntityQueryExpressionQuery<User> underTest = new MultipleEntityQueryExpressionQuery<>(
+                dynamoDBOperations, User.class, queryExpression);
+        underTest.setPropertyTypes(Collections.singletonMap("numberOfPlaylists", Integer.class));
+        underTest.setRangeSegments(2);
+        List<User> actual = underTest.getResultList();
+
+        assertEquals(2, actual.size());
+        verify(dynamoDBOperations, times(2)).query(eq(User.class), any(DynamoDBQueryExpression.class));
+    }
+
+    @Test
+    public void testGetResultList_CompilesTheConditionsOfEachSegment() {
+        DynamoDBQueryExpression<User> queryExpression = between("1", "4");
+        List<String> keyConditionExpressions = Collections.synchronizedList(new ArrayList<>());
+        when(dynamoDBOperations.query(eq(User.class), any(DynamoDBQueryExpression.class))).thenAnswer(invocation -> {
+            DynamoDBQueryExpression<User> segment = invocation.getArgument(1);
+            keyConditionExpressions.add(segment.getKeyConditionExpression());
+            return results(new User());
+        });
+
+        MultipleEntityQueryExpressionQuery<User> underTest = new MultipleEntityQueryExpressionQuery<>(
+                dynamoDBOperations, User.class, queryExpression, MultipleEntityQueryExpressionQueryTest::compile);
+        underTest.setPropertyTypes(Collections.singletonMap("numberOfPlaylists", Integer.class));
+        underTest.setRangeSegments(2);
+        List<User> actual = underTest.getResultList();
+
+        assertEquals(2, actual.size());
+        assertEquals(new HashSet<>(Arrays.asList("numberOfPlaylists BETWEEN 1 AND 2",
+                "numberOfPlaylists BETWEEN 3 AND 4")), new HashSet<>(keyConditionExpressions));
+        assertNull(queryExpression.getRangeKeyConditions());
+    }
+
+    @Test
+    public void testGetResultList_DoesNotSplitAFractionalRangeKey() {
+        // 1.5 lies between the integral bounds of the sub-ranges
+        DynamoDBQueryExpression<User> queryExpression = between("1", "4");
+        PaginatedList<User> expected = results(new User());
+        when(dynamoDBOperations.query(User.class, queryExpression)).thenReturn(expected);
+
+        MultipleEntityQueryExpressionQuery<User> underTest = new MultipleEntityQueryExpressionQuery<>(
+                dynamoDBOperations, User.class, queryExpression);
+        underTest.setPropertyTypes(Collections.singletonMap("numberOfPlaylists", Double.class));
+        underTest.setRangeSegments(2);
+        List<User> actual = underTest.getResultList();
+
+        assertEquals(expected, actual);
+        verify(dynamoDBOperations).query(User.class, queryExpression);
+    }
+
+    private static DynamoDBQueryExpression<User> compile(DynamoDBQueryExpression<User> queryExpression) {
+        Condition condition = queryExpression.getRangeKeyConditions().get("numberOfPlaylists");
+        queryExpression.setKeyConditionExpression("numberOfPlaylists BETWEEN "
+                + condition.getAttributeValueList().get(0).getN() + " AND "
+                + condition.getAttributeValueList().get(1).getN());
+        queryExpression.setRangeKeyConditions(null);
+        return queryExpression;
+    }
+
+    private static PaginatedList<User> results(User... users) {
+        return new PageLoadingPaginatedList<>(null, User.class, null, PaginationLoadingStrategy.LAZY_LOADING,
+                new PageSource<User>() {
+                    @Override
+                    public List<User> nextPage() {
+                        return Arrays.asList(users);
+                    }
+
+                    @Override
+                    public boolean hasNextPage() {
+                        return false;
+                    }
+                }, page -> {
+                });
+    }
+
+    private static DynamoDBQueryExpression<User> between(String lower, String upper) {
+        return new DynamoDBQueryExpression<User>().withHashKeyValues(new User()).withRangeKeyCondition(
+                "numberOfPlaylists",
+                new Condition().withComparisonOperator(ComparisonOperator.BETWEEN).withAttributeValueList(
+                        new AttributeValue().withN(lower), new AttributeValue().withN(upper)));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RangeSegmentsTest {
+
+    @Test
+    public void testSplit_BetweenNumbers() {
+        Condition between = condition(ComparisonOperator.BETWEEN, number("1"), number("10"));
+
+        List<Condition> segments = RangeSegments.split(between, null, 3);
+
+        assertEquals(Arrays.asList(
+                condition(ComparisonOperator.BETWEEN, number("1"), number("3")),
+                condition(ComparisonOperator.BETWEEN, number("4"), number("6")),
+                condition(ComparisonOperator.BETWEEN, number("7"), number("10"))), segments);
+    }
+
+    @Test
+    public void testSplit_GreaterThanDateUpToTheLastItem() {
+        Condition greaterThan = condition(ComparisonOperator.GT, date("2018-01-01T00:00:00.000Z"));
+
+        List<Condition> segments = RangeSegments.split(greaterThan, date("2018-01-01T00:00:00.004Z"), 2);
+
+        assertEquals(Arrays.asList(
+                condition(ComparisonOperator.BETWEEN, date("2018-01-01T00:00:00.001Z"),
+                        date("2018-01-01T00:00:00.002Z")),
+                condition(ComparisonOperator.BETWEEN, date("2018-01-01T00:00:00.003Z"),
+                        date("2018-01-01T00:00:00.004Z"))), segments);
+    }
+
+    @Test
+    public void testSplit_NarrowRangeIntoFewerSegments() {
+        Condition greaterThanEqual = condition(ComparisonOperator.GE, number("5"));
+
+        assertEquals(Arrays.asList(
+                condition(ComparisonOperator.BETWEEN, number("5"), number("5")),
+                condition(ComparisonOperator.BETWEEN, number("6"), number("6"))),
+                RangeSegments.split(greaterThanEqual, number("6"), 8));
+        assertTrue(RangeSegments.split(condition(ComparisonOperator.GT, number("6")), number("6"), 8).isEmpty());
+    }
+
+    @Test
+    public void testSplit_UnsplittableValues() {
+        assertFalse(RangeSegments.isSplittable(condition(ComparisonOperator.LT, number("1"))));
+        assertNull(RangeSegments.split(condition(ComparisonOperator.BETWEEN, number("1.5"), number("10")), null, 2));
+        assertNull(RangeSegments.split(
+                condition(ComparisonOperator.BETWEEN, new AttributeValue("a"), new AttributeValue("z")), null, 2));
+    }
+
+    @Test
+    public void testIsSplittable_OnlyIntegralPropertyTypes() {
+        assertTrue(RangeSegments.isSplittable(long.class));
+        assertTrue(RangeSegments.isSplittable(Integer.class));
+        assertTrue(RangeSegments.isSplittable(BigInteger.class));
+        assertTrue(RangeSegments.isSplittable(Date.class));
+        assertTrue(RangeSegments.isSplittable(Instant.class));
+
+        assertFalse(RangeSegments.isSplittable(double.class));
+        assertFalse(RangeSegments.isSplittable(Float.class));
+        assertFalse(RangeSegments.isSplittable(BigDecimal.class));
+        assertFalse(RangeSegments.isSplittable(String.class));
+        assertFalse(RangeSegments.isSplittable((Class<?>) null));
+    }
+
+    private static Condition condition(ComparisonOperator operator, AttributeValue... values) {
+        return new Condition().withComparisonOperator(operator).withAttributeValueList(values);
+    }
+
+    private static AttributeValue number(String value) {
+        return new AttributeValue().withN(value);
+    }
+
+    private static AttributeValue date(String value) {
+        return new AttributeValue().withS(value);
+    }
+}
@@ -16,23 +16,35 @@
 package org.socialsignin.spring.data.dynamodb.repository.query;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 import org.socialsignin.spring.data.dynamodb.query.Query;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.core.RepositoryMetadata;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class AbstractDynamoDBQueryTest {
@@ -46,7 +58,7 @@ public class AbstractDynamoDBQueryTest {
     @Mock
     private Query<Long> countQuery;
     private final boolean isSingleEntityResultsRestriction = false;
-    private final Integer resultsRestrictionIfApplicable = 0;
+    private final Integer resultsRestrictionIfApplicable = null;
     private final boolean isDeleteQuery = false;
     private final boolean isExistsQuery = false;
     private final boolean isCountQuery = false;
@@ -103,8 +115,40 @@ public class AbstractDynamoDBQueryTest {
 
     @BeforeEach
     public void setUp() {
-        doReturn(UserRepository.class).when(metadata).getRepositoryInterface();
-        doReturn(User.class).when(metadata).getReturnedDomainClass(any());
+        lenient().doReturn(UserRepository.class).when(metadata).getRepositoryInterface();
+        lenient().doReturn(User.class).when(metadata).getReturnedDomainClass(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPaged_CountsWhileTheContentIsRead() throws Exception {
+        Method method = UserRepository.class.getMethod("findByName", String.class, Pageable.class);
+        DynamoDBQueryMethod<User, String> queryMethod = Mockito.mock(DynamoDBQueryMethod.class);
+        when(queryMethod.isPageQuery()).thenReturn(true);
+        doReturn(new DynamoDBParameters(method)).when(queryMethod).getParameters();
+
+        ExecutorService countExecutor = Executors.newSingleThreadExecutor();
+        try {
+            when(dynamoDBOperations.getCountExecutor()).thenReturn(countExecutor);
+            CountDownLatch counting = new CountDownLatch(1);
+            when(countQuery.getSingleResult()).thenAnswer(invocation -> {
+                counting.countDown();
+                return 25L;
+            });
+            List<User> content = generateContent(10);
+            when(query.getResultList()).thenAnswer(invocation -> {
+                assertTrue(counting.await(5, TimeUnit.SECONDS), "The count did not run while the content was read");
+                return content;
+            });
+
+            Page<User> page = (Page<User>) new TestAbstractDynamoDBQuery(dynamoDBOperations, queryMethod)
+                    .execute(new Object[]{"testName", PageRequest.of(0, 10)});
+
+            assertEquals(25, page.getTotalElements());
+            assertEquals(content, page.getContent());
+        } finally {
+            countExecutor.shutdownNow();
+        }
     }
 
     private List<User> generateContent(long count) {
@@ -16,18 +16,24 @@
 package org.socialsignin.spring.data.dynamodb.repository.query;
 
 
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
+import org.springframework.data.domain.Sort;
 
+import java.util.Collections;
 import java.util.Date;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -108,6 +114,19 @@ public class DynamoDBEntityWithHashKeyOnlyCriteriaUnitTest
         assertFalse(hasIndexRangeKeyCondition);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuildFanOutQuery_RejectsSortingByAnAttributeTheTableDoesNotHave() {
+        DynamoDBMapperTableModel<User> tableModel = Mockito.mock(DynamoDBMapperTableModel.class);
+        criteria = new DynamoDBEntityWithHashKeyOnlyCriteria<>(entityInformation, tableModel);
+        criteria.withSort(Sort.by("unknown"));
+
+        UnsupportedOperationException actual = assertThrows(UnsupportedOperationException.class,
+                () -> criteria.buildFanOutQuery(Mockito.mock(DynamoDBOperations.class), Collections.emptyList()));
+
+        assertEquals("Sorting only possible by attributes of User and not by unknown", actual.getMessage());
+    }
+
     // repeat
 
     @Test
@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DynamoDBQueryPlanTest {
+
+    @Mock
+    private DynamoDBEntityInformation<User, String> entityInformation;
+
+    private DynamoDBQueryPlan<User, String> queryPlan;
+
+    @BeforeEach
+    public void setUp() {
+        queryPlan = new DynamoDBQueryPlan<>(entityInformation);
+    }
+
+    @Test
+    public void testGetAttributeName_ResolvedOnce() {
+        when(entityInformation.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
+
+        assertEquals("Name", queryPlan.getAttributeName("name"));
+        assertEquals("Name", queryPlan.getAttributeName("name"));
+
+        verify(entityInformation, times(1)).getOverriddenAttributeName("name");
+    }
+
+    @Test
+    public void testGetGlobalSecondaryIndexName_ResolvedOncePerAttributeSet() {
+        Map<String, String[]> indexNames = new HashMap<>();
+        indexNames.put("name", new String[]{"NameIndex", "NamePostCodeIndex"});
+        indexNames.put("postCode", new String[]{"NamePostCodeIndex"});
+        when(entityInformation.getGlobalSecondaryIndexNamesByPropertyName()).thenReturn(indexNames);
+        when(entityInformation.getOverriddenAttributeName("name")).thenReturn(Optional.empty());
+        when(entityInformation.getOverriddenAttributeName("postCode")).thenReturn(Optional.empty());
+
+        assertEquals("NameIndex", queryPlan.getGlobalSecondaryIndexName(new HashSet<>(Arrays.asList("name"))));
+        assertEquals("NamePostCodeIndex",
+                queryPlan.getGlobalSecondaryIndexName(new HashSet<>(Arrays.asList("name", "postCode"))));
+        assertEquals("NamePostCodeIndex",
+                queryPlan.getGlobalSecondaryIndexName(new HashSet<>(Arrays.asList("postCode", "name"))));
+        assertNull(queryPlan.getGlobalSecondaryIndexName(new HashSet<>(Arrays.asList("age"))));
+        assertNull(queryPlan.getGlobalSecondaryIndexName(new HashSet<>()));
+
+        verify(entityInformation, times(1)).getGlobalSecondaryIndexNamesByPropertyName();
+    }
+
+    @Test
+    public void testGetLeafProperty_SharedAcrossCalls() {
+        Part part = new PartTree("findByName", User.class).getParts().iterator().next();
+
+        DynamoDBQueryPlan.LeafProperty leafProperty = queryPlan.getLeafProperty(part);
+
+        assertEquals("name", leafProperty.getName());
+        assertEquals(String.class, leafProperty.getType());
+        assertSame(leafProperty, queryPlan.getLeafProperty(part));
+    }
+
+    @Test
+    public void testGetConditionExpressionTemplate_CompiledOncePerShape() {
+        Map<String, String> nativeNames = Collections.singletonMap("#field", "name");
+        Map<String, Condition> keyConditions = keyConditions("a", "1", "2");
+
+        ConditionExpressionTemplate template = queryPlan.getConditionExpressionTemplate(keyConditions, null,
+                "contains(#field, :value)", () -> nativeNames);
+        ConditionExpressionTemplate.BoundExpressions expressions = template.bind(keyConditions, null,
+                Collections.singletonMap(":value", new AttributeValue("x")));
+
+        assertEquals("#derived0 = :derived0 AND #derived1 BETWEEN :derived1 AND :derived2",
+                expressions.getKeyConditionExpression());
+        assertEquals("contains(#field, :value)", expressions.getFilterExpression());
+        Map<String, String> expectedNames = new HashMap<>();
+        expectedNames.put("#field", "name");
+        expectedNames.put("#derived0", "Id");
+        expectedNames.put("#derived1", "Date");
+        assertEquals(expectedNames, expressions.getExpressionAttributeNames());
+
+        // Another call binds its values to the same template
+        Map<String, Condition> otherKeyConditions = keyConditions("b", "3", "4");
+        assertSame(template, queryPlan.getConditionExpressionTemplate(otherKeyConditions, null,
+                "contains(#field, :value)", () -> nativeNames));
+        Map<String, AttributeValue> expectedValues = new HashMap<>();
+        expectedValues.put(":value", new AttributeValue("x"));
+        expectedValues.put(":derived0", new AttributeValue("b"));
+        expectedValues.put(":derived1", new AttributeValue().withN("3"));
+        expectedValues.put(":derived2", new AttributeValue().withN("4"));
+        assertEquals(expectedValues, template.bind(otherKeyConditions, null,
+                Collections.singletonMap(":value", new AttributeValue("x"))).getExpressionAttributeValues());
+
+        // Derived filters are combined with the native one
+        Map<String, Condition> filterConditions = inConditions(new AttributeValue("x"), new AttributeValue("y"));
+        ConditionExpressionTemplate scanTemplate = queryPlan.getConditionExpressionTemplate(null, filterConditions,
+                "contains(#field, :value)", () -> nativeNames);
+        ConditionExpressionTemplate.BoundExpressions scanExpressions = scanTemplate.bind(null, filterConditions,
+                Collections.emptyMap());
+        assertNull(scanExpressions.getKeyConditionExpression());
+        assertEquals("(#derived0 IN (:derivedIn0v0, :derivedIn0v1)) AND (contains(#field, :value))",
+                scanExpressions.getFilterExpression());
+    }
+
+    @Test
+    public void testGetConditionExpressionTemplate_SharedByAllSizesOfInLists() {
+        Map<String, Condition> twoValues = inConditions(new AttributeValue("x"), new AttributeValue("y"));
+        Map<String, Condition> threeValues = inConditions(new AttributeValue("x"), new AttributeValue("y"),
+                new AttributeValue("z"));
+
+        ConditionExpressionTemplate template = queryPlan.getConditionExpressionTemplate(null, twoValues, null,
+                Collections::emptyMap);
+        assertSame(template, queryPlan.getConditionExpressionTemplate(null, threeValues, null,
+                Collections::emptyMap));
+
+        ConditionExpressionTemplate.BoundExpressions expressions = template.bind(null, threeValues,
+                Collections.emptyMap());
+        assertEquals("#derived0 IN (:derivedIn0v0, :derivedIn0v1, :derivedIn0v2)",
+                expressions.getFilterExpression());
+        Map<String, AttributeValue> expectedValues = new HashMap<>();
+        expectedValues.put(":derivedIn0v0", new AttributeValue("x"));
+        expectedValues.put(":derivedIn0v1", new AttributeValue("y"));
+        expectedValues.put(":derivedIn0v2", new AttributeValue("z"));
+        assertEquals(expectedValues, expressions.getExpressionAttributeValues());
+    }
+
+    private static Map<String, Condition> inConditions(AttributeValue... values) {
+        return Collections.singletonMap("Name", new Condition()
+                .withComparisonOperator(ComparisonOperator.IN)
+                .withAttributeValueList(values));
+    }
+
+    private static Map<String, Condition> keyConditions(String id, String from, String to) {
+        Map<String, Condition> keyConditions = new LinkedHashMap<>();
+        keyConditions.put("Id", new Condition().withComparisonOperator(ComparisonOperator.EQ)
+                .withAttributeValueList(new AttributeValue(id)));
+        keyConditions.put("Date", new Condition().withComparisonOperator(ComparisonOperator.BETWEEN)
+                .withAttributeValueList(new AttributeValue().withN(from), new AttributeValue().withN(to)));
+        return keyConditions;
+    }
+}
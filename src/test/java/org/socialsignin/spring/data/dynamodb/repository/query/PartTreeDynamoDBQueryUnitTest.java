@@ -17,8 +17,10 @@ package org.socialsignin.spring.data.dynamodb.repository.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
@@ -29,6 +31,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.BatchLoadOptions;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.domain.sample.DynamoDBYearMarshaller;
 import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
@@ -47,6 +50,9 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -133,6 +139,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         Mockito.lenient().when(mockDynamoDBQueryMethod.getName()).thenReturn(repositoryMethodName);
         Mockito.lenient().when(mockDynamoDBQueryMethod.getParameters()).thenReturn(mockParameters);
         Mockito.lenient().when(mockDynamoDBQueryMethod.getConsistentReadMode()).thenReturn(QueryConstants.ConsistentReadMode.DEFAULT);
+        Mockito.lenient().when(mockDynamoDBQueryMethod.getMaxFanOut()).thenReturn(QueryConstants.DEFAULT_MAX_FAN_OUT);
         Mockito.lenient().when(mockParameters.getBindableParameters()).thenReturn(mockParameters);
         Mockito.lenient().when(mockParameters.getNumberOfParameters()).thenReturn(numberOfParameters);
         // Mockito.lenient().when(mockDynamoDBQueryMethod.getReturnedObjectType()).thenReturn(clazz);
@@ -281,7 +288,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(playlistClassCaptor.getValue(), Playlist.class);
 
         // Assert that we only one filter condition for the one property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("playlistName");
 
@@ -340,7 +347,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(playlistClassCaptor.getValue(), Playlist.class);
 
         // Assert that we only one filter condition for the one property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("playlistName");
 
@@ -397,10 +404,10 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Object hashKeyPrototypeObject = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertTrue(hashKeyPrototypeObject instanceof Playlist);
-        Playlist hashKeyPropertyPlaylist = (Playlist) hashKeyPrototypeObject;
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
         // Verify that the expected DynamoDBOperations method was called
         Mockito.verify(mockDynamoDBOperations).query(playlistClassCaptor.getValue(), playlistQueryCaptor.getValue());
@@ -429,7 +436,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(playlistClassCaptor.getValue(), Playlist.class);
 
         // Assert that we only one filter condition for the one property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("playlistName");
 
@@ -512,7 +519,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(playlistClassCaptor.getValue(), Playlist.class);
 
         // Assert that we have the correct filter conditions
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(2, filterConditions.size());
         Condition filterCondition1 = filterConditions.get("userName");
         Condition filterCondition2 = filterConditions.get("playlistName");
@@ -590,12 +597,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Object hashKeyPrototypeObject = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertTrue(hashKeyPrototypeObject instanceof Playlist);
-        Playlist hashKeyPropertyPlaylist = (Playlist) hashKeyPrototypeObject;
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(0, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
+        assertEquals(1, keyConditions.size());
 
         // Verify that the expected DynamoDBOperations method was called
         Mockito.verify(mockDynamoDBOperations).query(playlistClassCaptor.getValue(), playlistQueryCaptor.getValue());
@@ -637,12 +644,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Object hashKeyPrototypeObject = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertTrue(hashKeyPrototypeObject instanceof Playlist);
-        Playlist hashKeyPropertyPlaylist = (Playlist) hashKeyPrototypeObject;
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(0, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
+        assertEquals(1, keyConditions.size());
 
         // Verify that the expected DynamoDBOperations method was called
         Mockito.verify(mockDynamoDBOperations).query(playlistClassCaptor.getValue(), playlistQueryCaptor.getValue());
@@ -687,14 +694,14 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have two filter condition, for the name of the
         // property
-        Object hashKeyPrototypeObject = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertTrue(hashKeyPrototypeObject instanceof Playlist);
-        Playlist hashKeyPropertyPlaylist = (Playlist) hashKeyPrototypeObject;
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(1, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
+        assertEquals(2, keyConditions.size());
 
-        Condition condition = playlistQueryCaptor.getValue().getRangeKeyConditions().get("displayName");
+        Condition condition = keyConditions.get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("someDisplayName", condition.getAttributeValueList().get(0).getS());
@@ -765,12 +772,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Object hashKeyPrototypeObject = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertTrue(hashKeyPrototypeObject instanceof Playlist);
-        Playlist hashKeyPropertyPlaylist = (Playlist) hashKeyPrototypeObject;
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(0, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
+        assertEquals(1, keyConditions.size());
 
         // Verify that the expected DynamoDBOperations method was called
         Mockito.verify(mockDynamoDBOperations).query(playlistClassCaptor.getValue(), playlistQueryCaptor.getValue());
@@ -847,11 +854,13 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition for the hash key,and for the
         // index range key
-        Playlist hashKeyPropertyPlaylist = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(1, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
-        Condition condition = playlistQueryCaptor.getValue().getRangeKeyConditions().get("displayName");
+        assertEquals(2, keyConditions.size());
+        Condition condition = keyConditions.get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("someDisplayName", condition.getAttributeValueList().get(0).getS());
@@ -894,13 +903,13 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition for the hash key,and for the
         // index range key
-        Object hashKeyPrototypeObject = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertTrue(hashKeyPrototypeObject instanceof Playlist);
-        Playlist hashKeyPropertyPlaylist = (Playlist) hashKeyPrototypeObject;
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(1, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
-        Condition condition = playlistQueryCaptor.getValue().getRangeKeyConditions().get("displayName");
+        assertEquals(2, keyConditions.size());
+        Condition condition = keyConditions.get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("someDisplayName", condition.getAttributeValueList().get(0).getS());
@@ -977,11 +986,13 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition for the hash key,and for the
         // index range key
-        Playlist hashKeyPropertyPlaylist = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(1, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
-        Condition condition = playlistQueryCaptor.getValue().getRangeKeyConditions().get("displayName");
+        assertEquals(2, keyConditions.size());
+        Condition condition = keyConditions.get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("someDisplayName", condition.getAttributeValueList().get(0).getS());
@@ -1060,11 +1071,13 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition for the hash key,and for the
         // index range key
-        Playlist hashKeyPropertyPlaylist = playlistQueryCaptor.getValue().getHashKeyValues();
-        assertEquals("someUserName", hashKeyPropertyPlaylist.getUserName());
+        Map<String, Condition> keyConditions = keyConditionsOf(playlistQueryCaptor.getValue());
+        Condition hashKeyCondition = keyConditions.get("userName");
+        assertEquals(ComparisonOperator.EQ.name(), hashKeyCondition.getComparisonOperator());
+        assertEquals("someUserName", hashKeyCondition.getAttributeValueList().get(0).getS());
 
-        assertEquals(1, playlistQueryCaptor.getValue().getRangeKeyConditions().size());
-        Condition condition = playlistQueryCaptor.getValue().getRangeKeyConditions().get("DisplayName");
+        assertEquals(2, keyConditions.size());
+        Condition condition = keyConditions.get("DisplayName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("someDisplayName", condition.getAttributeValueList().get(0).getS());
@@ -1104,7 +1117,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), Playlist.class);
 
         // Assert that we have only three filter conditions
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(2, filterConditions.size());
         Condition filterCondition1 = filterConditions.get("userName");
         Condition filterCondition2 = filterConditions.get("DisplayName");
@@ -1169,7 +1182,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), Playlist.class);
 
         // Assert that we have only three filter conditions
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(2, filterConditions.size());
         Condition filterCondition1 = filterConditions.get("playlistName");
         Condition filterCondition2 = filterConditions.get("DisplayName");
@@ -1226,7 +1239,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), Playlist.class);
 
         // Assert that we have only three filter conditions
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(2, filterConditions.size());
         Condition filterCondition1 = filterConditions.get("userName");
         Condition filterCondition2 = filterConditions.get("playlistName");
@@ -1295,7 +1308,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), Playlist.class);
 
         // Assert that we have only three filter conditions
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(3, filterConditions.size());
         Condition filterCondition1 = filterConditions.get("userName");
         Condition filterCondition2 = filterConditions.get("playlistName");
@@ -1364,7 +1377,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("name");
         assertNotNull(filterCondition);
@@ -1414,7 +1427,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("Name");
         assertNotNull(filterCondition);
@@ -1462,7 +1475,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), User.class);
 
         // Assert that we have two filter conditions, for the id and name
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(2, filterConditions.size());
         Condition nameFilterCondition = filterConditions.get("name");
         assertNotNull(nameFilterCondition);
@@ -1523,7 +1536,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), User.class);
 
         // Assert that we have one filter condition
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition testSetFilterCondition = filterConditions.get("testSet");
         assertNotNull(testSetFilterCondition);
@@ -1581,7 +1594,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals(userClassCaptor.getValue(), User.class);
 
         // Assert that we have two filter conditions, for the id and name
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(2, filterConditions.size());
         Condition nameFilterCondition = filterConditions.get("Name");
         assertNotNull(nameFilterCondition);
@@ -1645,7 +1658,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("name");
         assertNotNull(filterCondition);
@@ -1724,6 +1737,65 @@ public class PartTreeDynamoDBQueryUnitTest {
 
     }
 
+    @Test
+    public void testExecute_WhenFinderMethodIsFindingEntityList_WithIn_WhenFindingByHashKey() {
+        setupCommonMocksForThisRepositoryMethod(mockUserEntityMetadata, mockDynamoDBUserQueryMethod, User.class,
+                "findByIdIn", 1, "id", null);
+        Mockito.lenient().when(mockDynamoDBUserQueryMethod.isCollectionQuery()).thenReturn(true);
+        User otherUser = new User();
+        Mockito.when(mockDynamoDBOperations.batchLoad(Mockito.eq(User.class), Mockito.anyList(), Mockito.any()))
+                .thenReturn(Arrays.asList(mockUser, otherUser));
+
+        // Execute the query
+        Object[] parameters = new Object[]{Arrays.asList("someId", "someOtherId", "someId")};
+        Object o = partTreeDynamoDBQuery.execute(parameters);
+
+        // Assert that the distinct hash keys got loaded by a single batch load instead of scanning the table
+        assertEquals(Arrays.asList(mockUser, otherUser), o);
+        ArgumentCaptor<List<KeyPair>> keyPairs = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<BatchLoadOptions> options = ArgumentCaptor.forClass(BatchLoadOptions.class);
+        Mockito.verify(mockDynamoDBOperations).batchLoad(Mockito.eq(User.class), keyPairs.capture(), options.capture());
+        assertEquals(Arrays.asList("someId", "someOtherId"),
+                keyPairs.getValue().stream().map(KeyPair::getHashKey).collect(Collectors.toList()));
+        assertTrue(options.getValue().isPreserveOrder());
+        Mockito.verify(mockDynamoDBOperations, Mockito.never()).load(Mockito.any(), Mockito.any());
+        Mockito.verify(mockDynamoDBOperations, Mockito.never()).scan(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testExecute_WhenFinderMethodIsFindingEntityWithCompositeIdList_WithIn_WhenExceedingMaxFanOut() {
+        setupCommonMocksForThisRepositoryMethod(mockPlaylistEntityMetadata, mockDynamoDBPlaylistQueryMethod,
+                Playlist.class, "findByUserNameIn", 1, "userName", "playlistName");
+        Mockito.lenient().when(mockDynamoDBPlaylistQueryMethod.isCollectionQuery()).thenReturn(true);
+        Mockito.when(mockDynamoDBPlaylistQueryMethod.getMaxFanOut()).thenReturn(1);
+        partTreeDynamoDBQuery = new PartTreeDynamoDBQuery<>(mockDynamoDBOperations, mockDynamoDBPlaylistQueryMethod);
+        Mockito.when(mockDynamoDBOperations.scan(playlistClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(mockPlaylistScanResults);
+
+        // Execute the query
+        Object[] parameters = new Object[]{Arrays.asList("someUserName", "someOtherUserName")};
+        Object o = partTreeDynamoDBQuery.execute(parameters);
+
+        // Assert that more values than queries to run filter a scan instead
+        assertEquals(mockPlaylistScanResults, o);
+        Condition filterCondition = filterConditionsOf(scanCaptor.getValue()).get("userName");
+        assertEquals(ComparisonOperator.IN.name(), filterCondition.getComparisonOperator());
+        assertEquals(2, filterCondition.getAttributeValueList().size());
+        Mockito.verify(mockDynamoDBOperations, Mockito.never())
+                .query(Mockito.any(), Mockito.any(DynamoDBQueryExpression.class));
+    }
+
+    @Test
+    public void testExecute_WhenFinderMethodIsFindingEntityList_WithOr_WhenNotFindingByHashKey() {
+        setupCommonMocksForThisRepositoryMethod(mockUserEntityMetadata, mockDynamoDBUserQueryMethod, User.class,
+                "findByIdOrName", 2, "id", null);
+        Mockito.lenient().when(mockDynamoDBUserQueryMethod.isCollectionQuery()).thenReturn(true);
+
+        // Only alternatives on hash keys are queried instead of scanning the table
+        assertThrows(UnsupportedOperationException.class,
+                () -> partTreeDynamoDBQuery.execute(new Object[]{"someId", "someName"}));
+    }
+
     @Test
     public void testExecute_WhenFinderMethodIsFindingEntityList_WithSingleStringArrayParameter_WithIn_WhenNotFindingByHashKey() {
         setupCommonMocksForThisRepositoryMethod(mockUserEntityMetadata, mockDynamoDBUserQueryMethod, User.class,
@@ -1753,7 +1825,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("name");
         assertNotNull(filterCondition);
@@ -1810,7 +1882,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("name");
         assertNotNull(filterCondition);
@@ -1871,7 +1943,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("joinDate");
         assertNotNull(filterCondition);
@@ -1933,7 +2005,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("joinYear");
         assertNotNull(filterCondition);
@@ -2010,8 +2082,8 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one range condition for the global secondary index
         // hash key
-        assertEquals(1, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition condition = queryResultCaptor.getValue().getKeyConditions().get("joinYear");
+        assertEquals(1, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition condition = keyConditionsOf(queryResultCaptor.getValue()).get("joinYear");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals(joinYearString, condition.getAttributeValueList().get(0).getS());
@@ -2079,12 +2151,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only two range conditions for the global secondary index
         // hash key and range key
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition yearCondition = queryResultCaptor.getValue().getKeyConditions().get("joinYear");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition yearCondition = keyConditionsOf(queryResultCaptor.getValue()).get("joinYear");
         assertEquals(ComparisonOperator.EQ.name(), yearCondition.getComparisonOperator());
         assertEquals(1, yearCondition.getAttributeValueList().size());
         assertEquals(joinYearString, yearCondition.getAttributeValueList().get(0).getS());
-        Condition postCodeCondition = queryResultCaptor.getValue().getKeyConditions().get("postCode");
+        Condition postCodeCondition = keyConditionsOf(queryResultCaptor.getValue()).get("postCode");
         assertEquals(ComparisonOperator.EQ.name(), postCodeCondition.getComparisonOperator());
         assertEquals(1, postCodeCondition.getAttributeValueList().size());
         assertEquals("nw1", postCodeCondition.getAttributeValueList().get(0).getS());
@@ -2152,8 +2224,8 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one range condition for the global secondary index
         // hash key
-        assertEquals(1, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition condition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(1, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition condition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("Michael", condition.getAttributeValueList().get(0).getS());
@@ -2212,8 +2284,8 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("playlist", queryResultCaptor.getValue().getTableName());
 
         // Assert that we have the correct conditions
-        assertEquals(1, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition condition = queryResultCaptor.getValue().getKeyConditions().get("playlistName");
+        assertEquals(1, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition condition = keyConditionsOf(queryResultCaptor.getValue()).get("playlistName");
         assertEquals(ComparisonOperator.EQ.name(), condition.getComparisonOperator());
         assertEquals(1, condition.getAttributeValueList().size());
         assertEquals("Some Playlist", condition.getAttributeValueList().get(0).getS());
@@ -2277,12 +2349,12 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("playlist", queryResultCaptor.getValue().getTableName());
 
         // Assert that we the correct conditions
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("Michael", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("userName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("userName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("1", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2351,12 +2423,12 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("playlist", queryResultCaptor.getValue().getTableName());
 
         // Assert that we have the correct conditions
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("Michael", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("playlistName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("playlistName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomePlaylistName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2427,12 +2499,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have the correct conditions
 
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("SomeDisplayName", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("playlistName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("playlistName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomePlaylistName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2503,12 +2575,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have the correct conditions
 
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("SomeDisplayName", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("userName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("userName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomeUserName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2578,12 +2650,12 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("playlist", queryResultCaptor.getValue().getTableName());
 
         // Assert that we the correct conditions
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.GT.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("Michael", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("userName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("userName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("1", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2653,12 +2725,12 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("playlist", queryResultCaptor.getValue().getTableName());
 
         // Assert that we the correct conditions
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.GT.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("Michael", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("userName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("userName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("1", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2727,12 +2799,12 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("playlist", queryResultCaptor.getValue().getTableName());
 
         // Assert that we have the correct conditions
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.GT.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("Michael", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("playlistName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("playlistName");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomePlaylistName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2803,12 +2875,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have the correct conditions
 
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("SomeDisplayName", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("playlistName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("playlistName");
         assertEquals(ComparisonOperator.GT.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomePlaylistName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2879,12 +2951,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have the correct conditions
 
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("displayName");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("displayName");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("SomeDisplayName", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("userName");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("userName");
         assertEquals(ComparisonOperator.GT.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomeUserName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -2955,12 +3027,12 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have the correct conditions
 
-        assertEquals(2, queryResultCaptor.getValue().getKeyConditions().size());
-        Condition globalRangeKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("name");
+        assertEquals(2, keyConditionsOf(queryResultCaptor.getValue()).size());
+        Condition globalRangeKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("name");
         assertEquals(ComparisonOperator.EQ.name(), globalRangeKeyCondition.getComparisonOperator());
         assertEquals(1, globalRangeKeyCondition.getAttributeValueList().size());
         assertEquals("SomeName", globalRangeKeyCondition.getAttributeValueList().get(0).getS());
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("postCode");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("postCode");
         assertEquals(ComparisonOperator.GT.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomePostCode", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -3035,7 +3107,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("user", queryResultCaptor.getValue().getTableName());
 
         // Assert that we have the correct conditions
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("name");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("name");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomeName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -3102,7 +3174,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertEquals("user", queryResultCaptor.getValue().getTableName());
 
         // Assert that we have the correct conditions
-        Condition globalHashKeyCondition = queryResultCaptor.getValue().getKeyConditions().get("name");
+        Condition globalHashKeyCondition = keyConditionsOf(queryResultCaptor.getValue()).get("name");
         assertEquals(ComparisonOperator.EQ.name(), globalHashKeyCondition.getComparisonOperator());
         assertEquals(1, globalHashKeyCondition.getAttributeValueList().size());
         assertEquals("SomeName", globalHashKeyCondition.getAttributeValueList().get(0).getS());
@@ -3151,7 +3223,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("postCode");
         assertNotNull(filterCondition);
@@ -3207,7 +3279,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("numberOfPlaylists");
         assertNotNull(filterCondition);
@@ -3261,7 +3333,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("id");
         assertNotNull(filterCondition);
@@ -3315,7 +3387,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("name");
         assertNotNull(filterCondition);
@@ -3348,10 +3420,8 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsByName", 1, "id", null);
         Mockito.lenient().when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.lenient().when(mockUserScanResults.size()).thenReturn(0);
-        Mockito.lenient().when(mockUserScanResults.isEmpty()).thenReturn(true);
-        Mockito.lenient().when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
-                .thenReturn(mockUserScanResults);
+        Mockito.lenient().when(mockDynamoDBOperations.exists(userClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(false);
 
         // Execute the query
         Object[] parameters = new Object[]{"someName"};
@@ -3365,7 +3435,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("Name");
         assertNotNull(filterCondition);
@@ -3389,7 +3459,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertNull(filterCondition.getAttributeValueList().get(0).getBS());
 
         // Verify that the expected DynamoDBOperations method was called
-        Mockito.verify(mockDynamoDBOperations).scan(userClassCaptor.getValue(), scanCaptor.getValue());
+        Mockito.verify(mockDynamoDBOperations).exists(userClassCaptor.getValue(), scanCaptor.getValue());
     }
 
     @Test
@@ -3398,11 +3468,8 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsByName", 1, "id", null);
         Mockito.lenient().when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.lenient().when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        // Mockito.lenient().when(mockUserScanResults.size()).thenReturn(1);
-        Mockito.lenient().when(mockUserScanResults.isEmpty()).thenReturn(false);
-        Mockito.lenient().when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
-                .thenReturn(mockUserScanResults);
+        Mockito.lenient().when(mockDynamoDBOperations.exists(userClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(true);
 
         // Execute the query
         Object[] parameters = new Object[]{"someName"};
@@ -3416,7 +3483,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("Name");
         assertNotNull(filterCondition);
@@ -3440,7 +3507,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertNull(filterCondition.getAttributeValueList().get(0).getBS());
 
         // Verify that the expected DynamoDBOperations method was called
-        Mockito.verify(mockDynamoDBOperations).scan(userClassCaptor.getValue(), scanCaptor.getValue());
+        Mockito.verify(mockDynamoDBOperations).exists(userClassCaptor.getValue(), scanCaptor.getValue());
     }
 
     @Test
@@ -3449,12 +3516,8 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsByName", 1, "id", null);
         Mockito.lenient().when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.lenient().when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        // Mockito.lenient().when(mockUserScanResults.get(1)).thenReturn(mockUser);
-        // Mockito.lenient().when(mockUserScanResults.size()).thenReturn(2);
-        Mockito.lenient().when(mockUserScanResults.isEmpty()).thenReturn(false);
-        Mockito.lenient().when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
-                .thenReturn(mockUserScanResults);
+        Mockito.lenient().when(mockDynamoDBOperations.exists(userClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(true);
 
         // Execute the query
         Object[] parameters = new Object[]{"someName"};
@@ -3468,7 +3531,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("Name");
         assertNotNull(filterCondition);
@@ -3492,7 +3555,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertNull(filterCondition.getAttributeValueList().get(0).getBS());
 
         // Verify that the expected DynamoDBOperations method was called
-        Mockito.verify(mockDynamoDBOperations).scan(userClassCaptor.getValue(), scanCaptor.getValue());
+        Mockito.verify(mockDynamoDBOperations).exists(userClassCaptor.getValue(), scanCaptor.getValue());
     }
 
     @Test
@@ -3501,10 +3564,8 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsTop1ByName", 1, "id", null);
         Mockito.lenient().when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.lenient().when(mockUserScanResults.size()).thenReturn(0);
-        Mockito.lenient().when(mockUserScanResults.isEmpty()).thenReturn(true);
-        Mockito.lenient().when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
-                .thenReturn(mockUserScanResults);
+        Mockito.lenient().when(mockDynamoDBOperations.exists(userClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(false);
 
         // Execute the query
         Object[] parameters = new Object[]{"someName"};
@@ -3518,7 +3579,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("Name");
         assertNotNull(filterCondition);
@@ -3542,7 +3603,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertNull(filterCondition.getAttributeValueList().get(0).getBS());
 
         // Verify that the expected DynamoDBOperations method was called
-        Mockito.verify(mockDynamoDBOperations).scan(userClassCaptor.getValue(), scanCaptor.getValue());
+        Mockito.verify(mockDynamoDBOperations).exists(userClassCaptor.getValue(), scanCaptor.getValue());
     }
 
     @Test
@@ -3551,11 +3612,8 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsTop1ByName", 1, "id", null);
         Mockito.lenient().when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.lenient().when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        // Mockito.lenient().when(mockUserScanResults.size()).thenReturn(1);
-        Mockito.lenient().when(mockUserScanResults.isEmpty()).thenReturn(false);
-        Mockito.lenient().when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
-                .thenReturn(mockUserScanResults);
+        Mockito.lenient().when(mockDynamoDBOperations.exists(userClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(true);
 
         // Execute the query
         Object[] parameters = new Object[]{"someName"};
@@ -3569,7 +3627,7 @@ public class PartTreeDynamoDBQueryUnitTest {
 
         // Assert that we have only one filter condition, for the name of the
         // property
-        Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
+        Map<String, Condition> filterConditions = filterConditionsOf(scanCaptor.getValue());
         assertEquals(1, filterConditions.size());
         Condition filterCondition = filterConditions.get("Name");
         assertNotNull(filterCondition);
@@ -3593,6 +3651,79 @@ public class PartTreeDynamoDBQueryUnitTest {
         assertNull(filterCondition.getAttributeValueList().get(0).getBS());
 
         // Verify that the expected DynamoDBOperations method was called
-        Mockito.verify(mockDynamoDBOperations).scan(userClassCaptor.getValue(), scanCaptor.getValue());
+        Mockito.verify(mockDynamoDBOperations).exists(userClassCaptor.getValue(), scanCaptor.getValue());
+    }
+
+    private static final Pattern DERIVED_CONDITION = Pattern.compile(
+            "(#derived\\d+) (=|<>|<=|<|>=|>) (:derived\\d+)"
+                    + "|(#derived\\d+) BETWEEN (:derived\\d+) AND (:derived\\d+)"
+                    + "|(#derived\\d+) IN \\(([^)]*)\\)"
+                    + "|(NOT contains|contains|begins_with)\\((#derived\\d+), (:derived\\d+)\\)"
+                    + "|(attribute_not_exists|attribute_exists)\\((#derived\\d+)\\)");
+    private static final Map<String, ComparisonOperator> OPERATORS = new HashMap<>();
+
+    static {
+        OPERATORS.put("=", ComparisonOperator.EQ);
+        OPERATORS.put("<>", ComparisonOperator.NE);
+        OPERATORS.put("<", ComparisonOperator.LT);
+        OPERATORS.put("<=", ComparisonOperator.LE);
+        OPERATORS.put(">", ComparisonOperator.GT);
+        OPERATORS.put(">=", ComparisonOperator.GE);
+        OPERATORS.put("NOT contains", ComparisonOperator.NOT_CONTAINS);
+        OPERATORS.put("contains", ComparisonOperator.CONTAINS);
+        OPERATORS.put("begins_with", ComparisonOperator.BEGINS_WITH);
+        OPERATORS.put("attribute_not_exists", ComparisonOperator.NULL);
+        OPERATORS.put("attribute_exists", ComparisonOperator.NOT_NULL);
+    }
+
+    private static Map<String, Condition> keyConditionsOf(QueryRequest queryRequest) {
+        return conditionsOf(queryRequest.getKeyConditionExpression(), queryRequest.getExpressionAttributeNames(),
+                queryRequest.getExpressionAttributeValues());
+    }
+
+    private static Map<String, Condition> keyConditionsOf(DynamoDBQueryExpression<?> queryExpression) {
+        return conditionsOf(queryExpression.getKeyConditionExpression(), queryExpression.getExpressionAttributeNames(),
+                queryExpression.getExpressionAttributeValues());
+    }
+
+    private static Map<String, Condition> filterConditionsOf(DynamoDBScanExpression scanExpression) {
+        return conditionsOf(scanExpression.getFilterExpression(), scanExpression.getExpressionAttributeNames(),
+                scanExpression.getExpressionAttributeValues());
+    }
+
+    /**
+     * Reads the derived conditions back from the expressions they are compiled to, by attribute name
+     */
+    private static Map<String, Condition> conditionsOf(String expression, Map<String, String> names,
+            Map<String, AttributeValue> values) {
+        Map<String, Condition> conditions = new LinkedHashMap<>();
+        if (expression == null) {
+            return conditions;
+        }
+        Matcher matcher = DERIVED_CONDITION.matcher(expression);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                conditions.put(names.get(matcher.group(1)), new Condition()
+                        .withComparisonOperator(OPERATORS.get(matcher.group(2)))
+                        .withAttributeValueList(values.get(matcher.group(3))));
+            } else if (matcher.group(4) != null) {
+                conditions.put(names.get(matcher.group(4)), new Condition()
+                        .withComparisonOperator(ComparisonOperator.BETWEEN)
+                        .withAttributeValueList(values.get(matcher.group(5)), values.get(matcher.group(6))));
+            } else if (matcher.group(7) != null) {
+                conditions.put(names.get(matcher.group(7)), new Condition()
+                        .withComparisonOperator(ComparisonOperator.IN)
+                        .withAttributeValueList(Arrays.stream(matcher.group(8).split(", "))
+                                .map(values::get).collect(Collectors.toList())));
+            } else if (matcher.group(9) != null) {
+                conditions.put(names.get(matcher.group(10)), new Condition()
+                        .withComparisonOperator(OPERATORS.get(matcher.group(9)))
+                        .withAttributeValueList(values.get(matcher.group(11))));
+            } else {
+                conditions.put(names.get(matcher.group(13)), new Condition()
+                        .withComparisonOperator(OPERATORS.get(matcher.group(12))));
+            }
+        }
+        return conditions;
     }
 }
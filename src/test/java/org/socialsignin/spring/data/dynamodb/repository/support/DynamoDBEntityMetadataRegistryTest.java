@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+import org.socialsignin.spring.data.dynamodb.domain.sample.PlaylistId;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DynamoDBEntityMetadataRegistryTest {
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+
+    @AfterEach
+    public void tearDown() {
+        DynamoDBEntityMetadataRegistry.clear();
+    }
+
+    @Test
+    public void testGetEntityInformation_SharedPerDomainType() {
+        DynamoDBEntityInformation<User, String> entityInformation = DynamoDBEntityMetadataRegistry
+                .getEntityInformation(User.class, null);
+
+        assertSame(entityInformation, DynamoDBEntityMetadataRegistry.getEntityInformation(User.class, null));
+        assertEquals("user", entityInformation.getDynamoDBTableName());
+    }
+
+    @Test
+    public void testGetEntityInformation_StronglyHeld() {
+        DynamoDBEntityInformation<User, String> entityInformation = DynamoDBEntityMetadataRegistry
+                .getEntityInformation(User.class, null);
+
+        System.gc();
+
+        assertSame(entityInformation, DynamoDBEntityMetadataRegistry.getEntityInformation(User.class, null));
+    }
+
+    @Test
+    public void testClear() {
+        DynamoDBEntityInformation<User, String> entityInformation = DynamoDBEntityMetadataRegistry
+                .getEntityInformation(User.class, null);
+
+        DynamoDBEntityMetadataRegistry.clear();
+
+        assertNotSame(entityInformation, DynamoDBEntityMetadataRegistry.getEntityInformation(User.class, null));
+    }
+
+    @Test
+    public void testGetEntityInformation_SeparatePerOverriddenTableName() {
+        when(dynamoDBOperations.getOverriddenTableName(User.class, "user")).thenReturn("prefix_user");
+
+        DynamoDBEntityInformation<User, String> overridden = DynamoDBEntityMetadataRegistry
+                .getEntityInformation(User.class, dynamoDBOperations);
+
+        assertEquals("prefix_user", overridden.getDynamoDBTableName());
+        assertSame(overridden, DynamoDBEntityMetadataRegistry.getEntityInformation(User.class, dynamoDBOperations));
+        assertNotSame(overridden, DynamoDBEntityMetadataRegistry.getEntityInformation(User.class, null));
+    }
+
+    @Test
+    public void testGetEntityInformation_HashAndRangeKey() {
+        DynamoDBEntityInformation<Playlist, PlaylistId> entityInformation = DynamoDBEntityMetadataRegistry
+                .getEntityInformation(Playlist.class, null);
+
+        assertTrue(entityInformation.isRangeKeyAware());
+        assertSame(entityInformation, DynamoDBEntityMetadataRegistry.getEntityInformation(Playlist.class, null));
+    }
+
+    @Test
+    public void testGetEntityInformation_NotAnnotated() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DynamoDBEntityMetadataRegistry.getEntityInformation(String.class, null));
+    }
+}
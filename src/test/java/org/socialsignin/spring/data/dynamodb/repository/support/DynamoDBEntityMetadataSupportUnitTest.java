@@ -22,6 +22,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @ExtendWith(MockitoExtension.class)
 public class DynamoDBEntityMetadataSupportUnitTest {
@@ -41,4 +43,13 @@ public class DynamoDBEntityMetadataSupportUnitTest {
         DynamoDBMarshaller<?> methodAnnotation = support.getMarshallerForProperty("leaveDate");
         assertNotNull(methodAnnotation);
     }
+
+    @Test
+    public void testGetMarshallerForProperty_SharedPerProperty() {
+        DynamoDBEntityMetadataSupport<User, ?> support = new DynamoDBEntityMetadataSupport<>(User.class);
+
+        assertSame(support.getMarshallerForProperty("joinYear"), support.getMarshallerForProperty("joinYear"));
+        assertNull(support.getMarshallerForProperty("name"));
+        assertNull(support.getTypeConverterForProperty("name"));
+    }
 }
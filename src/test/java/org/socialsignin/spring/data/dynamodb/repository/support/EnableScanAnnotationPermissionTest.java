@@ -25,6 +25,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -35,6 +36,11 @@ public class EnableScanAnnotationPermissionTest {
         List<User> findAll();
     }
 
+    @EnableScan(segments = 8)
+    public interface SampleParallelScanRepository {
+        List<User> findAll();
+    }
+
     public interface SampleNoScanRepository {
         List<User> findAll();
     }
@@ -73,6 +79,16 @@ public class EnableScanAnnotationPermissionTest {
         assertTrue(underTest.isFindAllPaginatedScanEnabled());
         assertFalse(underTest.isFindAllUnpaginatedScanCountEnabled());
         assertTrue(underTest.isFindAllUnpaginatedScanEnabled());
+        assertEquals(1, underTest.getFindAllUnpaginatedScanSegments());
+    }
+
+    @Test
+    public void testSampleParallelScanRepository() {
+        EnableScanAnnotationPermissions underTest = new EnableScanAnnotationPermissions(SampleParallelScanRepository.class);
+
+        assertTrue(underTest.isFindAllUnpaginatedScanEnabled());
+        assertEquals(8, underTest.getFindAllUnpaginatedScanSegments());
+        assertEquals(8, underTest.getDeleteAllUnpaginatedScanSegments());
     }
 
     @Test
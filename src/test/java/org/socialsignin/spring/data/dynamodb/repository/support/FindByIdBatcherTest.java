@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FindByIdBatcherTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testLoadsWindowInOneBatch() throws Exception {
+        FindByIdBatcher<String, String> underTest = new FindByIdBatcher<>(this::loadExisting, it -> it, String::new, 50, 100);
+
+        CompletableFuture<Optional<String>> first = underTest.load("a");
+        CompletableFuture<Optional<String>> second = underTest.load("missing");
+        CompletableFuture<Optional<String>> duplicate = underTest.load("a");
+
+        assertEquals(Optional.of("a"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), second.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of("a"), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Arrays.asList("a", "missing")), batches);
+    }
+
+    @Test
+    public void testDispatchesFullBatchImmediately() throws Exception {
+        FindByIdBatcher<String, String> underTest = new FindByIdBatcher<>(this::loadExisting, it -> it,
+                String::new, TimeUnit.MINUTES.toMillis(1), 2);
+
+        CompletableFuture<Optional<String>> first = underTest.load("a");
+        CompletableFuture<Optional<String>> second = underTest.load("b");
+
+        assertEquals(Optional.of("a"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of("b"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b")), batches);
+    }
+
+    @Test
+    public void testFailsAllCallersOfFailedBatch() {
+        FindByIdBatcher<String, String> underTest = new FindByIdBatcher<>(ids -> {
+            throw new IllegalStateException("boom");
+        }, it -> it, String::new, 1, 100);
+
+        CompletableFuture<Optional<String>> future = underTest.load("a");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+        assertThrows(IllegalStateException.class, () -> FindByIdBatcher.await(future));
+    }
+
+    @Test
+    public void testCopiesTheEntityForFurtherCallers() throws Exception {
+        FindByIdBatcher<String, String> underTest = new FindByIdBatcher<>(this::loadExisting, it -> it, String::new,
+                50, 100);
+
+        CompletableFuture<Optional<String>> first = underTest.load("a");
+        CompletableFuture<Optional<String>> duplicate = underTest.load("a");
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertNotSame(first.get().get(), duplicate.get().get());
+    }
+
+    @Test
+    public void testLoadsOutsideTheTimerThreads() throws Exception {
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        FindByIdBatcher<String, String> underTest = new FindByIdBatcher<>(ids -> {
+            threadNames.add(Thread.currentThread().getName());
+            return loadExisting(ids);
+        }, it -> it, String::new, 1, 100);
+
+        assertEquals(Optional.of("a"), underTest.load("a").get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, threadNames.size());
+        assertFalse(threadNames.get(0).startsWith("dynamodb-find-by-id-timer-"), threadNames.get(0));
+    }
+
+    private List<String> loadExisting(List<String> ids) {
+        batches.add(new ArrayList<>(ids));
+        return ids.stream().filter(id -> !id.equals("missing")).collect(Collectors.toList());
+    }
+}
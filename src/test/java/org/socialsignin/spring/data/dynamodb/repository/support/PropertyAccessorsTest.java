@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PropertyAccessorsTest {
+
+    @Test
+    public void testGetter_Method() throws Exception {
+        Function<Key, String> hashKey = PropertyAccessors.getter(Key.class.getDeclaredMethod("getHashKey"));
+        Function<Key, Long> rangeKey = PropertyAccessors.getter(Key.class.getDeclaredMethod("getRangeKey"));
+
+        Key key = new Key("hash", 42L);
+
+        assertEquals("hash", hashKey.apply(key));
+        assertEquals(Long.valueOf(42L), rangeKey.apply(key));
+    }
+
+    @Test
+    public void testGetter_Field() throws Exception {
+        Function<Key, String> hashKey = PropertyAccessors.getter(Key.class.getDeclaredField("hashKey"));
+
+        assertEquals("hash", hashKey.apply(new Key("hash", 42L)));
+    }
+
+    @Test
+    public void testGetter_PropagatesException() throws Exception {
+        Function<Key, String> failing = PropertyAccessors.getter(Key.class.getDeclaredMethod("getFailing"));
+
+        assertThrows(IllegalStateException.class, () -> failing.apply(new Key("hash", 42L)));
+    }
+
+    @Test
+    public void testSetter() throws Exception {
+        BiConsumer<Key, Object> rangeKey = PropertyAccessors
+                .setter(Key.class.getDeclaredMethod("setRangeKey", long.class));
+        BiConsumer<Key, Object> hashKey = PropertyAccessors.setter(Key.class.getDeclaredField("hashKey"));
+
+        Key key = new Key();
+        rangeKey.accept(key, 7L);
+        hashKey.accept(key, "other");
+
+        assertEquals(7L, key.getRangeKey());
+        assertEquals("other", key.getHashKey());
+    }
+
+    @Test
+    public void testInstantiator() throws Exception {
+        Supplier<Key> instantiator = PropertyAccessors.instantiator(Key.class.getDeclaredConstructor());
+
+        Key first = instantiator.get();
+        Key second = instantiator.get();
+
+        assertNotSame(first, second);
+        assertEquals(0L, first.getRangeKey());
+    }
+
+    private static class Key {
+
+        private String hashKey;
+        private long rangeKey;
+
+        private Key() {
+        }
+
+        private Key(String hashKey, long rangeKey) {
+            this.hashKey = hashKey;
+            this.rangeKey = rangeKey;
+        }
+
+        private String getHashKey() {
+            return hashKey;
+        }
+
+        private long getRangeKey() {
+            return rangeKey;
+        }
+
+        private void setRangeKey(long rangeKey) {
+            this.rangeKey = rangeKey;
+        }
+
+        private String getFailing() {
+            throw new IllegalStateException("failing");
+        }
+    }
+}
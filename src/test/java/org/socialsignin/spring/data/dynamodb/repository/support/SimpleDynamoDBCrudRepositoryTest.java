@@ -17,6 +17,7 @@ package org.socialsignin.spring.data.dynamodb.repository.support;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -152,6 +154,19 @@ public class SimpleDynamoDBCrudRepositoryTest {
         assertSame(actual, findAllResultMock);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindAllParallelScan() {
+        PaginatedParallelScanList<User> parallelScanResult = Mockito.mock(PaginatedParallelScanList.class);
+        when(mockEnableScanPermissions.getFindAllUnpaginatedScanSegments()).thenReturn(4);
+        when(dynamoDBOperations.parallelScan(eq(User.class), any(DynamoDBScanExpression.class), eq(4)))
+                .thenReturn(parallelScanResult);
+
+        List<User> actual = repoForEntityWithOnlyHashKey.findAll();
+
+        assertSame(actual, parallelScanResult);
+    }
+
     /**
      * /**
      *
@@ -179,11 +194,21 @@ public class SimpleDynamoDBCrudRepositoryTest {
 
     @Test
     public void existsEntityWithOnlyHashKey() {
-        when(dynamoDBOperations.load(User.class, 1L)).thenReturn(null);
+        when(dynamoDBOperations.exists(User.class, 1L, null)).thenReturn(false);
 
         boolean actual = repoForEntityWithOnlyHashKey.existsById(1L);
 
         assertFalse(actual);
+        verify(dynamoDBOperations, never()).load(User.class, 1L);
+    }
+
+    @Test
+    public void existsEntityWithHashAndRangeKey() {
+        when(dynamoDBOperations.exists(Playlist.class, "michael", "playlist1")).thenReturn(true);
+
+        boolean actual = repoForEntityWithHashAndRangeKey.existsById(testPlaylistId);
+
+        assertTrue(actual);
     }
 
     @Test
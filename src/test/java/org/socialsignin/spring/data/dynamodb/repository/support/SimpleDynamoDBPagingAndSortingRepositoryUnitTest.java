@@ -15,22 +15,36 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository.support;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBScrollPosition;
+import org.socialsignin.spring.data.dynamodb.domain.DynamoDBWindow;
 import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
 import org.socialsignin.spring.data.dynamodb.domain.sample.PlaylistId;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for {@link DynamoDBSimpleIdRepository}.
@@ -128,4 +142,59 @@ public class SimpleDynamoDBPagingAndSortingRepositoryUnitTest {
             repoForEntityWithHashAndRangeKey.deleteById(playlistId);
         });
     }
+
+    @Test
+    public void findAllFromPositionScansSinglePage() {
+        Map<String, AttributeValue> lastEvaluatedKey = Collections.singletonMap("id", new AttributeValue("2"));
+        ScanResultPage<User> page = new ScanResultPage<>();
+        page.setResults(Collections.singletonList(testUser));
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        Mockito.when(mockEnableScanPermissions.isFindAllPaginatedScanEnabled()).thenReturn(true);
+        Mockito.when(dynamoDBOperations.scanPage(Mockito.eq(User.class), Mockito.any(DynamoDBScanExpression.class)))
+                .thenReturn(page);
+
+        DynamoDBScrollPosition position = DynamoDBScrollPosition
+                .of(Collections.singletonMap("id", new AttributeValue("1")));
+        DynamoDBWindow<User> window = repoForEntityWithOnlyHashKey.findAll(position, 10);
+
+        ArgumentCaptor<DynamoDBScanExpression> scanExpression = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+        Mockito.verify(dynamoDBOperations).scanPage(Mockito.eq(User.class), scanExpression.capture());
+        assertEquals(position.getExclusiveStartKey(), scanExpression.getValue().getExclusiveStartKey());
+        assertEquals(Integer.valueOf(10), scanExpression.getValue().getLimit());
+        assertEquals(Collections.singletonList(testUser), window.getContent());
+        assertTrue(window.hasNext());
+        assertEquals(lastEvaluatedKey, window.getNextPosition().getExclusiveStartKey());
+    }
+
+    @Test
+    public void findAllFromPositionRequiresScanPermission() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repoForEntityWithOnlyHashKey.findAll(DynamoDBScrollPosition.initial(), 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void findAllPageableCountsOnTheCountExecutor() {
+        AtomicInteger executions = new AtomicInteger();
+        Executor countExecutor = command -> {
+            executions.incrementAndGet();
+            command.run();
+        };
+        PaginatedList<User> scanList = Mockito.mock(PaginatedList.class);
+        Mockito.when(scanList.iterator()).thenReturn(Collections.singletonList(testUser).iterator());
+        Mockito.when(mockEnableScanPermissions.isFindAllPaginatedScanEnabled()).thenReturn(true);
+        Mockito.when(mockEnableScanPermissions.isFindAllUnpaginatedScanCountEnabled()).thenReturn(true);
+        Mockito.when(dynamoDBOperations.getCountExecutor()).thenReturn(countExecutor);
+        Mockito.when(dynamoDBOperations.scan(Mockito.eq(User.class), Mockito.any(DynamoDBScanExpression.class)))
+                .thenReturn(scanList);
+        Mockito.when(dynamoDBOperations.count(Mockito.eq(User.class), Mockito.any(DynamoDBScanExpression.class)))
+                .thenReturn(42);
+
+        Page<User> page = repoForEntityWithOnlyHashKey.findAll(PageRequest.of(0, 10));
+
+        assertEquals(1, executions.get());
+        assertEquals(42, page.getTotalElements());
+        assertEquals(Collections.singletonList(testUser), page.getContent());
+    }
+
 }
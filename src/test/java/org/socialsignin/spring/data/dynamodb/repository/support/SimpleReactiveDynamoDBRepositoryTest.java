@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/boostchicken/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBAsyncOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SimpleReactiveDynamoDBRepositoryTest {
+
+    @Mock
+    private DynamoDBAsyncOperations dynamoDBAsyncOperations;
+    @Mock
+    private EnableScanPermissions mockEnableScanPermissions;
+    @Mock
+    private DynamoDBEntityInformation<User, String> entityInformation;
+
+    private SimpleReactiveDynamoDBRepository<User, String> underTest;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.lenient().when(entityInformation.getJavaType()).thenReturn(User.class);
+        Mockito.lenient().when(entityInformation.getHashKey("id")).thenReturn("id");
+
+        underTest = new SimpleReactiveDynamoDBRepository<>(entityInformation, dynamoDBAsyncOperations,
+                mockEnableScanPermissions);
+    }
+
+    @Test
+    public void testFindById() {
+        User user = new User();
+        when(dynamoDBAsyncOperations.load(User.class, "id")).thenReturn(CompletableFuture.completedFuture(user));
+
+        assertSame(user, underTest.findById("id").block());
+    }
+
+    @Test
+    public void testFindByIdIsLazy() {
+        underTest.findById("id");
+
+        verify(dynamoDBAsyncOperations, never()).load(User.class, "id");
+    }
+
+    @Test
+    public void testExistsByIdNotFound() {
+        when(dynamoDBAsyncOperations.load(User.class, "id")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertFalse(underTest.existsById("id").block());
+    }
+
+    @Test
+    public void testDeleteByIdNotFound() {
+        when(dynamoDBAsyncOperations.load(User.class, "id")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(EmptyResultDataAccessException.class, () -> underTest.deleteById("id").block());
+    }
+
+    @Test
+    public void testSaveAllPublisherIsBuffered() {
+        when(dynamoDBAsyncOperations.batchSave(any())).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            users.add(new User());
+        }
+
+        List<User> saved = underTest.saveAll(Flux.fromIterable(users)).collectList().block();
+
+        assertEquals(users, saved);
+        verify(dynamoDBAsyncOperations, times(2)).batchSave(any());
+    }
+
+    @Test
+    public void testSaveAllFailed() {
+        FailedBatch failedBatch = new FailedBatch();
+        failedBatch.setException(new Exception("Test Exception"));
+        when(dynamoDBAsyncOperations.batchSave(any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(failedBatch)));
+
+        assertThrows(BatchWriteException.class,
+                () -> underTest.saveAll(Arrays.asList(new User(), new User())).blockLast());
+    }
+
+    @Test
+    public void testFindAllScanNotEnabled() {
+        when(mockEnableScanPermissions.isFindAllUnpaginatedScanEnabled()).thenReturn(false);
+
+        Flux<User> findAll = underTest.findAll();
+
+        assertThrows(IllegalArgumentException.class, findAll::blockLast);
+    }
+}